@@ -0,0 +1,362 @@
+package edu.uoc.som.jarvis.core;
+
+import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
+import edu.uoc.som.jarvis.core.platform.action.RuntimeActionFactory;
+import edu.uoc.som.jarvis.execution.ActionInstance;
+import edu.uoc.som.jarvis.execution.ExecutionRule;
+import edu.uoc.som.jarvis.platform.ActionDefinition;
+import edu.uoc.som.jarvis.platform.PlatformDefinition;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A table binding {@link ActionInstance}s to the {@link RuntimePlatform} and {@link RuntimeActionFactory} used to
+ * create their {@link edu.uoc.som.jarvis.core.platform.action.RuntimeAction}s.
+ * <p>
+ * This table caches the resolution of the {@link PlatformDefinition} containing the {@link ActionDefinition} of an
+ * {@link ActionInstance}, the lookup of the corresponding {@link RuntimePlatform} in the
+ * {@link RuntimePlatformRegistry}, and the lookup of the {@link RuntimeActionFactory} in the {@link RuntimePlatform}.
+ * The {@link ActionInstance}s of an {@link ExecutionRule} are bound when the rule is loaded (see
+ * {@link #bind(ExecutionRule)}), and the computed {@link Binding}s are attached to their {@link ActionInstance} (see
+ * {@link BindingAdapter}): they are reused by the executions of the {@link ActionInstance}s, and are removed when
+ * the {@link ActionInstance}s are unbound (see {@link #unbind(EObject)}). {@link ActionInstance}s that have not been bound when their rule was loaded are bound
+ * the first time they are retrieved with {@link #getBinding(ActionInstance)}.
+ * <p>
+ * The attached {@link BindingAdapter}s are also published in a copy-on-write snapshot (see
+ * {@link #bindingAdapters}): retrieving the {@link Binding} of a bound {@link ActionInstance} does not lock it, and
+ * does not scan its adapter list.
+ * <p>
+ * A {@link Binding} is invalidated when a {@link RuntimePlatform} is registered or unregistered from the
+ * {@link RuntimePlatformRegistry}, or when an action of its {@link RuntimePlatform} is enabled or disabled. Invalid
+ * {@link Binding}s are recomputed the next time they are retrieved.
+ * <p>
+ * This class is thread-safe, and can be accessed by concurrent event handling tasks.
+ *
+ * @see ExecutionService
+ * @see RuntimePlatformRegistry#getModificationCount()
+ * @see RuntimePlatform#getActionModificationCount()
+ */
+public final class ActionInstanceBindings {
+
+    /**
+     * The {@link RuntimePlatformRegistry} used to retrieve the {@link RuntimePlatform}s of the bound
+     * {@link ActionInstance}s.
+     */
+    private final RuntimePlatformRegistry runtimePlatformRegistry;
+
+    /**
+     * The {@link BindingAdapter}s attached by this table, indexed by their {@link ActionInstance}.
+     * <p>
+     * This map is never modified: a new map is published each time {@link ActionInstance}s are bound or unbound
+     * (while holding the lock of this table), and it is read without locking when a {@link Binding} is retrieved.
+     */
+    private volatile Map<ActionInstance, BindingAdapter> bindingAdapters = Collections.emptyMap();
+
+    /**
+     * Constructs a new {@link ActionInstanceBindings} table using the provided {@code runtimePlatformRegistry}.
+     *
+     * @param runtimePlatformRegistry the {@link RuntimePlatformRegistry} used to retrieve the {@link RuntimePlatform}s
+     *                                of the bound {@link ActionInstance}s
+     * @throws NullPointerException if the provided {@code runtimePlatformRegistry} is {@code null}
+     */
+    public ActionInstanceBindings(RuntimePlatformRegistry runtimePlatformRegistry) {
+        checkNotNull(runtimePlatformRegistry, "Cannot construct a %s from the provided %s %s", ActionInstanceBindings
+                .class.getSimpleName(), RuntimePlatformRegistry.class.getSimpleName(), runtimePlatformRegistry);
+        this.runtimePlatformRegistry = runtimePlatformRegistry;
+    }
+
+    /**
+     * Binds the {@link ActionInstance}s contained in the provided {@code rule}.
+     * <p>
+     * This method is called when the {@code rule} is loaded, and fails if the {@link RuntimePlatform} of one of its
+     * {@link ActionInstance}s is not registered. The {@link ActionInstance}s that are already bound with a valid
+     * {@link Binding} are not bound again.
+     *
+     * @param rule the {@link ExecutionRule} to bind the {@link ActionInstance}s of
+     * @throws NullPointerException if the provided {@code rule} is {@code null}
+     * @throws JarvisException      if the {@link RuntimePlatform} of an {@link ActionInstance} of the provided
+     *                              {@code rule} is not registered
+     */
+    public void bind(ExecutionRule rule) {
+        checkNotNull(rule, "Cannot bind the %s of the provided %s %s", ActionInstance.class.getSimpleName(),
+                ExecutionRule.class.getSimpleName(), rule);
+        List<ActionInstance> actionInstances = new ArrayList<>();
+        Iterator<EObject> contents = rule.eAllContents();
+        while (contents.hasNext()) {
+            EObject content = contents.next();
+            if (content instanceof ActionInstance) {
+                actionInstances.add((ActionInstance) content);
+            }
+        }
+        attachAdapters(actionInstances);
+        for (ActionInstance actionInstance : actionInstances) {
+            getBinding(actionInstance);
+        }
+    }
+
+    /**
+     * Removes the {@link Binding}s attached to the provided {@code eObject} and its contents.
+     * <p>
+     * This method is called when an {@link ExecutionRule} or some of its
+     * {@link edu.uoc.som.jarvis.common.Instruction}s are removed, and releases the {@link RuntimePlatform}s
+     * referenced by their {@link Binding}s.
+     *
+     * @param eObject the {@link EObject} to remove the {@link Binding}s of
+     * @throws NullPointerException if the provided {@code eObject} is {@code null}
+     */
+    public void unbind(EObject eObject) {
+        checkNotNull(eObject, "Cannot unbind the %s of the provided %s %s", ActionInstance.class.getSimpleName(),
+                EObject.class.getSimpleName(), eObject);
+        List<ActionInstance> actionInstances = new ArrayList<>();
+        if (eObject instanceof ActionInstance) {
+            actionInstances.add((ActionInstance) eObject);
+        }
+        Iterator<EObject> contents = eObject.eAllContents();
+        while (contents.hasNext()) {
+            EObject content = contents.next();
+            if (content instanceof ActionInstance) {
+                actionInstances.add((ActionInstance) content);
+            }
+        }
+        detachAdapters(actionInstances);
+    }
+
+    /**
+     * Returns the {@link Binding} associated to the provided {@code actionInstance}.
+     * <p>
+     * This method returns the {@link Binding} attached to the provided {@code actionInstance} if it is still valid,
+     * and computes a new one otherwise. The {@link Binding} of an {@link ActionInstance} bound when its rule was
+     * loaded is retrieved without locking.
+     *
+     * @param actionInstance the {@link ActionInstance} to retrieve the {@link Binding} of
+     * @return the {@link Binding} associated to the provided {@code actionInstance}
+     * @throws NullPointerException if the provided {@code actionInstance} is {@code null}
+     * @throws JarvisException      if the {@link RuntimePlatform} of the provided {@code actionInstance} is not
+     *                              registered
+     */
+    public Binding getBinding(ActionInstance actionInstance) {
+        checkNotNull(actionInstance, "Cannot retrieve the binding of the provided %s %s", ActionInstance.class
+                .getSimpleName(), actionInstance);
+        BindingAdapter adapter = bindingAdapters.get(actionInstance);
+        if (isNull(adapter)) {
+            /*
+             * The ActionInstance has not been bound when its rule was loaded.
+             */
+            attachAdapters(Collections.singletonList(actionInstance));
+            adapter = bindingAdapters.get(actionInstance);
+        }
+        int registryModificationCount = runtimePlatformRegistry.getModificationCount();
+        Binding binding = adapter.binding;
+        if (isNull(binding) || !binding.isValid(registryModificationCount)) {
+            binding = bind(actionInstance, registryModificationCount);
+            adapter.binding = binding;
+        }
+        return binding;
+    }
+
+    /**
+     * Returns the valid {@link Binding} attached to the provided {@code actionInstance}.
+     * <p>
+     * Unlike {@link #getBinding(ActionInstance)}, this method never computes a {@link Binding}: it is used by the
+     * {@link RuntimePlatform}s to retrieve the {@link RuntimeActionFactory} bound to the {@link ActionInstance}s
+     * they create the {@link edu.uoc.som.jarvis.core.platform.action.RuntimeAction}s of, and does not lock the
+     * provided {@code actionInstance}.
+     *
+     * @param actionInstance the {@link ActionInstance} to retrieve the {@link Binding} of
+     * @return the {@link Binding} attached to the provided {@code actionInstance} if it exists and is still valid,
+     * {@code null} otherwise
+     * @throws NullPointerException if the provided {@code actionInstance} is {@code null}
+     */
+    public Binding findBinding(ActionInstance actionInstance) {
+        checkNotNull(actionInstance, "Cannot retrieve the binding of the provided %s %s", ActionInstance.class
+                .getSimpleName(), actionInstance);
+        BindingAdapter adapter = bindingAdapters.get(actionInstance);
+        if (isNull(adapter)) {
+            return null;
+        }
+        Binding binding = adapter.binding;
+        if (isNull(binding) || !binding.isValid(runtimePlatformRegistry.getModificationCount())) {
+            return null;
+        }
+        return binding;
+    }
+
+    /**
+     * Attaches a {@link BindingAdapter} to the provided {@code actionInstances} and publishes them in
+     * {@link #bindingAdapters}.
+     * <p>
+     * The {@link ActionInstance}s that already have a {@link BindingAdapter} are ignored.
+     *
+     * @param actionInstances the {@link ActionInstance}s to attach a {@link BindingAdapter} to
+     */
+    private synchronized void attachAdapters(List<ActionInstance> actionInstances) {
+        Map<ActionInstance, BindingAdapter> updatedAdapters = new IdentityHashMap<>(bindingAdapters);
+        for (ActionInstance actionInstance : actionInstances) {
+            if (!updatedAdapters.containsKey(actionInstance)) {
+                BindingAdapter adapter = new BindingAdapter();
+                /*
+                 * Synchronize on the ActionInstance: the adapter list of EMF objects is not thread-safe, and other
+                 * components may attach their own adapters concurrently.
+                 */
+                synchronized (actionInstance) {
+                    actionInstance.eAdapters().add(adapter);
+                }
+                updatedAdapters.put(actionInstance, adapter);
+            }
+        }
+        this.bindingAdapters = updatedAdapters;
+    }
+
+    /**
+     * Removes the {@link BindingAdapter}s attached by this table to the provided {@code actionInstances}.
+     *
+     * @param actionInstances the {@link ActionInstance}s to remove the {@link BindingAdapter} of
+     */
+    private synchronized void detachAdapters(List<ActionInstance> actionInstances) {
+        Map<ActionInstance, BindingAdapter> updatedAdapters = new IdentityHashMap<>(bindingAdapters);
+        for (ActionInstance actionInstance : actionInstances) {
+            BindingAdapter adapter = updatedAdapters.remove(actionInstance);
+            if (nonNull(adapter)) {
+                synchronized (actionInstance) {
+                    actionInstance.eAdapters().remove(adapter);
+                }
+            }
+        }
+        this.bindingAdapters = updatedAdapters;
+    }
+
+    /**
+     * Computes the {@link Binding} of the provided {@code actionInstance}.
+     *
+     * @param actionInstance            the {@link ActionInstance} to compute the {@link Binding} of
+     * @param registryModificationCount the modification count of the {@link RuntimePlatformRegistry} used to
+     *                                  compute the {@link Binding}
+     * @return the computed {@link Binding}
+     * @throws JarvisException if the {@link RuntimePlatform} of the provided {@code actionInstance} is not
+     *                         registered
+     */
+    private Binding bind(ActionInstance actionInstance, int registryModificationCount) {
+        ActionDefinition actionDefinition = actionInstance.getAction();
+        PlatformDefinition platformDefinition = (PlatformDefinition) actionDefinition.eContainer();
+        RuntimePlatform runtimePlatform = runtimePlatformRegistry.getRuntimePlatform(platformDefinition);
+        if (isNull(runtimePlatform)) {
+            throw new JarvisException(MessageFormat.format("Cannot bind the action {0}, the {1} {2} is not " +
+                    "registered", actionDefinition.getName(), RuntimePlatform.class.getSimpleName(),
+                    platformDefinition.getName()));
+        }
+        /*
+         * Retrieve the modification count before the factory to make sure an action enabled or disabled in between
+         * invalidates the binding.
+         */
+        int platformModificationCount = runtimePlatform.getActionModificationCount();
+        RuntimeActionFactory actionFactory = runtimePlatform.getActionFactory(actionDefinition);
+        return new Binding(runtimePlatform, actionFactory, registryModificationCount, platformModificationCount);
+    }
+
+    /**
+     * An adapter attaching the {@link Binding} computed by this table to its {@link ActionInstance}.
+     * <p>
+     * Each {@link ActionInstanceBindings} attaches its own {@link BindingAdapter}s: the adapter type is the table
+     * that created it (see {@link EcoreUtil#getExistingAdapter(org.eclipse.emf.common.notify.Notifier, Object)}).
+     */
+    private class BindingAdapter extends AdapterImpl {
+
+        /**
+         * The {@link Binding} attached to the adapted {@link ActionInstance}, or {@code null} if it has not been
+         * computed yet.
+         */
+        private volatile Binding binding;
+
+        @Override
+        public boolean isAdapterForType(Object type) {
+            return type == ActionInstanceBindings.this;
+        }
+    }
+
+    /**
+     * The {@link RuntimePlatform} and {@link RuntimeActionFactory} bound to an {@link ActionInstance}.
+     */
+    public static final class Binding {
+
+        /**
+         * The {@link RuntimePlatform} of the bound {@link ActionInstance}.
+         */
+        private final RuntimePlatform runtimePlatform;
+
+        /**
+         * The {@link RuntimeActionFactory} of the bound {@link ActionInstance}.
+         * <p>
+         * This field is {@code null} if the action is not enabled in its {@link RuntimePlatform}.
+         */
+        private final RuntimeActionFactory actionFactory;
+
+        /**
+         * The modification count of the {@link RuntimePlatformRegistry} when the binding was computed.
+         */
+        private final int registryModificationCount;
+
+        /**
+         * The action modification count of the {@link RuntimePlatform} when the binding was computed.
+         */
+        private final int platformModificationCount;
+
+        /**
+         * Constructs a new {@link Binding} with the provided parameters.
+         *
+         * @param runtimePlatform           the {@link RuntimePlatform} of the bound {@link ActionInstance}
+         * @param actionFactory             the {@link RuntimeActionFactory} of the bound {@link ActionInstance}
+         * @param registryModificationCount the modification count of the {@link RuntimePlatformRegistry}
+         * @param platformModificationCount the action modification count of the {@link RuntimePlatform}
+         */
+        private Binding(RuntimePlatform runtimePlatform, RuntimeActionFactory actionFactory, int
+                registryModificationCount, int platformModificationCount) {
+            this.runtimePlatform = runtimePlatform;
+            this.actionFactory = actionFactory;
+            this.registryModificationCount = registryModificationCount;
+            this.platformModificationCount = platformModificationCount;
+        }
+
+        /**
+         * Returns the {@link RuntimePlatform} of the bound {@link ActionInstance}.
+         *
+         * @return the {@link RuntimePlatform} of the bound {@link ActionInstance}
+         */
+        public RuntimePlatform getRuntimePlatform() {
+            return runtimePlatform;
+        }
+
+        /**
+         * Returns the {@link RuntimeActionFactory} of the bound {@link ActionInstance}.
+         *
+         * @return the {@link RuntimeActionFactory} of the bound {@link ActionInstance} if the action is enabled,
+         * {@code null} otherwise
+         */
+        public RuntimeActionFactory getActionFactory() {
+            return actionFactory;
+        }
+
+        /**
+         * Returns whether the binding is still valid.
+         *
+         * @param registryModificationCount the current modification count of the {@link RuntimePlatformRegistry}
+         * @return {@code true} if the binding is still valid, {@code false} otherwise
+         */
+        boolean isValid(int registryModificationCount) {
+            return this.registryModificationCount == registryModificationCount && this.platformModificationCount ==
+                    runtimePlatform.getActionModificationCount();
+        }
+    }
+}
@@ -2,12 +2,15 @@ package edu.uoc.som.jarvis.core;
 
 import fr.inria.atlanmod.commons.log.Log;
 import edu.uoc.som.jarvis.intent.Context;
+import edu.uoc.som.jarvis.intent.ContextParameter;
 import edu.uoc.som.jarvis.intent.EventDefinition;
 import edu.uoc.som.jarvis.intent.IntentDefinition;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
@@ -26,11 +29,19 @@ public class EventDefinitionRegistry {
      */
     private Map<String, EventDefinition> eventDefinitionMap;
 
+    /**
+     * The {@link Map} used to cache the out context parameter indexes of the {@link EventDefinition}s.
+     *
+     * @see #getOutContextParameterIndex(EventDefinition)
+     */
+    private Map<EventDefinition, Map<String, Context>> outContextParameterIndexes;
+
     /**
      * Constructs a new instance of the registry and initializes its {@link #eventDefinitionMap}.
      */
     public EventDefinitionRegistry() {
         this.eventDefinitionMap = new HashMap<>();
+        this.outContextParameterIndexes = new ConcurrentHashMap<>();
     }
 
     /**
@@ -43,7 +54,10 @@ public class EventDefinitionRegistry {
         if (this.eventDefinitionMap.containsKey(adaptedName)) {
             Log.warn("Another EventDefinition is stored with the key {0}, overriding it", adaptedName);
         }
-        this.eventDefinitionMap.put(adaptedName, eventDefinition);
+        EventDefinition previous = this.eventDefinitionMap.put(adaptedName, eventDefinition);
+        if (nonNull(previous)) {
+            this.outContextParameterIndexes.remove(previous);
+        }
     }
 
     /**
@@ -53,7 +67,10 @@ public class EventDefinitionRegistry {
      */
     public void unregisterEventDefinition(EventDefinition eventDefinition) {
         String adaptedName = adaptEventName(eventDefinition.getName());
-        this.eventDefinitionMap.remove(adaptedName);
+        EventDefinition removed = this.eventDefinitionMap.remove(adaptedName);
+        if (nonNull(removed)) {
+            this.outContextParameterIndexes.remove(removed);
+        }
     }
 
     /**
@@ -133,11 +150,53 @@ public class EventDefinitionRegistry {
         return null;
     }
 
+    /**
+     * Returns an unmodifiable {@link Map} associating the names of the out context parameters of the provided
+     * {@code eventDefinition} to the {@link Context} defining them.
+     * <p>
+     * The index is computed the first time it is requested and cached until the {@code eventDefinition} is
+     * unregistered. If several out {@link Context}s define the same parameter name the last one is indexed.
+     * <p>
+     * <b>Note:</b> the cached index does not reflect the parameters added to the {@code eventDefinition} after it
+     * has been computed, see {@link #refreshOutContextParameterIndex(EventDefinition)} to recompute it.
+     *
+     * @param eventDefinition the {@link EventDefinition} to retrieve the out context parameter index of
+     * @return an unmodifiable {@link Map} associating the out context parameter names to their {@link Context}
+     * @see #refreshOutContextParameterIndex(EventDefinition)
+     */
+    public Map<String, Context> getOutContextParameterIndex(EventDefinition eventDefinition) {
+        Map<String, Context> index = this.outContextParameterIndexes.get(eventDefinition);
+        if (isNull(index)) {
+            index = refreshOutContextParameterIndex(eventDefinition);
+        }
+        return index;
+    }
+
+    /**
+     * Recomputes and caches the out context parameter index of the provided {@code eventDefinition}.
+     *
+     * @param eventDefinition the {@link EventDefinition} to compute the out context parameter index of
+     * @return an unmodifiable {@link Map} associating the out context parameter names to their {@link Context}
+     * @see #getOutContextParameterIndex(EventDefinition)
+     */
+    public Map<String, Context> refreshOutContextParameterIndex(EventDefinition eventDefinition) {
+        Map<String, Context> index = new HashMap<>();
+        for (Context outContext : eventDefinition.getOutContexts()) {
+            for (ContextParameter parameter : outContext.getParameters()) {
+                index.put(parameter.getName(), outContext);
+            }
+        }
+        Map<String, Context> unmodifiableIndex = Collections.unmodifiableMap(index);
+        this.outContextParameterIndexes.put(eventDefinition, unmodifiableIndex);
+        return unmodifiableIndex;
+    }
+
     /**
      * Unregisters all the {@link EventDefinition}s from this registry.
      */
     public void clearEventDefinitions() {
         this.eventDefinitionMap.clear();
+        this.outContextParameterIndexes.clear();
     }
 
     /**
@@ -0,0 +1,130 @@
+package edu.uoc.som.jarvis.core;
+
+import edu.uoc.som.jarvis.execution.ExecutionModel;
+import edu.uoc.som.jarvis.execution.ExecutionRule;
+import edu.uoc.som.jarvis.intent.EventDefinition;
+import fr.inria.atlanmod.commons.log.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An immutable index mapping {@link EventDefinition}s to the {@link ExecutionRule}s they trigger.
+ * <p>
+ * This index is computed from an {@link ExecutionModel} (see {@link #of(ExecutionModel)}), and allows to retrieve
+ * the {@link ExecutionRule}s associated to an handled event with a single lookup. {@link EventDefinition}s are
+ * matched by name, meaning that two {@link EventDefinition} instances with the same name trigger the same
+ * {@link ExecutionRule}s.
+ * <p>
+ * {@link ExecutionRuleIndex} instances cannot be updated: a new index has to be computed when the
+ * {@link ExecutionRule}s of the underlying {@link ExecutionModel} are modified.
+ *
+ * @see ExecutionService
+ */
+public final class ExecutionRuleIndex {
+
+    /**
+     * The {@link ExecutionRule}s of the indexed {@link ExecutionModel}, grouped by {@link EventDefinition}.
+     * <p>
+     * This map is used to retrieve the {@link ExecutionRule}s associated to the {@link EventDefinition}s of the
+     * indexed {@link ExecutionModel} without computing their names.
+     */
+    private final Map<EventDefinition, List<ExecutionRule>> rulesByEventDefinition;
+
+    /**
+     * The {@link ExecutionRule}s of the indexed {@link ExecutionModel}, grouped by {@link EventDefinition} name.
+     * <p>
+     * This map is used when the handled {@link EventDefinition} is not referenced by the indexed
+     * {@link ExecutionModel}.
+     */
+    private final Map<String, List<ExecutionRule>> rulesByEventName;
+
+    /**
+     * Creates an {@link ExecutionRuleIndex} from the {@link ExecutionRule}s of the provided {@code executionModel}.
+     * <p>
+     * {@link ExecutionRule}s that do not define an {@link EventDefinition} are ignored.
+     *
+     * @param executionModel the {@link ExecutionModel} to index
+     * @return the created {@link ExecutionRuleIndex}
+     * @throws NullPointerException if the provided {@code executionModel} is {@code null}
+     */
+    public static ExecutionRuleIndex of(ExecutionModel executionModel) {
+        checkNotNull(executionModel, "Cannot create an %s from the provided %s %s", ExecutionRuleIndex.class
+                .getSimpleName(), ExecutionModel.class.getSimpleName(), executionModel);
+        Map<String, List<ExecutionRule>> rulesByEventName = new HashMap<>();
+        for (ExecutionRule rule : executionModel.getExecutionRules()) {
+            if (isNull(rule.getEvent())) {
+                Log.warn("Cannot index the provided {0}: the rule does not define an {1}", ExecutionRule.class
+                        .getSimpleName(), EventDefinition.class.getSimpleName());
+                continue;
+            }
+            rulesByEventName.computeIfAbsent(rule.getEvent().getName(), k -> new ArrayList<>()).add(rule);
+        }
+        Map<String, List<ExecutionRule>> immutableRulesByEventName = new HashMap<>();
+        rulesByEventName.forEach((eventName, rules) -> immutableRulesByEventName.put(eventName,
+                Collections.unmodifiableList(rules)));
+        /*
+         * Reuse the same List instances for both maps: EventDefinitions with the same name share their rules.
+         */
+        Map<EventDefinition, List<ExecutionRule>> rulesByEventDefinition = new HashMap<>();
+        for (ExecutionRule rule : executionModel.getExecutionRules()) {
+            if (nonNull(rule.getEvent())) {
+                rulesByEventDefinition.put(rule.getEvent(), immutableRulesByEventName.get(rule.getEvent().getName()));
+            }
+        }
+        return new ExecutionRuleIndex(rulesByEventDefinition, immutableRulesByEventName);
+    }
+
+    /**
+     * Constructs a new {@link ExecutionRuleIndex} with the provided maps.
+     * <p>
+     * <b>Note:</b> this constructor does not copy the provided maps, use {@link #of(ExecutionModel)} to create an
+     * {@link ExecutionRuleIndex}.
+     *
+     * @param rulesByEventDefinition the {@link ExecutionRule}s grouped by {@link EventDefinition}
+     * @param rulesByEventName       the {@link ExecutionRule}s grouped by {@link EventDefinition} name
+     * @see #of(ExecutionModel)
+     */
+    private ExecutionRuleIndex(Map<EventDefinition, List<ExecutionRule>> rulesByEventDefinition, Map<String,
+            List<ExecutionRule>> rulesByEventName) {
+        this.rulesByEventDefinition = rulesByEventDefinition;
+        this.rulesByEventName = rulesByEventName;
+    }
+
+    /**
+     * Returns the {@link ExecutionRule}s triggered by the provided {@code eventDefinition}.
+     * <p>
+     * The returned {@link List} is unmodifiable and shared between calls, and is empty if there is no
+     * {@link ExecutionRule} associated to the provided {@code eventDefinition}.
+     *
+     * @param eventDefinition the {@link EventDefinition} to retrieve the {@link ExecutionRule}s of
+     * @return an unmodifiable {@link List} containing the retrieved {@link ExecutionRule}s
+     * @throws NullPointerException if the provided {@code eventDefinition} is {@code null}
+     */
+    public List<ExecutionRule> getExecutionRules(EventDefinition eventDefinition) {
+        /*
+         * Do not use checkNotNull here: this method is called for each handled event and should not allocate.
+         */
+        List<ExecutionRule> result = rulesByEventDefinition.get(eventDefinition);
+        if (isNull(result)) {
+            result = rulesByEventName.get(eventDefinition.getName());
+        }
+        return isNull(result) ? Collections.emptyList() : result;
+    }
+
+    /**
+     * Returns the number of {@link EventDefinition} names indexed by this {@link ExecutionRuleIndex}.
+     *
+     * @return the number of {@link EventDefinition} names indexed by this {@link ExecutionRuleIndex}
+     */
+    public int size() {
+        return rulesByEventName.size();
+    }
+}
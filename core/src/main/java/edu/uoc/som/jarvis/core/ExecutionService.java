@@ -1,32 +1,57 @@
 package edu.uoc.som.jarvis.core;
 
 import edu.uoc.som.jarvis.common.Expression;
+import edu.uoc.som.jarvis.common.IfExpression;
 import edu.uoc.som.jarvis.common.Instruction;
+import edu.uoc.som.jarvis.common.VariableDeclaration;
 import edu.uoc.som.jarvis.core.interpreter.CommonInterpreter;
 import edu.uoc.som.jarvis.core.interpreter.ExecutionContext;
+import edu.uoc.som.jarvis.core.interpreter.compiler.CompiledInstruction;
+import edu.uoc.som.jarvis.core.interpreter.compiler.CompiledProgram;
+import edu.uoc.som.jarvis.core.interpreter.compiler.InstructionCompiler;
+import edu.uoc.som.jarvis.core.journal.EventJournal;
 import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
 import edu.uoc.som.jarvis.core.platform.action.RuntimeAction;
 import edu.uoc.som.jarvis.core.platform.action.RuntimeActionResult;
+import edu.uoc.som.jarvis.core.platform.io.RuntimeEvent;
 import edu.uoc.som.jarvis.core.platform.io.RuntimeEventProvider;
 import edu.uoc.som.jarvis.core.session.JarvisSession;
 import edu.uoc.som.jarvis.execution.ActionInstance;
 import edu.uoc.som.jarvis.execution.ExecutionModel;
+import edu.uoc.som.jarvis.execution.ExecutionPackage;
 import edu.uoc.som.jarvis.execution.ExecutionRule;
-import edu.uoc.som.jarvis.intent.ContextInstance;
-import edu.uoc.som.jarvis.intent.ContextParameterValue;
 import edu.uoc.som.jarvis.intent.EventDefinition;
 import edu.uoc.som.jarvis.intent.EventInstance;
-import edu.uoc.som.jarvis.platform.PlatformDefinition;
+import edu.uoc.som.jarvis.util.VirtualThreads;
 import fr.inria.atlanmod.commons.log.Log;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.util.EContentAdapter;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.function.Function;
 
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * A service that handles {@link EventInstance}s and executes the corresponding {@link RuntimeAction}s defined in the
@@ -45,12 +70,131 @@ import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
  */
 public class ExecutionService extends CommonInterpreter {
 
+    /**
+     * The {@link Configuration} key to store the number of execution lanes used to process
+     * {@link EventInstance}s.
+     * <p>
+     * {@link EventInstance}s are dispatched to a lane according to the identifier of the {@link JarvisSession} they
+     * are handled in: events from the same session are processed sequentially, while events from sessions
+     * associated to different lanes are processed in parallel.
+     *
+     * @see SessionShardedExecutor
+     */
+    public static String EXECUTION_LANES_KEY = "jarvis.execution.lanes";
+
+    /**
+     * The default number of execution lanes used to process {@link EventInstance}s.
+     *
+     * @see #EXECUTION_LANES_KEY
+     */
+    public static int DEFAULT_EXECUTION_LANES_VALUE = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The {@link Configuration} key to store whether Jarvis should use virtual {@link Thread}s.
+     * <p>
+     * When this option is enabled the {@link ExecutionRule}s are executed in a new virtual {@link Thread} for each
+     * handled event (events from the same {@link JarvisSession} are still processed sequentially), and the
+     * {@link RuntimeEventProvider}s and webhook requests are also handled in virtual {@link Thread}s. Blocking calls
+     * (e.g. REST requests or retry delays) performed by the actions then release their carrier {@link Thread},
+     * allowing to process a large number of sessions concurrently.
+     * <p>
+     * Virtual {@link Thread}s require Java 21 or higher: Jarvis logs a warning and uses platform {@link Thread}s if
+     * this option is enabled on a JVM that does not support them. The {@link #EXECUTION_LANES_KEY}
+     * {@link Configuration} is ignored when virtual {@link Thread}s are used.
+     *
+     * @see VirtualThreads
+     */
+    public static String VIRTUAL_THREADS_KEY = "jarvis.execution.virtual_threads";
+
+    /**
+     * The default value of the {@link #VIRTUAL_THREADS_KEY} {@link Configuration}.
+     *
+     * @see #VIRTUAL_THREADS_KEY
+     */
+    public static boolean DEFAULT_VIRTUAL_THREADS_VALUE = false;
+
+    /**
+     * The {@link Configuration} key to store the engine used to execute the {@link ExecutionRule}s.
+     * <p>
+     * Accepted values are {@link #INTERPRETER_ENGINE} (the {@link ExecutionRule}s are evaluated by walking their
+     * {@link Instruction} trees) and {@link #COMPILED_ENGINE} (the {@link ExecutionRule}s are compiled into
+     * {@link CompiledInstruction}s when the {@link ExecutionModel} is loaded).
+     *
+     * @see InstructionCompiler
+     */
+    public static String EXECUTION_ENGINE_KEY = "jarvis.execution.engine";
+
+    /**
+     * The {@link #EXECUTION_ENGINE_KEY} value evaluating the {@link ExecutionRule}s by walking their
+     * {@link Instruction} trees.
+     */
+    public static String INTERPRETER_ENGINE = "interpreter";
+
+    /**
+     * The {@link #EXECUTION_ENGINE_KEY} value compiling the {@link ExecutionRule}s into
+     * {@link CompiledInstruction}s when the {@link ExecutionModel} is loaded.
+     */
+    public static String COMPILED_ENGINE = "compiled";
+
+    /**
+     * The default engine used to execute the {@link ExecutionRule}s.
+     *
+     * @see #EXECUTION_ENGINE_KEY
+     */
+    public static String DEFAULT_EXECUTION_ENGINE_VALUE = INTERPRETER_ENGINE;
+
     /**
      * The {@link ExecutionModel} used to retrieve the {@link RuntimeAction}s to compute from the handled
      * {@link EventInstance}s.
      */
     private ExecutionModel executionModel;
 
+    /**
+     * The {@link ExecutionRuleIndex} used to retrieve the {@link ExecutionRule}s associated to the handled
+     * {@link EventInstance}s.
+     * <p>
+     * This index is computed when the {@link ExecutionService} is constructed, and replaced by a new one each time
+     * the {@link ExecutionRule}s of the {@link ExecutionModel} are modified (see {@link ExecutionRuleIndexUpdater}).
+     */
+    private volatile ExecutionRuleIndex executionRuleIndex;
+
+    /**
+     * The {@link ExecutionRuleIndexUpdater} listening to the {@link ExecutionModel} modifications to keep the
+     * {@link #executionRuleIndex} up to date.
+     */
+    private ExecutionRuleIndexUpdater executionRuleIndexUpdater;
+
+    /**
+     * The {@link InstructionCompiler} used to compile the {@link ExecutionRule}s of the {@link ExecutionModel}.
+     * <p>
+     * This field is {@code null} if the {@link ExecutionService} is not configured to use the
+     * {@link #COMPILED_ENGINE}.
+     *
+     * @see #EXECUTION_ENGINE_KEY
+     */
+    private ExecutionRuleCompiler executionRuleCompiler;
+
+    /**
+     * The compiled {@link ExecutionRule}s of the {@link ExecutionModel}.
+     * <p>
+     * This map is recomputed along with the {@link #executionRuleIndex}, and is empty if the
+     * {@link ExecutionService} is not configured to use the {@link #COMPILED_ENGINE}.
+     */
+    private volatile Map<ExecutionRule, CompiledProgram> compiledExecutionRules = Collections.emptyMap();
+
+    /**
+     * The pool of {@link ExecutionContext}s used to execute the compiled {@link ExecutionRule}s.
+     * <p>
+     * An {@link ExecutionContext} is taken from the pool for each execution of a compiled {@link ExecutionRule}, and
+     * is reset (see {@link ExecutionContext#reset()}) and returned to the pool once the rule has been executed. The
+     * pool is not bound to the execution {@link Thread}s, allowing to reuse the contexts (and their frame arrays)
+     * when each event is executed in its own virtual {@link Thread} (see {@link #VIRTUAL_THREADS_KEY}). The pool
+     * retains at most as many contexts as the peak number of compiled {@link ExecutionRule}s executed concurrently.
+     *
+     * @see #executeExecutionRule(ExecutionRule, JarvisSession, Executor)
+     */
+    private final Queue<ExecutionContext> compiledExecutionContexts = new ConcurrentLinkedQueue<>();
+
     /**
      * The {@link RuntimePlatformRegistry} used to cache loaded {@link RuntimePlatform}s, and provides utility method
      * to retrieve, unregister, and clear them.
@@ -65,13 +209,57 @@ public class ExecutionService extends CommonInterpreter {
      */
     private RuntimePlatformRegistry runtimePlatformRegistry;
 
+    /**
+     * The {@link ActionInstanceBindings} caching the {@link RuntimePlatform} and
+     * {@link edu.uoc.som.jarvis.core.platform.action.RuntimeActionFactory} of the executed {@link ActionInstance}s.
+     * <p>
+     * The bindings are invalidated when the {@link RuntimePlatform}s of the {@link #runtimePlatformRegistry} or their
+     * enabled actions are updated.
+     *
+     * @see #bindActions()
+     * @see #getRuntimeActionFromActionInstance(ActionInstance, RuntimePlatform, JarvisSession, ExecutionContext)
+     */
+    private ActionInstanceBindings actionInstanceBindings;
+
+    /**
+     * A flag telling whether the {@link ActionInstance}s of the {@link ExecutionRule}s are bound when the rules are
+     * indexed.
+     *
+     * @see #bindActions()
+     */
+    private volatile boolean bindActions;
+
+    /**
+     * The {@link PlatformBulkheads} isolating the {@link RuntimeAction}s of each {@link RuntimePlatform}.
+     * <p>
+     * The {@link RuntimeAction}s of a {@link RuntimePlatform} with a {@link PlatformBulkhead} are executed in the
+     * bulkhead, while the other ones are executed in the execution lane of the handled event.
+     *
+     * @see #executeRuntimeAction(RuntimeAction, ActionInstance, RuntimePlatform, JarvisSession, ExecutionContext,
+     * Executor)
+     */
+    private PlatformBulkheads platformBulkheads;
+
     /**
      * The {@link ExecutorService} used to process {@link RuntimeAction}s.
+     * <p>
+     * Handled {@link EventInstance}s are dispatched to the execution lane associated to their
+     * {@link JarvisSession}, see {@link #EXECUTION_LANES_KEY} to configure the number of lanes.
      *
      * @see RuntimePlatform
      * @see RuntimeAction
      */
-    private ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private SessionShardedExecutor executorService;
+
+    /**
+     * The {@link EventJournal} storing the handled {@link EventInstance}s until their {@link ExecutionRule}s have
+     * been executed.
+     * <p>
+     * This field is {@code null} if the journal is not enabled.
+     *
+     * @see #setEventJournal(EventJournal)
+     */
+    private volatile EventJournal eventJournal;
 
     /**
      * Constructs a new {@link ExecutionService} based on the provided {@code executionModel} and {@code
@@ -86,19 +274,82 @@ public class ExecutionService extends CommonInterpreter {
      *                                to execute
      * @throws NullPointerException if the provided {@code executionModel} or {@code runtimePlatformRegistry} is
      *                              {@code null}
+     * @see #ExecutionService(ExecutionModel, RuntimePlatformRegistry, Configuration)
      */
     public ExecutionService(ExecutionModel executionModel, RuntimePlatformRegistry runtimePlatformRegistry) {
+        this(executionModel, runtimePlatformRegistry, new BaseConfiguration());
+    }
+
+    /**
+     * Constructs a new {@link ExecutionService} based on the provided {@code executionModel}, {@code
+     * runtimePlatformRegistry}, and {@code configuration}.
+     * <p>
+     * This constructor also takes care of resolving all the proxies in the provided {@link ExecutionModel},
+     * ensuring that concurrent accesses of the model will not produce unexpected behaviors (see
+     * <a href="https://www.eclipse.org/forums/index.php/t/1095731/">this post</a>)
+     * <p>
+     * The provided {@code configuration} can contain the following keys to customize the execution engine:
+     * <ul>
+     * <li>{@link #EXECUTION_LANES_KEY}: the number of execution lanes used to process the handled
+     * {@link EventInstance}s (default to the number of available processors)</li>
+     * <li>{@link #EXECUTION_ENGINE_KEY}: the engine used to execute the {@link ExecutionRule}s (default to
+     * {@link #INTERPRETER_ENGINE})</li>
+     * <li>{@link #VIRTUAL_THREADS_KEY}: whether the handled {@link EventInstance}s are executed in virtual
+     * {@link Thread}s (default to {@code false})</li>
+     * <li>{@code jarvis.execution.bulkhead.*}: the concurrency limits, queue sizes, and rejection policies of the
+     * {@link PlatformBulkhead}s isolating the actions of each {@link RuntimePlatform} (see
+     * {@link PlatformBulkheads})</li>
+     * </ul>
+     *
+     * @param executionModel          the {@link ExecutionModel} representing the intent-to-action bindings to use
+     * @param runtimePlatformRegistry the {@link RuntimePlatformRegistry} used to create the {@link RuntimeAction}s
+     *                                to execute
+     * @param configuration           the {@link Configuration} used to customize the execution engine
+     * @throws NullPointerException     if the provided {@code executionModel}, {@code runtimePlatformRegistry}, or
+     *                                  {@code configuration} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code configuration} defines a number of execution lanes
+     *                                  lower than {@code 1}, an unknown execution engine, or an invalid
+     *                                  {@code jarvis.execution.bulkhead.*} value, or if the {@link ExecutionRule}s
+     *                                  cannot be compiled by the {@link #COMPILED_ENGINE}
+     */
+    public ExecutionService(ExecutionModel executionModel, RuntimePlatformRegistry runtimePlatformRegistry,
+                            Configuration configuration) {
         checkNotNull(executionModel, "Cannot construct a %s from the provided %s %s", this.getClass()
                 .getSimpleName(), ExecutionModel.class.getSimpleName(), executionModel);
         checkNotNull(runtimePlatformRegistry, "Cannot construct a %s from the provided %s %s", this.getClass()
                 .getSimpleName(), RuntimePlatformRegistry.class.getSimpleName(), runtimePlatformRegistry);
+        checkNotNull(configuration, "Cannot construct a %s from the provided %s %s", this.getClass()
+                .getSimpleName(), Configuration.class.getSimpleName(), configuration);
         this.executionModel = executionModel;
         this.runtimePlatformRegistry = runtimePlatformRegistry;
+        this.actionInstanceBindings = new ActionInstanceBindings(runtimePlatformRegistry);
+        this.platformBulkheads = new PlatformBulkheads(configuration);
         /*
          * Resolve all the proxies in the Resource: this should remove concurrent read issues on the model (see
          * https://www.eclipse.org/forums/index.php/t/1095731/)
          */
         EcoreUtil.resolveAll(executionModel);
+        String engine = configuration.getString(EXECUTION_ENGINE_KEY, DEFAULT_EXECUTION_ENGINE_VALUE);
+        checkArgument(INTERPRETER_ENGINE.equals(engine) || COMPILED_ENGINE.equals(engine), "Cannot construct a %s" +
+                " with the provided engine %s, expected %s or %s", this.getClass().getSimpleName(), engine,
+                INTERPRETER_ENGINE, COMPILED_ENGINE);
+        if (COMPILED_ENGINE.equals(engine)) {
+            this.executionRuleCompiler = new ExecutionRuleCompiler();
+        }
+        this.executionRuleIndexUpdater = new ExecutionRuleIndexUpdater();
+        this.executionModel.eAdapters().add(executionRuleIndexUpdater);
+        this.rebuildExecutionRuleIndex();
+        if (VirtualThreads.isEnabled(configuration)) {
+            this.executorService = new SessionShardedExecutor(VirtualThreads.newThreadPerTaskExecutor
+                    ("jarvis-execution-"));
+            Log.info("{0} started with a virtual thread per event and the {1} engine", this.getClass()
+                    .getSimpleName(), engine);
+        } else {
+            int laneCount = configuration.getInt(EXECUTION_LANES_KEY, DEFAULT_EXECUTION_LANES_VALUE);
+            this.executorService = new SessionShardedExecutor(laneCount);
+            Log.info("{0} started with {1} execution lane(s) and the {2} engine", this.getClass().getSimpleName(),
+                    laneCount, engine);
+        }
     }
 
     /**
@@ -136,63 +387,251 @@ public class ExecutionService extends CommonInterpreter {
      * Handles the provided {@code eventInstance} and executed the corresponding {@link RuntimeAction}s defined in the
      * {@link ExecutionModel}.
      * <p>
+     * This method converts the provided {@code eventInstance} into a {@link RuntimeEvent} and handles it with
+     * {@link #handleRuntimeEvent(RuntimeEvent, JarvisSession)}. {@link RuntimeEventProvider}s that create their
+     * events from an {@link edu.uoc.som.jarvis.core.platform.io.EventInstanceBuilder} should directly call
+     * {@link #handleRuntimeEvent(RuntimeEvent, JarvisSession)} to avoid the creation of the EMF
+     * {@link EventInstance}.
+     *
+     * @param eventInstance the {@link EventInstance} to handle
+     * @param session       the {@link JarvisSession} used to define and access context variables
+     * @throws NullPointerException if the provided {@code eventInstance} or {@code session} is {@code null}
+     * @see #handleRuntimeEvent(RuntimeEvent, JarvisSession)
+     */
+    public void handleEventInstance(EventInstance eventInstance, JarvisSession session) {
+        checkNotNull(eventInstance, "Cannot handle the %s %s", EventInstance.class.getSimpleName(), eventInstance);
+        handleRuntimeEvent(RuntimeEvent.of(eventInstance), session);
+    }
+
+    /**
+     * Handles the provided {@code runtimeEvent} and executed the corresponding {@link RuntimeAction}s defined in the
+     * {@link ExecutionModel}.
+     * <p>
      * This method creates an asynchronous task that retrieves the {@link RuntimeAction}s to execute from the
      * {@link ExecutionModel}, and executes them sequentially. Note that all the {@link RuntimeAction}s are
-     * executed in the same {@link Thread}, in order to ensure that their pre-conditions are respected (i.e. the
+     * executed in the same execution lane, in order to ensure that their pre-conditions are respected (i.e. the
      * context variables defined by an action are available for the next ones).
      * <p>
+     * The created task is executed in the execution lane associated to the provided {@code session}: events
+     * handled in the same {@link JarvisSession} are processed in their reception order, while events from other
+     * sessions can be processed in parallel (see {@link #EXECUTION_LANES_KEY}). The lane is released while an
+     * {@link edu.uoc.som.jarvis.core.platform.action.AsyncRuntimeAction} is pending, but the next event of the
+     * session is not processed before the task completes (see {@link SessionShardedExecutor#executeAsync(String,
+     * java.util.function.Supplier)}).
+     * <p>
      * Exceptions thrown from the computed {@link RuntimeAction}s are logged and ignored, so the calling
      * {@link RuntimeEventProvider} does not have to handle the exception, and can process the next event.
      * <p>
      * The created task also registers the output context values to the provided {@code session}, making them
      * available for the computed actions.
+     * <p>
+     * If an {@link EventJournal} is set (see {@link #setEventJournal(EventJournal)}) the provided {@code
+     * runtimeEvent} is journaled before being dispatched, and marked as completed once the task is done.
      *
-     * @param eventInstance the {@link EventInstance} to handle
-     * @param session       the {@link JarvisSession} used to define and access context variables
-     * @throws NullPointerException if the provided {@code eventInstance} or {@code session} is {@code null}
-     * @see #executeExecutionRule(ExecutionRule, JarvisSession)
+     * @param runtimeEvent the {@link RuntimeEvent} to handle
+     * @param session      the {@link JarvisSession} used to define and access context variables
+     * @throws NullPointerException if the provided {@code runtimeEvent} or {@code session} is {@code null}
+     * @see #executeExecutionRule(ExecutionRule, JarvisSession, Executor)
      */
-    public void handleEventInstance(EventInstance eventInstance, JarvisSession session) {
-        checkNotNull(eventInstance, "Cannot handle the %s %s", EventInstance.class.getSimpleName(), eventInstance);
+    public void handleRuntimeEvent(RuntimeEvent runtimeEvent, JarvisSession session) {
+        checkNotNull(runtimeEvent, "Cannot handle the %s %s", RuntimeEvent.class.getSimpleName(), runtimeEvent);
         checkNotNull(session, "Cannot handle the %s %s", JarvisSession.class.getSimpleName(), session);
-        CompletableFuture.runAsync(() -> {
+        EventJournal journal = this.eventJournal;
+        long journalSequence = nonNull(journal) ? journal.appendEvent(runtimeEvent, session.getSessionId()) :
+                EventJournal.NO_SEQUENCE;
+        Executor lane = executorService.getLane(session.getSessionId());
+        executorService.executeAsync(session.getSessionId(), () -> {
             /*
              * Register the returned context values
              */
-            for (ContextInstance contextInstance : eventInstance.getOutContextInstances()) {
-                for (ContextParameterValue value : contextInstance.getValues()) {
-                    session.getRuntimeContexts().setContextValue(value);
-                }
+            for (int i = 0; i < runtimeEvent.getValueCount(); i++) {
+                session.getRuntimeContexts().setContextValue(runtimeEvent.getContext(i).getName(), runtimeEvent
+                        .getLifespanCount(i), runtimeEvent.getContextParameter(i).getName(), runtimeEvent.getValue(i));
             }
-            List<ExecutionRule> executionRules = this.getExecutionRulesFromEvent(eventInstance);
+            List<ExecutionRule> executionRules = this.getExecutionRulesFromEvent(runtimeEvent.getDefinition());
+            CompletableFuture<Void> rulesExecution = CompletableFuture.completedFuture(null);
             for (ExecutionRule rule : executionRules) {
-                executeExecutionRule(rule, session);
+                rulesExecution = thenCompose(rulesExecution, result -> executeExecutionRule(rule, session, lane),
+                        lane);
             }
-        }, executorService).exceptionally((throwable) -> {
-            Log.error("An error occurred when running the actions associated to {0}: {1} {2}", eventInstance
+            return rulesExecution;
+        }).exceptionally((throwable) -> {
+            Log.error("An error occurred when running the actions associated to {0}: {1} {2}", runtimeEvent
                     .getDefinition().getName(), throwable.getClass().getSimpleName(), throwable.getMessage());
             Log.error(throwable);
             return null;
+        }).whenComplete((result, throwable) -> {
+            if (nonNull(journal)) {
+                journal.complete(journalSequence);
+            }
         });
     }
 
     /**
-     * Executes <b>synchronously</b> the actions defined in the provided {@code executionRule}.
+     * Executes the actions defined in the provided {@code executionRule}.
      * <p>
      * This method creates a new {@link ExecutionContext} used to evaluate all the expressions within the provided
      * {@code executionRule}. This {@link ExecutionContext} ensures that scoping is preserved, and that expressions
      * in the provided {@code executionRule} cannot access variables that are defined in another {@link ExecutionRule}.
+     * <p>
+     * The top-level {@link Instruction}s of the rule are executed sequentially. When a top-level
+     * {@link ActionInstance} (or a {@link VariableDeclaration} initialized with an {@link ActionInstance}) is
+     * pending, the remaining {@link Instruction}s are executed in the provided {@code lane} once the action
+     * completes, and the lane is not blocked in the meantime. The {@link Instruction}s of the branches of a
+     * top-level {@link IfExpression} are executed the same way. Pending actions nested in other expressions (e.g.
+     * in the arguments of an operation) are waited for synchronously.
+     * <p>
+     * If the {@link ExecutionService} is configured to use the {@link #COMPILED_ENGINE} the top-level
+     * {@link CompiledInstruction}s of the {@link CompiledProgram} created from the provided {@code executionRule}
+     * are executed instead of its {@link Instruction}s, and pending actions are handled the same way. In this case
+     * a pooled {@link ExecutionContext} is reused, and reset once the rule has been executed.
      *
      * @param executionRule the {@link ExecutionRule} to execute
      * @param session       the {@link JarvisSession} used to define and access the rule's context variables
-     * @see #executeRuntimeAction(RuntimeAction, ActionInstance, JarvisSession, ExecutionContext)
+     * @param lane          the execution lane used to execute the {@link Instruction}s following a pending action
+     * @return a {@link CompletableFuture} completed when all the {@link Instruction}s of the rule have been executed
+     * @see #executeRuntimeAction(RuntimeAction, ActionInstance, RuntimePlatform, JarvisSession, ExecutionContext,
+     * Executor)
+     * @see #executeCompiledInstructions(List, int, ExecutionContext, Executor)
      */
-    private void executeExecutionRule(ExecutionRule executionRule, JarvisSession session) {
+    private CompletableFuture<Void> executeExecutionRule(ExecutionRule executionRule, JarvisSession session,
+                                                         Executor lane) {
+        CompiledProgram compiledExecutionRule = compiledExecutionRules.get(executionRule);
+        if (nonNull(compiledExecutionRule)) {
+            ExecutionContext context = compiledExecutionContexts.poll();
+            if (isNull(context)) {
+                context = new ExecutionContext();
+            }
+            context.setSession(session);
+            compiledExecutionRule.bindFrame(context);
+            CompletableFuture<Void> ruleExecution;
+            try {
+                ruleExecution = executeCompiledInstructions(compiledExecutionRule.getInstructions(), 0, context,
+                        lane);
+            } catch (RuntimeException e) {
+                releaseCompiledExecutionContext(context);
+                throw e;
+            }
+            ExecutionContext ruleContext = context;
+            return ruleExecution.whenComplete((result, throwable) -> releaseCompiledExecutionContext(ruleContext));
+        }
         ExecutionContext context = new ExecutionContext();
         context.setSession(session);
-        for(Instruction instruction : executionRule.getInstructions()) {
-            compute(instruction, context);
+        return executeInstructions(executionRule.getInstructions().iterator(), context, lane);
+    }
+
+    /**
+     * Resets the provided {@code context} and returns it to the {@link #compiledExecutionContexts} pool.
+     *
+     * @param context the {@link ExecutionContext} used to execute a compiled {@link ExecutionRule}
+     */
+    private void releaseCompiledExecutionContext(ExecutionContext context) {
+        /*
+         * Unbind the rule's frame, the next rule executed with this context may use another frame.
+         */
+        context.reset();
+        context.setSession(null);
+        compiledExecutionContexts.offer(context);
+    }
+
+    /**
+     * Executes the {@link CompiledInstruction}s of the provided {@code instructions} starting at the provided {@code
+     * index}.
+     * <p>
+     * This method executes the {@link CompiledInstruction}s in the calling {@link Thread} until it reaches a pending
+     * {@link AsyncCompiledInstruction}. In this case the remaining {@link CompiledInstruction}s are executed in the
+     * provided {@code lane} once the instruction completes.
+     *
+     * @param instructions the {@link CompiledInstruction}s to execute
+     * @param index        the index of the first {@link CompiledInstruction} to execute
+     * @param context      the {@link ExecutionContext} used to execute the {@link CompiledInstruction}s
+     * @param lane         the execution lane used to execute the {@link CompiledInstruction}s following a pending
+     *                     instruction
+     * @return a {@link CompletableFuture} completed when all the {@link CompiledInstruction}s have been executed
+     * @see #executeInstructions(Iterator, ExecutionContext, Executor)
+     */
+    private CompletableFuture<Void> executeCompiledInstructions(List<CompiledInstruction> instructions, int index,
+                                                                ExecutionContext context, Executor lane) {
+        for (int i = index; i < instructions.size(); i++) {
+            CompiledInstruction instruction = instructions.get(i);
+            if (!(instruction instanceof AsyncCompiledInstruction)) {
+                instruction.execute(context);
+                continue;
+            }
+            CompletableFuture<?> instructionExecution = ((AsyncCompiledInstruction) instruction).executeAsync
+                    (context, lane);
+            if (!instructionExecution.isDone()) {
+                int nextIndex = i + 1;
+                return instructionExecution.thenComposeAsync(result -> executeCompiledInstructions(instructions,
+                        nextIndex, context, lane), lane);
+            }
+            /*
+             * Rethrow the exception of the completed instruction (if any), the remaining instructions must not be
+             * executed.
+             */
+            instructionExecution.join();
         }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Executes the remaining {@link Instruction}s of the provided {@code instructions} iterator.
+     * <p>
+     * This method executes the {@link Instruction}s in the calling {@link Thread} until it reaches a pending
+     * top-level {@link ActionInstance}. In this case the remaining {@link Instruction}s are executed in the provided
+     * {@code lane} once the action completes. The branches of {@link IfExpression}s are executed recursively with
+     * this method.
+     *
+     * @param instructions the iterator over the {@link Instruction}s to execute
+     * @param context      the {@link ExecutionContext} used to execute the {@link Instruction}s
+     * @param lane         the execution lane used to execute the {@link Instruction}s following a pending action
+     * @return a {@link CompletableFuture} completed when all the {@link Instruction}s have been executed
+     */
+    private CompletableFuture<Void> executeInstructions(Iterator<Instruction> instructions, ExecutionContext
+            context, Executor lane) {
+        while (instructions.hasNext()) {
+            Instruction instruction = instructions.next();
+            CompletableFuture<?> instructionExecution;
+            if (instruction instanceof ActionInstance) {
+                instructionExecution = evaluate((ActionInstance) instruction, context, lane);
+            } else if (instruction instanceof VariableDeclaration && ((VariableDeclaration) instruction).getValue()
+                    instanceof ActionInstance) {
+                VariableDeclaration variableDeclaration = (VariableDeclaration) instruction;
+                instructionExecution = evaluate((ActionInstance) variableDeclaration.getValue(), context, lane)
+                        .thenAccept(value -> context.setValue(variableDeclaration.getName(), value));
+            } else if (instruction instanceof IfExpression) {
+                IfExpression ifExpression = (IfExpression) instruction;
+                List<Instruction> branch = evaluateCondition(evaluate(ifExpression.getCondition(), context)) ?
+                        ifExpression.getThenInstructions() : ifExpression.getElseInstructions();
+                instructionExecution = executeInstructions(branch.iterator(), context, lane);
+            } else {
+                compute(instruction, context);
+                continue;
+            }
+            if (!instructionExecution.isDone()) {
+                return instructionExecution.thenComposeAsync(result -> executeInstructions(instructions, context,
+                        lane), lane);
+            }
+            /*
+             * Rethrow the exception of the completed instruction (if any), the remaining instructions must not be
+             * executed.
+             */
+            instructionExecution.join();
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Returns the {@code boolean} value of the provided evaluated {@link IfExpression} {@code condition}.
+     *
+     * @param condition the evaluated condition of an {@link IfExpression}
+     * @return the {@code boolean} value of the {@code condition}
+     * @throws IllegalArgumentException if the provided {@code condition} is not a {@link Boolean} value
+     */
+    private static boolean evaluateCondition(Object condition) {
+        checkArgument(condition instanceof Boolean, "Cannot evaluate if condition: %s (class=%s) is not a boolean " +
+                "value", condition, isNull(condition) ? null : condition.getClass().getSimpleName());
+        return (Boolean) condition;
     }
 
     @Override
@@ -206,59 +645,165 @@ public class ExecutionService extends CommonInterpreter {
     }
 
     public Object evaluate(ActionInstance a, ExecutionContext context) {
-        RuntimeAction runtimeAction = getRuntimeActionFromActionInstance(a, context.getSession(), context);
-        RuntimeActionResult result = executeRuntimeAction(runtimeAction, a, context.getSession(), context);
+        return join(evaluate(a, context, Runnable::run));
+    }
+
+    /**
+     * Waits for the provided {@code evaluation} and returns its result.
+     *
+     * @param evaluation the {@link CompletableFuture} to wait for
+     * @param <T>        the type of the result of the {@code evaluation}
+     * @return the result of the {@code evaluation}
+     * @throws RuntimeException the exception thrown by the {@code evaluation} (if any)
+     */
+    private static <T> T join(CompletableFuture<T> evaluation) {
+        try {
+            return evaluation.join();
+        } catch (CompletionException e) {
+            /*
+             * Rethrow the original exception, CompletionExceptions are an implementation detail of the action
+             * execution.
+             */
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Evaluates the provided {@link ActionInstance} with the given {@code context}.
+     * <p>
+     * The returned {@link CompletableFuture} is already completed if the created {@link RuntimeAction} is
+     * synchronous, otherwise it is completed once the action and its {@code onError} fallbacks have been computed.
+     *
+     * @param a       the {@link ActionInstance} to evaluate
+     * @param context the {@link ExecutionContext} to use along the evaluation
+     * @param lane    the execution lane used to process the result of the action if it is pending
+     * @return a {@link CompletableFuture} completed with the result of the action
+     */
+    private CompletableFuture<Object> evaluate(ActionInstance a, ExecutionContext context, Executor lane) {
+        return evaluate(a, actionInstanceBindings.getBinding(a).getRuntimePlatform(), context, lane);
+    }
+
+    /**
+     * Evaluates the provided {@link ActionInstance} bound to the provided {@code runtimePlatform} with the given
+     * {@code context}.
+     *
+     * @param a               the {@link ActionInstance} to evaluate
+     * @param runtimePlatform the {@link RuntimePlatform} bound to the {@link ActionInstance}
+     * @param context         the {@link ExecutionContext} to use along the evaluation
+     * @param lane            the execution lane used to process the result of the action if it is pending
+     * @return a {@link CompletableFuture} completed with the result of the action
+     * @see #evaluate(ActionInstance, ExecutionContext, Executor)
+     */
+    private CompletableFuture<Object> evaluate(ActionInstance a, RuntimePlatform runtimePlatform, ExecutionContext
+            context, Executor lane) {
+        RuntimeAction runtimeAction = getRuntimeActionFromActionInstance(a, runtimePlatform, context.getSession(),
+                context);
         /*
          * Unwrap to avoid complex interpreter rules, should be fixed
          */
-        return result.getResult();
+        return executeRuntimeAction(runtimeAction, a, runtimePlatform, context.getSession(), context, lane)
+                .thenApply(RuntimeActionResult::getResult);
     }
 
     /**
      * Executes the provided {@code action} with the provided {@code session}.
      * <p>
-     * This method executes the provided {@link RuntimeAction} in the calling {@link Thread}, and will block the
-     * execution until the action completes. This method is called sequentially by the
-     * {@link #handleEventInstance(EventInstance, JarvisSession)} method, that wraps all the computation in a single
-     * asynchronous task.
+     * This method starts the provided {@link RuntimeAction} in the calling {@link Thread} with
+     * {@link RuntimeAction#callAsync(Executor)}. Synchronous actions are computed before this method returns, while
+     * {@link edu.uoc.som.jarvis.core.platform.action.AsyncRuntimeAction}s return a pending result that is
+     * processed in the provided {@code lane} once the action completes. Actions waiting for their inputs (e.g.
+     * {@link edu.uoc.som.jarvis.core.platform.action.RuntimeMessageAction}s waiting for a pending context value)
+     * are computed in the provided {@code lane} once their inputs are available. If the {@link RuntimePlatform} of the
+     * {@code action} has a {@link PlatformBulkhead} the {@code action} is executed in the bulkhead instead, and its
+     * result is processed in the provided {@code lane} once the bulkhead completes it. Actions rejected by the
+     * bulkhead are handled as failed actions. Note that the returned {@link CompletableFuture} is joined (and the
+     * lane blocked) when the {@code action} is nested in another expression. This method is called sequentially by
+     * the {@link #handleEventInstance(EventInstance, JarvisSession)} method, that wraps all the computation in a
+     * single asynchronous task.
      * <p>
      * This method processes the {@link RuntimeActionResult} returned by the computed {@code action}. If the {@code
      * action} threw an exception an error message is logged and the {@code onError} {@link ActionInstance}s are
      * retrieved and executed. If the {@code action} terminated successfully the corresponding context variables are
      * set and the {@code onSuccess} {@link ActionInstance}s are retrieved and executed.
      *
-     * @param action         the {@link RuntimeAction} to execute
-     * @param actionInstance the {@link ActionInstance} representing the signature of the {@link RuntimeAction} to
-     *                       execute
-     * @param session        the {@link JarvisSession} used to define and access the context variables associated to the
-     *                       provided {@code action}
+     * @param action          the {@link RuntimeAction} to execute
+     * @param actionInstance  the {@link ActionInstance} representing the signature of the {@link RuntimeAction} to
+     *                        execute
+     * @param runtimePlatform the {@link RuntimePlatform} bound to the {@code actionInstance}
+     * @param session         the {@link JarvisSession} used to define and access the context variables associated to
+     *                        the provided {@code action}
+     * @param lane            the execution lane used to process the result of the {@code action} if it is pending
+     * @return a {@link CompletableFuture} completed with the {@link RuntimeActionResult} of the {@code action}, or
+     * the one of its last {@code onError} {@link ActionInstance} if the {@code action} failed
      * @throws NullPointerException if the provided {@code action} or {@code session} is {@code null}
      */
-    private RuntimeActionResult executeRuntimeAction(RuntimeAction action, ActionInstance actionInstance,
-                                              JarvisSession session,
-                                      ExecutionContext context) {
+    private CompletableFuture<RuntimeActionResult> executeRuntimeAction(RuntimeAction action, ActionInstance
+            actionInstance, RuntimePlatform runtimePlatform, JarvisSession session, ExecutionContext context, Executor
+            lane) {
         checkNotNull(action, "Cannot execute the provided %s %s", RuntimeAction.class.getSimpleName(), action);
         checkNotNull(session, "Cannot execute the provided %s with the provided %s %s", RuntimeAction.class
                 .getSimpleName(), JarvisSession.class.getSimpleName(), session);
-        RuntimeActionResult result = action.call();
-        if (result.isError()) {
+        PlatformBulkhead bulkhead = platformBulkheads.getBulkhead(runtimePlatform);
+        CompletableFuture<RuntimeActionResult> actionExecution;
+        if (isNull(bulkhead)) {
+            actionExecution = action.callAsync(lane).toCompletableFuture();
+        } else {
+            actionExecution = bulkhead.execute(action);
+        }
+        return thenCompose(actionExecution, actionResult -> {
+            if (!actionResult.isError()) {
+                return actionExecution;
+            }
             Log.error("An error occurred when executing the action {0}: {1} {2}", action.getClass().getSimpleName
-                    (), result.getThrownException().getClass().getSimpleName(), result.getThrownException()
-                    .getMessage());
+                    (), actionResult.getThrownException().getClass().getSimpleName(), actionResult
+                    .getThrownException().getMessage());
             /*
              * Retrieve the ActionInstances to execute when the computed ActionInstance returns an error and execute
              * them.
              */
-            result = null;
+            CompletableFuture<RuntimeActionResult> onErrorExecution = CompletableFuture.completedFuture(null);
             for (ActionInstance onErrorActionInstance : actionInstance.getOnError()) {
-                Log.info("Executing fallback action {0}", onErrorActionInstance.getAction().getName());
-                RuntimeAction onErrorRuntimeAction = getRuntimeActionFromActionInstance(onErrorActionInstance,
-                        session, context);
-                result = executeRuntimeAction(onErrorRuntimeAction, onErrorActionInstance, session, context);
+                onErrorExecution = thenCompose(onErrorExecution, previousResult -> {
+                    Log.info("Executing fallback action {0}", onErrorActionInstance.getAction().getName());
+                    RuntimePlatform onErrorRuntimePlatform = actionInstanceBindings.getBinding
+                            (onErrorActionInstance).getRuntimePlatform();
+                    RuntimeAction onErrorRuntimeAction = getRuntimeActionFromActionInstance(onErrorActionInstance,
+                            onErrorRuntimePlatform, session, context);
+                    return executeRuntimeAction(onErrorRuntimeAction, onErrorActionInstance, onErrorRuntimePlatform,
+                            session, context, lane);
+                }, lane);
             }
+            return onErrorExecution;
+        }, lane).thenApply(result -> {
+            Log.info("Action {0} executed in {1} ms", action.getClass().getSimpleName(), result.getExecutionTime());
+            return result;
+        });
+    }
+
+    /**
+     * Composes the provided {@code future} with the provided {@code function}.
+     * <p>
+     * The {@code function} is applied in the calling {@link Thread} if the {@code future} is already completed, and
+     * in the provided {@code lane} otherwise. This avoids scheduling a new task in the lane for synchronous
+     * actions, while ensuring that the continuations of asynchronous actions are not executed in the
+     * {@link Thread}s of the external services they rely on.
+     *
+     * @param future   the {@link CompletableFuture} to compose
+     * @param function the function to apply to the result of the {@code future}
+     * @param lane     the execution lane used to apply the {@code function} if the {@code future} is pending
+     * @param <T>      the type of the result of the {@code future}
+     * @param <U>      the type of the result of the returned {@link CompletableFuture}
+     * @return the composed {@link CompletableFuture}
+     */
+    private static <T, U> CompletableFuture<U> thenCompose(CompletableFuture<T> future, Function<? super T, ?
+            extends CompletionStage<U>> function, Executor lane) {
+        if (future.isDone()) {
+            return future.thenCompose(function);
         }
-        Log.info("Action {0} executed in {1} ms", action.getClass().getSimpleName(), result.getExecutionTime());
-        return result;
+        return future.thenComposeAsync(function, lane);
     }
 
     /**
@@ -266,40 +811,127 @@ public class ExecutionService extends CommonInterpreter {
      * in the provided {@code session}.
      * <p>
      * This method is used as a bridge between the {@link ActionInstance}s (from the execution model), and the
-     * {@link RuntimeAction}s (from the internal Jarvis execution engine).
+     * {@link RuntimeAction}s (from the internal Jarvis execution engine). The provided {@code runtimePlatform} is
+     * the one bound to the {@code actionInstance} in the {@link ActionInstanceBindings}, and reuses the bound
+     * {@link edu.uoc.som.jarvis.core.platform.action.RuntimeActionFactory} (see
+     * {@link RuntimePlatform#createRuntimeAction(ActionInstance, JarvisSession, ExecutionContext)}).
      *
-     * @param actionInstance the {@link ActionInstance} to construct a {@link RuntimeAction} from
-     * @param session        the {@link JarvisSession} used to define and access context variables
+     * @param actionInstance  the {@link ActionInstance} to construct a {@link RuntimeAction} from
+     * @param runtimePlatform the {@link RuntimePlatform} bound to the {@code actionInstance}
+     * @param session         the {@link JarvisSession} used to define and access context variables
      * @return the constructed {@link RuntimeAction}
      */
-    private RuntimeAction getRuntimeActionFromActionInstance(ActionInstance actionInstance, JarvisSession session,
-                                                             ExecutionContext context) {
-        RuntimePlatform runtimePlatform = this.getRuntimePlatformRegistry().getRuntimePlatform((PlatformDefinition)
-                actionInstance.getAction().eContainer());
+    private RuntimeAction getRuntimeActionFromActionInstance(ActionInstance actionInstance, RuntimePlatform
+            runtimePlatform, JarvisSession session, ExecutionContext context) {
         return runtimePlatform.createRuntimeAction(actionInstance, session, context);
     }
 
     /**
-     * Retrieves the {@link ExecutionRule}s associated to the provided {@code eventInstance}.
+     * Retrieves the {@link ExecutionRule}s associated to the provided {@code eventDefinition}.
+     * <p>
+     * This method queries the {@link ExecutionRuleIndex} computed from the underlying {@link ExecutionModel} and
+     * retrieves all the {@link ExecutionRule}s that match the provided {@link EventDefinition}. Note that
+     * {@link ExecutionRule}s may be returned in any order.
+     *
+     * @param eventDefinition the {@link EventDefinition} to retrieve the {@link ExecutionRule}s from
+     * @return an unmodifiable {@link List} containing the retrieved {@link ExecutionRule}s
+     *
+     * @see #executeExecutionRule(ExecutionRule, JarvisSession, Executor)
+     */
+    private List<ExecutionRule> getExecutionRulesFromEvent(EventDefinition eventDefinition) {
+        return executionRuleIndex.getExecutionRules(eventDefinition);
+    }
+
+    /**
+     * Sets the {@link EventJournal} storing the handled {@link EventInstance}s.
      * <p>
-     * This method navigates the underlying {@link ExecutionModel} and retrieves all the {@link ExecutionRule}s that
-     * match the {@link EventDefinition} of the provided {@code eventInstance}. Note that {@link ExecutionRule}s may
-     * be returned in any order.
+     * The {@link EventInstance}s handled by this service are appended to the provided {@code eventJournal} before
+     * being dispatched to their execution lane, and marked as completed once their {@link ExecutionRule}s have been
+     * executed.
      *
-     * @param eventInstance the {@link EventInstance} to retrieve the {@link ExecutionRule}s from
-     * @return a {@link List} containing the retrieved {@link ExecutionRule}s
+     * @param eventJournal the {@link EventJournal} to use, or {@code null} to disable the journal
+     * @see #handleEventInstance(EventInstance, JarvisSession)
+     */
+    public void setEventJournal(EventJournal eventJournal) {
+        this.eventJournal = eventJournal;
+    }
+
+    /**
+     * Returns the {@link EventJournal} storing the handled {@link EventInstance}s.
+     *
+     * @return the {@link EventJournal} storing the handled {@link EventInstance}s, or {@code null} if the journal is
+     * not enabled
+     */
+    public EventJournal getEventJournal() {
+        return eventJournal;
+    }
+
+    /**
+     * Returns the {@link ExecutionRuleIndex} used to retrieve the {@link ExecutionRule}s associated to the handled
+     * events.
      *
-     * @see #executeExecutionRule(ExecutionRule, JarvisSession)
+     * @return the {@link ExecutionRuleIndex} used to retrieve the {@link ExecutionRule}s associated to the handled
+     * events
      */
-    private List<ExecutionRule> getExecutionRulesFromEvent(EventInstance eventInstance) {
-        EventDefinition eventDefinition = eventInstance.getDefinition();
-        List<ExecutionRule> result = new ArrayList<>();
+    public ExecutionRuleIndex getExecutionRuleIndex() {
+        return executionRuleIndex;
+    }
+
+    /**
+     * Returns the {@link ActionInstanceBindings} binding the executed {@link ActionInstance}s to their
+     * {@link RuntimePlatform}.
+     *
+     * @return the {@link ActionInstanceBindings} binding the executed {@link ActionInstance}s to their
+     * {@link RuntimePlatform}
+     */
+    public ActionInstanceBindings getActionInstanceBindings() {
+        return actionInstanceBindings;
+    }
+
+    /**
+     * Binds the {@link ActionInstance}s of the {@link ExecutionModel} to their {@link RuntimePlatform}.
+     * <p>
+     * This method is called by the {@link JarvisCore} once the {@link RuntimePlatform}s of the {@link ExecutionModel}
+     * are loaded, and fails if one of them is not registered: a misconfigured bot fails when it starts, and not when
+     * it handles its first event. The {@link ExecutionRule}s added to the {@link ExecutionModel} afterwards are bound
+     * when they are indexed, and the bindings of the removed ones are dropped.
+     *
+     * @throws JarvisException if the {@link RuntimePlatform} of an {@link ActionInstance} of the
+     *                         {@link ExecutionModel} is not registered
+     * @see ActionInstanceBindings#bind(ExecutionRule)
+     */
+    public synchronized void bindActions() {
         for (ExecutionRule rule : executionModel.getExecutionRules()) {
-            if (rule.getEvent().getName().equals(eventDefinition.getName())) {
-                result.add(rule);
+            actionInstanceBindings.bind(rule);
+        }
+        this.bindActions = true;
+    }
+
+    /**
+     * Recomputes the {@link ExecutionRuleIndex} from the current content of the {@link ExecutionModel}.
+     * <p>
+     * The new index is computed before being published, meaning that concurrent event handling tasks either see the
+     * previous index or the new one, but never a partially computed one. This method also binds the
+     * {@link ActionInstance}s of the {@link ExecutionRule}s once {@link #bindActions()} has been called, and compiles
+     * the {@link ExecutionRule}s if the {@link ExecutionService} is configured to use the {@link #COMPILED_ENGINE}.
+     *
+     * @throws JarvisException if the {@link RuntimePlatform} of an {@link ActionInstance} of the
+     *                         {@link ExecutionModel} is not registered
+     */
+    private synchronized void rebuildExecutionRuleIndex() {
+        if (bindActions) {
+            for (ExecutionRule rule : executionModel.getExecutionRules()) {
+                actionInstanceBindings.bind(rule);
             }
         }
-        return result;
+        if (nonNull(executionRuleCompiler)) {
+            Map<ExecutionRule, CompiledProgram> compiledRules = new HashMap<>();
+            for (ExecutionRule rule : executionModel.getExecutionRules()) {
+                compiledRules.put(rule, executionRuleCompiler.compile(rule.getInstructions()));
+            }
+            this.compiledExecutionRules = compiledRules;
+        }
+        this.executionRuleIndex = ExecutionRuleIndex.of(executionModel);
     }
 
     /**
@@ -310,6 +942,9 @@ public class ExecutionService extends CommonInterpreter {
      */
     public void shutdown() {
         this.executorService.shutdownNow();
+        this.executionModel.eAdapters().remove(executionRuleIndexUpdater);
+        this.executionModel.getExecutionRules().forEach(actionInstanceBindings::unbind);
+        this.platformBulkheads.shutdown();
     }
 
     /**
@@ -320,4 +955,304 @@ public class ExecutionService extends CommonInterpreter {
     public boolean isShutdown() {
         return this.executorService.isShutdown();
     }
+
+    /**
+     * An EMF adapter that recomputes the {@link ExecutionRuleIndex} when the {@link ExecutionRule}s of the
+     * {@link ExecutionModel} are modified.
+     * <p>
+     * This adapter is attached to the {@link ExecutionModel} and propagated to its contents: it detects added and
+     * removed {@link ExecutionRule}s, as well as any modification of their content (e.g. their
+     * {@link EventDefinition}, their {@link Instruction}s, or a nested {@link Expression}), and recompiles the
+     * {@link ExecutionRule}s accordingly. The {@link ActionInstance} bindings of the removed elements and of the
+     * {@link ActionInstance}s referring to another action are dropped.
+     */
+    private class ExecutionRuleIndexUpdater extends EContentAdapter {
+
+        @Override
+        public void notifyChanged(Notification notification) {
+            super.notifyChanged(notification);
+            if (notification.isTouch()) {
+                return;
+            }
+            Object notifier = notification.getNotifier();
+            Object feature = notification.getFeature();
+            if (notifier instanceof ExecutionModel && feature != ExecutionPackage.Literals
+                    .EXECUTION_MODEL__EXECUTION_RULES) {
+                /*
+                 * The modification does not concern the ExecutionRules.
+                 */
+                return;
+            }
+            if (!(notifier instanceof ExecutionModel) && isNull(getContainingRule((EObject) notifier))) {
+                return;
+            }
+            if (feature instanceof EReference && ((EReference) feature).isContainment()) {
+                unbindRemovedValue(notification);
+            } else if (feature == ExecutionPackage.Literals.ACTION_INSTANCE__ACTION) {
+                actionInstanceBindings.unbind((EObject) notifier);
+            }
+            rebuildExecutionRuleIndex();
+        }
+
+        /**
+         * Returns the {@link ExecutionRule} containing the provided {@code eObject}.
+         *
+         * @param eObject the {@link EObject} to retrieve the containing {@link ExecutionRule} of
+         * @return the {@link ExecutionRule} containing the provided {@code eObject} (or the {@code eObject} itself
+         * if it is an {@link ExecutionRule}), or {@code null} if it is not contained in an {@link ExecutionRule}
+         */
+        private ExecutionRule getContainingRule(EObject eObject) {
+            for (EObject current = eObject; nonNull(current); current = current.eContainer()) {
+                if (current instanceof ExecutionRule) {
+                    return (ExecutionRule) current;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Drops the {@link ActionInstance} bindings of the elements removed by the provided {@code notification}.
+         *
+         * @param notification the {@link Notification} containing the removed values
+         */
+        private void unbindRemovedValue(Notification notification) {
+            int eventType = notification.getEventType();
+            if (eventType != Notification.REMOVE && eventType != Notification.REMOVE_MANY && eventType !=
+                    Notification.SET) {
+                return;
+            }
+            Object value = notification.getOldValue();
+            if (value instanceof EObject) {
+                actionInstanceBindings.unbind((EObject) value);
+            } else if (value instanceof Collection) {
+                for (Object element : (Collection<?>) value) {
+                    if (element instanceof EObject) {
+                        actionInstanceBindings.unbind((EObject) element);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * An {@link InstructionCompiler} supporting {@link ActionInstance} expressions.
+     * <p>
+     * The {@link CompiledInstruction}s created for {@link ActionInstance}s are {@link CompiledActionInstance}s that
+     * cache the {@link ActionInstanceBindings.Binding} of their {@link ActionInstance}, and create and execute the
+     * corresponding {@link RuntimeAction} with the bound {@link RuntimePlatform}. The {@link VariableDeclaration}s
+     * initialized with an {@link ActionInstance} and the {@link IfExpression}s are compiled into
+     * {@link AsyncCompiledInstruction}s, allowing to resume the execution of the rule once their pending actions
+     * complete (see {@link #executeCompiledInstructions(List, int, ExecutionContext, Executor)}).
+     */
+    private class ExecutionRuleCompiler extends InstructionCompiler {
+
+        @Override
+        protected CompiledInstruction compileVariableDeclaration(VariableDeclaration v, Scope scope) {
+            if (v.getValue() instanceof ActionInstance) {
+                int slot = scope.getSlot(v.getName());
+                return new CompiledActionVariableDeclaration(slot, new CompiledActionInstance((ActionInstance) v
+                        .getValue()));
+            }
+            return super.compileVariableDeclaration(v, scope);
+        }
+
+        @Override
+        protected CompiledInstruction compileExpression(Expression e, Scope scope) {
+            if (e instanceof ActionInstance) {
+                return new CompiledActionInstance((ActionInstance) e);
+            }
+            return super.compileExpression(e, scope);
+        }
+
+        @Override
+        protected CompiledInstruction compileIfExpression(IfExpression i, Scope scope) {
+            CompiledInstruction condition = compileExpression(i.getCondition(), scope);
+            List<CompiledInstruction> thenInstructions = compileBranch(i.getThenInstructions(), scope);
+            List<CompiledInstruction> elseInstructions = compileBranch(i.getElseInstructions(), scope);
+            return new CompiledIfExpression(condition, thenInstructions, elseInstructions);
+        }
+
+        /**
+         * Compiles the {@link Instruction}s of a branch of an {@link IfExpression}.
+         *
+         * @param instructions the {@link Instruction}s of the branch to compile
+         * @param scope        the {@link Scope} used to resolve variable slots
+         * @return the {@link CompiledInstruction}s of the branch
+         */
+        private List<CompiledInstruction> compileBranch(List<Instruction> instructions, Scope scope) {
+            CompiledInstruction[] compiledInstructions = new CompiledInstruction[instructions.size()];
+            for (int i = 0; i < compiledInstructions.length; i++) {
+                compiledInstructions[i] = compileInstruction(instructions.get(i), scope);
+            }
+            return Arrays.asList(compiledInstructions);
+        }
+    }
+
+    /**
+     * A {@link CompiledInstruction} that can be executed without blocking the calling {@link Thread} while its
+     * actions are pending.
+     * <p>
+     * These instructions are executed with {@link #executeAsync(ExecutionContext, Executor)} when they are the
+     * top-level instructions of a compiled {@link ExecutionRule} (or of the branches of a top-level
+     * {@link IfExpression}), and with {@link #execute(ExecutionContext)} when they are nested in another
+     * expression.
+     *
+     * @see #executeCompiledInstructions(List, int, ExecutionContext, Executor)
+     */
+    private interface AsyncCompiledInstruction extends CompiledInstruction {
+
+        /**
+         * Executes the instruction with the provided {@code context}.
+         *
+         * @param context the {@link ExecutionContext} used to execute the instruction
+         * @param lane    the execution lane used to process the result of the pending actions of the instruction
+         * @return a {@link CompletableFuture} completed with the result of the instruction
+         */
+        CompletableFuture<?> executeAsync(ExecutionContext context, Executor lane);
+    }
+
+    /**
+     * A {@link CompiledInstruction} creating and executing the {@link RuntimeAction} of an {@link ActionInstance}.
+     * <p>
+     * The {@link ActionInstanceBindings.Binding} of the {@link ActionInstance} is retrieved the first time the
+     * instruction is executed (the {@link RuntimePlatform}s may not be registered when the rules are compiled), and
+     * reused by the next executions as long as it is valid. The compiled rules are recompiled when their content is
+     * modified (see {@link ExecutionRuleIndexUpdater}), meaning that the cached binding cannot refer to a replaced
+     * {@link edu.uoc.som.jarvis.platform.ActionDefinition}.
+     */
+    private class CompiledActionInstance implements AsyncCompiledInstruction {
+
+        /**
+         * The {@link ActionInstance} to create the {@link RuntimeAction}s of.
+         */
+        private final ActionInstance actionInstance;
+
+        /**
+         * The cached {@link ActionInstanceBindings.Binding} of the {@link #actionInstance}, or {@code null} if the
+         * instruction has not been executed yet.
+         */
+        private volatile ActionInstanceBindings.Binding binding;
+
+        /**
+         * Constructs a new {@link CompiledActionInstance} from the provided {@code actionInstance}.
+         *
+         * @param actionInstance the {@link ActionInstance} to create the {@link RuntimeAction}s of
+         */
+        private CompiledActionInstance(ActionInstance actionInstance) {
+            this.actionInstance = actionInstance;
+        }
+
+        @Override
+        public Object execute(ExecutionContext context) {
+            return join(executeAsync(context, Runnable::run));
+        }
+
+        @Override
+        public CompletableFuture<Object> executeAsync(ExecutionContext context, Executor lane) {
+            ActionInstanceBindings.Binding currentBinding = this.binding;
+            if (isNull(currentBinding) || !currentBinding.isValid(runtimePlatformRegistry.getModificationCount())) {
+                currentBinding = actionInstanceBindings.getBinding(actionInstance);
+                this.binding = currentBinding;
+            }
+            return evaluate(actionInstance, currentBinding.getRuntimePlatform(), context, lane);
+        }
+    }
+
+    /**
+     * A {@link CompiledInstruction} storing the result of a {@link CompiledActionInstance} in a variable slot.
+     */
+    private static class CompiledActionVariableDeclaration implements AsyncCompiledInstruction {
+
+        /**
+         * The slot of the declared variable.
+         */
+        private final int slot;
+
+        /**
+         * The {@link CompiledActionInstance} computing the value of the declared variable.
+         */
+        private final CompiledActionInstance value;
+
+        /**
+         * Constructs a new {@link CompiledActionVariableDeclaration} with the provided {@code slot} and {@code value}.
+         *
+         * @param slot  the slot of the declared variable
+         * @param value the {@link CompiledActionInstance} computing the value of the declared variable
+         */
+        private CompiledActionVariableDeclaration(int slot, CompiledActionInstance value) {
+            this.slot = slot;
+            this.value = value;
+        }
+
+        @Override
+        public Object execute(ExecutionContext context) {
+            return join(executeAsync(context, Runnable::run));
+        }
+
+        @Override
+        public CompletableFuture<Object> executeAsync(ExecutionContext context, Executor lane) {
+            return value.executeAsync(context, lane).thenApply(result -> {
+                context.setSlotValue(slot, result);
+                return result;
+            });
+        }
+    }
+
+    /**
+     * A {@link CompiledInstruction} executing the branch of an {@link IfExpression} matching its condition.
+     * <p>
+     * Executing a {@link CompiledIfExpression} returns the evaluated value of the last instruction of the executed
+     * branch. The pending actions of the branch do not block the calling {@link Thread} when the instruction is
+     * executed with {@link #executeAsync(ExecutionContext, Executor)}, but the result of the returned
+     * {@link CompletableFuture} is always {@code null} in this case.
+     */
+    private class CompiledIfExpression implements AsyncCompiledInstruction {
+
+        /**
+         * The {@link CompiledInstruction} evaluating the condition of the {@link IfExpression}.
+         */
+        private final CompiledInstruction condition;
+
+        /**
+         * The {@link CompiledInstruction}s executed if the condition is {@code true}.
+         */
+        private final List<CompiledInstruction> thenInstructions;
+
+        /**
+         * The {@link CompiledInstruction}s executed if the condition is {@code false}.
+         */
+        private final List<CompiledInstruction> elseInstructions;
+
+        /**
+         * Constructs a new {@link CompiledIfExpression} with the provided {@code condition} and branches.
+         *
+         * @param condition        the {@link CompiledInstruction} evaluating the condition of the {@link IfExpression}
+         * @param thenInstructions the {@link CompiledInstruction}s executed if the condition is {@code true}
+         * @param elseInstructions the {@link CompiledInstruction}s executed if the condition is {@code false}
+         */
+        private CompiledIfExpression(CompiledInstruction condition, List<CompiledInstruction> thenInstructions,
+                                     List<CompiledInstruction> elseInstructions) {
+            this.condition = condition;
+            this.thenInstructions = thenInstructions;
+            this.elseInstructions = elseInstructions;
+        }
+
+        @Override
+        public Object execute(ExecutionContext context) {
+            List<CompiledInstruction> branch = evaluateCondition(condition.execute(context)) ? thenInstructions :
+                    elseInstructions;
+            Object result = null;
+            for (int i = 0; i < branch.size(); i++) {
+                result = branch.get(i).execute(context);
+            }
+            return result;
+        }
+
+        @Override
+        public CompletableFuture<Void> executeAsync(ExecutionContext context, Executor lane) {
+            List<CompiledInstruction> branch = evaluateCondition(condition.execute(context)) ? thenInstructions :
+                    elseInstructions;
+            return executeCompiledInstructions(branch, 0, context, lane);
+        }
+    }
 }
@@ -2,6 +2,9 @@ package edu.uoc.som.jarvis.core;
 
 import edu.uoc.som.jarvis.Jarvis;
 import edu.uoc.som.jarvis.common.Instruction;
+import edu.uoc.som.jarvis.core.journal.EventJournal;
+import edu.uoc.som.jarvis.core.journal.EventJournalEntry;
+import edu.uoc.som.jarvis.core.journal.WebhookJournalEntry;
 import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
 import edu.uoc.som.jarvis.core.platform.action.RuntimeAction;
 import edu.uoc.som.jarvis.core.platform.io.RuntimeEventProvider;
@@ -11,6 +14,8 @@ import edu.uoc.som.jarvis.core.recognition.IntentRecognitionProviderFactory;
 import edu.uoc.som.jarvis.core.recognition.dialogflow.DialogFlowException;
 import edu.uoc.som.jarvis.core.server.JarvisServer;
 import edu.uoc.som.jarvis.core.session.JarvisSession;
+import edu.uoc.som.jarvis.core.session.SessionHibernationStore;
+import edu.uoc.som.jarvis.core.session.SessionStore;
 import edu.uoc.som.jarvis.core_resources.utils.LibraryLoaderUtils;
 import edu.uoc.som.jarvis.core_resources.utils.PlatformLoaderUtils;
 import edu.uoc.som.jarvis.execution.ActionInstance;
@@ -161,17 +166,41 @@ public class JarvisCore {
     protected ExecutionService executionService;
 
     /**
-     * The {@link Map} used to store and retrieve {@link JarvisSession}s associated to users.
+     * The {@link SessionStore} used to store and retrieve {@link JarvisSession}s associated to users.
+     * <p>
+     * The size and the idle timeout of the stored sessions can be customized using the
+     * {@link SessionStore#MAX_SIZE_KEY} and {@link SessionStore#IDLE_TIMEOUT_KEY} configuration keys.
      *
      * @see #getOrCreateJarvisSession(String)
      */
-    private Map<String, JarvisSession> sessions;
+    private SessionStore sessions;
+
+    /**
+     * The {@link SessionHibernationStore} used to persist the {@link JarvisSession}s evicted from the
+     * {@link #sessions} store.
+     * <p>
+     * This field is {@code null} if the {@link SessionHibernationStore#HIBERNATION_FILE_KEY} configuration key is
+     * not set.
+     *
+     * @see #getOrCreateJarvisSession(String)
+     */
+    private SessionHibernationStore sessionHibernationStore;
 
     /**
      * The {@link JarvisServer} instance used to capture incoming webhooks.
      */
     private JarvisServer jarvisServer;
 
+    /**
+     * The {@link EventJournal} storing the received webhook requests and {@link EventInstance}s until they are
+     * processed.
+     * <p>
+     * This field is {@code null} if the {@link EventJournal#DIRECTORY_KEY} configuration key is not set.
+     *
+     * @see #replayEventJournal()
+     */
+    private EventJournal eventJournal;
+
     /**
      * Constructs a new {@link JarvisCore} instance from the provided {@code configuration}.
      * <p>
@@ -197,16 +226,37 @@ public class JarvisCore {
                     .getSimpleName(), ExecutionModel.class.getSimpleName());
             this.intentRecognitionProvider = IntentRecognitionProviderFactory.getIntentRecognitionProvider(this,
                     configuration);
-            this.sessions = new HashMap<>();
+            this.sessions = new SessionStore(configuration);
+            this.sessionHibernationStore = SessionHibernationStore.fromConfiguration(configuration);
+            if (nonNull(sessionHibernationStore)) {
+                /*
+                 * The SessionStore creates a new session with the identifier of an evicted one once its eviction
+                 * listeners have been notified: the evicted session is hibernated before it can be restored.
+                 */
+                this.sessions.addEvictionListener((session, cause) -> sessionHibernationStore.hibernate(session));
+            }
             this.runtimePlatformRegistry = new RuntimePlatformRegistry();
-            this.executionService = new ExecutionService(executionModel, runtimePlatformRegistry);
+            this.executionService = new ExecutionService(executionModel, runtimePlatformRegistry, configuration);
             this.eventDefinitionRegistry = new EventDefinitionRegistry();
+            this.eventJournal = EventJournal.fromConfiguration(configuration);
+            this.executionService.setEventJournal(eventJournal);
             /*
              * Start the server before processing the EventProviderDefinitions, we need to have a valid JarvisServer
              * instance to call JarvisServer#registerWebhookEventProvider
              */
             this.jarvisServer = new JarvisServer(configuration);
+            this.jarvisServer.setEventJournal(eventJournal);
             this.loadExecutionModel(executionModel);
+            /*
+             * Bind the actions once their platforms are loaded: an action of an unregistered platform fails the
+             * startup.
+             */
+            this.executionService.bindActions();
+            /*
+             * Replay the journaled entries once the providers and event definitions are registered, and before
+             * receiving new requests.
+             */
+            this.replayEventJournal();
             jarvisServer.start();
             Log.info("Jarvis bot started");
         } catch (Throwable t) {
@@ -250,6 +300,35 @@ public class JarvisCore {
         }
     }
 
+    /**
+     * Replays the entries recovered by the {@link EventJournal}.
+     * <p>
+     * Journaled webhook requests are appended again to the journal and dispatched to the
+     * {@link edu.uoc.som.jarvis.core.platform.io.WebhookEventProvider}s, and journaled events are rebuilt as
+     * {@link edu.uoc.som.jarvis.core.platform.io.RuntimeEvent}s and handled by the {@link ExecutionService} in their
+     * original {@link JarvisSession}. This method does nothing if the {@link EventJournal} is not enabled.
+     *
+     * @see EventJournal#replay(java.util.function.Consumer)
+     */
+    private void replayEventJournal() {
+        if (isNull(eventJournal)) {
+            return;
+        }
+        eventJournal.replay(entry -> {
+            if (entry instanceof WebhookJournalEntry) {
+                WebhookJournalEntry webhookEntry = (WebhookJournalEntry) entry;
+                long sequence = eventJournal.appendWebhook(webhookEntry.getPath(), webhookEntry.getContent(),
+                        webhookEntry.getHeaders());
+                jarvisServer.dispatchWebhook(sequence, webhookEntry.getPath(), webhookEntry.getContent()
+                        .getContentType(), webhookEntry.getContent(), webhookEntry.getHeaders());
+            } else if (entry instanceof EventJournalEntry) {
+                EventJournalEntry eventEntry = (EventJournalEntry) entry;
+                executionService.handleRuntimeEvent(eventEntry.toRuntimeEvent(eventDefinitionRegistry),
+                        getOrCreateJarvisSession(eventEntry.getSessionId()));
+            }
+        });
+    }
+
     /**
      * Starts the {@link RuntimeEventProvider}s used in the provided {@code executionModel}.
      * <p>
@@ -368,13 +447,16 @@ public class JarvisCore {
         for (Instruction i : rule.getInstructions()) {
             if (i instanceof ActionInstance) {
                 result.add((ActionInstance) i);
-            } else {
-                Iterator<EObject> iContents = i.eAllContents();
-                while (iContents.hasNext()) {
-                    EObject content = iContents.next();
-                    if (content instanceof ActionInstance) {
-                        result.add((ActionInstance) content);
-                    }
+            }
+            /*
+             * Also retrieve the nested ActionInstances (e.g. the onError actions of an ActionInstance), they are
+             * bound along with the other actions of the rule (see ExecutionService#bindActions()).
+             */
+            Iterator<EObject> iContents = i.eAllContents();
+            while (iContents.hasNext()) {
+                EObject content = iContents.next();
+                if (content instanceof ActionInstance) {
+                    result.add((ActionInstance) content);
                 }
             }
         }
@@ -890,6 +972,38 @@ public class JarvisCore {
                 Log.error("An error occurred when closing the {0}", this.jarvisServer.getClass().getSimpleName());
             }
         }
+        if (nonNull(this.eventJournal)) {
+            try {
+                /*
+                 * Close the journal once the server and the execution service are stopped: the entries that have
+                 * not been processed are replayed by the next execution.
+                 */
+                this.eventJournal.close();
+            } catch (Throwable t) {
+                Log.error("An error occurred when closing the {0}", this.eventJournal.getClass().getSimpleName());
+            }
+        }
+        if (nonNull(this.sessions)) {
+            try {
+                this.sessions.close();
+            } catch (Throwable t) {
+                Log.error("An error occurred when closing the {0}", this.sessions.getClass().getSimpleName());
+            }
+        }
+        if (nonNull(this.sessionHibernationStore)) {
+            try {
+                /*
+                 * Hibernate the sessions still in memory, they will be restored by the next execution.
+                 */
+                for (JarvisSession session : this.sessions.getSessions()) {
+                    this.sessionHibernationStore.hibernate(session);
+                }
+                this.sessionHibernationStore.close();
+            } catch (Throwable t) {
+                Log.error("An error occurred when closing the {0}", this.sessionHibernationStore.getClass()
+                        .getSimpleName());
+            }
+        }
         if (nonNull(this.intentRecognitionProvider)) {
             try {
                 this.intentRecognitionProvider.shutdown();
@@ -917,7 +1031,11 @@ public class JarvisCore {
      * Retrieves or creates the {@link JarvisSession} associated to the provided {@code sessionId}.
      * <p>
      * If the {@link JarvisSession} does not exist a new one is created using
-     * {@link IntentRecognitionProvider#createSession(String)}.
+     * {@link IntentRecognitionProvider#createSession(String)}. The creation is atomic: concurrent calls with the same
+     * {@code sessionId} return the same {@link JarvisSession}.
+     * <p>
+     * If a {@link SessionHibernationStore} is configured (see {@link SessionHibernationStore#HIBERNATION_FILE_KEY})
+     * the context values of a previously evicted {@link JarvisSession} are restored in the created one.
      *
      * @param sessionId the identifier to get or retrieve a session from
      * @return the {@link JarvisSession} associated to the provided {@code sessionId}
@@ -926,10 +1044,22 @@ public class JarvisCore {
     public JarvisSession getOrCreateJarvisSession(String sessionId) {
         checkNotNull(sessionId, "Cannot create or retrieve the %s from the provided session ID %s", JarvisSession
                 .class.getSimpleName(), sessionId);
-        JarvisSession session = getJarvisSession(sessionId);
-        if (isNull(session)) {
-            session = this.intentRecognitionProvider.createSession(sessionId);
-            sessions.put(sessionId, session);
+        return sessions.getOrCreate(sessionId, this::createJarvisSession);
+    }
+
+    /**
+     * Creates the {@link JarvisSession} associated to the provided {@code sessionId}.
+     * <p>
+     * The {@link JarvisSession} is created using {@link IntentRecognitionProvider#createSession(String)}, and its
+     * context values are restored from the {@link SessionHibernationStore} if it has been hibernated.
+     *
+     * @param sessionId the identifier of the session to create
+     * @return the created {@link JarvisSession}
+     */
+    private JarvisSession createJarvisSession(String sessionId) {
+        JarvisSession session = this.intentRecognitionProvider.createSession(sessionId);
+        if (nonNull(sessionHibernationStore)) {
+            sessionHibernationStore.restore(session);
         }
         return session;
     }
@@ -953,6 +1083,28 @@ public class JarvisCore {
         this.sessions.clear();
     }
 
+    /**
+     * Returns the {@link SessionStore} used to store and retrieve the {@link JarvisSession}s.
+     * <p>
+     * The returned store can be used to monitor the stored sessions (e.g. hit, miss, and eviction counts), or to
+     * register {@link SessionStore.EvictionListener}s.
+     *
+     * @return the {@link SessionStore} used to store and retrieve the {@link JarvisSession}s
+     */
+    public SessionStore getSessionStore() {
+        return sessions;
+    }
+
+    /**
+     * Returns the {@link EventJournal} storing the received webhook requests and {@link EventInstance}s.
+     *
+     * @return the {@link EventJournal}, or {@code null} if the {@link EventJournal#DIRECTORY_KEY} configuration key
+     * is not set
+     */
+    public EventJournal getEventJournal() {
+        return eventJournal;
+    }
+
     /**
      * Logs a warning message and stops the running services if the {@link JarvisCore} hasn't been closed properly.
      *
@@ -0,0 +1,383 @@
+package edu.uoc.som.jarvis.core;
+
+import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
+import edu.uoc.som.jarvis.core.platform.action.RuntimeAction;
+import edu.uoc.som.jarvis.core.platform.action.RuntimeActionResult;
+
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A bounded execution lane dedicated to the {@link RuntimeAction}s of a {@link RuntimePlatform}.
+ * <p>
+ * A {@link PlatformBulkhead} executes at most {@code concurrency} actions at the same time in its own
+ * {@link ExecutorService}, and queues at most {@code queueSize} additional actions. Actions submitted when the
+ * queue is full are handled according to the bulkhead's {@link RejectionPolicy}. Isolating the actions of each
+ * {@link RuntimePlatform} ensures that a platform waiting for an unavailable service (e.g. a REST API outage) cannot
+ * exhaust the execution lanes used by the other platforms.
+ * <p>
+ * <b>Note:</b> the execution lane is only released while the top-level actions of an interpreted
+ * {@link edu.uoc.som.jarvis.execution.ExecutionRule} are waiting for their bulkhead. Actions nested in other
+ * expressions and actions executed by the {@link ExecutionService#COMPILED_ENGINE} wait synchronously for their
+ * bulkhead, and block their lane until the action is completed or rejected. In this case only the sessions
+ * associated to the other lanes are still processed.
+ * <p>
+ * An action is considered running until the {@link CompletionStage} returned by its
+ * {@link RuntimeAction#callAsync()} method is completed: asynchronous actions release the {@link Thread} of the
+ * bulkhead while they are pending, but still count in its concurrency limit.
+ * <p>
+ * Rejected actions are not executed: the {@link CompletableFuture} returned by {@link #execute(RuntimeAction)} is
+ * completed with an error {@link RuntimeActionResult} containing a {@link RejectedExecutionException}, and the
+ * {@link ExecutionService} executes their {@code onError} actions as for any other failure.
+ *
+ * @see PlatformBulkheads
+ * @see ExecutionService
+ */
+public class PlatformBulkhead {
+
+    /**
+     * The name of the {@link RuntimePlatform} isolated by this bulkhead.
+     */
+    private final String platformName;
+
+    /**
+     * The maximum number of actions running at the same time.
+     */
+    private final int concurrency;
+
+    /**
+     * The maximum number of actions waiting for a running action to complete.
+     */
+    private final int queueSize;
+
+    /**
+     * The {@link RejectionPolicy} applied to the actions submitted when the queue is full.
+     */
+    private final RejectionPolicy rejectionPolicy;
+
+    /**
+     * The {@link ExecutorService} starting the actions of the bulkhead.
+     */
+    private final ExecutorService executorService;
+
+    /**
+     * The actions waiting for a running action to complete, in their submission order.
+     * <p>
+     * This field is guarded by {@code this}.
+     */
+    private final Deque<PendingAction> waitingActions = new ArrayDeque<>();
+
+    /**
+     * The number of running actions.
+     * <p>
+     * This field is guarded by {@code this}.
+     */
+    private int runningActionCount;
+
+    /**
+     * Constructs a new {@link PlatformBulkhead} with the provided parameters.
+     * <p>
+     * The created bulkhead takes ownership of the provided {@code executorService}, and shuts it down when it is
+     * {@link #shutdown()}.
+     *
+     * @param platformName    the name of the {@link RuntimePlatform} isolated by this bulkhead
+     * @param concurrency     the maximum number of actions running at the same time
+     * @param queueSize       the maximum number of actions waiting for a running action to complete
+     * @param rejectionPolicy the {@link RejectionPolicy} applied to the actions submitted when the queue is full
+     * @param executorService the {@link ExecutorService} starting the actions of the bulkhead
+     * @throws NullPointerException     if the provided {@code platformName}, {@code rejectionPolicy}, or {@code
+     *                                  executorService} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code concurrency} is lower than {@code 1} or the provided
+     *                                  {@code queueSize} is negative
+     */
+    public PlatformBulkhead(String platformName, int concurrency, int queueSize, RejectionPolicy rejectionPolicy,
+                            ExecutorService executorService) {
+        checkNotNull(platformName, "Cannot construct a %s with the provided platform name %s", PlatformBulkhead.class
+                .getSimpleName(), platformName);
+        checkArgument(concurrency > 0, "Cannot construct a %s with the provided concurrency %s, expected a strictly " +
+                "positive value", PlatformBulkhead.class.getSimpleName(), concurrency);
+        checkArgument(queueSize >= 0, "Cannot construct a %s with the provided queue size %s, expected a positive " +
+                "value", PlatformBulkhead.class.getSimpleName(), queueSize);
+        checkNotNull(rejectionPolicy, "Cannot construct a %s with the provided %s %s", PlatformBulkhead.class
+                .getSimpleName(), RejectionPolicy.class.getSimpleName(), rejectionPolicy);
+        checkNotNull(executorService, "Cannot construct a %s with the provided %s %s", PlatformBulkhead.class
+                .getSimpleName(), ExecutorService.class.getSimpleName(), executorService);
+        this.platformName = platformName;
+        this.concurrency = concurrency;
+        this.queueSize = queueSize;
+        this.rejectionPolicy = rejectionPolicy;
+        this.executorService = executorService;
+    }
+
+    /**
+     * Returns the name of the {@link RuntimePlatform} isolated by this bulkhead.
+     *
+     * @return the name of the {@link RuntimePlatform} isolated by this bulkhead
+     */
+    public String getPlatformName() {
+        return platformName;
+    }
+
+    /**
+     * Returns the maximum number of actions running at the same time.
+     *
+     * @return the maximum number of actions running at the same time
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Returns the maximum number of actions waiting for a running action to complete.
+     *
+     * @return the maximum number of actions waiting for a running action to complete
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Returns the {@link RejectionPolicy} applied to the actions submitted when the queue is full.
+     *
+     * @return the {@link RejectionPolicy} applied to the actions submitted when the queue is full
+     */
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    /**
+     * Returns the number of running actions.
+     *
+     * @return the number of running actions
+     */
+    public synchronized int getRunningActionCount() {
+        return runningActionCount;
+    }
+
+    /**
+     * Returns the number of actions waiting for a running action to complete.
+     *
+     * @return the number of actions waiting for a running action to complete
+     */
+    public synchronized int getWaitingActionCount() {
+        return waitingActions.size();
+    }
+
+    /**
+     * Executes the provided {@code action} in this bulkhead.
+     * <p>
+     * The {@code action} is started immediately if less than {@link #getConcurrency()} actions are running, and
+     * queued otherwise. If the queue is full the {@code action} is handled according to the
+     * {@link RejectionPolicy} of the bulkhead.
+     * <p>
+     * As for {@link RuntimeAction#callAsync()}, the returned {@link CompletableFuture} is not completed
+     * exceptionally if the {@code action} fails or is rejected: the thrown {@link Exception} can be accessed
+     * through the {@link RuntimeActionResult#getThrownException()} method.
+     *
+     * @param action the {@link RuntimeAction} to execute
+     * @return a {@link CompletableFuture} completed with the {@link RuntimeActionResult} of the {@code action}
+     * @throws NullPointerException if the provided {@code action} is {@code null}
+     */
+    public CompletableFuture<RuntimeActionResult> execute(RuntimeAction action) {
+        checkNotNull(action, "Cannot execute the provided %s %s", RuntimeAction.class.getSimpleName(), action);
+        PendingAction pendingAction = new PendingAction(action);
+        PendingAction rejectedAction = null;
+        boolean start = false;
+        boolean callerRuns = false;
+        int running;
+        int waiting;
+        synchronized (this) {
+            running = runningActionCount;
+            waiting = waitingActions.size();
+            if (runningActionCount < concurrency) {
+                runningActionCount++;
+                start = true;
+            } else if (waitingActions.size() < queueSize) {
+                waitingActions.addLast(pendingAction);
+            } else if (rejectionPolicy == RejectionPolicy.CALLER_RUNS) {
+                callerRuns = true;
+            } else if (rejectionPolicy == RejectionPolicy.DISCARD_OLDEST && !waitingActions.isEmpty()) {
+                rejectedAction = waitingActions.pollFirst();
+                waitingActions.addLast(pendingAction);
+            } else {
+                rejectedAction = pendingAction;
+            }
+        }
+        if (callerRuns) {
+            return action.callAsync().toCompletableFuture();
+        }
+        if (nonNull(rejectedAction)) {
+            rejectedAction.reject(new RejectedExecutionException(MessageFormat.format("Cannot execute the action " +
+                    "{0}, the bulkhead of the platform {1} is full ({2} running action(s), {3} waiting action(s))",
+                    rejectedAction.action.getClass().getSimpleName(), platformName, running, waiting)));
+        }
+        if (start) {
+            start(pendingAction);
+        }
+        return pendingAction.result;
+    }
+
+    /**
+     * Shuts down the bulkhead.
+     * <p>
+     * The {@link ExecutorService} of the bulkhead is shut down, and the waiting actions are rejected.
+     */
+    public void shutdown() {
+        executorService.shutdownNow();
+        List<PendingAction> rejectedActions;
+        synchronized (this) {
+            rejectedActions = new ArrayList<>(waitingActions);
+            waitingActions.clear();
+        }
+        for (PendingAction rejectedAction : rejectedActions) {
+            rejectedAction.reject(new RejectedExecutionException(MessageFormat.format("Cannot execute the action " +
+                    "{0}, the bulkhead of the platform {1} is shut down", rejectedAction.action.getClass()
+                    .getSimpleName(), platformName)));
+        }
+    }
+
+    /**
+     * Returns whether the bulkhead is shut down.
+     *
+     * @return {@code true} if the bulkhead is shut down, {@code false} otherwise
+     */
+    public boolean isShutdown() {
+        return executorService.isShutdown();
+    }
+
+    /**
+     * Starts the provided {@code pendingAction} in the {@link ExecutorService} of the bulkhead.
+     * <p>
+     * The running slot of the {@code pendingAction} is released when the {@link CompletionStage} returned by its
+     * {@link RuntimeAction#callAsync(java.util.concurrent.Executor)} method is completed. Actions waiting for their
+     * inputs are computed in the {@link ExecutorService} of the bulkhead once their inputs are available.
+     *
+     * @param pendingAction the {@link PendingAction} to start
+     */
+    private void start(PendingAction pendingAction) {
+        try {
+            executorService.execute(() -> {
+                CompletionStage<RuntimeActionResult> actionExecution;
+                try {
+                    actionExecution = pendingAction.action.callAsync(executorService);
+                } catch (RuntimeException e) {
+                    actionExecution = CompletableFuture.completedFuture(new RuntimeActionResult(null, e, 0));
+                }
+                actionExecution.whenComplete((result, throwable) -> {
+                    release();
+                    if (isNull(throwable)) {
+                        pendingAction.result.complete(result);
+                    } else {
+                        pendingAction.result.complete(new RuntimeActionResult(null, toException(throwable), 0));
+                    }
+                });
+            });
+        } catch (RejectedExecutionException e) {
+            release();
+            pendingAction.reject(e);
+        }
+    }
+
+    /**
+     * Releases the running slot of a completed action, and starts the next waiting action if there is one.
+     */
+    private void release() {
+        PendingAction nextAction;
+        synchronized (this) {
+            nextAction = waitingActions.pollFirst();
+            if (isNull(nextAction)) {
+                runningActionCount--;
+            }
+        }
+        if (nonNull(nextAction)) {
+            start(nextAction);
+        }
+    }
+
+    /**
+     * Returns the {@link Exception} representing the provided {@code throwable}.
+     *
+     * @param throwable the {@link Throwable} to convert
+     * @return the {@link Exception} representing the provided {@code throwable}
+     */
+    private static Exception toException(Throwable throwable) {
+        Throwable cause = throwable;
+        if (cause instanceof CompletionException && nonNull(cause.getCause())) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Exception) {
+            return (Exception) cause;
+        }
+        return new JarvisException(cause);
+    }
+
+    /**
+     * The policies applied to the actions submitted to a {@link PlatformBulkhead} when its queue is full.
+     */
+    public enum RejectionPolicy {
+
+        /**
+         * Rejects the submitted action.
+         */
+        ABORT,
+
+        /**
+         * Executes the submitted action in the calling {@link Thread}, bypassing the concurrency limit of the
+         * bulkhead.
+         */
+        CALLER_RUNS,
+
+        /**
+         * Rejects the oldest waiting action, and queues the submitted action.
+         */
+        DISCARD_OLDEST
+    }
+
+    /**
+     * A {@link RuntimeAction} submitted to the bulkhead and the {@link CompletableFuture} completed with its result.
+     */
+    private static class PendingAction {
+
+        /**
+         * The submitted {@link RuntimeAction}.
+         */
+        private final RuntimeAction action;
+
+        /**
+         * The {@link CompletableFuture} completed with the {@link RuntimeActionResult} of the {@link #action}.
+         */
+        private final CompletableFuture<RuntimeActionResult> result = new CompletableFuture<>();
+
+        /**
+         * Constructs a new {@link PendingAction} for the provided {@code action}.
+         *
+         * @param action the submitted {@link RuntimeAction}
+         */
+        private PendingAction(RuntimeAction action) {
+            this.action = action;
+        }
+
+        /**
+         * Completes the {@link #result} with an error {@link RuntimeActionResult} containing the provided {@code
+         * exception}.
+         *
+         * @param exception the {@link Exception} explaining why the action was rejected
+         */
+        private void reject(Exception exception) {
+            result.complete(new RuntimeActionResult(null, exception, 0));
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package edu.uoc.som.jarvis.core;
+
+import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
+import edu.uoc.som.jarvis.util.VirtualThreads;
+import fr.inria.atlanmod.commons.log.Log;
+import org.apache.commons.configuration2.Configuration;
+
+import java.text.MessageFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A table creating and caching the {@link PlatformBulkhead}s of the {@link RuntimePlatform}s.
+ * <p>
+ * The {@link PlatformBulkhead} of a {@link RuntimePlatform} is created the first time one of its actions is executed,
+ * using the {@link Configuration} keys {@code jarvis.execution.bulkhead.<PlatformName>.<key>}, where {@code <key>}
+ * is one of {@link #CONCURRENCY_KEY}, {@link #QUEUE_SIZE_KEY}, and {@link #REJECTION_KEY}. A key that is not
+ * defined for a given platform defaults to the value of {@code jarvis.execution.bulkhead.<key>}, allowing to
+ * configure all the platforms at once. For example, the following configuration isolates the actions of the
+ * {@code GithubPlatform} in a bulkhead running 4 actions at a time:
+ * <pre>
+ * {@code
+ * jarvis.execution.bulkhead.GithubPlatform.concurrency = 4
+ * jarvis.execution.bulkhead.GithubPlatform.queue_size = 32
+ * jarvis.execution.bulkhead.GithubPlatform.rejection = abort
+ * }
+ * </pre>
+ * <p>
+ * Bulkheads are disabled by default (see {@link #DEFAULT_CONCURRENCY_VALUE}): the actions of a
+ * {@link RuntimePlatform} without a bulkhead are executed in the execution lane of the event that triggered them.
+ * See {@link PlatformBulkhead} for the cases where an action waiting for its bulkhead blocks its execution lane.
+ * <p>
+ * This class is thread-safe, and can be accessed by concurrent event handling tasks.
+ *
+ * @see PlatformBulkhead
+ * @see ExecutionService
+ */
+public final class PlatformBulkheads {
+
+    /**
+     * The prefix of the {@link Configuration} keys used to configure the {@link PlatformBulkhead}s.
+     */
+    public static String BULKHEAD_KEY_PREFIX = "jarvis.execution.bulkhead";
+
+    /**
+     * The {@link Configuration} key suffix to store the maximum number of actions of a platform running at the same
+     * time.
+     * <p>
+     * A value lower than {@code 1} disables the {@link PlatformBulkhead} of the platform.
+     */
+    public static String CONCURRENCY_KEY = "concurrency";
+
+    /**
+     * The default maximum number of actions of a platform running at the same time.
+     * <p>
+     * Bulkheads are disabled by default.
+     *
+     * @see #CONCURRENCY_KEY
+     */
+    public static int DEFAULT_CONCURRENCY_VALUE = 0;
+
+    /**
+     * The {@link Configuration} key suffix to store the maximum number of actions of a platform waiting for a
+     * running action to complete.
+     */
+    public static String QUEUE_SIZE_KEY = "queue_size";
+
+    /**
+     * The default maximum number of actions of a platform waiting for a running action to complete.
+     *
+     * @see #QUEUE_SIZE_KEY
+     */
+    public static int DEFAULT_QUEUE_SIZE_VALUE = 256;
+
+    /**
+     * The {@link Configuration} key suffix to store the policy applied to the actions of a platform submitted when
+     * its queue is full.
+     * <p>
+     * Accepted values are {@link #ABORT_REJECTION}, {@link #CALLER_RUNS_REJECTION}, and
+     * {@link #DISCARD_OLDEST_REJECTION}.
+     *
+     * @see PlatformBulkhead.RejectionPolicy
+     */
+    public static String REJECTION_KEY = "rejection";
+
+    /**
+     * The {@link #REJECTION_KEY} value rejecting the submitted action.
+     *
+     * @see PlatformBulkhead.RejectionPolicy#ABORT
+     */
+    public static String ABORT_REJECTION = "abort";
+
+    /**
+     * The {@link #REJECTION_KEY} value executing the submitted action in the calling execution lane.
+     *
+     * @see PlatformBulkhead.RejectionPolicy#CALLER_RUNS
+     */
+    public static String CALLER_RUNS_REJECTION = "caller_runs";
+
+    /**
+     * The {@link #REJECTION_KEY} value rejecting the oldest waiting action.
+     *
+     * @see PlatformBulkhead.RejectionPolicy#DISCARD_OLDEST
+     */
+    public static String DISCARD_OLDEST_REJECTION = "discard_oldest";
+
+    /**
+     * The default policy applied to the actions of a platform submitted when its queue is full.
+     *
+     * @see #REJECTION_KEY
+     */
+    public static String DEFAULT_REJECTION_VALUE = ABORT_REJECTION;
+
+    /**
+     * The {@link Configuration} used to create the {@link PlatformBulkhead}s.
+     */
+    private final Configuration configuration;
+
+    /**
+     * The {@link Map} containing the created {@link PlatformBulkhead}s, indexed by platform name.
+     * <p>
+     * Platforms without bulkhead are associated to an empty {@link Optional}.
+     */
+    private final Map<String, Optional<PlatformBulkhead>> bulkheads;
+
+    /**
+     * A flag indicating whether the table has been shut down.
+     *
+     * @see #shutdown()
+     */
+    private volatile boolean shutdown;
+
+    /**
+     * Constructs a new {@link PlatformBulkheads} table using the provided {@code configuration}.
+     * <p>
+     * The {@code jarvis.execution.bulkhead.*} keys of the provided {@code configuration} are validated by this
+     * constructor, allowing to report invalid values when the application starts instead of when the first action
+     * of a platform is executed.
+     *
+     * @param configuration the {@link Configuration} used to create the {@link PlatformBulkhead}s
+     * @throws NullPointerException     if the provided {@code configuration} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code configuration} contains an unknown
+     *                                  {@code jarvis.execution.bulkhead.*} key or an invalid value
+     */
+    public PlatformBulkheads(Configuration configuration) {
+        checkNotNull(configuration, "Cannot construct a %s from the provided %s %s", PlatformBulkheads.class
+                .getSimpleName(), Configuration.class.getSimpleName(), configuration);
+        this.configuration = configuration;
+        this.bulkheads = new ConcurrentHashMap<>();
+        this.checkConfiguration();
+    }
+
+    /**
+     * Validates the {@code jarvis.execution.bulkhead.*} keys of the {@link Configuration}.
+     *
+     * @throws IllegalArgumentException if the {@link Configuration} contains an unknown
+     *                                  {@code jarvis.execution.bulkhead.*} key or an invalid value
+     */
+    private void checkConfiguration() {
+        Iterator<String> keys = configuration.getKeys(BULKHEAD_KEY_PREFIX);
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (key.endsWith("." + CONCURRENCY_KEY)) {
+                getInt(key);
+            } else if (key.endsWith("." + QUEUE_SIZE_KEY)) {
+                int queueSize = getInt(key);
+                checkArgument(queueSize >= 0, "Cannot create the %s with the provided %s value %s, expected a " +
+                        "positive value", PlatformBulkheads.class.getSimpleName(), key, queueSize);
+            } else if (key.endsWith("." + REJECTION_KEY)) {
+                toRejectionPolicy(key, configuration.getString(key));
+            } else {
+                throw new IllegalArgumentException(MessageFormat.format("Cannot create the {0} with the provided " +
+                                "key {1}, expected a key ending with {2}, {3}, or {4}", PlatformBulkheads.class
+                                .getSimpleName(), key, CONCURRENCY_KEY, QUEUE_SIZE_KEY, REJECTION_KEY));
+            }
+        }
+    }
+
+    /**
+     * Returns the integer value of the provided {@link Configuration} {@code key}.
+     *
+     * @param key the {@link Configuration} key to retrieve the value of
+     * @return the integer value of the provided {@code key}
+     * @throws IllegalArgumentException if the value of the provided {@code key} is not an integer
+     */
+    private int getInt(String key) {
+        try {
+            return configuration.getInt(key);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(MessageFormat.format("Cannot create the {0} with the provided {1} " +
+                    "value {2}, expected an integer", PlatformBulkheads.class.getSimpleName(), key, configuration
+                    .getProperty(key)), e);
+        }
+    }
+
+    /**
+     * Returns the {@link PlatformBulkhead} of the provided {@code runtimePlatform}.
+     * <p>
+     * The {@link PlatformBulkhead} is created from the {@link Configuration} the first time this method is called
+     * for a given platform.
+     *
+     * @param runtimePlatform the {@link RuntimePlatform} to retrieve the {@link PlatformBulkhead} of
+     * @return the {@link PlatformBulkhead} of the provided {@code runtimePlatform}, or {@code null} if the bulkhead
+     * of the platform is disabled
+     * @throws NullPointerException if the provided {@code runtimePlatform} is {@code null}
+     * @throws JarvisException      if this table has been shut down
+     */
+    public PlatformBulkhead getBulkhead(RuntimePlatform runtimePlatform) {
+        checkNotNull(runtimePlatform, "Cannot retrieve the %s of the provided %s %s", PlatformBulkhead.class
+                .getSimpleName(), RuntimePlatform.class.getSimpleName(), runtimePlatform);
+        if (shutdown) {
+            throw new JarvisException(MessageFormat.format("Cannot retrieve the {0} of the platform {1}, the {2} " +
+                    "are shut down", PlatformBulkhead.class.getSimpleName(), runtimePlatform.getName(),
+                    PlatformBulkheads.class.getSimpleName()));
+        }
+        PlatformBulkhead bulkhead = bulkheads.computeIfAbsent(runtimePlatform.getName(), this::createBulkhead)
+                .orElse(null);
+        if (shutdown && nonNull(bulkhead)) {
+            /*
+             * The table has been shut down while the bulkhead was created, make sure it does not leak its threads.
+             */
+            bulkhead.shutdown();
+        }
+        return bulkhead;
+    }
+
+    /**
+     * Shuts down all the created {@link PlatformBulkhead}s.
+     * <p>
+     * The {@link PlatformBulkhead}s cannot be retrieved once this method has been called (see
+     * {@link #isShutdown()}).
+     *
+     * @see PlatformBulkhead#shutdown()
+     */
+    public void shutdown() {
+        shutdown = true;
+        bulkheads.values().forEach(bulkhead -> bulkhead.ifPresent(PlatformBulkhead::shutdown));
+    }
+
+    /**
+     * Returns whether this table has been shut down.
+     *
+     * @return {@code true} if this table has been shut down, {@code false} otherwise
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Creates the {@link PlatformBulkhead} of the platform with the provided {@code platformName}.
+     *
+     * @param platformName the name of the platform to create the {@link PlatformBulkhead} of
+     * @return an {@link Optional} containing the created {@link PlatformBulkhead}, or an empty {@link Optional} if
+     * the bulkhead of the platform is disabled
+     */
+    private Optional<PlatformBulkhead> createBulkhead(String platformName) {
+        int concurrency = configuration.getInt(getKey(platformName, CONCURRENCY_KEY), configuration.getInt
+                (getKey(CONCURRENCY_KEY), DEFAULT_CONCURRENCY_VALUE));
+        if (concurrency < 1) {
+            return Optional.empty();
+        }
+        int queueSize = configuration.getInt(getKey(platformName, QUEUE_SIZE_KEY), configuration.getInt(getKey
+                (QUEUE_SIZE_KEY), DEFAULT_QUEUE_SIZE_VALUE));
+        String rejection = configuration.getString(getKey(platformName, REJECTION_KEY), configuration.getString
+                (getKey(REJECTION_KEY), DEFAULT_REJECTION_VALUE));
+        PlatformBulkhead.RejectionPolicy rejectionPolicy = toRejectionPolicy(getKey(platformName, REJECTION_KEY),
+                rejection);
+        String threadNamePrefix = "jarvis-bulkhead-" + platformName + "-";
+        ExecutorService executorService;
+        if (VirtualThreads.isEnabled(configuration)) {
+            executorService = VirtualThreads.newThreadPerTaskExecutor(threadNamePrefix);
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit
+                    .SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, threadNamePrefix + threadCount.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            executorService = threadPoolExecutor;
+        }
+        Log.info("Created the bulkhead of the platform {0} (concurrency: {1}, queue size: {2}, rejection: {3})",
+                platformName, concurrency, queueSize, rejection);
+        return Optional.of(new PlatformBulkhead(platformName, concurrency, queueSize, rejectionPolicy,
+                executorService));
+    }
+
+    /**
+     * Returns the {@link PlatformBulkhead.RejectionPolicy} represented by the provided {@code rejection} value.
+     *
+     * @param key       the {@link Configuration} key defining the {@code rejection} value
+     * @param rejection the {@link #REJECTION_KEY} value to convert
+     * @return the {@link PlatformBulkhead.RejectionPolicy} represented by the provided {@code rejection} value
+     * @throws IllegalArgumentException if the provided {@code rejection} value is not one of
+     *                                  {@link #ABORT_REJECTION}, {@link #CALLER_RUNS_REJECTION}, or
+     *                                  {@link #DISCARD_OLDEST_REJECTION}
+     */
+    private static PlatformBulkhead.RejectionPolicy toRejectionPolicy(String key, String rejection) {
+        if (ABORT_REJECTION.equals(rejection)) {
+            return PlatformBulkhead.RejectionPolicy.ABORT;
+        } else if (CALLER_RUNS_REJECTION.equals(rejection)) {
+            return PlatformBulkhead.RejectionPolicy.CALLER_RUNS;
+        }
+        checkArgument(DISCARD_OLDEST_REJECTION.equals(rejection), "Cannot create the %s with the provided %s value " +
+                        "%s, expected %s, %s, or %s", PlatformBulkheads.class.getSimpleName(), key, rejection,
+                ABORT_REJECTION, CALLER_RUNS_REJECTION, DISCARD_OLDEST_REJECTION);
+        return PlatformBulkhead.RejectionPolicy.DISCARD_OLDEST;
+    }
+
+    /**
+     * Returns the {@link Configuration} key of the provided {@code key} suffix for the provided {@code platformName}.
+     *
+     * @param platformName the name of the platform to retrieve the key of
+     * @param key          the key suffix
+     * @return the {@link Configuration} key
+     */
+    public static String getKey(String platformName, String key) {
+        return BULKHEAD_KEY_PREFIX + "." + platformName + "." + key;
+    }
+
+    /**
+     * Returns the {@link Configuration} key of the provided {@code key} suffix applied to all the platforms.
+     *
+     * @param key the key suffix
+     * @return the {@link Configuration} key
+     */
+    public static String getKey(String key) {
+        return BULKHEAD_KEY_PREFIX + "." + key;
+    }
+}
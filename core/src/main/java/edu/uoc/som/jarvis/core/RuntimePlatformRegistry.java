@@ -7,6 +7,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Objects.isNull;
 
@@ -23,11 +24,22 @@ public class RuntimePlatformRegistry {
      */
     private Map<String, RuntimePlatform> platformMap;
 
+    /**
+     * The number of modifications performed on this registry.
+     * <p>
+     * This counter is incremented each time a {@link RuntimePlatform} is registered or unregistered, and allows
+     * components caching {@link RuntimePlatform} lookups to detect when their cached values are outdated.
+     *
+     * @see #getModificationCount()
+     */
+    private AtomicInteger modificationCount;
+
     /**
      * Constructs a new instance of the registry and initializes its {@link #platformMap}.
      */
     public RuntimePlatformRegistry() {
         this.platformMap = new HashMap<>();
+        this.modificationCount = new AtomicInteger();
     }
 
     /**
@@ -52,6 +64,7 @@ public class RuntimePlatformRegistry {
      */
     public void registerRuntimePlatform(String platformName, RuntimePlatform platform) {
         this.platformMap.put(platformName, platform);
+        this.modificationCount.incrementAndGet();
     }
 
     /**
@@ -69,6 +82,7 @@ public class RuntimePlatformRegistry {
             this.platformMap.entrySet().removeIf(entry -> entry.getValue().equals(platform));
         }
         runtimePlatform.disableAllActions();
+        this.modificationCount.incrementAndGet();
     }
 
     /**
@@ -79,6 +93,7 @@ public class RuntimePlatformRegistry {
             platform.disableAllActions();
         }
         this.platformMap.clear();
+        this.modificationCount.incrementAndGet();
     }
 
     /**
@@ -115,4 +130,17 @@ public class RuntimePlatformRegistry {
     public Collection<RuntimePlatform> getRuntimePlatforms() {
         return Collections.unmodifiableCollection(this.platformMap.values());
     }
+
+    /**
+     * Returns the number of modifications performed on this registry.
+     * <p>
+     * The returned value changes each time a {@link RuntimePlatform} is registered or unregistered. Components
+     * caching the {@link RuntimePlatform}s returned by this registry can compare it with the value they stored when
+     * filling their cache to check whether the cached {@link RuntimePlatform}s are still valid.
+     *
+     * @return the number of modifications performed on this registry
+     */
+    public int getModificationCount() {
+        return this.modificationCount.get();
+    }
 }
@@ -0,0 +1,314 @@
+package edu.uoc.som.jarvis.core;
+
+import edu.uoc.som.jarvis.core.session.JarvisSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+
+/**
+ * An {@link ExecutorService} that distributes its tasks over a fixed number of single-threaded execution lanes.
+ * <p>
+ * Tasks are associated to a lane using a sharding key (typically a {@link JarvisSession}'s identifier, see
+ * {@link #getLane(String)}): all the tasks submitted with the same key are executed sequentially in their
+ * submission order, while tasks associated to different lanes are executed in parallel. This ensures that the
+ * events of a given conversation are processed in order, without blocking the other conversations when an action
+ * is waiting for a remote service.
+ * <p>
+ * Tasks submitted through the standard {@link ExecutorService} methods are not associated to a key, and are
+ * distributed over the lanes in a round-robin fashion.
+ * <p>
+ * Asynchronous tasks (i.e. tasks returning a {@link CompletionStage} that may complete after the task returns) can
+ * be submitted with {@link #executeAsync(String, Supplier)}: the lane is released while the returned
+ * {@link CompletionStage} is pending, but the next asynchronous task submitted with the same key is not started
+ * before its completion. Asynchronous tasks submitted with other keys sharing the same lane are not delayed.
+ * <p>
+ * The lanes can either own a platform {@link Thread} (see {@link #SessionShardedExecutor(int)}), or be replaced by
+ * a shared {@link ExecutorService} running each task in its own {@link Thread} (see
+ * {@link #SessionShardedExecutor(ExecutorService)}). The latter is typically used with an {@link ExecutorService}
+ * creating a virtual {@link Thread} per task: each asynchronous task is then executed in its own virtual
+ * {@link Thread}, and the ordering of the tasks submitted with the same key is only enforced by
+ * {@link #executeAsync(String, Supplier)}.
+ */
+public class SessionShardedExecutor extends AbstractExecutorService {
+
+    /**
+     * The sequential {@link Executor}s representing the execution lanes.
+     */
+    private final Executor[] lanes;
+
+    /**
+     * The {@link ExecutorService}s executing the tasks of the lanes.
+     * <p>
+     * This array contains the single-threaded {@link ExecutorService} of each lane if the lanes own their
+     * {@link Thread}, or the shared {@link ExecutorService} the lanes dispatch their tasks to. It is used to manage
+     * the lifecycle of the executor (see {@link #shutdown()}).
+     */
+    private final ExecutorService[] laneServices;
+
+    /**
+     * The counter used to distribute the tasks that are not associated to a sharding key.
+     *
+     * @see #execute(Runnable)
+     */
+    private final AtomicInteger roundRobinCounter = new AtomicInteger();
+
+    /**
+     * The completion of the last pending asynchronous task submitted with each sharding key.
+     * <p>
+     * Entries are removed once the corresponding task is completed, meaning that this map only contains the keys
+     * with pending asynchronous tasks.
+     *
+     * @see #executeAsync(String, Supplier)
+     */
+    private final ConcurrentMap<String, CompletableFuture<Void>> sessionTails = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@link SessionShardedExecutor} with the provided {@code laneCount}.
+     *
+     * @param laneCount the number of execution lanes to create
+     * @throws IllegalArgumentException if the provided {@code laneCount} is lower than {@code 1}
+     */
+    public SessionShardedExecutor(int laneCount) {
+        checkArgument(laneCount > 0, "Cannot construct a %s with the provided lane count %s, expected a strictly " +
+                "positive value", this.getClass().getSimpleName(), laneCount);
+        this.lanes = new Executor[laneCount];
+        this.laneServices = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            this.laneServices[i] = Executors.newSingleThreadExecutor(new LaneThreadFactory(i));
+            this.lanes[i] = laneServices[i];
+        }
+    }
+
+    /**
+     * Constructs a new {@link SessionShardedExecutor} running each task in the provided {@code taskExecutor}.
+     * <p>
+     * The created executor does not have execution lanes: the asynchronous tasks (see
+     * {@link #executeAsync(String, Supplier)}) are submitted to the {@code taskExecutor} as soon as the previous
+     * task submitted with the same key is completed, and tasks submitted with different keys are never serialized.
+     * This constructor is designed to be used with an {@link ExecutorService} creating a virtual {@link Thread} per
+     * task (see {@link edu.uoc.som.jarvis.util.VirtualThreads#newThreadPerTaskExecutor(String)}), meaning that each
+     * asynchronous task is executed in its own virtual {@link Thread}.
+     * <p>
+     * The created executor takes ownership of the provided {@code taskExecutor}, and shuts it down when it is
+     * {@link #shutdown()}.
+     *
+     * @param taskExecutor the {@link ExecutorService} executing the tasks
+     * @throws NullPointerException if the provided {@code taskExecutor} is {@code null}
+     */
+    public SessionShardedExecutor(ExecutorService taskExecutor) {
+        checkNotNull(taskExecutor, "Cannot construct a %s with the provided %s %s", this.getClass().getSimpleName(),
+                ExecutorService.class.getSimpleName(), taskExecutor);
+        this.lanes = new Executor[]{taskExecutor};
+        this.laneServices = new ExecutorService[]{taskExecutor};
+    }
+
+    /**
+     * Returns the number of execution lanes of this executor.
+     * <p>
+     * Executors created with {@link #SessionShardedExecutor(ExecutorService)} have a single lane representing their
+     * shared {@link ExecutorService}.
+     *
+     * @return the number of execution lanes of this executor
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Returns the execution lane associated to the provided {@code key}.
+     * <p>
+     * The returned {@link Executor} is stable for a given {@code key}: tasks submitted to it are executed
+     * sequentially, in their submission order. Executors created with {@link #SessionShardedExecutor(ExecutorService)}
+     * return their shared {@link ExecutorService}, that does not order the submitted tasks: the continuations of an
+     * asynchronous task are still ordered by their composition, and the asynchronous tasks submitted with the same
+     * {@code key} are ordered by {@link #executeAsync(String, Supplier)}.
+     *
+     * @param key the sharding key to retrieve the lane of
+     * @return the {@link Executor} representing the execution lane
+     * @throws NullPointerException if the provided {@code key} is {@code null}
+     */
+    public Executor getLane(String key) {
+        checkNotNull(key, "Cannot retrieve the execution lane of the provided key %s", key);
+        return lanes[getLaneIndex(key)];
+    }
+
+    /**
+     * Executes the provided asynchronous {@code task} in the execution lane associated to the provided {@code key}.
+     * <p>
+     * The {@code task} is started in the lane once all the asynchronous tasks previously submitted with the same
+     * {@code key} are completed, i.e. once the {@link CompletionStage}s they returned are completed. The lane
+     * {@link Thread} is not blocked while the returned {@link CompletionStage} is pending, and can execute the
+     * continuations of the {@code task} (see {@link #getLane(String)}) as well as the tasks submitted with other keys
+     * sharing the same lane.
+     * <p>
+     * The next asynchronous task submitted with the same {@code key} is started even if the {@code task} fails. The
+     * returned {@link CompletableFuture} is completed exceptionally with a {@link RejectedExecutionException} if the
+     * lane does not accept the {@code task} (e.g. if this executor has been {@link #shutdown()}).
+     *
+     * @param key  the sharding key used to select the execution lane
+     * @param task the asynchronous task to execute
+     * @return a {@link CompletableFuture} completed when the {@link CompletionStage} returned by the {@code task} is
+     * completed
+     * @throws NullPointerException if the provided {@code key} or {@code task} is {@code null}
+     */
+    public CompletableFuture<Void> executeAsync(String key, Supplier<? extends CompletionStage<?>> task) {
+        checkNotNull(key, "Cannot execute the provided task with the provided key %s", key);
+        checkNotNull(task, "Cannot execute the provided task %s", task);
+        Executor lane = lanes[getLaneIndex(key)];
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        CompletableFuture<Void> previousCompletion = sessionTails.put(key, completion);
+        Runnable laneTask = () -> {
+            CompletionStage<?> taskCompletion;
+            try {
+                taskCompletion = task.get();
+                checkNotNull(taskCompletion, "The executed task returned a null %s", CompletionStage.class
+                        .getSimpleName());
+            } catch (Throwable t) {
+                completion.completeExceptionally(t);
+                return;
+            }
+            taskCompletion.whenComplete((result, throwable) -> {
+                if (isNull(throwable)) {
+                    completion.complete(null);
+                } else {
+                    completion.completeExceptionally(throwable);
+                }
+            });
+        };
+        if (isNull(previousCompletion)) {
+            executeInLane(lane, laneTask, completion);
+        } else {
+            previousCompletion.whenComplete((previousResult, previousThrowable) -> executeInLane(lane, laneTask,
+                    completion));
+        }
+        completion.whenComplete((result, throwable) -> sessionTails.remove(key, completion));
+        return completion;
+    }
+
+    /**
+     * Executes the provided {@code laneTask} in the provided {@code lane}, completing the provided {@code
+     * completion} if the {@code lane} rejects it.
+     *
+     * @param lane       the execution lane to execute the task in
+     * @param laneTask   the task to execute
+     * @param completion the {@link CompletableFuture} to complete if the task is rejected
+     */
+    private static void executeInLane(Executor lane, Runnable laneTask, CompletableFuture<Void> completion) {
+        try {
+            lane.execute(laneTask);
+        } catch (RejectedExecutionException e) {
+            completion.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Computes the index of the lane associated to the provided {@code key}.
+     * <p>
+     * The {@link String#hashCode()} of the key is spread to make sure that keys sharing a common suffix (e.g.
+     * channel identifiers) are evenly distributed.
+     *
+     * @param key the sharding key to compute the lane index of
+     * @return the index of the lane associated to the provided {@code key}
+     */
+    private int getLaneIndex(String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, lanes.length);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        checkNotNull(command, "Cannot execute the provided %s %s", Runnable.class.getSimpleName(), command);
+        lanes[Math.floorMod(roundRobinCounter.getAndIncrement(), lanes.length)].execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+        for (ExecutorService laneService : laneServices) {
+            laneService.shutdown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pendingTasks = new ArrayList<>();
+        for (ExecutorService laneService : laneServices) {
+            pendingTasks.addAll(laneService.shutdownNow());
+        }
+        return pendingTasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        for (ExecutorService laneService : laneServices) {
+            if (!laneService.isShutdown()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        for (ExecutorService laneService : laneServices) {
+            if (!laneService.isTerminated()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ExecutorService laneService : laneServices) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !laneService.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A {@link ThreadFactory} naming the created {@link Thread}s after their execution lane.
+     */
+    private static class LaneThreadFactory implements ThreadFactory {
+
+        /**
+         * The index of the lane to create the {@link Thread} of.
+         */
+        private final int laneIndex;
+
+        /**
+         * Constructs a new {@link LaneThreadFactory} for the provided {@code laneIndex}.
+         *
+         * @param laneIndex the index of the lane to create the {@link Thread} of
+         */
+        private LaneThreadFactory(int laneIndex) {
+            this.laneIndex = laneIndex;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            return new Thread(r, "jarvis-execution-lane-" + laneIndex);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package edu.uoc.som.jarvis.core.interpreter;
+
+import edu.uoc.som.jarvis.common.Expression;
+import edu.uoc.som.jarvis.common.Instruction;
+import edu.uoc.som.jarvis.common.Program;
+import edu.uoc.som.jarvis.core.interpreter.compiler.CompiledInstruction;
+import edu.uoc.som.jarvis.core.interpreter.compiler.CompiledProgram;
+import edu.uoc.som.jarvis.core.interpreter.compiler.InstructionCompiler;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link CommonInterpreter} that compiles the {@link Instruction}s to compute into {@link CompiledInstruction}s.
+ * <p>
+ * This interpreter produces the same results as the tree-walking {@link CommonInterpreter}, but executes
+ * {@link CompiledInstruction}s created by an {@link InstructionCompiler} instead of dispatching on the type of each
+ * {@link Instruction}. The compiled {@link Program}s, {@link Instruction}s, and {@link Expression}s are attached to
+ * their model element (see {@link CompiledProgramAdapter}), and are not compiled again when they are computed
+ * multiple times. The {@link List}s of {@link Instruction}s are cached the same way when they are the content of a
+ * model element (e.g. the instructions of an {@link edu.uoc.som.jarvis.execution.ExecutionRule}), other {@link List}s
+ * are compiled each time they are computed.
+ * <p>
+ * The cached compilations of a model element are dropped when the element or one of its nested elements is modified
+ * (see {@link CompiledProgramInvalidator}).
+ *
+ * @see InstructionCompiler
+ */
+public class CompiledInterpreter extends CommonInterpreter {
+
+    /**
+     * The {@link InstructionCompiler} used to compile the computed {@link Instruction}s.
+     */
+    private InstructionCompiler compiler;
+
+    /**
+     * The {@link CompiledProgramInvalidator} attached to the model elements holding {@link CompiledProgram}s
+     * created by this interpreter, and propagated to their contents.
+     */
+    private CompiledProgramInvalidator invalidator = new CompiledProgramInvalidator();
+
+    /**
+     * Constructs a new {@link CompiledInterpreter} using a default {@link InstructionCompiler}.
+     */
+    public CompiledInterpreter() {
+        this(new InstructionCompiler());
+    }
+
+    /**
+     * Constructs a new {@link CompiledInterpreter} using the provided {@code compiler}.
+     *
+     * @param compiler the {@link InstructionCompiler} used to compile the computed {@link Instruction}s
+     * @throws NullPointerException if the provided {@code compiler} is {@code null}
+     */
+    public CompiledInterpreter(InstructionCompiler compiler) {
+        checkNotNull(compiler, "Cannot construct a %s with the provided %s %s", this.getClass().getSimpleName(),
+                InstructionCompiler.class.getSimpleName(), compiler);
+        this.compiler = compiler;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The provided {@code program} is compiled the first time it is computed, and the created
+     * {@link CompiledProgram} is reused for the next computations.
+     */
+    @Override
+    public Object compute(Program program, ExecutionContext context) {
+        checkNotNull(program, "Cannot compute the provided program %s", program);
+        checkNotNull(context, "Cannot compute the program with the provided context %s", context);
+        return getCompiledProgram(program, program, () -> compiler.compile(program)).execute(context);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The provided {@code instructions} are compiled the first time they are computed if they are the content of a
+     * model element, and the created {@link CompiledProgram} is reused for the next computations.
+     */
+    @Override
+    public Object compute(List<Instruction> instructions, ExecutionContext context) {
+        checkNotNull(instructions, "Cannot compute the provided instruction list %s", instructions);
+        if (instructions instanceof EStructuralFeature.Setting) {
+            EStructuralFeature.Setting setting = (EStructuralFeature.Setting) instructions;
+            if (nonNull(setting.getEObject())) {
+                return getCompiledProgram(setting.getEObject(), setting.getEStructuralFeature(), () -> compiler
+                        .compile(instructions)).execute(context);
+            }
+        }
+        return compiler.compile(instructions).execute(context);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The provided {@link Instruction} is compiled the first time it is computed, and the created
+     * {@link CompiledProgram} is reused for the next computations.
+     */
+    @Override
+    public Object compute(Instruction i, ExecutionContext context) {
+        checkNotNull(i, "Cannot compute the provided %s %s", Instruction.class.getSimpleName(), i);
+        return getCompiledProgram(i, i, () -> compiler.compile(i)).execute(context);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The provided {@link Expression} is compiled the first time it is evaluated, and the created
+     * {@link CompiledProgram} is reused for the next evaluations.
+     */
+    @Override
+    public Object evaluate(Expression e, ExecutionContext context) {
+        checkNotNull(e, "Cannot evaluate the provided %s %s", Expression.class.getSimpleName(), e);
+        return getCompiledProgram(e, e, () -> compiler.compile(e)).execute(context);
+    }
+
+    /**
+     * Returns the {@link CompiledProgram} attached to the provided {@code eObject} with the provided {@code key}.
+     * <p>
+     * The {@link CompiledProgram} is created with the provided {@code compilation} and attached to the
+     * {@code eObject} if it does not exist.
+     *
+     * @param eObject     the model element to retrieve the {@link CompiledProgram} from
+     * @param key         the key of the {@link CompiledProgram} in the {@code eObject}'s
+     *                    {@link CompiledProgramAdapter}
+     * @param compilation the {@link Supplier} compiling the {@link CompiledProgram} if it does not exist
+     * @return the {@link CompiledProgram}
+     */
+    private CompiledProgram getCompiledProgram(EObject eObject, Object key, Supplier<CompiledProgram> compilation) {
+        /*
+         * Synchronize on the root container of the EObject: the adapter list of EMF objects is not thread-safe, the
+         * EObject may be computed concurrently, and attaching the invalidator also updates the adapter lists of its
+         * contents.
+         */
+        synchronized (EcoreUtil.getRootContainer(eObject)) {
+            CompiledProgramAdapter adapter = (CompiledProgramAdapter) EcoreUtil.getExistingAdapter(eObject, this);
+            if (isNull(adapter)) {
+                adapter = new CompiledProgramAdapter();
+                eObject.eAdapters().add(adapter);
+            }
+            if (!eObject.eAdapters().contains(invalidator)) {
+                /*
+                 * The invalidator is removed from the elements removed from their container: their nested
+                 * modifications may have been missed in between.
+                 */
+                adapter.compiledPrograms.clear();
+                eObject.eAdapters().add(invalidator);
+            }
+            CompiledProgram compiledProgram = adapter.compiledPrograms.get(key);
+            if (isNull(compiledProgram)) {
+                compiledProgram = compilation.get();
+                adapter.compiledPrograms.put(key, compiledProgram);
+            }
+            return compiledProgram;
+        }
+    }
+
+    /**
+     * An adapter attaching the {@link CompiledProgram}s created by this interpreter to their model element.
+     * <p>
+     * Each {@link CompiledInterpreter} attaches its own {@link CompiledProgramAdapter}s: the adapter type is the
+     * interpreter that created it (see {@link EcoreUtil#getExistingAdapter(org.eclipse.emf.common.notify.Notifier,
+     * Object)}). The attached {@link CompiledProgram}s are garbage-collected with their model element.
+     */
+    private class CompiledProgramAdapter extends AdapterImpl {
+
+        /**
+         * The {@link CompiledProgram}s attached to the adapted model element.
+         * <p>
+         * This map is indexed by the model element itself, or by its {@link EStructuralFeature} containing the
+         * compiled {@link Instruction}s (see {@link #compute(List, ExecutionContext)}), and must be accessed while
+         * holding the lock of the root container of the adapted model element.
+         */
+        private final Map<Object, CompiledProgram> compiledPrograms = new HashMap<>();
+
+        @Override
+        public boolean isAdapterForType(Object type) {
+            return type == CompiledInterpreter.this;
+        }
+    }
+
+    /**
+     * An adapter dropping the {@link CompiledProgram}s attached by this interpreter to a modified model element and
+     * to its containers.
+     * <p>
+     * This adapter is propagated to the contents of the model elements it is attached to (see
+     * {@link EContentAdapter}): modifying a nested element (e.g. an {@link Expression} of an {@link Instruction})
+     * drops the compilations of the elements containing it.
+     */
+    private class CompiledProgramInvalidator extends EContentAdapter {
+
+        @Override
+        public void notifyChanged(Notification notification) {
+            super.notifyChanged(notification);
+            if (notification.isTouch() || !(notification.getNotifier() instanceof EObject)) {
+                return;
+            }
+            EObject notifier = (EObject) notification.getNotifier();
+            synchronized (EcoreUtil.getRootContainer(notifier)) {
+                for (EObject current = notifier; nonNull(current); current = current.eContainer()) {
+                    CompiledProgramAdapter adapter = (CompiledProgramAdapter) EcoreUtil.getExistingAdapter(current,
+                            CompiledInterpreter.this);
+                    if (nonNull(adapter)) {
+                        adapter.compiledPrograms.clear();
+                    }
+                }
+            }
+        }
+    }
+}
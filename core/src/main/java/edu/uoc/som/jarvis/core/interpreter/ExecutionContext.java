@@ -3,26 +3,59 @@ package edu.uoc.som.jarvis.core.interpreter;
 import edu.uoc.som.jarvis.core.session.JarvisSession;
 
 import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
 /**
  * Holds contextual information defined during a Jarvis common program execution.
+ * <p>
+ * Values can be stored by name (see {@link #setValue(String, Object)}), or in the slots of an array-backed frame
+ * bound to a compiled program (see {@link #bindFrame(FrameDescriptor)} and {@link #setSlotValue(int, Object)}).
+ * Values stored in the frame are also accessible by name, and the name-based storage is only allocated when it is
+ * needed.
  */
 public class ExecutionContext {
 
     /**
-     * Contains the values set by a Jarvis common program.
+     * The marker stored in the frame slots that do not contain a value.
+     * <p>
+     * This marker is required to distinguish undefined slots from slots containing {@code null}.
+     */
+    private static final Object UNDEFINED = new Object();
+
+    /**
+     * Contains the values set by a Jarvis common program that are not stored in the frame.
+     * <p>
+     * This map is lazily created when a value that is not described by the bound {@link FrameDescriptor} is set.
      */
     private Map<String, Object> values;
 
+    /**
+     * The {@link FrameDescriptor} describing the slots of the frame.
+     *
+     * @see #bindFrame(FrameDescriptor)
+     */
+    private FrameDescriptor frameDescriptor;
+
+    /**
+     * The array-backed frame containing the slot values.
+     * <p>
+     * This array can be larger than the number of slots described by the {@link #frameDescriptor}, allowing to
+     * reuse it for frames with fewer slots.
+     */
+    private Object[] frame;
+
     private JarvisSession session;
 
     /**
      * Constructs an empty {@link ExecutionContext}.
      */
     public ExecutionContext() {
-        this.values = new HashMap<>();
     }
 
     public void setSession(JarvisSession session) {
@@ -33,6 +66,93 @@ public class ExecutionContext {
         return this.session;
     }
 
+    /**
+     * Returns the {@link FrameDescriptor} bound to this {@link ExecutionContext}.
+     *
+     * @return the bound {@link FrameDescriptor}, or {@code null} if no frame has been bound to this context
+     * @see #bindFrame(FrameDescriptor)
+     */
+    public FrameDescriptor getFrameDescriptor() {
+        return frameDescriptor;
+    }
+
+    /**
+     * Binds the frame of this {@link ExecutionContext} to the provided {@code frameDescriptor}.
+     * <p>
+     * This method is called by compiled programs before their execution. It does nothing if the provided {@code
+     * frameDescriptor} is already bound to this context. Otherwise, the values of the previous frame are moved to
+     * the name-based storage, and the named values described by the provided {@code frameDescriptor} are moved to
+     * the new frame. The frame array is reused if it is large enough to store the slots of the provided {@code
+     * frameDescriptor}.
+     *
+     * @param frameDescriptor the {@link FrameDescriptor} describing the slots of the frame
+     * @throws NullPointerException if the provided {@code frameDescriptor} is {@code null}
+     */
+    public void bindFrame(FrameDescriptor frameDescriptor) {
+        checkNotNull(frameDescriptor, "Cannot bind the provided %s %s", FrameDescriptor.class.getSimpleName(),
+                frameDescriptor);
+        if (frameDescriptor == this.frameDescriptor) {
+            return;
+        }
+        if (nonNull(this.frameDescriptor)) {
+            for (int i = 0; i < this.frameDescriptor.getSlotCount(); i++) {
+                if (frame[i] != UNDEFINED) {
+                    getOrCreateValues().put(this.frameDescriptor.getSlotName(i), frame[i]);
+                }
+            }
+        }
+        int slotCount = frameDescriptor.getSlotCount();
+        if (isNull(frame) || frame.length < slotCount) {
+            frame = new Object[slotCount];
+        }
+        Arrays.fill(frame, 0, slotCount, UNDEFINED);
+        this.frameDescriptor = frameDescriptor;
+        if (nonNull(values) && !values.isEmpty()) {
+            for (int i = 0; i < slotCount; i++) {
+                String name = frameDescriptor.getSlotName(i);
+                if (values.containsKey(name)) {
+                    frame[i] = values.remove(name);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the value of the provided {@code slot} of the bound frame.
+     * <p>
+     * <b>Note:</b> the Jarvis common language doesn't allow to update the value of a variable, thus declared variables
+     * using the {@code def} keyword are final and immutable.
+     *
+     * @param slot  the slot of the value to set
+     * @param value the raw value to store
+     * @throws IllegalArgumentException if the provided {@code slot} already contains a value
+     * @see #bindFrame(FrameDescriptor)
+     */
+    public void setSlotValue(int slot, Object value) {
+        if (frame[slot] != UNDEFINED) {
+            throw new IllegalArgumentException(MessageFormat.format("Cannot set the value {0}, the value is already " +
+                    "defined in this scope", frameDescriptor.getSlotName(slot)));
+        }
+        frame[slot] = value;
+    }
+
+    /**
+     * Returns the value stored in the provided {@code slot} of the bound frame.
+     *
+     * @param slot the slot of the value to retrieve
+     * @return the retrieved value
+     * @throws IllegalArgumentException if the provided {@code slot} does not contain a value
+     * @see #bindFrame(FrameDescriptor)
+     */
+    public Object getSlotValue(int slot) {
+        Object value = frame[slot];
+        if (value == UNDEFINED) {
+            throw new IllegalArgumentException(MessageFormat.format("Cannot access the value {0}, the value is not " +
+                    "defined in this scope", frameDescriptor.getSlotName(slot)));
+        }
+        return value;
+    }
+
     /**
      * Sets the {@code name} value with the provided {@code value}.
      * <p>
@@ -45,11 +165,16 @@ public class ExecutionContext {
      *                                  {@link ExecutionContext}
      */
     public void setValue(String name, Object value) {
-        if (values.containsKey(name)) {
+        int slot = getSlot(name);
+        if (slot >= 0) {
+            setSlotValue(slot, value);
+            return;
+        }
+        if (nonNull(values) && values.containsKey(name)) {
             throw new IllegalArgumentException(MessageFormat.format("Cannot set the value {0}, the value is already " +
                     "defined in this scope", name));
         }
-        this.values.put(name, value);
+        getOrCreateValues().put(name, value);
     }
 
     /**
@@ -60,7 +185,11 @@ public class ExecutionContext {
      * @throws IllegalArgumentException if there is no value defined with the provided {@code name}
      */
     public Object getValue(String name) {
-        if (values.containsKey(name)) {
+        int slot = getSlot(name);
+        if (slot >= 0) {
+            return getSlotValue(slot);
+        }
+        if (nonNull(values) && values.containsKey(name)) {
             return this.values.get(name);
         } else {
             throw new IllegalArgumentException(MessageFormat.format("Cannot access the value {0}, the value is not " +
@@ -74,16 +203,68 @@ public class ExecutionContext {
      * @return the number of values defined in this {@link ExecutionContext}
      */
     public int getValueCount() {
-        return this.values.keySet().size();
+        int count = isNull(values) ? 0 : values.size();
+        if (nonNull(frameDescriptor)) {
+            for (int i = 0; i < frameDescriptor.getSlotCount(); i++) {
+                if (frame[i] != UNDEFINED) {
+                    count++;
+                }
+            }
+        }
+        return count;
     }
 
     /**
      * Clears the {@link ExecutionContext}.
      * <p>
      * <b>Note:</b> the cleared {@link ExecutionContext} is similar to the one built by calling
-     * {@link ExecutionContext#ExecutionContext()} and can be reused to evaluate new programs.
+     * {@link ExecutionContext#ExecutionContext()} and can be reused to evaluate new programs. The bound frame is
+     * kept, allowing to reuse it for the next execution of the same compiled program.
      */
     public void clear() {
-        this.values.clear();
+        if (nonNull(frameDescriptor)) {
+            Arrays.fill(frame, 0, frameDescriptor.getSlotCount(), UNDEFINED);
+        }
+        if (nonNull(values)) {
+            this.values.clear();
+        }
+    }
+
+    /**
+     * Resets the {@link ExecutionContext}.
+     * <p>
+     * This method clears the {@link ExecutionContext} (see {@link #clear()}) and unbinds its frame: the next call to
+     * {@link #bindFrame(FrameDescriptor)} does not have to move the slots of the previous frame to the name-based
+     * storage. The frame array is kept, and is reused by the next bound frame if it is large enough.
+     * <p>
+     * This method is typically called between the executions of different compiled programs reusing the same
+     * {@link ExecutionContext}.
+     */
+    public void reset() {
+        clear();
+        this.frameDescriptor = null;
+    }
+
+    /**
+     * Returns the slot of the provided {@code name} in the bound frame.
+     *
+     * @param name the name of the value to retrieve the slot of
+     * @return the slot of the value, or {@code -1} if there is no bound frame or if the bound frame does not
+     * describe the provided {@code name}
+     */
+    private int getSlot(String name) {
+        return isNull(frameDescriptor) ? -1 : frameDescriptor.getSlot(name);
+    }
+
+    /**
+     * Returns the name-based storage of this {@link ExecutionContext}, creating it if necessary.
+     *
+     * @return the name-based storage of this {@link ExecutionContext}
+     */
+    private Map<String, Object> getOrCreateValues() {
+        if (isNull(values)) {
+            values = new HashMap<>();
+        }
+        return values;
     }
 }
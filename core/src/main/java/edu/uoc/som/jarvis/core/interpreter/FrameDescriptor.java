@@ -0,0 +1,85 @@
+package edu.uoc.som.jarvis.core.interpreter;
+
+import edu.uoc.som.jarvis.common.VariableDeclaration;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+
+/**
+ * Describes the variable slots of a compiled Jarvis common program.
+ * <p>
+ * A {@link FrameDescriptor} associates each variable declared in a compiled program to an integer slot. The values
+ * of these variables are stored in an array-backed frame of the {@link ExecutionContext} (see
+ * {@link ExecutionContext#bindFrame(FrameDescriptor)}), and are accessed by slot instead of by name.
+ * <p>
+ * {@link FrameDescriptor}s are immutable and can be shared by concurrent executions of the same program.
+ *
+ * @see ExecutionContext
+ */
+public final class FrameDescriptor {
+
+    /**
+     * The names of the variables, indexed by slot.
+     */
+    private final String[] slotNames;
+
+    /**
+     * The slots of the variables, indexed by name.
+     */
+    private final Map<String, Integer> slotIndex;
+
+    /**
+     * Constructs a new {@link FrameDescriptor} with the provided {@code slotNames}.
+     * <p>
+     * The slot of each variable corresponds to its index in the provided {@link List}.
+     *
+     * @param slotNames the names of the variables, indexed by slot
+     * @throws NullPointerException if the provided {@code slotNames} is {@code null}
+     */
+    public FrameDescriptor(List<String> slotNames) {
+        checkNotNull(slotNames, "Cannot construct a %s from the provided slot names %s", FrameDescriptor.class
+                .getSimpleName(), slotNames);
+        this.slotNames = slotNames.toArray(new String[slotNames.size()]);
+        this.slotIndex = new HashMap<>();
+        for (int i = 0; i < this.slotNames.length; i++) {
+            this.slotIndex.put(this.slotNames[i], i);
+        }
+    }
+
+    /**
+     * Returns the number of slots described by this {@link FrameDescriptor}.
+     *
+     * @return the number of slots described by this {@link FrameDescriptor}
+     */
+    public int getSlotCount() {
+        return slotNames.length;
+    }
+
+    /**
+     * Returns the name of the variable stored in the provided {@code slot}.
+     *
+     * @param slot the slot to retrieve the variable name of
+     * @return the name of the variable
+     * @throws ArrayIndexOutOfBoundsException if the provided {@code slot} is not described by this
+     *                                        {@link FrameDescriptor}
+     */
+    public String getSlotName(int slot) {
+        return slotNames[slot];
+    }
+
+    /**
+     * Returns the slot of the variable with the provided {@code name}.
+     *
+     * @param name the name of the {@link VariableDeclaration} to retrieve the slot of
+     * @return the slot of the variable, or {@code -1} if the variable is not described by this
+     * {@link FrameDescriptor}
+     */
+    public int getSlot(String name) {
+        Integer slot = slotIndex.get(name);
+        return isNull(slot) ? -1 : slot;
+    }
+}
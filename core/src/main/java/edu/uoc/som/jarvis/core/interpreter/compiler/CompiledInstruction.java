@@ -0,0 +1,28 @@
+package edu.uoc.som.jarvis.core.interpreter.compiler;
+
+import edu.uoc.som.jarvis.common.Instruction;
+import edu.uoc.som.jarvis.core.interpreter.ExecutionContext;
+
+/**
+ * An executable representation of a Jarvis common {@link Instruction}.
+ * <p>
+ * {@link CompiledInstruction}s are created by the {@link InstructionCompiler} from {@link Instruction} trees. They
+ * contain all the information that can be computed statically (literal values, variable names, default operations,
+ * etc), and only perform the dynamic part of the evaluation when they are executed.
+ * <p>
+ * <b>Note:</b> {@link CompiledInstruction}s are stateless and can be executed concurrently, as long as each
+ * execution uses its own {@link ExecutionContext}.
+ *
+ * @see InstructionCompiler
+ */
+@FunctionalInterface
+public interface CompiledInstruction {
+
+    /**
+     * Executes the compiled {@link Instruction} with the given {@code context}.
+     *
+     * @param context the {@link ExecutionContext} to use along the execution
+     * @return the result of the execution
+     */
+    Object execute(ExecutionContext context);
+}
@@ -0,0 +1,94 @@
+package edu.uoc.som.jarvis.core.interpreter.compiler;
+
+import edu.uoc.som.jarvis.core.interpreter.ExecutionContext;
+import edu.uoc.som.jarvis.core.interpreter.FrameDescriptor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The root {@link CompiledInstruction} of a compiled program.
+ * <p>
+ * A {@link CompiledProgram} holds the {@link FrameDescriptor} describing the variable slots used by its
+ * instructions, and binds it to the {@link ExecutionContext} before executing them. The frame is left bound once the
+ * program is executed: components reusing an {@link ExecutionContext} to execute different programs should
+ * {@link ExecutionContext#reset()} it between two executions, otherwise the values of the previous frame are moved
+ * to the name-based storage of the context when the next program binds its own frame.
+ * <p>
+ * The top-level instructions of the program can also be executed one by one (see {@link #getInstructions()}), e.g.
+ * to suspend the execution of the program while an instruction is pending. In this case the frame of the program
+ * must be bound with {@link #bindFrame(ExecutionContext)} before executing the first instruction.
+ *
+ * @see InstructionCompiler
+ */
+public final class CompiledProgram implements CompiledInstruction {
+
+    /**
+     * The {@link FrameDescriptor} describing the variable slots used by the program.
+     */
+    private final FrameDescriptor frameDescriptor;
+
+    /**
+     * The {@link CompiledInstruction}s representing the program's top-level instructions.
+     */
+    private final CompiledInstruction[] instructions;
+
+    /**
+     * An unmodifiable view of the {@link #instructions}.
+     */
+    private final List<CompiledInstruction> instructionList;
+
+    /**
+     * Constructs a new {@link CompiledProgram} with the provided {@code frameDescriptor} and {@code instructions}.
+     *
+     * @param frameDescriptor the {@link FrameDescriptor} describing the variable slots used by the program
+     * @param instructions    the {@link CompiledInstruction}s representing the program's top-level instructions
+     */
+    CompiledProgram(FrameDescriptor frameDescriptor, CompiledInstruction... instructions) {
+        this.frameDescriptor = frameDescriptor;
+        this.instructions = instructions;
+        this.instructionList = Collections.unmodifiableList(Arrays.asList(instructions));
+    }
+
+    /**
+     * Returns the {@link FrameDescriptor} describing the variable slots used by the program.
+     *
+     * @return the {@link FrameDescriptor} describing the variable slots used by the program
+     */
+    public FrameDescriptor getFrameDescriptor() {
+        return frameDescriptor;
+    }
+
+    /**
+     * Returns the {@link CompiledInstruction}s representing the program's top-level instructions.
+     *
+     * @return an unmodifiable {@link List} containing the program's top-level {@link CompiledInstruction}s
+     * @see #bindFrame(ExecutionContext)
+     */
+    public List<CompiledInstruction> getInstructions() {
+        return instructionList;
+    }
+
+    /**
+     * Binds the {@link FrameDescriptor} of the program to the provided {@code context}.
+     * <p>
+     * This method must be called before executing the top-level instructions of the program one by one (see
+     * {@link #getInstructions()}), and is called by {@link #execute(ExecutionContext)}.
+     *
+     * @param context the {@link ExecutionContext} to bind the frame of the program to
+     */
+    public void bindFrame(ExecutionContext context) {
+        context.bindFrame(frameDescriptor);
+    }
+
+    @Override
+    public Object execute(ExecutionContext context) {
+        bindFrame(context);
+        Object result = null;
+        for (CompiledInstruction instruction : instructions) {
+            result = instruction.execute(context);
+        }
+        return result;
+    }
+}
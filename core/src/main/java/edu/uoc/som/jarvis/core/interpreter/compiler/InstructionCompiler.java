@@ -0,0 +1,392 @@
+package edu.uoc.som.jarvis.core.interpreter.compiler;
+
+import edu.uoc.som.jarvis.common.*;
+import edu.uoc.som.jarvis.core.interpreter.CommonInterpreter;
+import edu.uoc.som.jarvis.core.interpreter.ExecutionContext;
+import edu.uoc.som.jarvis.core.interpreter.FrameDescriptor;
+import edu.uoc.som.jarvis.core.interpreter.OperationProvider;
+import edu.uoc.som.jarvis.core.interpreter.operation.Operation;
+import edu.uoc.som.jarvis.core.interpreter.operation.object.ObjectOperationProvider;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+
+/**
+ * Compiles Jarvis common {@link Instruction}s into {@link CompiledInstruction}s.
+ * <p>
+ * This class performs a single traversal of the provided {@link Instruction} tree, and creates a tree of pre-linked
+ * {@link CompiledInstruction} nodes: variables are resolved to the slots of a {@link FrameDescriptor}, literal values
+ * are computed, and the {@link Operation}s used by {@link OperationCall}s are selected, at compilation time. The
+ * created {@link CompiledInstruction}s produce the same results as the {@link CommonInterpreter}, without
+ * dispatching on the type of each {@link Instruction} when they are executed.
+ * <p>
+ * This class can be extended to support additional {@link Expression} types (see
+ * {@link #compileExpression(Expression, Scope)}).
+ *
+ * @see CompiledInstruction
+ * @see CommonInterpreter
+ */
+public class InstructionCompiler {
+
+    /**
+     * The default {@link OperationProvider} used to select the {@link Operation}s of the compiled
+     * {@link OperationCall}s.
+     * <p>
+     * This provider is used if the source object of an {@link OperationCall} is not an {@link OperationProvider}.
+     */
+    private static OperationProvider DEFAULT_OPERATION_PROVIDER = new ObjectOperationProvider();
+
+    /**
+     * Compiles the provided {@code program}.
+     *
+     * @param program the {@link Program} to compile
+     * @return the {@link CompiledProgram} returning the evaluated value of the last instruction of the program
+     * @throws NullPointerException     if the provided {@code program} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code program} contains an unsupported {@link Instruction}
+     * @see #compile(List)
+     */
+    public CompiledProgram compile(Program program) {
+        checkNotNull(program, "Cannot compile the provided program %s", program);
+        return compile(program.getInstructions());
+    }
+
+    /**
+     * Compiles the provided {@link List} of {@link Instruction}s.
+     * <p>
+     * The created {@link CompiledProgram} executes the {@link Instruction}s sequentially, and returns the
+     * evaluated value of the last one. The variables declared in the provided {@code instructions} are resolved to
+     * the slots of the {@link CompiledProgram}'s {@link FrameDescriptor}.
+     *
+     * @param instructions the {@link List} of {@link Instruction}s to compile
+     * @return the created {@link CompiledProgram}
+     * @throws NullPointerException     if the provided {@code instructions} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code instructions} contain an unsupported
+     *                                  {@link Instruction}
+     */
+    public CompiledProgram compile(List<? extends Instruction> instructions) {
+        checkNotNull(instructions, "Cannot compile the provided instruction list %s", instructions);
+        Scope scope = new Scope();
+        CompiledInstruction[] compiledInstructions = new CompiledInstruction[instructions.size()];
+        for (int i = 0; i < compiledInstructions.length; i++) {
+            compiledInstructions[i] = compileInstruction(instructions.get(i), scope);
+        }
+        return new CompiledProgram(scope.toFrameDescriptor(), compiledInstructions);
+    }
+
+    /**
+     * Compiles the provided {@link Instruction}.
+     *
+     * @param i the {@link Instruction} to compile
+     * @return the created {@link CompiledProgram}
+     * @throws NullPointerException     if the provided {@link Instruction} is {@code null}
+     * @throws IllegalArgumentException if the provided {@link Instruction} is not supported
+     */
+    public CompiledProgram compile(Instruction i) {
+        Scope scope = new Scope();
+        CompiledInstruction body = compileInstruction(i, scope);
+        return new CompiledProgram(scope.toFrameDescriptor(), body);
+    }
+
+    /**
+     * Compiles the provided {@link List} of {@link Instruction}s in the given {@code scope}.
+     *
+     * @param instructions the {@link List} of {@link Instruction}s to compile
+     * @param scope        the {@link Scope} used to resolve variable slots
+     * @return the created {@link CompiledInstruction}
+     */
+    protected CompiledInstruction compileInstructions(List<? extends Instruction> instructions, Scope scope) {
+        if (instructions.size() == 1) {
+            return compileInstruction(instructions.get(0), scope);
+        }
+        CompiledInstruction[] compiledInstructions = new CompiledInstruction[instructions.size()];
+        for (int i = 0; i < compiledInstructions.length; i++) {
+            compiledInstructions[i] = compileInstruction(instructions.get(i), scope);
+        }
+        return new Sequence(compiledInstructions);
+    }
+
+    /**
+     * Compiles the provided {@link Instruction} in the given {@code scope}.
+     *
+     * @param i     the {@link Instruction} to compile
+     * @param scope the {@link Scope} used to resolve variable slots
+     * @return the created {@link CompiledInstruction}
+     * @throws NullPointerException     if the provided {@link Instruction} is {@code null}
+     * @throws IllegalArgumentException if the provided {@link Instruction} is not supported
+     */
+    protected CompiledInstruction compileInstruction(Instruction i, Scope scope) {
+        checkNotNull(i, "Cannot compile the provided %s %s", Instruction.class.getSimpleName(), i);
+        if (i instanceof ImportDeclaration) {
+            // Do nothing, ImportDeclaration are not used by the interpreter
+            return context -> null;
+        } else if (i instanceof VariableDeclaration) {
+            return compileVariableDeclaration((VariableDeclaration) i, scope);
+        } else if (i instanceof Expression) {
+            return compileExpression((Expression) i, scope);
+        } else {
+            throw new IllegalArgumentException(MessageFormat.format("Cannot compile the instruction {0}, unknown " +
+                    "expression type {1}", i, i.getClass().getSimpleName()));
+        }
+    }
+
+    /**
+     * Compiles the provided {@link VariableDeclaration} in the given {@code scope}.
+     * <p>
+     * The created {@link CompiledInstruction} evaluates the {@link VariableDeclaration}'s initialization expression
+     * and stores it in the variable's slot.
+     *
+     * @param v     the {@link VariableDeclaration} to compile
+     * @param scope the {@link Scope} used to resolve variable slots
+     * @return the created {@link CompiledInstruction}
+     */
+    protected CompiledInstruction compileVariableDeclaration(VariableDeclaration v, Scope scope) {
+        int slot = scope.getSlot(v.getName());
+        if (isNull(v.getValue())) {
+            return context -> {
+                context.setSlotValue(slot, null);
+                return null;
+            };
+        }
+        CompiledInstruction value = compileExpression(v.getValue(), scope);
+        return context -> {
+            Object result = value.execute(context);
+            context.setSlotValue(slot, result);
+            return result;
+        };
+    }
+
+    /**
+     * Compiles the provided {@link Expression} in the given {@code scope}.
+     * <p>
+     * This method can be extended by subclasses to support additional {@link Expression} types. Overriding methods
+     * should delegate to this implementation for the {@link Expression}s they do not support.
+     *
+     * @param e     the {@link Expression} to compile
+     * @param scope the {@link Scope} used to resolve variable slots
+     * @return the created {@link CompiledInstruction}
+     * @throws NullPointerException     if the provided {@link Expression} is {@code null}
+     * @throws IllegalArgumentException if the provided {@link Expression} is not supported
+     */
+    protected CompiledInstruction compileExpression(Expression e, Scope scope) {
+        checkNotNull(e, "Cannot compile the provided %s %s", Expression.class.getSimpleName(), e);
+        if (e instanceof VariableAccess) {
+            int slot = scope.getSlot(((VariableAccess) e).getReferredVariable().getName());
+            return context -> context.getSlotValue(slot);
+        } else if (e instanceof ContextAccess) {
+            String contextName = ((ContextAccess) e).getContextName();
+            return context -> context.getSession().getRuntimeContexts().getContextVariables(contextName);
+        } else if (e instanceof Literal) {
+            Object value = getLiteralValue((Literal) e);
+            return context -> value;
+        } else if (e instanceof OperationCall) {
+            return compileOperationCall((OperationCall) e, scope);
+        } else if (e instanceof IfExpression) {
+            return compileIfExpression((IfExpression) e, scope);
+        } else {
+            throw new IllegalArgumentException(MessageFormat.format("Cannot compile the expression {0}, unknown " +
+                    "expression type {1}", e, e.getClass().getSimpleName()));
+        }
+    }
+
+    /**
+     * Returns the value of the provided {@link Literal}.
+     *
+     * @param l the {@link Literal} to retrieve the value of
+     * @return the value of the {@link Literal}
+     * @throws IllegalArgumentException if the provided {@link Literal} type is not supported
+     */
+    private Object getLiteralValue(Literal l) {
+        if (l instanceof StringLiteral) {
+            return ((StringLiteral) l).getValue();
+        } else if (l instanceof NumberLiteral) {
+            return ((NumberLiteral) l).getValue();
+        } else if (l instanceof BooleanLiteral) {
+            return ((BooleanLiteral) l).isValue();
+        } else {
+            throw new IllegalArgumentException(MessageFormat.format("Cannot compute the value of {0}, unknown literal" +
+                    " type {1}", l, l.getClass().getSimpleName()));
+        }
+    }
+
+    /**
+     * Compiles the provided {@link OperationCall}.
+     * <p>
+     * The {@link Operation} to invoke is selected at compilation time from the default {@link OperationProvider},
+     * and is only resolved at execution time if the evaluated source object is an {@link OperationProvider}.
+     *
+     * @param o     the {@link OperationCall} to compile
+     * @param scope the {@link Scope} used to resolve variable slots
+     * @return the created {@link CompiledInstruction}
+     */
+    protected CompiledInstruction compileOperationCall(OperationCall o, Scope scope) {
+        CompiledInstruction source = compileExpression(o.getSource(), scope);
+        CompiledInstruction[] args = new CompiledInstruction[o.getArgs().size()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = compileExpression(o.getArgs().get(i), scope);
+        }
+        return new OperationCallInstruction(o, source, args, DEFAULT_OPERATION_PROVIDER.getOperation(o));
+    }
+
+    /**
+     * Compiles the provided {@link IfExpression}.
+     *
+     * @param i     the {@link IfExpression} to compile
+     * @param scope the {@link Scope} used to resolve variable slots
+     * @return the created {@link CompiledInstruction}
+     */
+    protected CompiledInstruction compileIfExpression(IfExpression i, Scope scope) {
+        CompiledInstruction condition = compileExpression(i.getCondition(), scope);
+        CompiledInstruction thenInstructions = compileInstructions(i.getThenInstructions(), scope);
+        CompiledInstruction elseInstructions = compileInstructions(i.getElseInstructions(), scope);
+        return context -> {
+            Object result = condition.execute(context);
+            checkArgument(result instanceof Boolean, "Cannot evaluate if condition: %s (class=%s) is not a boolean " +
+                    "value", result, result.getClass().getSimpleName());
+            if (((Boolean) result).booleanValue()) {
+                return thenInstructions.execute(context);
+            } else {
+                return elseInstructions.execute(context);
+            }
+        };
+    }
+
+    /**
+     * The compilation scope of a program, resolving the names of its variables to frame slots.
+     * <p>
+     * Variables are assigned to slots in the order they are encountered. Declarations sharing the same name (e.g.
+     * in the branches of an {@link IfExpression}) are assigned to the same slot.
+     *
+     * @see FrameDescriptor
+     */
+    protected static final class Scope {
+
+        /**
+         * The slots of the variables encountered in the compiled program, indexed by name.
+         */
+        private final Map<String, Integer> slots = new LinkedHashMap<>();
+
+        /**
+         * Returns the slot of the variable with the provided {@code name}, assigning a new slot if needed.
+         *
+         * @param name the name of the variable to retrieve the slot of
+         * @return the slot of the variable
+         */
+        public int getSlot(String name) {
+            return slots.computeIfAbsent(name, k -> slots.size());
+        }
+
+        /**
+         * Creates the {@link FrameDescriptor} describing the slots assigned by this scope.
+         *
+         * @return the created {@link FrameDescriptor}
+         */
+        private FrameDescriptor toFrameDescriptor() {
+            return new FrameDescriptor(new ArrayList<>(slots.keySet()));
+        }
+    }
+
+    /**
+     * A {@link CompiledInstruction} executing a sequence of {@link CompiledInstruction}s.
+     * <p>
+     * Executing a {@link Sequence} returns the evaluated value of its last {@link CompiledInstruction}, or {@code
+     * null} if the sequence is empty.
+     */
+    private static final class Sequence implements CompiledInstruction {
+
+        /**
+         * The {@link CompiledInstruction}s to execute.
+         */
+        private final CompiledInstruction[] instructions;
+
+        /**
+         * Constructs a new {@link Sequence} with the provided {@code instructions}.
+         *
+         * @param instructions the {@link CompiledInstruction}s to execute
+         */
+        private Sequence(CompiledInstruction[] instructions) {
+            this.instructions = instructions;
+        }
+
+        @Override
+        public Object execute(ExecutionContext context) {
+            Object result = null;
+            for (CompiledInstruction instruction : instructions) {
+                result = instruction.execute(context);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A {@link CompiledInstruction} invoking an {@link Operation} on the result of its source instruction.
+     */
+    private static final class OperationCallInstruction implements CompiledInstruction {
+
+        /**
+         * The compiled {@link OperationCall}, used to retrieve custom {@link Operation}s from source objects
+         * implementing {@link OperationProvider}.
+         */
+        private final OperationCall operationCall;
+
+        /**
+         * The {@link CompiledInstruction} computing the source object of the {@link Operation}.
+         */
+        private final CompiledInstruction source;
+
+        /**
+         * The {@link CompiledInstruction}s computing the arguments of the {@link Operation}.
+         */
+        private final CompiledInstruction[] args;
+
+        /**
+         * The {@link Operation} selected at compilation time from the default {@link OperationProvider}.
+         */
+        private final Operation defaultOperation;
+
+        /**
+         * Constructs a new {@link OperationCallInstruction} with the provided parameters.
+         *
+         * @param operationCall    the compiled {@link OperationCall}
+         * @param source           the {@link CompiledInstruction} computing the source object of the
+         *                         {@link Operation}
+         * @param args             the {@link CompiledInstruction}s computing the arguments of the {@link Operation}
+         * @param defaultOperation the {@link Operation} to invoke if the source object is not an
+         *                         {@link OperationProvider}
+         */
+        private OperationCallInstruction(OperationCall operationCall, CompiledInstruction source,
+                                         CompiledInstruction[] args, Operation defaultOperation) {
+            this.operationCall = operationCall;
+            this.source = source;
+            this.args = args;
+            this.defaultOperation = defaultOperation;
+        }
+
+        @Override
+        public Object execute(ExecutionContext context) {
+            Object sourceValue = source.execute(context);
+            Operation operation;
+            if (sourceValue instanceof OperationProvider) {
+                /*
+                 * The source object provides custom implementation of abstract operations, use it instead of the
+                 * default one.
+                 */
+                operation = ((OperationProvider) sourceValue).getOperation(operationCall);
+            } else {
+                operation = defaultOperation;
+            }
+            Object[] argValues = new Object[args.length];
+            for (int i = 0; i < argValues.length; i++) {
+                argValues[i] = args[i].execute(context);
+            }
+            return operation.invoke(sourceValue, Arrays.asList(argValues));
+        }
+    }
+}
@@ -4,6 +4,9 @@ import edu.uoc.som.jarvis.core.interpreter.operation.Operation;
 import edu.uoc.som.jarvis.core.interpreter.operation.OperationException;
 import org.apache.commons.lang3.ClassUtils;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -11,21 +14,85 @@ import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
+import static java.util.Objects.nonNull;
+
 /**
  * A reflexive {@link Operation} that invokes its corresponding source object's method.
  * <p>
  * This {@link Operation} is a wrapper that searches for a method of its source object with the provided {@code
  * methodName}, and accepting the provided {@code args}.
+ * <p>
+ * Each {@link ObjectOperation} instance holds an inline cache of the {@link MethodHandle}s it has resolved, keyed by
+ * the {@link Class} of the source object and the {@link Class}es of the arguments. The cache is monomorphic when
+ * the operation is always invoked with the same types, and can contain up to {@link #MAX_INLINE_CACHE_SIZE}
+ * entries. Operations invoked with more type combinations are considered megamorphic, and rely on a cache shared
+ * by all the {@link ObjectOperation}s. The shared cache is bound to the source {@link Class}es (see
+ * {@link ClassValue}) and does not prevent them from being unloaded, and retains at most
+ * {@link #MAX_MEGAMORPHIC_CACHE_SIZE} {@link MethodHandle}s per source {@link Class}.
  */
 public class ObjectOperation implements Operation {
 
+    /**
+     * The maximum number of entries of the inline cache of an {@link ObjectOperation}.
+     */
+    private static final int MAX_INLINE_CACHE_SIZE = 4;
+
+    /**
+     * The {@link MethodType} of the {@link MethodHandle}s stored in the caches.
+     * <p>
+     * Cached {@link MethodHandle}s take the source object and an array containing the arguments of the operation,
+     * and return the result of the invoked method (or {@code null} for {@code void} methods).
+     */
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class,
+            Object[].class);
+
+    /**
+     * The maximum number of {@link MethodHandle}s cached for a given source {@link Class} in the
+     * {@link #MEGAMORPHIC_CACHE}.
+     * <p>
+     * {@link MethodHandle}s resolved once this limit is reached are not cached, and are resolved again for each
+     * invocation.
+     */
+    private static final int MAX_MEGAMORPHIC_CACHE_SIZE = 256;
+
+    /**
+     * The cache shared by megamorphic {@link ObjectOperation}s.
+     * <p>
+     * This cache is bound to the {@link Class} of the source objects, and does not retain them.
+     *
+     * @see #MAX_INLINE_CACHE_SIZE
+     * @see #MAX_MEGAMORPHIC_CACHE_SIZE
+     */
+    private static final ClassValue<ConcurrentMap<MethodSignature, MethodHandle>> MEGAMORPHIC_CACHE =
+            new ClassValue<ConcurrentMap<MethodSignature, MethodHandle>>() {
+                @Override
+                protected ConcurrentMap<MethodSignature, MethodHandle> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
     /**
      * The name of the method to invoke.
      */
     private String methodName;
 
+    /**
+     * The inline cache of this {@link ObjectOperation}.
+     * <p>
+     * This array is never modified, new entries are added by replacing it with a copy, allowing lock-free lookups.
+     */
+    private volatile InlineCacheEntry[] inlineCache = new InlineCacheEntry[0];
+
+    /**
+     * Whether this {@link ObjectOperation} has been invoked with more than {@link #MAX_INLINE_CACHE_SIZE} type
+     * combinations.
+     */
+    private volatile boolean megamorphic = false;
+
     /**
      * Constructs a new {@link ObjectOperation} with the provided {@code methodName}.
      *
@@ -43,28 +110,143 @@ public class ObjectOperation implements Operation {
      * @return the execution's result
      * @throws OperationException if there is no source's method matching the provided {@code methodName} and {@code
      *                            args}, or if an error occurred when invoking the retrieve method
+     * @throws Error              if the invoked method throws an {@link Error}
      */
     @Override
     public Object invoke(Object source, List<Object> args) {
+        MethodHandle handle = null;
+        for (InlineCacheEntry entry : inlineCache) {
+            if (entry.matches(source, args)) {
+                handle = entry.handle;
+                break;
+            }
+        }
+        if (handle == null) {
+            handle = resolveMethodHandle(source, args);
+        }
         try {
+            return (Object) handle.invokeExact(source, args.toArray());
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             /*
-             * Create the array in the toArray() call allows to return typed array.
+             * Wrap the thrown exception in an InvocationTargetException like Method.invoke does, Errors are
+             * propagated unchanged.
              */
-            Class<?>[] argTypes = args.stream()
-                    .map(p -> p.getClass())
-                    .toArray(size -> new Class<?>[size]);
+            throw new OperationException(MessageFormat.format("An error occurred when executing method {0}({1}) on " +
+                    "object {2} (class={3}), see attached exception", methodName, String.join(", ",
+                    getArgTypeNames(args)), source, source.getClass().getSimpleName()),
+                    new InvocationTargetException(e));
+        }
+    }
+
+    /**
+     * Resolves the {@link MethodHandle} of the source's method matching the provided {@code args}, and caches it.
+     * <p>
+     * This method is called when the inline cache does not contain an entry matching the provided {@code source}
+     * and {@code args}. The resolved {@link MethodHandle} is added to the inline cache if it is not full, otherwise
+     * the shared megamorphic cache is used.
+     *
+     * @param source the {@link Object} to invoke the {@link Operation} on
+     * @param args   the arguments of the operation to invoke
+     * @return the resolved {@link MethodHandle}
+     * @throws OperationException if there is no source's method matching the provided {@code methodName} and {@code
+     *                            args}, or if the retrieved method cannot be accessed
+     */
+    private MethodHandle resolveMethodHandle(Object source, List<Object> args) {
+        /*
+         * Create the array in the toArray() call allows to return typed array.
+         */
+        Class<?>[] argTypes = args.stream()
+                .map(p -> p.getClass())
+                .toArray(size -> new Class<?>[size]);
+        MethodSignature signature = null;
+        if (megamorphic) {
+            signature = new MethodSignature(methodName, argTypes);
+            MethodHandle cachedHandle = MEGAMORPHIC_CACHE.get(source.getClass()).get(signature);
+            if (nonNull(cachedHandle)) {
+                return cachedHandle;
+            }
+        }
+        MethodHandle handle;
+        try {
             Method method = getMethod(source.getClass(), methodName, argTypes);
-            return method.invoke(source, args.toArray());
+            handle = toInvoker(method);
         } catch (NoSuchMethodException | SecurityException e) {
             throw new OperationException(
                     MessageFormat.format("Cannot compute operation {0}: the method {0}({1}) does not exist for object" +
                                     " {2} (class={3})", methodName, String.join(", ", getArgTypeNames(args)), source,
                             source.getClass().getSimpleName()), e);
-        } catch (InvocationTargetException | IllegalAccessException e) {
+        } catch (IllegalAccessException e) {
             throw new OperationException(MessageFormat.format("An error occurred when executing method {0}({1}) on " +
                     "object {2} (class={3}), see attached exception", methodName, String.join(", ",
                     getArgTypeNames(args)), source, source.getClass().getSimpleName()), e);
         }
+        if (nonNull(signature)) {
+            cacheMegamorphicHandle(source.getClass(), signature, handle);
+        } else {
+            addInlineCacheEntry(new InlineCacheEntry(source.getClass(), argTypes, handle));
+        }
+        return handle;
+    }
+
+    /**
+     * Adds the provided {@code entry} to the inline cache.
+     * <p>
+     * This method switches the operation to the megamorphic state if the inline cache is full.
+     *
+     * @param entry the {@link InlineCacheEntry} to add
+     */
+    private synchronized void addInlineCacheEntry(InlineCacheEntry entry) {
+        InlineCacheEntry[] currentCache = inlineCache;
+        if (currentCache.length >= MAX_INLINE_CACHE_SIZE) {
+            megamorphic = true;
+            cacheMegamorphicHandle(entry.sourceClass, new MethodSignature(methodName, entry.argClasses),
+                    entry.handle);
+            return;
+        }
+        InlineCacheEntry[] newCache = Arrays.copyOf(currentCache, currentCache.length + 1);
+        newCache[currentCache.length] = entry;
+        inlineCache = newCache;
+    }
+
+    /**
+     * Adds the provided {@code handle} to the megamorphic cache of the provided {@code sourceClass}.
+     * <p>
+     * The {@code handle} is not cached if the megamorphic cache of the {@code sourceClass} already contains
+     * {@link #MAX_MEGAMORPHIC_CACHE_SIZE} entries.
+     *
+     * @param sourceClass the {@link Class} of the source object
+     * @param signature   the {@link MethodSignature} of the method to cache
+     * @param handle      the {@link MethodHandle} to cache
+     */
+    private static void cacheMegamorphicHandle(Class<?> sourceClass, MethodSignature signature,
+                                               MethodHandle handle) {
+        ConcurrentMap<MethodSignature, MethodHandle> classCache = MEGAMORPHIC_CACHE.get(sourceClass);
+        if (classCache.size() < MAX_MEGAMORPHIC_CACHE_SIZE) {
+            classCache.putIfAbsent(signature, handle);
+        }
+    }
+
+    /**
+     * Creates a {@link MethodHandle} invoking the provided {@code method}, adapted to the {@link #INVOKER_TYPE}.
+     *
+     * @param method the {@link Method} to create a {@link MethodHandle} for
+     * @return the created {@link MethodHandle}
+     * @throws IllegalAccessException if the provided {@code method} cannot be accessed
+     */
+    private static MethodHandle toInvoker(Method method) throws IllegalAccessException {
+        /*
+         * Use asFixedArity to keep the semantics of Method.invoke: variable arity methods expect an array argument.
+         */
+        MethodHandle handle = MethodHandles.publicLookup().unreflect(method).asFixedArity();
+        if (Modifier.isStatic(method.getModifiers())) {
+            /*
+             * Static methods ignore the source object, as in Method.invoke.
+             */
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
     }
 
     /**
@@ -178,4 +360,105 @@ public class ObjectOperation implements Operation {
                 .map(p -> p.getClass().getSimpleName())
                 .collect(Collectors.toList());
     }
+
+    /**
+     * An entry of the inline cache of an {@link ObjectOperation}.
+     */
+    private static final class InlineCacheEntry {
+
+        /**
+         * The {@link Class} of the source objects matched by this entry.
+         */
+        private final Class<?> sourceClass;
+
+        /**
+         * The {@link Class}es of the arguments matched by this entry.
+         */
+        private final Class<?>[] argClasses;
+
+        /**
+         * The {@link MethodHandle} to invoke for the matched source objects and arguments.
+         */
+        private final MethodHandle handle;
+
+        /**
+         * Constructs a new {@link InlineCacheEntry} with the provided parameters.
+         *
+         * @param sourceClass the {@link Class} of the source objects matched by this entry
+         * @param argClasses  the {@link Class}es of the arguments matched by this entry
+         * @param handle      the {@link MethodHandle} to invoke for the matched source objects and arguments
+         */
+        private InlineCacheEntry(Class<?> sourceClass, Class<?>[] argClasses, MethodHandle handle) {
+            this.sourceClass = sourceClass;
+            this.argClasses = argClasses;
+            this.handle = handle;
+        }
+
+        /**
+         * Returns whether this entry matches the provided {@code source} and {@code args}.
+         * <p>
+         * This method compares the exact {@link Class}es of the provided objects and does not allocate.
+         *
+         * @param source the source object of the operation
+         * @param args   the arguments of the operation
+         * @return {@code true} if this entry matches the provided {@code source} and {@code args}, {@code false}
+         * otherwise
+         */
+        private boolean matches(Object source, List<Object> args) {
+            if (source.getClass() != sourceClass || args.size() != argClasses.length) {
+                return false;
+            }
+            for (int i = 0; i < argClasses.length; i++) {
+                if (args.get(i).getClass() != argClasses[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The key of the megamorphic cache of a source {@link Class}, identifying a method by its name, and the
+     * {@link Class}es of its arguments.
+     */
+    private static final class MethodSignature {
+
+        /**
+         * The name of the method.
+         */
+        private final String methodName;
+
+        /**
+         * The {@link Class}es of the arguments.
+         */
+        private final Class<?>[] argClasses;
+
+        /**
+         * Constructs a new {@link MethodSignature} with the provided parameters.
+         *
+         * @param methodName the name of the method
+         * @param argClasses the {@link Class}es of the arguments
+         */
+        private MethodSignature(String methodName, Class<?>[] argClasses) {
+            this.methodName = methodName;
+            this.argClasses = argClasses;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MethodSignature)) {
+                return false;
+            }
+            MethodSignature other = (MethodSignature) obj;
+            return methodName.equals(other.methodName) && Arrays.equals(argClasses, other.argClasses);
+        }
+
+        @Override
+        public int hashCode() {
+            return methodName.hashCode() * 31 + Arrays.hashCode(argClasses);
+        }
+    }
 }
@@ -3,6 +3,10 @@ package edu.uoc.som.jarvis.core.interpreter.operation.object;
 import edu.uoc.som.jarvis.common.OperationCall;
 import edu.uoc.som.jarvis.core.interpreter.OperationProvider;
 import edu.uoc.som.jarvis.core.interpreter.operation.Operation;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import static java.util.Objects.isNull;
 
 /**
  * A generic {@link OperationProvider} returning reflexive {@link Operation}s.
@@ -12,6 +16,11 @@ import edu.uoc.som.jarvis.core.interpreter.operation.Operation;
  * <p>
  * This class can be extended by specific {@link OperationProvider}s to return fallback {@link Operation}s when
  * object-specific {@link Operation}s can't be returned.
+ * <p>
+ * The returned {@link Operation}s are attached to their {@link OperationCall} (see {@link OperationAdapter}):
+ * evaluating the same {@link OperationCall} multiple times reuses the same {@link Operation} instance, allowing
+ * {@link ObjectOperation}s to benefit from their inline cache. The attached {@link Operation}s are
+ * garbage-collected with their {@link OperationCall}.
  */
 public class ObjectOperationProvider implements OperationProvider {
 
@@ -27,6 +36,28 @@ public class ObjectOperationProvider implements OperationProvider {
      */
     @Override
     public Operation getOperation(OperationCall abstractOperation) {
+        /*
+         * Synchronize on the OperationCall: the adapter list of EMF objects is not thread-safe, and the
+         * OperationCall may be evaluated concurrently by different sessions.
+         */
+        synchronized (abstractOperation) {
+            OperationAdapter adapter = (OperationAdapter) EcoreUtil.getExistingAdapter(abstractOperation, this);
+            if (isNull(adapter)) {
+                adapter = new OperationAdapter(createOperation(abstractOperation));
+                abstractOperation.eAdapters().add(adapter);
+            }
+            return adapter.operation;
+        }
+    }
+
+    /**
+     * Creates the {@link Operation} implementing the provided {@link OperationCall}.
+     *
+     * @param abstractOperation the {@link OperationCall} to create the implementation of
+     * @return the created {@link Operation}
+     * @see #getOperation(OperationCall)
+     */
+    protected Operation createOperation(OperationCall abstractOperation) {
         if(abstractOperation.getName().equals("+")) {
             return new AdditionOperation();
         } else if(abstractOperation.getName().equals("or")) {
@@ -37,4 +68,33 @@ public class ObjectOperationProvider implements OperationProvider {
             return new ObjectOperation(abstractOperation.getName());
         }
     }
+
+    /**
+     * An adapter attaching the {@link Operation} returned by this provider to its {@link OperationCall}.
+     * <p>
+     * Each {@link ObjectOperationProvider} attaches its own {@link OperationAdapter}s: the adapter type is the
+     * provider that created it (see {@link EcoreUtil#getExistingAdapter(org.eclipse.emf.common.notify.Notifier,
+     * Object)}).
+     */
+    private class OperationAdapter extends AdapterImpl {
+
+        /**
+         * The {@link Operation} attached to the adapted {@link OperationCall}.
+         */
+        private final Operation operation;
+
+        /**
+         * Constructs a new {@link OperationAdapter} with the provided {@code operation}.
+         *
+         * @param operation the {@link Operation} to attach to the adapted {@link OperationCall}
+         */
+        private OperationAdapter(Operation operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public boolean isAdapterForType(Object type) {
+            return type == ObjectOperationProvider.this;
+        }
+    }
 }
@@ -0,0 +1,627 @@
+package edu.uoc.som.jarvis.core.journal;
+
+import edu.uoc.som.jarvis.core.JarvisException;
+import edu.uoc.som.jarvis.core.platform.io.RuntimeEvent;
+import edu.uoc.som.jarvis.core.platform.io.WebhookContent;
+import edu.uoc.som.jarvis.intent.EventInstance;
+import fr.inria.atlanmod.commons.log.Log;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.http.Header;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An append-only, memory-mapped journal of the webhook requests and {@link EventInstance}s received by the bot.
+ * <p>
+ * Each accepted webhook request and handled {@link EventInstance} is appended to the journal with a unique sequence
+ * number before being processed, and marked as completed (see {@link #complete(long)}) once it has been processed.
+ * The journal is stored in fixed-size memory-mapped segment files, that are rolled when they are full.
+ * <p>
+ * Appending an entry only copies it to the mapped segment: a background task forces the written segments to the
+ * storage device every {@link #FLUSH_INTERVAL_KEY} milliseconds, batching the writes of all the entries appended in
+ * the meantime. The same task periodically writes a checkpoint containing the highest sequence number such that all
+ * the entries up to it have been completed, and deletes the segments that only contain checkpointed entries.
+ * <p>
+ * When the journal is opened, the entries written after the last checkpoint are recovered, and can be replayed
+ * with {@link #replay(Consumer)}.
+ *
+ * @see #fromConfiguration(Configuration)
+ */
+public class EventJournal {
+
+    /**
+     * The {@link Configuration} key to store the directory of the journal.
+     * <p>
+     * The journal is disabled if this key is not set.
+     */
+    public static String DIRECTORY_KEY = "jarvis.journal.directory";
+
+    /**
+     * The {@link Configuration} key to store the size of the journal segment files (in bytes).
+     */
+    public static String SEGMENT_SIZE_KEY = "jarvis.journal.segment_size";
+
+    /**
+     * The default size of the journal segment files (in bytes).
+     */
+    public static int DEFAULT_SEGMENT_SIZE_VALUE = 16 * 1024 * 1024;
+
+    /**
+     * The {@link Configuration} key to store the interval (in milliseconds) between two flushes of the written
+     * entries.
+     */
+    public static String FLUSH_INTERVAL_KEY = "jarvis.journal.flush_interval";
+
+    /**
+     * The default interval (in milliseconds) between two flushes of the written entries.
+     */
+    public static long DEFAULT_FLUSH_INTERVAL_VALUE = 10;
+
+    /**
+     * The {@link Configuration} key to store the interval (in milliseconds) between two checkpoints.
+     */
+    public static String CHECKPOINT_INTERVAL_KEY = "jarvis.journal.checkpoint_interval";
+
+    /**
+     * The default interval (in milliseconds) between two checkpoints.
+     */
+    public static long DEFAULT_CHECKPOINT_INTERVAL_VALUE = 1000;
+
+    /**
+     * The sequence number representing the absence of entry.
+     */
+    public static final long NO_SEQUENCE = -1;
+
+    /**
+     * The name of the checkpoint file.
+     */
+    private static final String CHECKPOINT_FILE_NAME = "checkpoint";
+
+    /**
+     * The directory containing the journal files.
+     */
+    private final File directory;
+
+    /**
+     * The size of the segment files.
+     */
+    private final int segmentSize;
+
+    /**
+     * The lock protecting the active segment and the sequence numbers.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * The {@link CRC32} instance used to compute the record checksums.
+     * <p>
+     * This instance is only accessed while holding the {@link #lock}.
+     */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * The closed segments, ordered by sequence number.
+     */
+    private final Deque<JournalSegment> closedSegments = new ArrayDeque<>();
+
+    /**
+     * The segment the entries are appended to, or {@code null} if no entry has been appended yet.
+     */
+    private volatile JournalSegment activeSegment;
+
+    /**
+     * The sequence number of the last appended entry.
+     */
+    private long lastSequence;
+
+    /**
+     * The sequence numbers of the entries that have not been completed yet.
+     */
+    private final ConcurrentSkipListSet<Long> pendingSequences = new ConcurrentSkipListSet<>();
+
+    /**
+     * The last written checkpoint.
+     */
+    private volatile long checkpoint;
+
+    /**
+     * The entries recovered when opening the journal, that have not been replayed yet.
+     */
+    private List<JournalEntry> recoveredEntries;
+
+    /**
+     * The sequence number of the entry being processed by the current thread.
+     *
+     * @see #runWithParent(long, Runnable)
+     */
+    private final ThreadLocal<Long> currentParent = new ThreadLocal<>();
+
+    /**
+     * The executor running the flush and checkpoint tasks.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Whether the journal has been closed.
+     */
+    private volatile boolean isClosed;
+
+    /**
+     * Creates the {@link EventJournal} defined in the provided {@code configuration}.
+     *
+     * @param configuration the {@link Configuration} to create the journal from
+     * @return the created {@link EventJournal}, or {@code null} if the {@link #DIRECTORY_KEY} is not set
+     * @throws NullPointerException if the provided {@code configuration} is {@code null}
+     */
+    public static EventJournal fromConfiguration(Configuration configuration) {
+        checkNotNull(configuration, "Cannot create the %s from the provided %s: %s", EventJournal.class
+                .getSimpleName(), Configuration.class.getSimpleName(), configuration);
+        if (!configuration.containsKey(DIRECTORY_KEY)) {
+            return null;
+        }
+        return new EventJournal(new File(configuration.getString(DIRECTORY_KEY)), configuration.getInt
+                (SEGMENT_SIZE_KEY, DEFAULT_SEGMENT_SIZE_VALUE), configuration.getLong(FLUSH_INTERVAL_KEY,
+                DEFAULT_FLUSH_INTERVAL_VALUE), configuration.getLong(CHECKPOINT_INTERVAL_KEY,
+                DEFAULT_CHECKPOINT_INTERVAL_VALUE));
+    }
+
+    /**
+     * Constructs a new {@link EventJournal} stored in the provided {@code directory}.
+     * <p>
+     * This constructor recovers the entries written after the last checkpoint of an existing journal (see
+     * {@link #replay(Consumer)}), and starts the flush and checkpoint tasks.
+     *
+     * @param directory          the directory containing the journal files
+     * @param segmentSize        the size of the segment files (in bytes)
+     * @param flushInterval      the interval (in milliseconds) between two flushes of the written entries
+     * @param checkpointInterval the interval (in milliseconds) between two checkpoints
+     * @throws NullPointerException     if the provided {@code directory} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code segmentSize}, {@code flushInterval}, or {@code
+     *                                  checkpointInterval} is not positive
+     * @throws JarvisException          if an error occurred when reading the journal files
+     */
+    public EventJournal(File directory, int segmentSize, long flushInterval, long checkpointInterval) {
+        checkNotNull(directory, "Cannot construct a %s with the provided directory %s", EventJournal.class
+                .getSimpleName(), directory);
+        checkArgument(segmentSize > 0, "Cannot construct a %s with the provided segment size %s, expected a " +
+                "positive value", EventJournal.class.getSimpleName(), segmentSize);
+        checkArgument(flushInterval > 0 && checkpointInterval > 0, "Cannot construct a %s with the provided " +
+                "intervals (flush: %s, checkpoint: %s), expected positive values", EventJournal.class
+                .getSimpleName(), flushInterval, checkpointInterval);
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new JarvisException(MessageFormat.format("Cannot create the journal directory {0}", directory
+                    .getAbsolutePath()));
+        }
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new JarvisException(MessageFormat.format("Cannot read the journal {0}", directory
+                    .getAbsolutePath()), e);
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "jarvis-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                checkpoint();
+            } catch (JarvisException e) {
+                Log.error(e.getMessage());
+            }
+        }, checkpointInterval, checkpointInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reads the checkpoint and the segments of the journal, and recovers the entries written after the checkpoint.
+     *
+     * @throws IOException if an error occurred when reading the journal files
+     */
+    private void recover() throws IOException {
+        this.checkpoint = readCheckpoint();
+        this.lastSequence = checkpoint;
+        List<JournalEntry> entries = new ArrayList<>();
+        File[] segmentFiles = directory.listFiles((dir, name) -> name.endsWith(JournalSegment.FILE_SUFFIX));
+        if (nonNull(segmentFiles)) {
+            /*
+             * Segment file names contain the zero-padded sequence number of their first entry.
+             */
+            Arrays.sort(segmentFiles);
+            for (File segmentFile : segmentFiles) {
+                JournalSegment segment = JournalSegment.read(segmentFile, checkpoint, entries);
+                lastSequence = Math.max(lastSequence, segment.getLastSequence());
+                closedSegments.add(segment);
+            }
+        }
+        for (JournalEntry entry : entries) {
+            pendingSequences.add(entry.getSequence());
+        }
+        this.recoveredEntries = entries;
+        if (!entries.isEmpty()) {
+            Log.info("Recovered {0} journal entries after the checkpoint {1}", entries.size(), checkpoint);
+        }
+    }
+
+    /**
+     * Appends the provided webhook request to the journal.
+     *
+     * @param path    the path of the request
+     * @param content the content of the request
+     * @param headers the HTTP headers of the request
+     * @return the sequence number of the appended entry, or {@link #NO_SEQUENCE} if the journal is closed
+     * @throws NullPointerException if the provided {@code content} is {@code null}
+     * @throws JarvisException      if an error occurred when writing the entry
+     * @see #complete(long)
+     */
+    public long appendWebhook(String path, WebhookContent content, Header[] headers) {
+        checkNotNull(content, "Cannot append the provided %s %s", WebhookContent.class.getSimpleName(), content);
+        ByteBuffer body = content.asByteBuffer();
+        ByteBuffer metadata = JournalCodec.encodeWebhook(path, content.getContentType(), content.getCharset(),
+                headers, body.remaining());
+        return append(JournalCodec.WEBHOOK, metadata, body);
+    }
+
+    /**
+     * Appends the provided {@code eventInstance} to the journal.
+     * <p>
+     * If the calling thread is processing another entry (see {@link #runWithParent(long, Runnable)}) the appended
+     * entry is bound to this parent entry.
+     *
+     * @param eventInstance the {@link EventInstance} to append
+     * @param sessionId     the identifier of the session handling the event
+     * @return the sequence number of the appended entry, or {@link #NO_SEQUENCE} if the journal is closed
+     * @throws NullPointerException if the provided {@code eventInstance} is {@code null}
+     * @throws JarvisException      if an error occurred when writing the entry
+     * @see #complete(long)
+     */
+    public long appendEvent(EventInstance eventInstance, String sessionId) {
+        checkNotNull(eventInstance, "Cannot append the provided %s %s", EventInstance.class.getSimpleName(),
+                eventInstance);
+        return appendEvent(RuntimeEvent.of(eventInstance), sessionId);
+    }
+
+    /**
+     * Appends the provided {@code runtimeEvent} to the journal.
+     * <p>
+     * If the calling thread is processing another entry (see {@link #runWithParent(long, Runnable)}) the appended
+     * entry is bound to this parent entry.
+     *
+     * @param runtimeEvent the {@link RuntimeEvent} to append
+     * @param sessionId    the identifier of the session handling the event
+     * @return the sequence number of the appended entry, or {@link #NO_SEQUENCE} if the journal is closed
+     * @throws NullPointerException if the provided {@code runtimeEvent} is {@code null}
+     * @throws JarvisException      if an error occurred when writing the entry
+     * @see #complete(long)
+     */
+    public long appendEvent(RuntimeEvent runtimeEvent, String sessionId) {
+        checkNotNull(runtimeEvent, "Cannot append the provided %s %s", RuntimeEvent.class.getSimpleName(),
+                runtimeEvent);
+        return append(JournalCodec.EVENT, JournalCodec.encodeEvent(runtimeEvent, sessionId), null);
+    }
+
+    /**
+     * Appends a record with the provided {@code metadata} and {@code body} to the active segment.
+     *
+     * @param type     the type of the record
+     * @param metadata the encoded metadata of the record
+     * @param body     the raw body of the record, or {@code null}
+     * @return the sequence number of the appended record, or {@link #NO_SEQUENCE} if the journal is closed
+     * @throws JarvisException if an error occurred when rolling the active segment
+     */
+    private long append(byte type, ByteBuffer metadata, ByteBuffer body) {
+        Long parent = currentParent.get();
+        long parentSequence = isNull(parent) ? NO_SEQUENCE : parent;
+        int length = metadata.remaining() + (nonNull(body) ? body.remaining() : 0);
+        synchronized (lock) {
+            if (isClosed) {
+                Log.warn("Cannot append the entry, the {0} is closed", EventJournal.class.getSimpleName());
+                return NO_SEQUENCE;
+            }
+            long sequence = lastSequence + 1;
+            if (isNull(activeSegment) || !activeSegment.canAppend(length)) {
+                roll(sequence, length);
+            }
+            activeSegment.append(sequence, parentSequence, type, metadata, body, crc);
+            lastSequence = sequence;
+            pendingSequences.add(sequence);
+            return sequence;
+        }
+    }
+
+    /**
+     * Closes the active segment and creates a new one starting at the provided {@code sequence}.
+     * <p>
+     * This method must be called while holding the {@link #lock}.
+     *
+     * @param sequence      the sequence number of the first entry of the new segment
+     * @param payloadLength the length of the first entry payload
+     * @throws JarvisException if an error occurred when creating the segment file
+     */
+    private void roll(long sequence, int payloadLength) {
+        if (nonNull(activeSegment)) {
+            activeSegment.close();
+            closedSegments.add(activeSegment);
+        }
+        try {
+            activeSegment = JournalSegment.create(directory, sequence, Math.max(segmentSize, JournalSegment
+                    .RECORD_HEADER_SIZE + payloadLength));
+        } catch (IOException e) {
+            activeSegment = null;
+            throw new JarvisException("Cannot create the journal segment, see attached exception", e);
+        }
+    }
+
+    /**
+     * Marks the entry with the provided {@code sequence} number as completed.
+     * <p>
+     * Completed entries are not replayed once they have been checkpointed. This method does nothing if the provided
+     * {@code sequence} is {@link #NO_SEQUENCE}.
+     *
+     * @param sequence the sequence number of the completed entry
+     */
+    public void complete(long sequence) {
+        if (sequence != NO_SEQUENCE) {
+            pendingSequences.remove(sequence);
+        }
+    }
+
+    /**
+     * Runs the provided {@code runnable} while processing the entry with the provided {@code sequence} number.
+     * <p>
+     * The entries appended by the calling thread during the execution of the provided {@code runnable} are bound to
+     * the provided {@code sequence}, and are not replayed if the parent entry itself is replayed.
+     *
+     * @param sequence the sequence number of the entry being processed
+     * @param runnable the {@link Runnable} processing the entry
+     */
+    public void runWithParent(long sequence, Runnable runnable) {
+        Long previous = currentParent.get();
+        currentParent.set(sequence);
+        try {
+            runnable.run();
+        } finally {
+            if (isNull(previous)) {
+                currentParent.remove();
+            } else {
+                currentParent.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Replays the entries recovered when opening the journal.
+     * <p>
+     * The recovered entries are sent to the provided {@code consumer} in their sequence order, and are marked as
+     * completed once consumed. The consumer is expected to append the replayed entries again if they need to be
+     * journaled. The {@link EventJournalEntry}s bound to a recovered {@link WebhookJournalEntry} are skipped: they
+     * are created again when the webhook request is replayed.
+     * <p>
+     * This method does nothing if the entries have already been replayed.
+     *
+     * @param consumer the {@link Consumer} replaying the entries
+     * @throws NullPointerException if the provided {@code consumer} is {@code null}
+     */
+    public void replay(Consumer<JournalEntry> consumer) {
+        checkNotNull(consumer, "Cannot replay the journal with the provided %s %s", Consumer.class.getSimpleName(),
+                consumer);
+        List<JournalEntry> entries;
+        synchronized (lock) {
+            entries = recoveredEntries;
+            recoveredEntries = Collections.emptyList();
+        }
+        Set<Long> replayedWebhooks = new HashSet<>();
+        for (JournalEntry entry : entries) {
+            if (entry instanceof WebhookJournalEntry) {
+                replayedWebhooks.add(entry.getSequence());
+            }
+        }
+        int replayed = 0;
+        for (JournalEntry entry : entries) {
+            try {
+                if (!replayedWebhooks.contains(entry.getParentSequence())) {
+                    consumer.accept(entry);
+                    replayed++;
+                }
+            } catch (RuntimeException e) {
+                Log.error("An error occurred when replaying the journal entry {0}: {1} {2}", entry.getSequence(), e
+                        .getClass().getSimpleName(), e.getMessage());
+            } finally {
+                complete(entry.getSequence());
+            }
+        }
+        if (replayed > 0) {
+            Log.info("Replayed {0} journal entries", replayed);
+        }
+    }
+
+    /**
+     * Returns the entries recovered when opening the journal that have not been replayed yet.
+     *
+     * @return an unmodifiable {@link List} containing the recovered entries
+     */
+    public List<JournalEntry> getRecoveredEntries() {
+        synchronized (lock) {
+            return Collections.unmodifiableList(recoveredEntries);
+        }
+    }
+
+    /**
+     * Forces the written entries to the storage device.
+     */
+    public void flush() {
+        JournalSegment segment = activeSegment;
+        if (nonNull(segment)) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Writes a checkpoint and deletes the segments that only contain checkpointed entries.
+     * <p>
+     * The checkpoint is the highest sequence number such that all the entries up to it have been completed. The
+     * written entries are flushed before the checkpoint is written.
+     *
+     * @return the written checkpoint
+     * @throws JarvisException if an error occurred when writing the checkpoint
+     */
+    public long checkpoint() {
+        long newCheckpoint;
+        synchronized (lock) {
+            Long firstPending = pendingSequences.isEmpty() ? null : pendingSequences.first();
+            newCheckpoint = isNull(firstPending) ? lastSequence : firstPending - 1;
+        }
+        flush();
+        if (newCheckpoint > checkpoint) {
+            writeCheckpoint(newCheckpoint);
+            this.checkpoint = newCheckpoint;
+        }
+        List<JournalSegment> deletableSegments = new ArrayList<>();
+        synchronized (lock) {
+            while (!closedSegments.isEmpty() && closedSegments.peekFirst().getLastSequence() <= checkpoint) {
+                deletableSegments.add(closedSegments.pollFirst());
+            }
+        }
+        for (JournalSegment segment : deletableSegments) {
+            if (!segment.getFile().delete()) {
+                Log.warn("Cannot delete the checkpointed journal segment {0}", segment.getFile().getName());
+            }
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Returns the last written checkpoint.
+     *
+     * @return the last written checkpoint
+     */
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Returns the number of entries that have not been completed yet.
+     *
+     * @return the number of entries that have not been completed yet
+     */
+    public int getPendingCount() {
+        return pendingSequences.size();
+    }
+
+    /**
+     * Stops the flush and checkpoint tasks, writes a last checkpoint, and closes the journal.
+     * <p>
+     * The entries that have not been completed are recovered the next time the journal is opened.
+     */
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (lock) {
+            isClosed = true;
+        }
+        try {
+            checkpoint();
+        } catch (JarvisException e) {
+            Log.error(e.getMessage());
+        }
+        synchronized (lock) {
+            if (nonNull(activeSegment)) {
+                activeSegment.close();
+                activeSegment = null;
+            }
+        }
+    }
+
+    /**
+     * Reads the checkpoint file.
+     *
+     * @return the read checkpoint, or {@code 0} if the checkpoint file does not exist or is corrupted
+     */
+    private long readCheckpoint() {
+        File file = new File(directory, CHECKPOINT_FILE_NAME);
+        if (!file.exists()) {
+            return 0;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            long value = raf.readLong();
+            long storedChecksum = raf.readLong();
+            if (storedChecksum != checksum(value)) {
+                Log.warn("Corrupted journal checkpoint, replaying the full journal");
+                return 0;
+            }
+            return value;
+        } catch (IOException e) {
+            Log.warn("Cannot read the journal checkpoint, replaying the full journal: {0}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Atomically writes the provided {@code value} in the checkpoint file.
+     *
+     * @param value the checkpoint to write
+     * @throws JarvisException if an error occurred when writing the checkpoint file
+     */
+    private void writeCheckpoint(long value) {
+        File file = new File(directory, CHECKPOINT_FILE_NAME);
+        File temporaryFile = new File(directory, CHECKPOINT_FILE_NAME + ".tmp");
+        try {
+            try (RandomAccessFile raf = new RandomAccessFile(temporaryFile, "rw")) {
+                raf.setLength(0);
+                raf.writeLong(value);
+                raf.writeLong(checksum(value));
+                raf.getFD().sync();
+            }
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new JarvisException(MessageFormat.format("Cannot write the journal checkpoint {0}", value), e);
+        }
+    }
+
+    /**
+     * Computes the checksum of the provided checkpoint {@code value}.
+     *
+     * @param value the checkpoint to compute the checksum of
+     * @return the checksum of the provided {@code value}
+     */
+    private static long checksum(long value) {
+        CRC32 checksum = new CRC32();
+        checksum.update(ByteBuffer.allocate(8).putLong(0, value));
+        return checksum.getValue();
+    }
+}
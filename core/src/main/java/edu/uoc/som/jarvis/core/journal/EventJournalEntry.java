@@ -0,0 +1,241 @@
+package edu.uoc.som.jarvis.core.journal;
+
+import edu.uoc.som.jarvis.core.EventDefinitionRegistry;
+import edu.uoc.som.jarvis.core.JarvisException;
+import edu.uoc.som.jarvis.core.platform.io.RuntimeEvent;
+import edu.uoc.som.jarvis.intent.Context;
+import edu.uoc.som.jarvis.intent.ContextParameter;
+import edu.uoc.som.jarvis.intent.EventDefinition;
+import edu.uoc.som.jarvis.intent.EventInstance;
+
+import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A {@link JournalEntry} representing an {@link EventInstance} handled by the
+ * {@link edu.uoc.som.jarvis.core.ExecutionService}.
+ * <p>
+ * This entry stores the name of the {@link EventDefinition} and the output context values of the
+ * {@link EventInstance}, and allows to rebuild it once the {@link EventDefinition}s have been registered (see
+ * {@link #toEventInstance(EventDefinitionRegistry)}).
+ *
+ * @see EventJournal#appendEvent(EventInstance, String)
+ */
+public final class EventJournalEntry extends JournalEntry {
+
+    /**
+     * The identifier of the {@link edu.uoc.som.jarvis.core.session.JarvisSession} handling the event.
+     */
+    private final String sessionId;
+
+    /**
+     * The name of the {@link EventDefinition} of the event.
+     */
+    private final String eventDefinitionName;
+
+    /**
+     * Whether the event is a {@link edu.uoc.som.jarvis.intent.RecognizedIntent}.
+     */
+    private final boolean recognizedIntent;
+
+    /**
+     * The output context values of the event.
+     */
+    private final List<ContextValue> contextValues;
+
+    /**
+     * Constructs a new {@link EventJournalEntry} with the provided parameters.
+     *
+     * @param sequence            the sequence number of the entry
+     * @param parentSequence      the sequence number of the parent entry
+     * @param sessionId           the identifier of the session handling the event
+     * @param eventDefinitionName the name of the {@link EventDefinition} of the event
+     * @param recognizedIntent    whether the event is a {@link edu.uoc.som.jarvis.intent.RecognizedIntent}
+     * @param contextValues       the output context values of the event
+     */
+    EventJournalEntry(long sequence, long parentSequence, String sessionId, String eventDefinitionName, boolean
+            recognizedIntent, List<ContextValue> contextValues) {
+        super(sequence, parentSequence);
+        this.sessionId = sessionId;
+        this.eventDefinitionName = eventDefinitionName;
+        this.recognizedIntent = recognizedIntent;
+        this.contextValues = Collections.unmodifiableList(contextValues);
+    }
+
+    /**
+     * Returns the identifier of the {@link edu.uoc.som.jarvis.core.session.JarvisSession} handling the event.
+     *
+     * @return the identifier of the session handling the event
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Returns the name of the {@link EventDefinition} of the event.
+     *
+     * @return the name of the {@link EventDefinition} of the event
+     */
+    public String getEventDefinitionName() {
+        return eventDefinitionName;
+    }
+
+    /**
+     * Returns whether the event is a {@link edu.uoc.som.jarvis.intent.RecognizedIntent}.
+     *
+     * @return {@code true} if the event is a {@link edu.uoc.som.jarvis.intent.RecognizedIntent}, {@code false}
+     * otherwise
+     */
+    public boolean isRecognizedIntent() {
+        return recognizedIntent;
+    }
+
+    /**
+     * Returns the output context values of the event.
+     *
+     * @return an unmodifiable {@link List} containing the output context values of the event
+     */
+    public List<ContextValue> getContextValues() {
+        return contextValues;
+    }
+
+    /**
+     * Rebuilds the journaled {@link EventInstance} from the {@link EventDefinition}s of the provided {@code
+     * registry}.
+     *
+     * @param registry the {@link EventDefinitionRegistry} containing the {@link EventDefinition} of the event
+     * @return the rebuilt {@link EventInstance}
+     * @throws JarvisException if the {@link EventDefinition} of the event or one of its context parameters is not
+     *                         defined
+     * @see #toRuntimeEvent(EventDefinitionRegistry)
+     */
+    public EventInstance toEventInstance(EventDefinitionRegistry registry) {
+        return toRuntimeEvent(registry).toEventInstance();
+    }
+
+    /**
+     * Rebuilds the journaled {@link RuntimeEvent} from the {@link EventDefinition}s of the provided {@code
+     * registry}.
+     * <p>
+     * This method does not create the EMF {@link EventInstance}, and should be preferred over
+     * {@link #toEventInstance(EventDefinitionRegistry)} to replay the journaled event (see
+     * {@link edu.uoc.som.jarvis.core.ExecutionService#handleRuntimeEvent(RuntimeEvent,
+     * edu.uoc.som.jarvis.core.session.JarvisSession)}).
+     *
+     * @param registry the {@link EventDefinitionRegistry} containing the {@link EventDefinition} of the event
+     * @return the rebuilt {@link RuntimeEvent}
+     * @throws JarvisException if the {@link EventDefinition} of the event or one of its context parameters is not
+     *                         defined
+     */
+    public RuntimeEvent toRuntimeEvent(EventDefinitionRegistry registry) {
+        EventDefinition eventDefinition = registry.getEventDefinition(eventDefinitionName);
+        if (isNull(eventDefinition)) {
+            throw new JarvisException(MessageFormat.format("Cannot rebuild the journaled event {0}, the {1} does not " +
+                    "exist", eventDefinitionName, EventDefinition.class.getSimpleName()));
+        }
+        int valueCount = contextValues.size();
+        Context[] contexts = new Context[valueCount];
+        int[] lifespanCounts = new int[valueCount];
+        ContextParameter[] parameters = new ContextParameter[valueCount];
+        String[] values = new String[valueCount];
+        for (int i = 0; i < valueCount; i++) {
+            ContextValue contextValue = contextValues.get(i);
+            Context context = eventDefinition.getOutContext(contextValue.getContextName());
+            if (isNull(context)) {
+                throw new JarvisException(MessageFormat.format("Cannot rebuild the journaled event {0}, the out " +
+                        "context {1} is not defined", eventDefinitionName, contextValue.getContextName()));
+            }
+            ContextParameter contextParameter = context.getContextParameter(contextValue.getParameterName());
+            if (isNull(contextParameter)) {
+                throw new JarvisException(MessageFormat.format("Cannot rebuild the journaled event {0}, the context " +
+                        "parameter {1}.{2} is not defined", eventDefinitionName, contextValue.getContextName(),
+                        contextValue.getParameterName()));
+            }
+            contexts[i] = context;
+            lifespanCounts[i] = contextValue.getLifespanCount();
+            parameters[i] = contextParameter;
+            values[i] = contextValue.getValue();
+        }
+        return new RuntimeEvent(eventDefinition, recognizedIntent, contexts, lifespanCounts, parameters, values);
+    }
+
+    /**
+     * A journaled output context value.
+     */
+    public static final class ContextValue {
+
+        /**
+         * The name of the context.
+         */
+        private final String contextName;
+
+        /**
+         * The lifespan count of the context.
+         */
+        private final int lifespanCount;
+
+        /**
+         * The name of the context parameter.
+         */
+        private final String parameterName;
+
+        /**
+         * The value of the context parameter.
+         */
+        private final String value;
+
+        /**
+         * Constructs a new {@link ContextValue} with the provided parameters.
+         *
+         * @param contextName   the name of the context
+         * @param lifespanCount the lifespan count of the context
+         * @param parameterName the name of the context parameter
+         * @param value         the value of the context parameter
+         */
+        ContextValue(String contextName, int lifespanCount, String parameterName, String value) {
+            this.contextName = contextName;
+            this.lifespanCount = lifespanCount;
+            this.parameterName = parameterName;
+            this.value = value;
+        }
+
+        /**
+         * Returns the name of the context.
+         *
+         * @return the name of the context
+         */
+        public String getContextName() {
+            return contextName;
+        }
+
+        /**
+         * Returns the lifespan count of the context.
+         *
+         * @return the lifespan count of the context
+         */
+        public int getLifespanCount() {
+            return lifespanCount;
+        }
+
+        /**
+         * Returns the name of the context parameter.
+         *
+         * @return the name of the context parameter
+         */
+        public String getParameterName() {
+            return parameterName;
+        }
+
+        /**
+         * Returns the value of the context parameter.
+         *
+         * @return the value of the context parameter
+         */
+        public String getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package edu.uoc.som.jarvis.core.journal;
+
+import edu.uoc.som.jarvis.core.JarvisException;
+import edu.uoc.som.jarvis.core.platform.io.RuntimeEvent;
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Encodes and decodes the payloads of the {@link EventJournal} records.
+ * <p>
+ * Strings are encoded as their {@code UTF-8} length followed by their bytes ({@code -1} represents a {@code null}
+ * string). Webhook bodies are not copied in the encoded metadata: they are appended by the {@link JournalSegment}
+ * right after it.
+ */
+final class JournalCodec {
+
+    /**
+     * The record type of the {@link WebhookJournalEntry}s.
+     */
+    static final byte WEBHOOK = 1;
+
+    /**
+     * The record type of the {@link EventJournalEntry}s.
+     */
+    static final byte EVENT = 2;
+
+    /**
+     * The initial capacity of the per-thread encoding buffers.
+     */
+    private static final int INITIAL_BUFFER_CAPACITY = 1024;
+
+    /**
+     * The per-thread buffers used to encode the record metadata.
+     */
+    private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocate
+            (INITIAL_BUFFER_CAPACITY));
+
+    /**
+     * Disables the default constructor, this class only provides static methods.
+     */
+    private JournalCodec() {
+
+    }
+
+    /**
+     * Encodes the metadata of a webhook request.
+     * <p>
+     * The returned buffer is owned by the calling thread, and must be consumed before the next call to an encoding
+     * method.
+     *
+     * @param path        the path of the request
+     * @param contentType the content type of the request
+     * @param charset     the {@link Charset} of the request content
+     * @param headers     the HTTP headers of the request
+     * @param bodyLength  the length of the request content
+     * @return a buffer containing the encoded metadata, ready to be read
+     */
+    static ByteBuffer encodeWebhook(String path, String contentType, Charset charset, Header[] headers, int
+            bodyLength) {
+        ByteBuffer buffer = BUFFERS.get();
+        buffer.clear();
+        buffer = putString(buffer, path);
+        buffer = putString(buffer, contentType);
+        buffer = putString(buffer, isNull(charset) ? null : charset.name());
+        int headerCount = isNull(headers) ? 0 : headers.length;
+        buffer = ensureCapacity(buffer, 4);
+        buffer.putInt(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            buffer = putString(buffer, headers[i].getName());
+            buffer = putString(buffer, headers[i].getValue());
+        }
+        buffer = ensureCapacity(buffer, 4);
+        buffer.putInt(bodyLength);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Encodes the provided {@code runtimeEvent}.
+     * <p>
+     * The returned buffer is owned by the calling thread, and must be consumed before the next call to an encoding
+     * method.
+     *
+     * @param runtimeEvent the {@link RuntimeEvent} to encode
+     * @param sessionId    the identifier of the session handling the event
+     * @return a buffer containing the encoded event, ready to be read
+     */
+    static ByteBuffer encodeEvent(RuntimeEvent runtimeEvent, String sessionId) {
+        ByteBuffer buffer = BUFFERS.get();
+        buffer.clear();
+        buffer = putString(buffer, sessionId);
+        buffer = putString(buffer, runtimeEvent.getDefinition().getName());
+        buffer = ensureCapacity(buffer, 5);
+        buffer.put((byte) (runtimeEvent.isRecognizedIntent() ? 1 : 0));
+        buffer.putInt(runtimeEvent.getValueCount());
+        for (int i = 0; i < runtimeEvent.getValueCount(); i++) {
+            buffer = putString(buffer, runtimeEvent.getContext(i).getName());
+            buffer = ensureCapacity(buffer, 4);
+            buffer.putInt(runtimeEvent.getLifespanCount(i));
+            buffer = putString(buffer, runtimeEvent.getContextParameter(i).getName());
+            buffer = putString(buffer, runtimeEvent.getValue(i));
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Decodes the provided record {@code payload}.
+     *
+     * @param type           the type of the record
+     * @param sequence       the sequence number of the record
+     * @param parentSequence the sequence number of the parent record
+     * @param payload        the payload of the record
+     * @return the decoded {@link JournalEntry}
+     * @throws JarvisException if the provided {@code type} is unknown or the {@code payload} is malformed
+     */
+    static JournalEntry decode(byte type, long sequence, long parentSequence, ByteBuffer payload) {
+        try {
+            switch (type) {
+                case WEBHOOK:
+                    String path = getString(payload);
+                    String contentType = getString(payload);
+                    String charsetName = getString(payload);
+                    int headerCount = payload.getInt();
+                    Header[] headers = new Header[headerCount];
+                    for (int i = 0; i < headerCount; i++) {
+                        headers[i] = new BasicHeader(getString(payload), getString(payload));
+                    }
+                    byte[] body = new byte[payload.getInt()];
+                    payload.get(body);
+                    return new WebhookJournalEntry(sequence, parentSequence, path, contentType, isNull(charsetName)
+                            ? null : Charset.forName(charsetName), headers, body);
+                case EVENT:
+                    String sessionId = getString(payload);
+                    String eventDefinitionName = getString(payload);
+                    boolean recognizedIntent = payload.get() == 1;
+                    int count = payload.getInt();
+                    List<EventJournalEntry.ContextValue> contextValues = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        String contextName = getString(payload);
+                        int lifespanCount = payload.getInt();
+                        String parameterName = getString(payload);
+                        contextValues.add(new EventJournalEntry.ContextValue(contextName, lifespanCount,
+                                parameterName, getString(payload)));
+                    }
+                    return new EventJournalEntry(sequence, parentSequence, sessionId, eventDefinitionName,
+                            recognizedIntent, contextValues);
+                default:
+                    throw new JarvisException(MessageFormat.format("Unknown journal record type {0}", type));
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new JarvisException(MessageFormat.format("Malformed journal record {0}", sequence), e);
+        }
+    }
+
+    /**
+     * Writes the provided {@code value} in the {@code buffer}, growing it if needed.
+     *
+     * @param buffer the buffer to write the value in
+     * @param value  the value to write
+     * @return the buffer containing the written value
+     */
+    private static ByteBuffer putString(ByteBuffer buffer, String value) {
+        if (isNull(value)) {
+            ByteBuffer result = ensureCapacity(buffer, 4);
+            result.putInt(-1);
+            return result;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer result = ensureCapacity(buffer, 4 + bytes.length);
+        result.putInt(bytes.length);
+        result.put(bytes);
+        return result;
+    }
+
+    /**
+     * Reads a {@link String} from the provided {@code buffer}.
+     *
+     * @param buffer the buffer to read the {@link String} from
+     * @return the read {@link String}, or {@code null} if a {@code null} value has been encoded
+     */
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String result = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return result;
+    }
+
+    /**
+     * Ensures that the provided {@code buffer} can store {@code size} additional bytes.
+     * <p>
+     * If the buffer is too small, a larger one is allocated, registered as the calling thread's buffer, and returned.
+     *
+     * @param buffer the buffer to check
+     * @param size   the number of bytes to store
+     * @return a buffer with enough remaining capacity
+     */
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, int size) {
+        if (buffer.remaining() >= size) {
+            return buffer;
+        }
+        ByteBuffer result = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + size));
+        buffer.flip();
+        result.put(buffer);
+        BUFFERS.set(result);
+        return result;
+    }
+}
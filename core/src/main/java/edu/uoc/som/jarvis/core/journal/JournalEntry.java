@@ -0,0 +1,55 @@
+package edu.uoc.som.jarvis.core.journal;
+
+/**
+ * An entry stored in the {@link EventJournal}.
+ * <p>
+ * Each entry is identified by a unique, monotonically increasing sequence number. Entries created while handling
+ * another entry (e.g. the events created by a {@link edu.uoc.som.jarvis.core.platform.io.WebhookEventProvider} when
+ * handling a webhook request) also store the sequence number of this parent entry, allowing to skip them when the
+ * parent entry is replayed.
+ *
+ * @see EventJournal#replay(java.util.function.Consumer)
+ */
+public abstract class JournalEntry {
+
+    /**
+     * The sequence number of the entry.
+     */
+    private final long sequence;
+
+    /**
+     * The sequence number of the parent entry, or {@link EventJournal#NO_SEQUENCE} if the entry does not have a
+     * parent.
+     */
+    private final long parentSequence;
+
+    /**
+     * Constructs a new {@link JournalEntry} with the provided {@code sequence} and {@code parentSequence}.
+     *
+     * @param sequence       the sequence number of the entry
+     * @param parentSequence the sequence number of the parent entry
+     */
+    protected JournalEntry(long sequence, long parentSequence) {
+        this.sequence = sequence;
+        this.parentSequence = parentSequence;
+    }
+
+    /**
+     * Returns the sequence number of the entry.
+     *
+     * @return the sequence number of the entry
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the sequence number of the parent entry.
+     *
+     * @return the sequence number of the parent entry, or {@link EventJournal#NO_SEQUENCE} if the entry does not
+     * have a parent
+     */
+    public long getParentSequence() {
+        return parentSequence;
+    }
+}
@@ -0,0 +1,240 @@
+package edu.uoc.som.jarvis.core.journal;
+
+import edu.uoc.som.jarvis.core.JarvisException;
+import fr.inria.atlanmod.commons.log.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A memory-mapped segment file of the {@link EventJournal}.
+ * <p>
+ * A segment is a pre-allocated file mapped in memory, containing a sequence of records with the following layout:
+ * {@code [int payloadLength][int crc][long sequence][long parentSequence][byte type][payload]}. The CRC covers the
+ * sequence numbers, the type, and the payload. A zero length marks the end of the written records (the unwritten
+ * part of the mapped file is filled with zeros).
+ * <p>
+ * Records are written in the mapped buffer without forcing it: the {@link EventJournal} periodically calls
+ * {@link #force()} to flush the written records to the storage device in batches.
+ */
+class JournalSegment {
+
+    /**
+     * The size of the record header.
+     */
+    static final int RECORD_HEADER_SIZE = 4 + 4 + 8 + 8 + 1;
+
+    /**
+     * The prefix of the segment file names.
+     */
+    private static final String FILE_PREFIX = "segment-";
+
+    /**
+     * The suffix of the segment file names.
+     */
+    static final String FILE_SUFFIX = ".journal";
+
+    /**
+     * The segment file.
+     */
+    private final File file;
+
+    /**
+     * The sequence number of the last record of the segment, or {@link EventJournal#NO_SEQUENCE} if the segment is
+     * empty.
+     */
+    private volatile long lastSequence = EventJournal.NO_SEQUENCE;
+
+    /**
+     * The mapped buffer of the segment file, or {@code null} if the segment is closed.
+     */
+    private volatile MappedByteBuffer buffer;
+
+    /**
+     * Whether records have been written since the last {@link #force()}.
+     */
+    private volatile boolean dirty;
+
+    /**
+     * Constructs a closed {@link JournalSegment} representing the provided {@code file}.
+     *
+     * @param file the segment file
+     */
+    private JournalSegment(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Creates and maps a new segment file in the provided {@code directory}.
+     *
+     * @param directory     the journal directory
+     * @param firstSequence the sequence number of the first record of the segment
+     * @param capacity      the size of the segment file
+     * @return the created {@link JournalSegment}
+     * @throws IOException if an error occurred when creating or mapping the segment file
+     */
+    static JournalSegment create(File directory, long firstSequence, int capacity) throws IOException {
+        JournalSegment segment = new JournalSegment(new File(directory, String.format("%s%020d%s", FILE_PREFIX,
+                firstSequence, FILE_SUFFIX)));
+        try (RandomAccessFile raf = new RandomAccessFile(segment.file, "rw")) {
+            raf.setLength(capacity);
+            /*
+             * The mapping stays valid once the file is closed.
+             */
+            segment.buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+        return segment;
+    }
+
+    /**
+     * Reads the records of the provided segment {@code file}.
+     * <p>
+     * The records with a sequence number greater than {@code afterSequence} are decoded and added to the provided
+     * {@code entries}. The reading stops at the first empty or corrupted record.
+     *
+     * @param file          the segment file to read
+     * @param afterSequence the sequence number of the last record that does not need to be decoded
+     * @param entries       the {@link List} to add the decoded entries to
+     * @return a closed {@link JournalSegment} representing the read {@code file}
+     * @throws IOException if an error occurred when reading the segment file
+     */
+    static JournalSegment read(File file, long afterSequence, List<JournalEntry> entries) throws IOException {
+        JournalSegment segment = new JournalSegment(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            MappedByteBuffer mapped = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+            CRC32 crc = new CRC32();
+            while (mapped.remaining() >= RECORD_HEADER_SIZE) {
+                int recordStart = mapped.position();
+                int length = mapped.getInt();
+                if (length <= 0 || length > mapped.remaining() - (RECORD_HEADER_SIZE - 4)) {
+                    break;
+                }
+                int expectedCrc = mapped.getInt();
+                ByteBuffer checked = mapped.slice();
+                checked.limit(RECORD_HEADER_SIZE - 8 + length);
+                crc.reset();
+                crc.update(checked);
+                if ((int) crc.getValue() != expectedCrc) {
+                    Log.warn("Corrupted record at position {0} of the journal segment {1}, ignoring the remaining " +
+                            "records", recordStart, file.getName());
+                    break;
+                }
+                long sequence = mapped.getLong();
+                long parentSequence = mapped.getLong();
+                byte type = mapped.get();
+                byte[] payload = new byte[length];
+                mapped.get(payload);
+                segment.lastSequence = sequence;
+                if (sequence > afterSequence) {
+                    try {
+                        entries.add(JournalCodec.decode(type, sequence, parentSequence, ByteBuffer.wrap(payload)));
+                    } catch (JarvisException e) {
+                        Log.error("Cannot decode the journal record {0}: {1}", sequence, e.getMessage());
+                    }
+                }
+            }
+        }
+        return segment;
+    }
+
+    /**
+     * Returns the segment file.
+     *
+     * @return the segment file
+     */
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the sequence number of the last record of the segment.
+     *
+     * @return the sequence number of the last record of the segment, or {@link EventJournal#NO_SEQUENCE} if the
+     * segment is empty
+     */
+    long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Returns whether the segment can store a record with the provided {@code payloadLength}.
+     *
+     * @param payloadLength the length of the record payload
+     * @return {@code true} if the segment can store the record, {@code false} otherwise
+     */
+    boolean canAppend(int payloadLength) {
+        MappedByteBuffer mapped = buffer;
+        return nonNull(mapped) && mapped.remaining() >= RECORD_HEADER_SIZE + payloadLength;
+    }
+
+    /**
+     * Appends a record to the segment.
+     * <p>
+     * The record payload is the concatenation of the provided {@code metadata} and {@code body}. This method does
+     * not force the written record to the storage device, see {@link #force()}.
+     *
+     * @param sequence       the sequence number of the record
+     * @param parentSequence the sequence number of the parent record
+     * @param type           the type of the record
+     * @param metadata       the encoded metadata of the record
+     * @param body           the raw body of the record, or {@code null}
+     * @param crc            the {@link CRC32} instance used to compute the record checksum
+     */
+    void append(long sequence, long parentSequence, byte type, ByteBuffer metadata, ByteBuffer body, CRC32 crc) {
+        MappedByteBuffer buffer = this.buffer;
+        int length = metadata.remaining() + (nonNull(body) ? body.remaining() : 0);
+        int recordStart = buffer.position();
+        /*
+         * Write the record content first, and its length last: a record is not visible to the readers until its
+         * length is set.
+         */
+        buffer.position(recordStart + 8);
+        ByteBuffer checked = buffer.slice();
+        buffer.putLong(sequence);
+        buffer.putLong(parentSequence);
+        buffer.put(type);
+        buffer.put(metadata);
+        if (nonNull(body)) {
+            buffer.put(body);
+        }
+        checked.limit(RECORD_HEADER_SIZE - 8 + length);
+        crc.reset();
+        crc.update(checked);
+        buffer.putInt(recordStart + 4, (int) crc.getValue());
+        buffer.putInt(recordStart, length);
+        lastSequence = sequence;
+        dirty = true;
+    }
+
+    /**
+     * Forces the written records to the storage device.
+     * <p>
+     * This method can be called concurrently with {@link #append(long, long, byte, ByteBuffer, ByteBuffer, CRC32)}.
+     */
+    void force() {
+        MappedByteBuffer mapped = buffer;
+        if (dirty && nonNull(mapped)) {
+            dirty = false;
+            mapped.force();
+        }
+    }
+
+    /**
+     * Forces the written records and closes the segment.
+     * <p>
+     * A closed segment cannot be written anymore, and is only kept to delete its file once all its records have
+     * been checkpointed.
+     */
+    void close() {
+        force();
+        buffer = null;
+    }
+}
@@ -0,0 +1,76 @@
+package edu.uoc.som.jarvis.core.journal;
+
+import edu.uoc.som.jarvis.core.platform.io.WebhookContent;
+import org.apache.http.Header;
+
+import java.nio.charset.Charset;
+
+/**
+ * A {@link JournalEntry} representing a webhook request received by the
+ * {@link edu.uoc.som.jarvis.core.server.JarvisServer}.
+ *
+ * @see EventJournal#appendWebhook(String, WebhookContent, Header[])
+ */
+public final class WebhookJournalEntry extends JournalEntry {
+
+    /**
+     * The path of the request.
+     */
+    private final String path;
+
+    /**
+     * The content of the request.
+     */
+    private final WebhookContent content;
+
+    /**
+     * The HTTP headers of the request.
+     */
+    private final Header[] headers;
+
+    /**
+     * Constructs a new {@link WebhookJournalEntry} with the provided parameters.
+     *
+     * @param sequence       the sequence number of the entry
+     * @param parentSequence the sequence number of the parent entry
+     * @param path           the path of the request
+     * @param contentType    the content type of the request
+     * @param charset        the {@link Charset} of the request content
+     * @param headers        the HTTP headers of the request
+     * @param body           the raw bytes of the request content
+     */
+    WebhookJournalEntry(long sequence, long parentSequence, String path, String contentType, Charset charset,
+                        Header[] headers, byte[] body) {
+        super(sequence, parentSequence);
+        this.path = path;
+        this.content = new WebhookContent(contentType, body, charset);
+        this.headers = headers;
+    }
+
+    /**
+     * Returns the path of the request.
+     *
+     * @return the path of the request
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the content of the request.
+     *
+     * @return the content of the request
+     */
+    public WebhookContent getContent() {
+        return content;
+    }
+
+    /**
+     * Returns the HTTP headers of the request.
+     *
+     * @return the HTTP headers of the request
+     */
+    public Header[] getHeaders() {
+        return headers.clone();
+    }
+}
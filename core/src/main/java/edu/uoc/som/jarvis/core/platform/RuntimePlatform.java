@@ -1,10 +1,13 @@
 package edu.uoc.som.jarvis.core.platform;
 
 import edu.uoc.som.jarvis.common.Expression;
+import edu.uoc.som.jarvis.core.ActionInstanceBindings;
+import edu.uoc.som.jarvis.core.ExecutionService;
 import edu.uoc.som.jarvis.core.JarvisCore;
 import edu.uoc.som.jarvis.core.JarvisException;
 import edu.uoc.som.jarvis.core.interpreter.ExecutionContext;
 import edu.uoc.som.jarvis.core.platform.action.RuntimeAction;
+import edu.uoc.som.jarvis.core.platform.action.RuntimeActionFactory;
 import edu.uoc.som.jarvis.core.platform.io.RuntimeEventProvider;
 import edu.uoc.som.jarvis.core.platform.io.WebhookEventProvider;
 import edu.uoc.som.jarvis.core.server.JarvisServer;
@@ -18,12 +21,15 @@ import edu.uoc.som.jarvis.platform.EventProviderDefinition;
 import edu.uoc.som.jarvis.platform.Parameter;
 import edu.uoc.som.jarvis.platform.PlatformDefinition;
 import edu.uoc.som.jarvis.util.Loader;
+import edu.uoc.som.jarvis.util.VirtualThreads;
 import fr.inria.atlanmod.commons.log.Log;
 import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
 
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -73,6 +79,30 @@ public abstract class RuntimePlatform {
      */
     protected Map<String, Class<? extends RuntimeAction>> actionMap;
 
+    /**
+     * The {@link Map} containing the {@link RuntimeActionFactory}s of the {@link RuntimeAction}s associated to this
+     * platform.
+     * <p>
+     * The {@link RuntimeActionFactory}s are created when the actions are enabled, and cache the constructors used to
+     * create new {@link RuntimeAction} instances. This {@link Map} is indexed by action signature, allowing to define
+     * multiple {@link ActionDefinition}s with the same name and a different number of parameters.
+     *
+     * @see #enableAction(ActionDefinition)
+     * @see #createRuntimeAction(ActionInstance, JarvisSession, ExecutionContext)
+     * @see #getActionSignature(ActionDefinition)
+     */
+    private Map<String, RuntimeActionFactory> actionFactoryMap;
+
+    /**
+     * The number of modifications performed on the enabled actions of this platform.
+     * <p>
+     * This counter is incremented each time an action is enabled or disabled, and allows components caching the
+     * {@link RuntimeActionFactory}s of this platform to detect when their cached values are outdated.
+     *
+     * @see #getActionModificationCount()
+     */
+    private AtomicInteger actionModificationCount;
+
     /**
      * The {@link Map} containing the {@link EventProviderThread}s associated to this platform.
      * <p>
@@ -105,6 +135,8 @@ public abstract class RuntimePlatform {
         this.jarvisCore = jarvisCore;
         this.configuration = configuration;
         this.actionMap = new HashMap<>();
+        this.actionFactoryMap = new HashMap<>();
+        this.actionModificationCount = new AtomicInteger();
         this.eventProviderMap = new HashMap<>();
     }
 
@@ -180,7 +212,11 @@ public abstract class RuntimePlatform {
             jarvisCore.getJarvisServer().registerWebhookEventProvider((WebhookEventProvider) runtimeEventProvider);
         }
         Log.info("Starting RuntimeEventProvider {0}", eventProviderClass.getSimpleName());
-        EventProviderThread eventProviderThread = new EventProviderThread(runtimeEventProvider);
+        ThreadFactory threadFactory = Thread::new;
+        if (VirtualThreads.isEnabled(configuration)) {
+            threadFactory = VirtualThreads.newThreadFactory(eventProviderClass.getSimpleName() + "-");
+        }
+        EventProviderThread eventProviderThread = new EventProviderThread(runtimeEventProvider, threadFactory);
         eventProviderMap.put(eventProviderDefinition.getName(), eventProviderThread);
         eventProviderThread.start();
     }
@@ -202,14 +238,37 @@ public abstract class RuntimePlatform {
      * {@link RuntimeAction} must be located under the {@code actionDefinition} sub-package of the
      * {@link RuntimePlatform}
      * concrete subclass package.
+     * <p>
+     * The constructors of the loaded {@link RuntimeAction} are resolved and cached when the action is enabled: the
+     * {@link RuntimeAction} must define a public constructor accepting this platform, a {@link JarvisSession}, and
+     * as many parameters as the ones defined in the provided {@code actionDefinition}.
      *
      * @param actionDefinition the {@link ActionDefinition} representing the {@link RuntimeAction} to enable
+     * @throws JarvisException if the {@link RuntimeAction} cannot be loaded, or if it does not define a constructor
+     *                         matching the provided {@code actionDefinition}
      * @see Loader#loadClass(String, Class)
+     * @see RuntimeActionFactory
      */
     public void enableAction(ActionDefinition actionDefinition) {
         String actionQualifiedName = this.getClass().getPackage().getName() + ".action." + actionDefinition.getName();
         Class<? extends RuntimeAction> runtimeAction = Loader.loadClass(actionQualifiedName, RuntimeAction.class);
+        RuntimeActionFactory actionFactory = new RuntimeActionFactory(runtimeAction, this.getClass(),
+                actionDefinition.getParameters().size());
         actionMap.put(actionDefinition.getName(), runtimeAction);
+        actionFactoryMap.put(getActionSignature(actionDefinition), actionFactory);
+        actionModificationCount.incrementAndGet();
+    }
+
+    /**
+     * Returns the signature of the provided {@code actionDefinition}.
+     * <p>
+     * The signature of an {@link ActionDefinition} is composed of its name and its number of parameters.
+     *
+     * @param actionDefinition the {@link ActionDefinition} to compute the signature of
+     * @return the signature of the provided {@code actionDefinition}
+     */
+    private static String getActionSignature(ActionDefinition actionDefinition) {
+        return actionDefinition.getName() + "/" + actionDefinition.getParameters().size();
     }
 
     /**
@@ -219,6 +278,8 @@ public abstract class RuntimePlatform {
      */
     public void disableAction(ActionDefinition actionDefinition) {
         actionMap.remove(actionDefinition.getName());
+        actionFactoryMap.remove(getActionSignature(actionDefinition));
+        actionModificationCount.incrementAndGet();
     }
 
     /**
@@ -226,6 +287,8 @@ public abstract class RuntimePlatform {
      */
     public final void disableAllActions() {
         actionMap.clear();
+        actionFactoryMap.clear();
+        actionModificationCount.incrementAndGet();
     }
 
     /**
@@ -242,6 +305,34 @@ public abstract class RuntimePlatform {
         return actionMap.values();
     }
 
+    /**
+     * Returns the {@link RuntimeActionFactory} associated to the provided {@code actionDefinition}.
+     *
+     * @param actionDefinition the {@link ActionDefinition} to retrieve the {@link RuntimeActionFactory} of
+     * @return the {@link RuntimeActionFactory} associated to the provided {@code actionDefinition} if the action is
+     * enabled, {@code null} otherwise
+     * @throws NullPointerException if the provided {@code actionDefinition} is {@code null}
+     * @see #enableAction(ActionDefinition)
+     */
+    public final RuntimeActionFactory getActionFactory(ActionDefinition actionDefinition) {
+        checkNotNull(actionDefinition, "Cannot retrieve the %s of the provided %s %s", RuntimeActionFactory.class
+                .getSimpleName(), ActionDefinition.class.getSimpleName(), actionDefinition);
+        return actionFactoryMap.get(getActionSignature(actionDefinition));
+    }
+
+    /**
+     * Returns the number of modifications performed on the enabled actions of this platform.
+     * <p>
+     * The returned value changes each time an action is enabled or disabled. Components caching the
+     * {@link RuntimeActionFactory}s returned by {@link #getActionFactory(ActionDefinition)} can compare it with the
+     * value they stored when filling their cache to check whether the cached factories are still valid.
+     *
+     * @return the number of modifications performed on the enabled actions of this platform
+     */
+    public final int getActionModificationCount() {
+        return actionModificationCount.get();
+    }
+
     /**
      * Creates a new {@link RuntimeAction} instance from the provided {@link ActionInstance}.
      * <p>
@@ -249,6 +340,13 @@ public abstract class RuntimePlatform {
      * matching the {@code eventInstance} variables to the {@link ActionDefinition}'s parameters, and reusing the
      * provided
      * {@link ActionInstance#getValues()}.
+     * <p>
+     * This method is called by the {@link edu.uoc.som.jarvis.core.ExecutionService} to create the
+     * {@link RuntimeAction}s of the executed {@link ActionInstance}s, and can be overridden by platforms that need to
+     * customize the creation of their actions. The {@link RuntimeActionFactory} bound to the {@code actionInstance}
+     * when its rule was loaded is reused if it exists (see
+     * {@link edu.uoc.som.jarvis.core.ActionInstanceBindings#findBinding(ActionInstance)}), otherwise it is retrieved
+     * from the enabled actions of the platform.
      *
      * @param actionInstance the {@link ActionInstance} representing the {@link RuntimeAction} to create
      * @param session        the {@link JarvisSession} associated to the action
@@ -258,16 +356,67 @@ public abstract class RuntimePlatform {
      * @throws JarvisException      if the provided {@link ActionInstance} does not match any {@link RuntimeAction},
      *                              or if an error occurred when building the {@link RuntimeAction}
      * @see #getParameterValues(ActionInstance, RuntimeContexts, ExecutionContext)
+     * @see #createRuntimeAction(ActionInstance, RuntimeActionFactory, JarvisSession, ExecutionContext)
      */
     public RuntimeAction createRuntimeAction(ActionInstance actionInstance, JarvisSession
             session, ExecutionContext context) {
         checkNotNull(actionInstance, "Cannot construct a %s from the provided %s %s", RuntimeAction.class
                 .getSimpleName(), ActionInstance.class.getSimpleName(), actionInstance);
+        return createRuntimeAction(actionInstance, getBoundActionFactory(actionInstance), session, context);
+    }
+
+    /**
+     * Returns the {@link RuntimeActionFactory} of the provided {@code actionInstance}.
+     * <p>
+     * This method returns the {@link RuntimeActionFactory} bound to the {@code actionInstance} by the
+     * {@link edu.uoc.som.jarvis.core.ExecutionService} if the binding is still valid, and retrieves it from the
+     * enabled actions of the platform otherwise (see {@link #getActionFactory(ActionDefinition)}).
+     *
+     * @param actionInstance the {@link ActionInstance} to retrieve the {@link RuntimeActionFactory} of
+     * @return the {@link RuntimeActionFactory} of the provided {@code actionInstance} if its action is enabled,
+     * {@code null} otherwise
+     */
+    private RuntimeActionFactory getBoundActionFactory(ActionInstance actionInstance) {
+        ExecutionService executionService = jarvisCore.getExecutionService();
+        if (nonNull(executionService)) {
+            ActionInstanceBindings.Binding binding = executionService.getActionInstanceBindings().findBinding
+                    (actionInstance);
+            if (nonNull(binding) && binding.getRuntimePlatform() == this) {
+                return binding.getActionFactory();
+            }
+        }
+        return getActionFactory(actionInstance.getAction());
+    }
+
+    /**
+     * Creates a new {@link RuntimeAction} instance from the provided {@link ActionInstance} and
+     * {@link RuntimeActionFactory}.
+     * <p>
+     * This method is similar to {@link #createRuntimeAction(ActionInstance, JarvisSession, ExecutionContext)}, but
+     * reuses the provided {@code actionFactory} instead of retrieving the one associated to the
+     * {@link ActionDefinition} of the {@code actionInstance}. Platforms overriding
+     * {@link #createRuntimeAction(ActionInstance, JarvisSession, ExecutionContext)} can use it to create their
+     * {@link RuntimeAction}s from a specific {@link RuntimeActionFactory}.
+     *
+     * @param actionInstance the {@link ActionInstance} representing the {@link RuntimeAction} to create
+     * @param actionFactory  the {@link RuntimeActionFactory} of the {@link ActionDefinition} of the {@code
+     *                       actionInstance} (see {@link #getActionFactory(ActionDefinition)})
+     * @param session        the {@link JarvisSession} associated to the action
+     * @param context        the execution context used to evaluate the action parameter values
+     * @return a new {@link RuntimeAction} instance from the provided {@link ActionInstance}
+     * @throws NullPointerException if the provided {@code actionInstance} or {@code session} is {@code null}
+     * @throws JarvisException      if the provided {@code actionFactory} is {@code null} (meaning that the action is
+     *                              not enabled), or if an error occurred when building the {@link RuntimeAction}
+     * @see #getActionFactory(ActionDefinition)
+     */
+    protected RuntimeAction createRuntimeAction(ActionInstance actionInstance, RuntimeActionFactory actionFactory,
+                                                JarvisSession session, ExecutionContext context) {
+        checkNotNull(actionInstance, "Cannot construct a %s from the provided %s %s", RuntimeAction.class
+                .getSimpleName(), ActionInstance.class.getSimpleName(), actionInstance);
         checkNotNull(session, "Cannot construct a %s from the provided %s %s", RuntimeAction.class.getSimpleName(),
                 JarvisSession.class.getSimpleName(), session);
         ActionDefinition actionDefinition = actionInstance.getAction();
-        Class<? extends RuntimeAction> runtimeActionClass = actionMap.get(actionDefinition.getName());
-        if (isNull(runtimeActionClass)) {
+        if (isNull(actionFactory)) {
             throw new JarvisException(MessageFormat.format("Cannot create the {0} {1}, the action is not " +
                     "loaded in the platform", RuntimeAction.class.getSimpleName(), actionDefinition.getName()));
         }
@@ -283,14 +432,15 @@ public abstract class RuntimePlatform {
             System.arraycopy(parameterValues, 0, fullParameters, 2, parameterValues.length);
         }
         try {
-            /**
-             * The types of the parameters are not known, use {@link Loader#construct(Class, Object[])} to try to
-             * find a constructor that accepts them.
+            /*
+             * The types of the parameters are not known, the factory selects the cached constructor that accepts
+             * them.
              */
-            runtimeAction = Loader.construct(runtimeActionClass, fullParameters);
+            runtimeAction = actionFactory.newInstance(fullParameters);
         } catch (NoSuchMethodException e) {
             throw new JarvisException(MessageFormat.format("Cannot find a {0} constructor for the provided parameter " +
-                    "types ({1})", runtimeActionClass.getSimpleName(), printClassArray(fullParameters)), e);
+                    "types ({1})", actionFactory.getRuntimeActionClass().getSimpleName(), printClassArray
+                    (fullParameters)), e);
         }
         if (nonNull(actionInstance.getReturnVariable())) {
             runtimeAction.setReturnVariable(actionInstance.getReturnVariable().getReferredVariable().getName());
@@ -402,25 +552,45 @@ public abstract class RuntimePlatform {
     }
 
     /**
-     * The {@link Thread} class used to start {@link RuntimeEventProvider}s.
+     * The {@link Thread} used to run a {@link RuntimeEventProvider}.
+     * <p>
+     * The underlying {@link Thread} is created by the {@link ThreadFactory} provided in the constructor, and can be
+     * a virtual {@link Thread} if Jarvis is configured to use them (see
+     * {@link edu.uoc.som.jarvis.core.ExecutionService#VIRTUAL_THREADS_KEY}).
      * <p>
      * <b>Note:</b> this class is protected for testing purposes, and should not be called by client code.
      */
-    protected static class EventProviderThread extends Thread {
+    protected static class EventProviderThread {
 
         /**
          * The {@link RuntimeEventProvider} run by this {@link Thread}.
          */
         private RuntimeEventProvider runtimeEventProvider;
 
+        /**
+         * The underlying {@link Thread} running the {@link RuntimeEventProvider}.
+         */
+        private Thread thread;
+
         /**
          * Constructs a new {@link EventProviderThread} to run the provided {@code runtimeEventProvider}
          *
          * @param runtimeEventProvider the {@link RuntimeEventProvider} to run
          */
         public EventProviderThread(RuntimeEventProvider runtimeEventProvider) {
-            super(runtimeEventProvider);
+            this(runtimeEventProvider, Thread::new);
+        }
+
+        /**
+         * Constructs a new {@link EventProviderThread} to run the provided {@code runtimeEventProvider} in a
+         * {@link Thread} created by the provided {@code threadFactory}.
+         *
+         * @param runtimeEventProvider the {@link RuntimeEventProvider} to run
+         * @param threadFactory        the {@link ThreadFactory} used to create the underlying {@link Thread}
+         */
+        public EventProviderThread(RuntimeEventProvider runtimeEventProvider, ThreadFactory threadFactory) {
             this.runtimeEventProvider = runtimeEventProvider;
+            this.thread = threadFactory.newThread(runtimeEventProvider);
         }
 
         /**
@@ -432,5 +602,43 @@ public abstract class RuntimePlatform {
             return runtimeEventProvider;
         }
 
+        /**
+         * Starts the underlying {@link Thread}.
+         *
+         * @see Thread#start()
+         */
+        public void start() {
+            thread.start();
+        }
+
+        /**
+         * Returns whether the underlying {@link Thread} is alive.
+         *
+         * @return {@code true} if the underlying {@link Thread} is alive, {@code false} otherwise
+         * @see Thread#isAlive()
+         */
+        public boolean isAlive() {
+            return thread.isAlive();
+        }
+
+        /**
+         * Interrupts the underlying {@link Thread}.
+         *
+         * @see Thread#interrupt()
+         */
+        public void interrupt() {
+            thread.interrupt();
+        }
+
+        /**
+         * Waits at most {@code millis} milliseconds for the underlying {@link Thread} to die.
+         *
+         * @param millis the time to wait in milliseconds
+         * @throws InterruptedException if the current {@link Thread} is interrupted while waiting
+         * @see Thread#join(long)
+         */
+        public void join(long millis) throws InterruptedException {
+            thread.join(millis);
+        }
     }
 }
@@ -0,0 +1,130 @@
+package edu.uoc.som.jarvis.core.platform.action;
+
+import edu.uoc.som.jarvis.core.ExecutionService;
+import edu.uoc.som.jarvis.core.JarvisException;
+import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
+import edu.uoc.som.jarvis.core.session.JarvisSession;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link RuntimeAction} computed asynchronously.
+ * <p>
+ * This class is designed to implement actions that wait for external services (e.g. sending a message through a
+ * REST API): its {@link #computeAsync()} method starts the computation and returns a {@link CompletionStage}
+ * completed when the computation terminates, instead of blocking the calling {@link Thread}. The
+ * {@link ExecutionService} executes {@link AsyncRuntimeAction}s through {@link #callAsync()}, and resumes the
+ * execution of the rule containing the action once the returned {@link CompletionStage} is completed. The execution
+ * lane of the action can process other tasks in the meantime.
+ * <p>
+ * {@link AsyncRuntimeAction}s can also be executed synchronously with {@link #call()}, in which case the calling
+ * {@link Thread} waits for the completion of the {@link CompletionStage} returned by {@link #computeAsync()}.
+ *
+ * @param <T> the concrete {@link RuntimePlatform} subclass type containing the action
+ * @see RuntimeAction
+ * @see ExecutionService
+ */
+public abstract class AsyncRuntimeAction<T extends RuntimePlatform> extends RuntimeAction<T> {
+
+    /**
+     * Constructs a new {@link AsyncRuntimeAction} with the provided {@code runtimePlatform} and {@code session}.
+     *
+     * @param runtimePlatform the {@link RuntimePlatform} containing this action
+     * @param session         the {@link JarvisSession} associated to this action
+     * @throws NullPointerException if the provided {@code runtimePlatform} or {@code session} is {@code null}
+     */
+    public AsyncRuntimeAction(T runtimePlatform, JarvisSession session) {
+        super(runtimePlatform, session);
+    }
+
+    /**
+     * Runs the {@link AsyncRuntimeAction} and returns a {@link CompletionStage} completed with its result wrapped in
+     * a {@link RuntimeActionResult}.
+     * <p>
+     * The execution time of the returned {@link RuntimeActionResult} measures the time between the call to
+     * {@link #computeAsync()} and the completion of the {@link CompletionStage} it returned.
+     *
+     * @return a {@link CompletionStage} completed with the {@link RuntimeActionResult} of the computation
+     */
+    @Override
+    public CompletionStage<RuntimeActionResult> callAsync() {
+        long before = System.currentTimeMillis();
+        CompletionStage<?> computation;
+        try {
+            computation = computeAsync();
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(new RuntimeActionResult(null, e, System.currentTimeMillis() -
+                    before));
+        }
+        if (isNull(computation)) {
+            return CompletableFuture.completedFuture(new RuntimeActionResult(null, new JarvisException("The " +
+                    "asynchronous computation of the action returned a null CompletionStage"), System
+                    .currentTimeMillis() - before));
+        }
+        return computation.handle((result, throwable) -> {
+            long executionTime = System.currentTimeMillis() - before;
+            if (nonNull(throwable)) {
+                return new RuntimeActionResult(null, toException(throwable), executionTime);
+            }
+            return new RuntimeActionResult(result, executionTime);
+        });
+    }
+
+    /**
+     * Computes the {@link AsyncRuntimeAction} and waits for its completion.
+     * <p>
+     * This method adapts {@link #computeAsync()} to the synchronous {@link RuntimeAction} contract, and is used when
+     * the action is executed with {@link #call()}.
+     *
+     * @return the raw result of the {@link AsyncRuntimeAction}'s computation
+     * @throws Exception if an error occurred when computing the {@link AsyncRuntimeAction}
+     */
+    @Override
+    protected final Object compute() throws Exception {
+        try {
+            return computeAsync().toCompletableFuture().get();
+        } catch (ExecutionException e) {
+            throw toException(e.getCause());
+        }
+    }
+
+    /**
+     * The concrete implementation of the {@link AsyncRuntimeAction}'s computation.
+     * <p>
+     * This method should start the computation and return immediately, without waiting for the external services
+     * it relies on. The returned {@link CompletionStage} is completed with the raw result of the computation, or
+     * completed exceptionally if an error occurred.
+     * <p>
+     * This method should be overriden by subclasses to implement the {@link AsyncRuntimeAction}'s computation logic.
+     *
+     * @return a {@link CompletionStage} completed with the raw result of the computation
+     * @throws Exception if an error occurred when starting the computation
+     */
+    protected abstract CompletionStage<?> computeAsync() throws Exception;
+
+    /**
+     * Returns the {@link Exception} representing the provided {@code throwable}.
+     * <p>
+     * This method unwraps the {@link CompletionException}s created by the {@link CompletionStage} API, and wraps the
+     * {@link Throwable}s that are not {@link Exception}s in a {@link JarvisException}.
+     *
+     * @param throwable the {@link Throwable} to convert
+     * @return the {@link Exception} representing the provided {@code throwable}
+     */
+    static Exception toException(Throwable throwable) {
+        Throwable cause = throwable;
+        if (cause instanceof CompletionException && nonNull(cause.getCause())) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Exception) {
+            return (Exception) cause;
+        }
+        return new JarvisException(cause);
+    }
+}
@@ -8,6 +8,9 @@ import edu.uoc.som.jarvis.intent.RecognizedIntent;
 import edu.uoc.som.jarvis.platform.ActionDefinition;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
 
@@ -137,6 +140,50 @@ public abstract class RuntimeAction<T extends RuntimePlatform> implements Callab
         return new RuntimeActionResult(computationResult, thrownException, (after - before));
     }
 
+    /**
+     * Runs the {@link RuntimeAction} and returns a {@link CompletionStage} completed with its result wrapped in a
+     * {@link RuntimeActionResult}.
+     * <p>
+     * This method is used by the {@link ExecutionService} to execute {@link RuntimeAction}s without blocking its
+     * execution lanes while the action is waiting for an external service. The default implementation adapts
+     * synchronous actions: it computes the action in the calling {@link Thread} with {@link #call()} and returns an
+     * already completed {@link CompletionStage}. {@link AsyncRuntimeAction}s override this method to return a
+     * {@link CompletionStage} completed when their asynchronous computation terminates.
+     * <p>
+     * As for {@link #call()}, the returned {@link CompletionStage} is not completed exceptionally if the
+     * underlying {@link RuntimeAction}'s computation fails, the thrown {@link Exception} can be accessed through the
+     * {@link RuntimeActionResult#getThrownException()} method.
+     *
+     * @return a {@link CompletionStage} completed with the {@link RuntimeActionResult} of the computation
+     * @see #call()
+     * @see AsyncRuntimeAction
+     */
+    public CompletionStage<RuntimeActionResult> callAsync() {
+        return CompletableFuture.completedFuture(call());
+    }
+
+    /**
+     * Runs the {@link RuntimeAction} and returns a {@link CompletionStage} completed with its result wrapped in a
+     * {@link RuntimeActionResult}, using the provided {@code executor} to compute the action if it has to wait for
+     * its inputs.
+     * <p>
+     * This method is used by the {@link ExecutionService}, that provides the execution lane of the action, or the
+     * executor of its {@link edu.uoc.som.jarvis.core.PlatformBulkhead}. Actions whose inputs are not available yet
+     * (e.g. {@link RuntimeMessageAction}s whose message depends on pending context values) do not block the calling
+     * {@link Thread}: they are computed in the provided {@code executor} once their inputs are available. The
+     * default implementation ignores the provided {@code executor} and returns {@link #callAsync()}.
+     *
+     * @param executor the {@link Executor} used to compute the action once its inputs are available
+     * @return a {@link CompletionStage} completed with the {@link RuntimeActionResult} of the computation
+     * @throws NullPointerException if the provided {@code executor} is {@code null}
+     * @see #callAsync()
+     */
+    public CompletionStage<RuntimeActionResult> callAsync(Executor executor) {
+        checkNotNull(executor, "Cannot compute the %s with the provided %s %s", this.getClass().getSimpleName(),
+                Executor.class.getSimpleName(), executor);
+        return callAsync();
+    }
+
     /**
      * The concrete implementation of the {@link RuntimeAction}'s computation.
      * <p>
@@ -0,0 +1,203 @@
+package edu.uoc.som.jarvis.core.platform.action;
+
+import edu.uoc.som.jarvis.core.JarvisException;
+import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
+import edu.uoc.som.jarvis.core.session.JarvisSession;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+
+/**
+ * A factory creating {@link RuntimeAction} instances from pre-resolved constructor {@link MethodHandle}s.
+ * <p>
+ * This class resolves once the {@link RuntimeAction} constructors that can be called by a {@link RuntimePlatform}
+ * (i.e. the public constructors accepting the platform, a {@link JarvisSession}, and the provided number of action
+ * parameters), and caches them as {@link MethodHandle}s. Creating a {@link RuntimeAction} with
+ * {@link #newInstance(Object[])} only selects the cached constructor matching the runtime types of the provided
+ * parameters, and does not rely on reflective lookups.
+ * <p>
+ * The constructors are resolved when the {@link RuntimeActionFactory} is created, meaning that a
+ * {@link RuntimeAction} that cannot be constructed by its {@link RuntimePlatform} is reported when the action is
+ * enabled instead of when it is first executed.
+ *
+ * @see RuntimePlatform#enableAction(edu.uoc.som.jarvis.platform.ActionDefinition)
+ */
+public class RuntimeActionFactory {
+
+    /**
+     * The {@link RuntimeAction} {@link Class} to create instances of.
+     */
+    private final Class<? extends RuntimeAction> runtimeActionClass;
+
+    /**
+     * The number of action parameters accepted by the cached constructors.
+     * <p>
+     * This number does not include the mandatory {@link RuntimePlatform} and {@link JarvisSession} parameters.
+     */
+    private final int parameterCount;
+
+    /**
+     * The parameter types of the cached constructors, indexed by constructor.
+     * <p>
+     * Primitive types are stored as their wrapper types to allow direct {@link Class#isInstance(Object)} checks
+     * against boxed parameter values.
+     *
+     * @see #primitiveParameters
+     */
+    private final Class<?>[][] parameterTypes;
+
+    /**
+     * The flags telling whether the parameters of the cached constructors are primitive, indexed by constructor.
+     * <p>
+     * Primitive parameters cannot be set with {@code null} values.
+     */
+    private final boolean[][] primitiveParameters;
+
+    /**
+     * The cached constructors, adapted to accept an {@link Object} array containing their parameters.
+     */
+    private final MethodHandle[] constructors;
+
+    /**
+     * Constructs a new {@link RuntimeActionFactory} for the provided {@code runtimeActionClass}.
+     * <p>
+     * This constructor resolves all the public constructors of {@code runtimeActionClass} that accept an instance
+     * of {@code runtimePlatformClass}, a {@link JarvisSession}, and {@code parameterCount} additional parameters.
+     *
+     * @param runtimeActionClass   the {@link RuntimeAction} {@link Class} to create instances of
+     * @param runtimePlatformClass the {@link RuntimePlatform} {@link Class} creating the {@link RuntimeAction}s
+     * @param parameterCount       the number of parameters defined by the action
+     * @throws NullPointerException     if the provided {@code runtimeActionClass} or {@code runtimePlatformClass} is
+     *                                  {@code null}
+     * @throws IllegalArgumentException if the provided {@code parameterCount} is negative
+     * @throws JarvisException          if the provided {@code runtimeActionClass} does not define any matching
+     *                                  constructor, or if a matching constructor cannot be accessed
+     */
+    public RuntimeActionFactory(Class<? extends RuntimeAction> runtimeActionClass, Class<? extends RuntimePlatform>
+            runtimePlatformClass, int parameterCount) {
+        checkNotNull(runtimeActionClass, "Cannot construct a %s with the provided %s class %s", RuntimeActionFactory
+                .class.getSimpleName(), RuntimeAction.class.getSimpleName(), runtimeActionClass);
+        checkNotNull(runtimePlatformClass, "Cannot construct a %s with the provided %s class %s",
+                RuntimeActionFactory.class.getSimpleName(), RuntimePlatform.class.getSimpleName(),
+                runtimePlatformClass);
+        checkArgument(parameterCount >= 0, "Cannot construct a %s with the provided parameter count %s, expected a " +
+                "positive or null value", RuntimeActionFactory.class.getSimpleName(), parameterCount);
+        this.runtimeActionClass = runtimeActionClass;
+        this.parameterCount = parameterCount;
+        int arity = parameterCount + 2;
+        List<Class<?>[]> typesList = new ArrayList<>();
+        List<boolean[]> primitivesList = new ArrayList<>();
+        List<MethodHandle> constructorList = new ArrayList<>();
+        for (Constructor<?> constructor : runtimeActionClass.getConstructors()) {
+            Class<?>[] constructorTypes = constructor.getParameterTypes();
+            if (constructorTypes.length != arity || !constructorTypes[0].isAssignableFrom(runtimePlatformClass) ||
+                    !constructorTypes[1].isAssignableFrom(JarvisSession.class)) {
+                continue;
+            }
+            try {
+                MethodHandle constructorHandle = MethodHandles.publicLookup().unreflectConstructor(constructor);
+                constructorList.add(constructorHandle.asSpreader(Object[].class, arity).asType(MethodType
+                        .methodType(Object.class, Object[].class)));
+            } catch (IllegalAccessException e) {
+                throw new JarvisException(MessageFormat.format("Cannot access the constructor {0}", constructor), e);
+            }
+            boolean[] primitives = new boolean[arity];
+            for (int i = 0; i < arity; i++) {
+                primitives[i] = constructorTypes[i].isPrimitive();
+            }
+            typesList.add(MethodType.methodType(void.class, constructorTypes).wrap().parameterArray());
+            primitivesList.add(primitives);
+        }
+        if (constructorList.isEmpty()) {
+            throw new JarvisException(MessageFormat.format("Cannot find a {0} constructor accepting a {1}, a {2}, " +
+                    "and {3} parameter(s)", runtimeActionClass.getSimpleName(), runtimePlatformClass.getSimpleName(),
+                    JarvisSession.class.getSimpleName(), parameterCount));
+        }
+        this.parameterTypes = typesList.toArray(new Class<?>[typesList.size()][]);
+        this.primitiveParameters = primitivesList.toArray(new boolean[primitivesList.size()][]);
+        this.constructors = constructorList.toArray(new MethodHandle[constructorList.size()]);
+    }
+
+    /**
+     * Returns the {@link RuntimeAction} {@link Class} created by this factory.
+     *
+     * @return the {@link RuntimeAction} {@link Class} created by this factory
+     */
+    public Class<? extends RuntimeAction> getRuntimeActionClass() {
+        return runtimeActionClass;
+    }
+
+    /**
+     * Returns the number of action parameters accepted by this factory.
+     * <p>
+     * This number does not include the mandatory {@link RuntimePlatform} and {@link JarvisSession} parameters.
+     *
+     * @return the number of action parameters accepted by this factory
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * Creates a new {@link RuntimeAction} with the provided {@code parameters}.
+     * <p>
+     * The provided {@code parameters} must contain the {@link RuntimePlatform} and the {@link JarvisSession}
+     * associated to the action, followed by the action parameter values. This method calls the first cached
+     * constructor accepting the runtime types of the provided {@code parameters}.
+     *
+     * @param parameters the concrete parameters of the constructor to call
+     * @return the created {@link RuntimeAction}
+     * @throws NullPointerException  if the provided {@code parameters} array is {@code null}
+     * @throws NoSuchMethodException if the {@link RuntimeAction} does not define a constructor matching the provided
+     *                               {@code parameters}
+     * @throws JarvisException       if an error occurred when calling the {@link RuntimeAction}'s constructor
+     */
+    public RuntimeAction newInstance(Object[] parameters) throws NoSuchMethodException {
+        checkNotNull(parameters, "Cannot create a %s with the provided parameters %s", runtimeActionClass
+                .getSimpleName(), parameters);
+        if (parameters.length == parameterCount + 2) {
+            for (int i = 0; i < constructors.length; i++) {
+                if (accepts(parameterTypes[i], primitiveParameters[i], parameters)) {
+                    try {
+                        return (RuntimeAction) (Object) constructors[i].invokeExact(parameters);
+                    } catch (JarvisException | Error e) {
+                        throw e;
+                    } catch (Throwable t) {
+                        throw new JarvisException(MessageFormat.format("An error occurred when constructing the " +
+                                "{0}", runtimeActionClass.getSimpleName()), t);
+                    }
+                }
+            }
+        }
+        throw new NoSuchMethodException(MessageFormat.format("Cannot find a {0} constructor for the provided {1} " +
+                "parameter(s)", runtimeActionClass.getSimpleName(), parameters.length));
+    }
+
+    /**
+     * Returns whether the provided {@code parameters} are instances of the provided {@code types}.
+     * <p>
+     * {@code null} parameters are accepted by any non-primitive type.
+     *
+     * @param types      the wrapped parameter types of a constructor
+     * @param primitives the flags telling whether the parameters of the constructor are primitive
+     * @param parameters the parameters to check
+     * @return {@code true} if the {@code parameters} are instances of the {@code types}, {@code false} otherwise
+     */
+    private static boolean accepts(Class<?>[] types, boolean[] primitives, Object[] parameters) {
+        for (int i = 0; i < types.length; i++) {
+            if (isNull(parameters[i]) ? primitives[i] : !types[i].isInstance(parameters[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
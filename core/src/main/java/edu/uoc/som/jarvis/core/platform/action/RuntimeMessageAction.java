@@ -9,8 +9,18 @@ import edu.uoc.som.jarvis.core.session.RuntimeContexts;
 import fr.inria.atlanmod.commons.log.Log;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
@@ -43,6 +53,19 @@ public abstract class RuntimeMessageAction<T extends RuntimePlatform> extends Ru
      */
     private static int RETRY_WAIT_TIME = 500;
 
+    /**
+     * The {@link ScheduledExecutorService} used to wait before resending a message in
+     * {@link #callAsync(Executor)}.
+     * <p>
+     * This executor only waits for the retry delays, the message is resent in the {@link Executor} provided to
+     * {@link #callAsync(Executor)}.
+     */
+    private static final ScheduledExecutorService RETRY_SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "jarvis-message-retry-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /**
      * The processed message.
      * <p>
@@ -55,6 +78,17 @@ public abstract class RuntimeMessageAction<T extends RuntimePlatform> extends Ru
      */
     protected String message;
 
+    /**
+     * The {@link CompletableFuture} completed with the processed message.
+     * <p>
+     * This future is the result of calling {@link RuntimeContexts#fillContextValuesAsync(String)} on the {@code
+     * rawMessage} constructor parameter. The {@link #message} attribute is set from this future once it is
+     * completed, and at the latest before calling {@link #compute()}.
+     *
+     * @see #getMessageAsync()
+     */
+    private CompletableFuture<String> messageFuture;
+
     /**
      * Constructs a new {@link RuntimeMessageAction} with the provided {@code runtimePlatform}, {@code session}, and
      * {@code rawMessage}.
@@ -62,6 +96,10 @@ public abstract class RuntimeMessageAction<T extends RuntimePlatform> extends Ru
      * This constructor stores the result of calling {@link RuntimeContexts#fillContextValues(String)} on
      * the {@code rawMessage} parameter. Concreted subclasses can use this attribute to print the processed message to
      * the end user.
+     * <p>
+     * The context variables accessed in the {@code rawMessage} are retrieved asynchronously (see
+     * {@link RuntimeContexts#fillContextValuesAsync(String)}): the constructor does not wait for pending
+     * {@link java.util.concurrent.Future} values, that are awaited concurrently and set before computing the action.
      *
      * @param runtimePlatform the {@link RuntimePlatform} containing this action
      * @param session          the {@link JarvisSession} associated to this action
@@ -75,7 +113,14 @@ public abstract class RuntimeMessageAction<T extends RuntimePlatform> extends Ru
         super(runtimePlatform, session);
         checkArgument(nonNull(rawMessage) && !rawMessage.isEmpty(), "Cannot construct a %s action with the provided " +
                 "message %s, expected a non-null and not empty String", this.getClass().getSimpleName(), message);
-        this.message = session.getRuntimeContexts().fillContextValues(rawMessage);
+        this.messageFuture = session.getRuntimeContexts().fillContextValuesAsync(rawMessage);
+        if (messageFuture.isDone()) {
+            /*
+             * The message does not depend on pending values, set it right now (this also throws the exception
+             * raised by an erroring value).
+             */
+            this.message = resolveMessage();
+        }
     }
 
     /**
@@ -130,7 +175,12 @@ public abstract class RuntimeMessageAction<T extends RuntimePlatform> extends Ru
         Exception thrownException;
         int attempts = 0;
         long before = System.currentTimeMillis();
-
+        try {
+            resolveMessage();
+        } catch (JarvisException e) {
+            Log.error("Could not compute the message of the action: {0}", e.getClass().getSimpleName());
+            return new RuntimeActionResult(null, e, System.currentTimeMillis() - before);
+        }
 
         /*
          * We use a do-while here because the thrownException value is initialized with null, and we want to perform
@@ -193,12 +243,180 @@ public abstract class RuntimeMessageAction<T extends RuntimePlatform> extends Ru
         return new RuntimeActionResult(computationResult, thrownException, (after - before));
     }
 
+    /**
+     * Runs the {@link RuntimeMessageAction} once its message is available, and returns a {@link CompletionStage}
+     * completed with its result wrapped in a {@link RuntimeActionResult}.
+     * <p>
+     * The message is sent with {@link #computeAsync()}, and the calling {@link Thread} is not blocked while waiting
+     * for the message or for its sending. Actions whose message does not depend on pending context values start
+     * sending it in the calling {@link Thread}, otherwise the sending is started in the provided {@code executor}
+     * once the message is available. The sending is not started in the {@link Thread} completing the message, that
+     * may be a {@link Thread} of the {@link RuntimeContexts} or of the external service computing a context value.
+     * <p>
+     * As for {@link #call()}, the message is sent again if an {@link IOException} occurred. The retry delays do not
+     * block the provided {@code executor}: each retry is started in the {@code executor} once its delay elapsed.
+     *
+     * @param executor the {@link Executor} used to compute the action once its message is available
+     * @return a {@link CompletionStage} completed with the {@link RuntimeActionResult} of the computation
+     * @throws NullPointerException if the provided {@code executor} is {@code null}
+     * @see #call()
+     * @see #computeAsync()
+     */
+    @Override
+    public CompletionStage<RuntimeActionResult> callAsync(Executor executor) {
+        checkNotNull(executor, "Cannot compute the %s with the provided %s %s", this.getClass().getSimpleName(),
+                Executor.class.getSimpleName(), executor);
+        if (messageFuture.isDone()) {
+            return sendAsync(executor);
+        }
+        /*
+         * Errors are handled by sendAsync(), that creates an error result if the message cannot be computed.
+         */
+        return messageFuture.handle((filledMessage, throwable) -> filledMessage).thenComposeAsync(filledMessage ->
+                sendAsync(executor), executor);
+    }
+
+    /**
+     * Sends the message asynchronously.
+     * <p>
+     * The default implementation adapts synchronous actions: it sends the message in the calling {@link Thread}
+     * with {@link #compute()} and returns an already completed {@link CompletionStage}. Subclasses sending the
+     * message through an external service should override this method to return a {@link CompletionStage}
+     * completed when the message has been sent, without waiting for the external service. The returned
+     * {@link CompletionStage} must be completed exceptionally with an {@link IOException} if the message can be
+     * sent again.
+     * <p>
+     * This method is called by {@link #callAsync(Executor)} once the {@link #message} attribute is set.
+     *
+     * @return a {@link CompletionStage} completed with the raw result of the computation
+     * @throws Exception if an error occurred when starting to send the message
+     * @see #callAsync(Executor)
+     */
+    protected CompletionStage<?> computeAsync() throws Exception {
+        return CompletableFuture.completedFuture(compute());
+    }
+
+    /**
+     * Sends the message with {@link #computeAsync()}, and returns a {@link CompletionStage} completed with the
+     * {@link RuntimeActionResult} of the computation.
+     *
+     * @param executor the {@link Executor} used to send the message again if an {@link IOException} occurred
+     * @return a {@link CompletionStage} completed with the {@link RuntimeActionResult} of the computation
+     */
+    private CompletionStage<RuntimeActionResult> sendAsync(Executor executor) {
+        long before = System.currentTimeMillis();
+        try {
+            resolveMessage();
+        } catch (JarvisException e) {
+            Log.error("Could not compute the message of the action: {0}", e.getClass().getSimpleName());
+            return CompletableFuture.completedFuture(new RuntimeActionResult(null, e, System.currentTimeMillis() -
+                    before));
+        }
+        CompletableFuture<RuntimeActionResult> result = new CompletableFuture<>();
+        sendAsync(1, before, executor, result);
+        return result;
+    }
+
+    /**
+     * Performs the provided {@code attempt} to send the message, and completes the provided {@code result} once the
+     * message is sent or cannot be sent again.
+     * <p>
+     * If an {@link IOException} occurred the next attempt is scheduled after {@code attempt * RETRY_WAIT_TIME} ms
+     * (see {@link #call()}).
+     *
+     * @param attempt  the number of the attempt, starting at {@code 1}
+     * @param before   the time (in ms) of the first attempt
+     * @param executor the {@link Executor} used to perform the next attempt
+     * @param result   the {@link CompletableFuture} to complete with the {@link RuntimeActionResult}
+     */
+    private void sendAsync(int attempt, long before, Executor executor, CompletableFuture<RuntimeActionResult>
+            result) {
+        CompletionStage<?> computation;
+        try {
+            computation = computeAsync();
+            if (isNull(computation)) {
+                throw new JarvisException("The asynchronous computation of the action returned a null " +
+                        "CompletionStage");
+            }
+        } catch (Exception e) {
+            CompletableFuture<Object> failedComputation = new CompletableFuture<>();
+            failedComputation.completeExceptionally(e);
+            computation = failedComputation;
+        }
+        computation.whenComplete((computationResult, throwable) -> {
+            if (isNull(throwable)) {
+                result.complete(new RuntimeActionResult(computationResult, System.currentTimeMillis() - before));
+                return;
+            }
+            Exception thrownException = AsyncRuntimeAction.toException(throwable);
+            if (!(thrownException instanceof IOException)) {
+                /*
+                 * Internal errors cannot be solved by recomputing the action, see call().
+                 */
+                result.complete(new RuntimeActionResult(null, thrownException, System.currentTimeMillis() -
+                        before));
+                return;
+            }
+            if (attempt >= IO_ERROR_RETRIES + 1) {
+                Log.error("Could not compute the action: {0}", thrownException.getClass().getSimpleName());
+                result.complete(new RuntimeActionResult(null, thrownException, System.currentTimeMillis() -
+                        before));
+                return;
+            }
+            Log.error("An {0} occurred when computing the action, trying to send the message again ({1}/{2})",
+                    thrownException.getClass().getSimpleName(), attempt, IO_ERROR_RETRIES);
+            int waitTime = attempt * RETRY_WAIT_TIME;
+            Log.info("Waiting {0} ms before trying to send the message again", waitTime);
+            RETRY_SCHEDULER.schedule(() -> {
+                try {
+                    executor.execute(() -> sendAsync(attempt + 1, before, executor, result));
+                } catch (RejectedExecutionException e) {
+                    result.complete(new RuntimeActionResult(null, e, System.currentTimeMillis() - before));
+                }
+            }, waitTime, TimeUnit.MILLISECONDS);
+        });
+    }
+
     /**
      * Returns the processed message.
      *
      * @return the processed message
      */
     protected String getMessage() {
+        return resolveMessage();
+    }
+
+    /**
+     * Returns a {@link CompletableFuture} completed with the processed message.
+     * <p>
+     * This method allows to wait for the processed message without blocking the calling thread. The returned
+     * future is completed exceptionally with a {@link JarvisException} if an error occurred when retrieving a
+     * context variable accessed in the message.
+     *
+     * @return a {@link CompletableFuture} completed with the processed message
+     * @see RuntimeContexts#fillContextValuesAsync(String)
+     */
+    protected CompletableFuture<String> getMessageAsync() {
+        return messageFuture;
+    }
+
+    /**
+     * Waits for the processed message and sets the {@link #message} attribute.
+     *
+     * @return the processed message
+     * @throws JarvisException if an error occurred when retrieving a context variable accessed in the message
+     */
+    private String resolveMessage() {
+        if (isNull(message)) {
+            try {
+                message = messageFuture.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof JarvisException) {
+                    throw (JarvisException) e.getCause();
+                }
+                throw new JarvisException(e.getCause());
+            }
+        }
         return message;
     }
 
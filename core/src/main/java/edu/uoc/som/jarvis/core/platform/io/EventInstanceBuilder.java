@@ -13,6 +13,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -24,6 +25,9 @@ import static java.util.Objects.nonNull;
  * {@link EventDefinition} and output context parameter values. The builder checks that the created
  * {@link EventInstance}s are valid (i.e. they are associated to a registered {@link EventDefinition} and their
  * output context parameter values correspond to existing {@link ContextParameter}s.
+ * <p>
+ * A single builder can be shared by several threads: the {@link EventDefinition} name and the output context values
+ * are stored per thread, and the storage of each thread is reused across the {@link EventInstance}s it builds.
  */
 public class EventInstanceBuilder {
 
@@ -43,26 +47,51 @@ public class EventInstanceBuilder {
     }
 
     /**
-     * The {@link EventDefinitionRegistry} used to retrieve the {@link EventDefinition} represented by the name
-     * provided by {@link #setEventDefinitionName(String)}.
+     * Returns the out context key accessing the element at the provided {@code index} of the array {@code arrayKey}.
+     * <p>
+     * The returned key can be extended with nested field names, e.g. {@code arrayElementKey("commits", 0) +
+     * "->message"} accesses the {@code message} field of the first element of the {@code commits} array.
      *
-     * @see #setEventDefinitionName(String)
+     * @param arrayKey the out context key of the array
+     * @param index    the index of the element to access
+     * @return the out context key accessing the array element (e.g. {@code "commits[0]"})
+     * @throws NullPointerException     if the provided {@code arrayKey} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code index} is negative
      */
-    private EventDefinitionRegistry registry;
+    public static String arrayElementKey(String arrayKey, int index) {
+        checkNotNull(arrayKey, "Cannot compute the element key of the provided array key %s", arrayKey);
+        checkArgument(index >= 0, "Cannot compute the element key of the provided index %s, expected a " +
+                "non-negative value", index);
+        return arrayKey + "[" + index + "]";
+    }
 
     /**
-     * The name of the {@link EventDefinition} to bind to the created {@link EventInstance}.
+     * Returns the out context key accessing the length of the array {@code arrayKey}.
+     *
+     * @param arrayKey the out context key of the array
+     * @return the out context key accessing the array length (e.g. {@code "commits->length"})
+     * @throws NullPointerException if the provided {@code arrayKey} is {@code null}
+     */
+    public static String arrayLengthKey(String arrayKey) {
+        checkNotNull(arrayKey, "Cannot compute the length key of the provided array key %s", arrayKey);
+        return arrayKey + OutContextPathTrie.PATH_SEPARATOR + OutContextPathTrie.LENGTH_SEGMENT;
+    }
+
+    /**
+     * The {@link EventDefinitionRegistry} used to retrieve the {@link EventDefinition} represented by the name
+     * provided by {@link #setEventDefinitionName(String)}.
      *
      * @see #setEventDefinitionName(String)
      */
-    private String eventDefinitionName;
+    private EventDefinitionRegistry registry;
 
     /**
-     * The output context values to set to the created {@link EventInstance}.
+     * The per-thread {@link BuilderState}s containing the information of the {@link EventInstance}s to create.
      *
+     * @see #setEventDefinitionName(String)
      * @see #setOutContextValue(String, String)
      */
-    private Map<String, String> contextValues;
+    private final ThreadLocal<BuilderState> state = ThreadLocal.withInitial(BuilderState::new);
 
     /**
      * Disables the default constructor, use {@link #newBuilder(EventDefinitionRegistry)} instead.
@@ -89,7 +118,15 @@ public class EventInstanceBuilder {
         checkNotNull(registry, "Cannot create a %s with a null %s", EventInstanceBuilder.class.getSimpleName(),
                 EventDefinitionRegistry.class.getSimpleName());
         this.registry = registry;
-        this.contextValues = new HashMap<>();
+    }
+
+    /**
+     * Returns the {@link EventDefinitionRegistry} used to retrieve the {@link EventDefinition}s.
+     *
+     * @return the {@link EventDefinitionRegistry} used to retrieve the {@link EventDefinition}s
+     */
+    EventDefinitionRegistry getRegistry() {
+        return this.registry;
     }
 
     /**
@@ -105,7 +142,7 @@ public class EventInstanceBuilder {
     public EventInstanceBuilder setEventDefinitionName(String eventDefinitionName) {
         checkNotNull(eventDefinitionName, "Cannot construct an %s from a null %s", EventInstance.class.getSimpleName
                 (), EventDefinition.class.getSimpleName());
-        this.eventDefinitionName = eventDefinitionName;
+        this.state.get().eventDefinitionName = eventDefinitionName;
         return this;
     }
 
@@ -115,7 +152,7 @@ public class EventInstanceBuilder {
      * @return the name of the {@link EventDefinition} to bind to the created {@link EventInstance}
      */
     public String getEventDefinitionName() {
-        return this.eventDefinitionName;
+        return this.state.get().eventDefinitionName;
     }
 
     /**
@@ -133,18 +170,21 @@ public class EventInstanceBuilder {
     public EventInstanceBuilder setOutContextValue(String contextKey, String contextValue) {
         checkNotNull(contextKey, "Cannot set the out context key %s", contextValue);
         checkNotNull(contextValue, "Cannot set the out context value %s", contextValue);
-        this.contextValues.put(contextKey, contextValue);
+        this.state.get().contextValues.put(contextKey, contextValue);
         return this;
     }
 
     /**
      * Returns an unmodifiable {@link Map} containing the output context parameters to bind to the
      * {@link EventInstance}.
+     * <p>
+     * The returned {@link Map} is a view of the values set by the current thread, and is emptied when the builder
+     * is cleared.
      *
      * @return an unmodifiable {@link Map} containing the output context parameters to bind to the {@link EventInstance}
      */
     public Map<String, String> getOutContextValues() {
-        return Collections.unmodifiableMap(this.contextValues);
+        return Collections.unmodifiableMap(this.state.get().contextValues);
     }
 
     /**
@@ -157,77 +197,102 @@ public class EventInstanceBuilder {
      * <p>
      * <b>Note:</b> the builder will be cleared after returning the created {@link EventInstance} in order to allow
      * multiple {@link EventInstance} creations from the same {@link EventInstanceBuilder} (see {@link #clear()}).
+     * <p>
+     * The created {@link EventInstance} references the {@link RuntimeEvent} it has been created from (see
+     * {@link RuntimeEvent#of(EventInstance)}).
      *
      * @return the created {@link EventInstance}
      * @throws JarvisException if there is no {@link EventDefinition} associated to the provided {@code name}, or if
      *                         the {@link EventDefinition} does not define the {@link ContextParameter}s representing
      *                         the provided ones
+     * @see #buildRuntimeEvent()
      * @see #setEventDefinitionName(String)
      * @see #setOutContextValue(String, String)
      * @see #clear()
      */
     public EventInstance build() {
-        EventInstance eventInstance = IntentFactory.eINSTANCE.createEventInstance();
-        EventDefinition eventDefinition = registry.getEventDefinition(eventDefinitionName);
-        if (isNull(eventDefinition)) {
-            String errorMessage = MessageFormat.format("Cannot build the EventInstance, the EventDefinition {0} does " +
-                    "not exist", eventDefinitionName);
-            throw new JarvisException(errorMessage);
-        }
-        eventInstance.setDefinition(eventDefinition);
-        for (String contextKey : contextValues.keySet()) {
+        return buildRuntimeEvent().toEventInstance();
+    }
 
-            Context context = null;
-            for(Context outContext : eventDefinition.getOutContexts()) {
-                if(nonNull(outContext.getContextParameter(contextKey))) {
-                    context = outContext;
-                }
-            }
-            if(isNull(context)) {
-                throw new JarvisException(MessageFormat.format("Cannot retrieve the out context associated to the " +
-                        "context parameter {0}", contextKey));
+    /**
+     * Creates a new {@link RuntimeEvent} from the provided information.
+     * <p>
+     * This method performs the same validation as {@link #build()}, but does not create the EMF
+     * {@link ContextInstance}s and {@link ContextParameterValue}s of an {@link EventInstance}: the created
+     * {@link RuntimeEvent} references the {@link Context}s and {@link ContextParameter}s of the
+     * {@link EventDefinition}, and is intended to be handled by the
+     * {@link edu.uoc.som.jarvis.core.ExecutionService}.
+     * <p>
+     * <b>Note:</b> the builder will be cleared after returning the created {@link RuntimeEvent} (see
+     * {@link #clear()}).
+     *
+     * @return the created {@link RuntimeEvent}
+     * @throws JarvisException if there is no {@link EventDefinition} associated to the provided {@code name}, or if
+     *                         the {@link EventDefinition} does not define the {@link ContextParameter}s representing
+     *                         the provided ones
+     * @see #build()
+     */
+    public RuntimeEvent buildRuntimeEvent() {
+        BuilderState currentState = this.state.get();
+        try {
+            EventDefinition eventDefinition = registry.getEventDefinition(currentState.eventDefinitionName);
+            if (isNull(eventDefinition)) {
+                String errorMessage = MessageFormat.format("Cannot build the EventInstance, the EventDefinition {0} " +
+                        "does not exist", currentState.eventDefinitionName);
+                throw new JarvisException(errorMessage);
             }
-            /*
-             * Retrieve the context instance bound to the retrieved context. Create it if it does not exist.
-             */
-            ContextInstance contextInstance = eventInstance.getOutContextInstance(context.getName());
-            if(isNull(contextInstance)) {
-                contextInstance = IntentFactory.eINSTANCE.createContextInstance();
-                contextInstance.setDefinition(context);
-                eventInstance.getOutContextInstances().add(contextInstance);
+            int valueCount = currentState.contextValues.size();
+            Context[] contexts = new Context[valueCount];
+            int[] lifespanCounts = new int[valueCount];
+            ContextParameter[] parameters = new ContextParameter[valueCount];
+            String[] values = new String[valueCount];
+            int index = 0;
+            Map<String, Context> outContextIndex = registry.getOutContextParameterIndex(eventDefinition);
+            for (Map.Entry<String, String> contextValue : currentState.contextValues.entrySet()) {
+                String contextKey = contextValue.getKey();
+                Context context = outContextIndex.get(contextKey);
+                if (isNull(context)) {
+                    /*
+                     * The parameter may have been added after the index was computed, recompute it before reporting
+                     * an error.
+                     */
+                    outContextIndex = registry.refreshOutContextParameterIndex(eventDefinition);
+                    context = outContextIndex.get(contextKey);
+                }
+                if (isNull(context)) {
+                    throw new JarvisException(MessageFormat.format("Cannot build the EventInstance, the " +
+                            "EventDefinition {0} does not define the output context parameter {1}", eventDefinition
+                            .getName(), contextKey));
+                }
+                contexts[index] = context;
+                /*
+                 * Set the default lifespan here, we do not support custom lifespancounts at the instance level.
+                 */
+                lifespanCounts[index] = context.getLifeSpan();
+                parameters[index] = context.getContextParameter(contextKey);
+                values[index] = contextValue.getValue();
+                index++;
             }
             /*
-             * Set the default lifespan here, we do not support custom lifespancounts at the instance level.
+             * Note: this method does not check that all the out context parameter have been filled with values (see
+             * #142). This may be integrated in a future release based on the issue discussions.
              */
-            contextInstance.setLifespanCount(context.getLifeSpan());
-
-            ContextParameter contextParameter = context.getContextParameter(contextKey);
-            if(isNull(contextParameter)) {
-                throw new JarvisException(MessageFormat.format("Cannot build the EventInstance, the " +
-                        "EventDefinition {0} does not define the output context parameter {1}", eventDefinition
-                        .getName(), contextKey));
-            }
-            ContextParameterValue contextParameterValue = IntentFactory.eINSTANCE.createContextParameterValue();
-            contextParameterValue.setContextParameter(contextParameter);
-            contextParameterValue.setValue(contextValues.get(contextKey));
-            contextInstance.getValues().add(contextParameterValue);
+            return new RuntimeEvent(eventDefinition, false, contexts, lifespanCounts, parameters, values);
+        } finally {
+            this.clear();
         }
-        this.clear();
-        /*
-         * Note: this method does not check that all the out context parameter have been filled with values (see
-         * #142). This may be integrated in a future release based on the issue discussions.
-         */
-        return eventInstance;
     }
 
     /**
      * Clears the builder and reset its internal fields.
      * <p>
-     * <b>Note:</b> this method is automatically called after calling {@link #build()}.
+     * <b>Note:</b> this method is automatically called after calling {@link #build()}, and only clears the
+     * information set by the current thread.
      */
     public void clear() {
-        this.eventDefinitionName = null;
-        this.contextValues = new HashMap<>();
+        BuilderState currentState = this.state.get();
+        currentState.eventDefinitionName = null;
+        currentState.contextValues.clear();
     }
 
     /**
@@ -238,14 +303,15 @@ public class EventInstanceBuilder {
      * @return a pretty representation of the current {@link EventDefinition} to instantiate with this builder
      */
     public String prettyPrintEventDefinition() {
+        BuilderState currentState = this.state.get();
         StringBuilder sb = new StringBuilder();
-        sb.append(this.eventDefinitionName).append("\n");
+        sb.append(currentState.eventDefinitionName).append("\n");
         /*
          * The out context name is not known in the builder, it is not required to set context parameter values.
          */
         sb.append("outContext \"unknown\" {\n");
         sb.append("\tparams {\n");
-        for (String contextKey : contextValues.keySet()) {
+        for (String contextKey : currentState.contextValues.keySet()) {
             sb.append("\t\t").append(contextKey).append("\n");
         }
         sb.append("\t}\n");
@@ -253,4 +319,19 @@ public class EventInstanceBuilder {
         return sb.toString();
     }
 
+    /**
+     * The information of the {@link EventInstance} created by a thread.
+     */
+    private static class BuilderState {
+
+        /**
+         * The name of the {@link EventDefinition} to bind to the created {@link EventInstance}.
+         */
+        private String eventDefinitionName;
+
+        /**
+         * The output context values to set to the created {@link EventInstance}.
+         */
+        private final Map<String, String> contextValues = new HashMap<>();
+    }
 }
@@ -2,6 +2,8 @@ package edu.uoc.som.jarvis.core.platform.io;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
 import fr.inria.atlanmod.commons.log.Log;
 import edu.uoc.som.jarvis.core.JarvisException;
 import edu.uoc.som.jarvis.intent.EventDefinition;
@@ -9,9 +11,17 @@ import edu.uoc.som.jarvis.intent.EventInstance;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.http.Header;
 
+import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
 import static java.util.Objects.isNull;
@@ -23,6 +33,10 @@ import static java.util.Objects.nonNull;
  * This class is configured through the {@link #addMatchableEvent(HeaderValue, FieldValue, String)} method, that
  * allows to specify an {@link EventInstance} type for a given header and field content. Matched requests are reified
  * into {@link EventInstance}s containing all the fields of the provided payload.
+ * <p>
+ * The registered events are compiled into a decision tree indexed by header name (ignoring its case), then by header
+ * value, and finally by the value of the discriminating field(s). Matching a request requires a single pass over its
+ * headers, and a single read of each discriminating field of the matched header value.
  */
 public class JsonEventMatcher {
 
@@ -32,11 +46,36 @@ public class JsonEventMatcher {
      */
     public static String PRINT_BUILDER_CONTENT_KEY = "jarvis.event.matcher.print_builder";
 
+    /**
+     * The {@link Configuration} key to store whether to only extract the out context values declared by the matched
+     * {@link EventDefinition}.
+     * <p>
+     * When this property is {@code true} (default) the out context parameters declared by each
+     * {@link EventDefinition} are compiled into a path trie, and only the corresponding fields are extracted from the
+     * request content: the other fields are ignored. The declared parameters can access Json arrays by index or
+     * length (see {@link EventInstanceBuilder#arrayElementKey(String, int)} and
+     * {@link EventInstanceBuilder#arrayLengthKey(String)}), and arrays that are not referenced are not expanded.
+     * When it is {@code false} all the fields of the request content are converted into out context values (see
+     * {@link #convertJsonObjectToOutContext(JsonObject, EventInstanceBuilder)}), and building the
+     * {@link EventInstance} fails if the {@link EventDefinition} does not declare one of them.
+     */
+    public static String SCHEMA_EXTRACTION_KEY = "jarvis.event.matcher.schema_extraction";
+
     /**
      * The internal {@link Map} used to store the header and field values to match.
      */
     protected Map<HeaderValue, Map<FieldValue, String>> matchableEvents;
 
+    /**
+     * The decision tree compiled from the {@link #matchableEvents}.
+     * <p>
+     * The tree is compiled each time a new event is registered, and replaced atomically: {@link #match(Header[],
+     * JsonElement)} never observes a partially built tree.
+     *
+     * @see #compile()
+     */
+    private volatile Map<String, Map<String, CompiledHeaderValue>> compiledEvents = Collections.emptyMap();
+
     /**
      * The {@link EventInstanceBuilder} used to reify the received payloads into {@link EventInstance}s.
      */
@@ -48,6 +87,24 @@ public class JsonEventMatcher {
      */
     protected boolean printBuilder;
 
+    /**
+     * A flag telling whether to only extract the out context values declared by the matched {@link EventDefinition}.
+     *
+     * @see #SCHEMA_EXTRACTION_KEY
+     */
+    protected boolean schemaExtraction;
+
+    /**
+     * The {@link OutContextPathTrie}s compiled from the matched {@link EventDefinition}s, indexed by event name.
+     * <p>
+     * The tries of the registered events are compiled by {@link #addMatchableEvent(HeaderValue, FieldValue, String)}
+     * when their {@link EventDefinition} is available, and lazily compiled otherwise. The {@link Map} is replaced
+     * atomically when a trie is added: {@link #match(Header[], WebhookContent)} reads it without locking.
+     *
+     * @see #getPathTrie(String)
+     */
+    private volatile Map<String, OutContextPathTrie> pathTries = Collections.emptyMap();
+
     /**
      * Constructs a new {@link JsonEventMatcher} with the provided {@link EventInstanceBuilder}.
      *
@@ -63,6 +120,7 @@ public class JsonEventMatcher {
         this.matchableEvents = new HashMap<>();
         this.eventInstanceBuilder = eventInstanceBuilder;
         printBuilder = configuration.getBoolean(PRINT_BUILDER_CONTENT_KEY, false);
+        schemaExtraction = configuration.getBoolean(SCHEMA_EXTRACTION_KEY, true);
         if (printBuilder) {
             Log.info("{0} will print the builder content before building the matched {1}", this.getClass()
                     .getSimpleName(), EventInstance.class.getSimpleName());
@@ -130,22 +188,62 @@ public class JsonEventMatcher {
                 Log.info("Registering EventType {0} to the pair ({1}, {2})", eventTypeName, headerValue.toString
                         (), fieldValue.toString());
                 fields.put(fieldValue, eventTypeName);
+                compile();
             }
         } else {
             Log.info("Registering EventType {0} to the pair ({1}, {2})", eventTypeName, headerValue.toString
                     (), fieldValue.toString());
-            Map<FieldValue, String> fields = new HashMap<>();
+            Map<FieldValue, String> fields = new LinkedHashMap<>();
             fields.put(fieldValue, eventTypeName);
             matchableEvents.put(headerValue, fields);
+            compile();
         }
     }
 
+    /**
+     * Compiles the {@link #matchableEvents} into the decision tree used by {@link #match(Header[], JsonElement)}.
+     * <p>
+     * The header names of the tree are compared ignoring their case, as defined by the HTTP specification. The field
+     * values registered for a {@link HeaderValue} are grouped by field key, following their registration order.
+     */
+    private void compile() {
+        Map<String, Map<String, CompiledHeaderValue>> compiled = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<HeaderValue, Map<FieldValue, String>> headerEntry : matchableEvents.entrySet()) {
+            HeaderValue headerValue = headerEntry.getKey();
+            String emptyFieldEvent = null;
+            Map<String, Map<String, String>> fieldEvents = new LinkedHashMap<>();
+            for (Map.Entry<FieldValue, String> fieldEntry : headerEntry.getValue().entrySet()) {
+                FieldValue fieldValue = fieldEntry.getKey();
+                if (fieldValue.equals(FieldValue.EMPTY_FIELD_VALUE)) {
+                    emptyFieldEvent = fieldEntry.getValue();
+                } else {
+                    fieldEvents.computeIfAbsent(fieldValue.getKey(), k -> new HashMap<>()).put(fieldValue.getValue(),
+                            fieldEntry.getValue());
+                }
+            }
+            compiled.computeIfAbsent(headerValue.getKey(), k -> new HashMap<>()).put(headerValue.getValue(), new
+                    CompiledHeaderValue(emptyFieldEvent, fieldEvents));
+            if (schemaExtraction) {
+                for (String eventDefinitionName : headerEntry.getValue().values()) {
+                    getPathTrie(eventDefinitionName);
+                }
+            }
+        }
+        this.compiledEvents = compiled;
+    }
+
     /**
      * Matches the provided {@code headers} and {@code content} against the registered {@link EventInstance}s.
      * <p>
-     * This method first iterates the provided {@code headers} and look for each registered one if the provided
-     * {@code content} contains a registered field. If at least one {@code header} and one field of the {@code
-     * content} are matched the corresponding {@link EventInstance} is returned.
+     * This method looks for the first request header matching a registered {@link HeaderValue} (the header names are
+     * compared ignoring their case), and reads the discriminating field(s) registered for this header value from the
+     * provided {@code content}. If at least one {@code header} and one field of the {@code content} are matched the
+     * corresponding {@link EventInstance} is returned.
+     * <p>
+     * The returned {@link EventInstance} references the matched {@link RuntimeEvent}, that is directly dispatched by
+     * {@link edu.uoc.som.jarvis.core.ExecutionService#handleEventInstance(EventInstance,
+     * edu.uoc.som.jarvis.core.session.JarvisSession)} if the instance is not modified (see
+     * {@link RuntimeEvent#of(EventInstance)}).
      * <p>
      * <p>Note:</p> the current implementation only check top-level field from the provided {@code content}. (see #139)
      *
@@ -153,47 +251,199 @@ public class JsonEventMatcher {
      * @param content the {@link JsonElement} representing the content of the request
      * @return the matched {@link EventInstance} if it exists, {@code null} otherwise
      * @throws NullPointerException if the provided {@code headers} or {@code content} is {@code null}
+     * @see #matchEventDefinitionName(Header[], JsonElement)
      */
     public EventInstance match(Header[] headers, JsonElement content) {
+        String eventDefinitionName = matchEventDefinitionName(headers, content);
+        if (isNull(eventDefinitionName)) {
+            Log.warn("Cannot find an EventDefinition matching the provided headers and content");
+            /*
+             * We should probably provide some debug information here to help building the EventDefinition to match.
+             */
+            return null;
+        }
+        return createEventInstance(eventDefinitionName, content);
+    }
+
+    /**
+     * Matches the provided {@code headers} and {@code content} against the registered {@link EventInstance}s, and
+     * returns the matched event as a {@link RuntimeEvent}.
+     * <p>
+     * This method is equivalent to {@link #match(Header[], JsonElement)}, but does not create the EMF
+     * {@link EventInstance} representing the matched event.
+     *
+     * @param headers the array containing the {@link Header}s to match
+     * @param content the {@link JsonElement} representing the content of the request
+     * @return the matched {@link RuntimeEvent} if it exists, {@code null} otherwise
+     * @throws NullPointerException if the provided {@code headers} or {@code content} is {@code null}
+     * @see #match(Header[], JsonElement)
+     */
+    public RuntimeEvent matchRuntimeEvent(Header[] headers, JsonElement content) {
+        String eventDefinitionName = matchEventDefinitionName(headers, content);
+        if (isNull(eventDefinitionName)) {
+            Log.warn("Cannot find an EventDefinition matching the provided headers and content");
+            return null;
+        }
+        return createRuntimeEvent(eventDefinitionName, content);
+    }
+
+    /**
+     * Returns the name of the {@link EventDefinition} matching the provided {@code headers} and {@code content}.
+     * <p>
+     * This method does not create the {@link EventInstance}, see {@link #match(Header[], JsonElement)}.
+     *
+     * @param headers the array containing the {@link Header}s to match
+     * @param content the {@link JsonElement} representing the content of the request
+     * @return the name of the matched {@link EventDefinition} if it exists, {@code null} otherwise
+     * @throws NullPointerException if the provided {@code headers} or {@code content} is {@code null}
+     */
+    public String matchEventDefinitionName(Header[] headers, JsonElement content) {
+        checkNotNull(headers, "Cannot match the provided headers %s", headers);
+        checkNotNull(content, "Cannot match the provided content %s", content);
+        JsonObject jsonObject = content.isJsonObject() ? content.getAsJsonObject() : null;
+        return matchEventDefinitionName(headers, fieldKey -> {
+            if (isNull(jsonObject)) {
+                return null;
+            }
+            JsonElement jsonValue = jsonObject.get(fieldKey);
+            return nonNull(jsonValue) && jsonValue.isJsonPrimitive() ? jsonValue.getAsString() : null;
+        });
+    }
+
+    /**
+     * Matches the provided {@code headers} and {@code content} against the registered {@link EventInstance}s.
+     * <p>
+     * This method streams the raw request {@code content} instead of matching its {@link JsonElement}
+     * representation: the top-level discriminating fields are read in a first pass, and the out context values
+     * declared by the matched {@link EventDefinition} are extracted in a second pass (see
+     * {@link #SCHEMA_EXTRACTION_KEY}). The fields that are not declared are skipped without being materialized.
+     *
+     * @param headers the array containing the {@link Header}s to match
+     * @param content the {@link WebhookContent} containing the raw content of the request
+     * @return the matched {@link EventInstance} if it exists, {@code null} otherwise
+     * @throws NullPointerException if the provided {@code headers} or {@code content} is {@code null}
+     * @throws JarvisException      if the provided {@code content} is not a valid Json document
+     * @see #match(Header[], JsonElement)
+     * @see #matchRuntimeEvent(Header[], WebhookContent)
+     */
+    public EventInstance match(Header[] headers, WebhookContent content) {
+        RuntimeEvent runtimeEvent = matchRuntimeEvent(headers, content);
+        return isNull(runtimeEvent) ? null : runtimeEvent.toEventInstance();
+    }
+
+    /**
+     * Matches the provided {@code headers} and {@code content} against the registered {@link EventInstance}s, and
+     * returns the matched event as a {@link RuntimeEvent}.
+     * <p>
+     * This method is equivalent to {@link #match(Header[], WebhookContent)}, but does not create the EMF
+     * {@link EventInstance} representing the matched event.
+     *
+     * @param headers the array containing the {@link Header}s to match
+     * @param content the {@link WebhookContent} containing the raw content of the request
+     * @return the matched {@link RuntimeEvent} if it exists, {@code null} otherwise
+     * @throws NullPointerException if the provided {@code headers} or {@code content} is {@code null}
+     * @throws JarvisException      if the provided {@code content} is not a valid Json document
+     * @see #match(Header[], WebhookContent)
+     */
+    public RuntimeEvent matchRuntimeEvent(Header[] headers, WebhookContent content) {
         checkNotNull(headers, "Cannot match the provided headers %s", headers);
         checkNotNull(content, "Cannot match the provided content %s", content);
+        String eventDefinitionName;
+        try {
+            eventDefinitionName = matchEventDefinitionName(headers, content::getTopLevelFieldValue);
+        } catch (JsonParseException e) {
+            throw new JarvisException("Cannot read the provided content, see attached exception", e);
+        }
+        if (isNull(eventDefinitionName)) {
+            Log.warn("Cannot find an EventDefinition matching the provided headers and content");
+            return null;
+        }
+        OutContextPathTrie pathTrie = getPathTrie(eventDefinitionName);
+        if (isNull(pathTrie)) {
+            return createRuntimeEvent(eventDefinitionName, content.getJsonElement());
+        }
+        eventInstanceBuilder.clear();
+        eventInstanceBuilder.setEventDefinitionName(eventDefinitionName);
+        if (!pathTrie.isEmpty()) {
+            try (JsonReader reader = new JsonReader(content.openReader())) {
+                reader.setLenient(true);
+                pathTrie.extract(reader, eventInstanceBuilder);
+            } catch (IOException | JsonParseException e) {
+                throw new JarvisException("Cannot extract the out context values from the provided content", e);
+            }
+        }
+        if (printBuilder) {
+            Log.info("{0}", eventInstanceBuilder.prettyPrintEventDefinition());
+        }
+        return eventInstanceBuilder.buildRuntimeEvent();
+    }
+
+    /**
+     * Returns the name of the {@link EventDefinition} matching the provided {@code headers} and field values.
+     *
+     * @param headers     the array containing the {@link Header}s to match
+     * @param fieldReader the {@link Function} returning the value of a top-level field of the request content, or
+     *                    {@code null} if the content does not contain a primitive value for this field
+     * @return the name of the matched {@link EventDefinition} if it exists, {@code null} otherwise
+     */
+    private String matchEventDefinitionName(Header[] headers, Function<String, String> fieldReader) {
+        Map<String, Map<String, CompiledHeaderValue>> compiled = this.compiledEvents;
+        if (compiled.isEmpty()) {
+            return null;
+        }
         /*
          * Iterate first on the request headers that are typically shorter than its content.
          */
         for (int i = 0; i < headers.length; i++) {
-            HeaderValue headerValue = HeaderValue.of(headers[i].getName(), headers[i].getValue());
-            if (matchableEvents.containsKey(headerValue)) {
-                Map<FieldValue, String> fields = matchableEvents.get(headerValue);
-                /*
-                 * Iterate from the key set instead of the content: the key set usually contains less registered
-                 * fields than the document.
-                 */
-                for (FieldValue fieldValue : fields.keySet()) {
-                    if (fieldValue.equals(FieldValue.EMPTY_FIELD_VALUE)) {
-                        /*
-                         * Directly match the event associated to the EMPTY_FIELD_VALUE. The addMatchableEvent method
-                         * ensures that this FieldValue is unique.
-                         */
-                        return createEventInstance(fields.get(FieldValue.EMPTY_FIELD_VALUE), content);
-                    } else {
-                        JsonElement jsonValue = content.getAsJsonObject().get(fieldValue.getKey());
-                        /*
-                         * If jsonValue is not null the field corresponding to fieldValue.getKey() exists.
-                         */
-                        if (nonNull(jsonValue) && jsonValue.getAsString().equals(fieldValue.getValue())) {
-                            return createEventInstance(fields.get(fieldValue), content);
-                        }
-                    }
-                }
+            Map<String, CompiledHeaderValue> headerValues = compiled.get(headers[i].getName());
+            if (isNull(headerValues)) {
+                continue;
+            }
+            CompiledHeaderValue compiledHeaderValue = headerValues.get(headers[i].getValue());
+            if (isNull(compiledHeaderValue)) {
+                continue;
+            }
+            String eventDefinitionName = compiledHeaderValue.match(fieldReader);
+            if (nonNull(eventDefinitionName)) {
+                return eventDefinitionName;
             }
         }
-        Log.warn("Cannot find an EventDefinition matching the provided headers and content");
-        /*
-         * We should probably provide some debug information here to help building the EventDefinition to match.
-         */
         return null;
     }
 
+    /**
+     * Returns the {@link OutContextPathTrie} of the {@link EventDefinition} with the provided {@code
+     * eventDefinitionName}.
+     * <p>
+     * The trie is compiled if the {@link EventDefinition} was not registered when the event was added to the matcher,
+     * or if it has been replaced in the registry since then.
+     *
+     * @param eventDefinitionName the name of the {@link EventDefinition} to retrieve the {@link OutContextPathTrie}
+     *                            of
+     * @return the {@link OutContextPathTrie}, or {@code null} if the schema extraction is disabled or the
+     * {@link EventDefinition} does not exist
+     * @see #SCHEMA_EXTRACTION_KEY
+     */
+    private OutContextPathTrie getPathTrie(String eventDefinitionName) {
+        if (!schemaExtraction) {
+            return null;
+        }
+        EventDefinition eventDefinition = eventInstanceBuilder.getRegistry().getEventDefinition(eventDefinitionName);
+        if (isNull(eventDefinition)) {
+            return null;
+        }
+        OutContextPathTrie pathTrie = pathTries.get(eventDefinitionName);
+        if (isNull(pathTrie) || pathTrie.getEventDefinition() != eventDefinition) {
+            pathTrie = new OutContextPathTrie(eventDefinition);
+            synchronized (this) {
+                Map<String, OutContextPathTrie> updatedPathTries = new HashMap<>(pathTries);
+                updatedPathTries.put(eventDefinitionName, pathTrie);
+                pathTries = updatedPathTries;
+            }
+        }
+        return pathTrie;
+    }
+
     /**
      * Creates an {@link EventInstance} from the provided {@code eventDefinitionName} and {@code content}.
      * <p>
@@ -201,9 +451,10 @@ public class JsonEventMatcher {
      * eventDefinitionName} if it exists, and its out contexts are set with the fields of the provided {@code
      * content} {@link JsonElement}.
      * <p>
-     * Note that the built {@link EventInstance} contains all the fields containing literal values of the provided
+     * Note that the built {@link EventInstance} contains the fields containing literal values of the provided
      * {@code content}, formatted by the {@link #convertJsonObjectToOutContext(JsonObject, EventInstanceBuilder)}
-     * method.
+     * method. If the schema extraction is enabled (see {@link #SCHEMA_EXTRACTION_KEY}) only the fields declared as
+     * out context parameters by the {@link EventDefinition} are set.
      *
      * @param eventDefinitionName the name of the {@link edu.uoc.som.jarvis.intent.EventDefinition} to create an
      *                            {@link EventInstance} from
@@ -212,19 +463,43 @@ public class JsonEventMatcher {
      * content} out context values.
      * @throws NullPointerException if the provided {@code eventDefinitionName} or {@code content} is {@code null}
      * @see #convertJsonObjectToOutContext(JsonObject, EventInstanceBuilder)
+     * @see #createRuntimeEvent(String, JsonElement)
      */
     protected EventInstance createEventInstance(String eventDefinitionName, JsonElement content) {
-        checkNotNull(eventDefinitionName, "Cannot create an %s from the provided %s name %s", EventInstance.class
+        return createRuntimeEvent(eventDefinitionName, content).toEventInstance();
+    }
+
+    /**
+     * Creates a {@link RuntimeEvent} from the provided {@code eventDefinitionName} and {@code content}.
+     * <p>
+     * The out context values of the created {@link RuntimeEvent} are set as described in
+     * {@link #createEventInstance(String, JsonElement)}.
+     *
+     * @param eventDefinitionName the name of the {@link edu.uoc.som.jarvis.intent.EventDefinition} to create a
+     *                            {@link RuntimeEvent} from
+     * @param content             the {@link JsonElement} to set as the created {@link RuntimeEvent} out context
+     * @return a {@link RuntimeEvent} matching the provided {@code eventDefinitionName} and containing the {@code
+     * content} out context values.
+     * @throws NullPointerException if the provided {@code eventDefinitionName} or {@code content} is {@code null}
+     * @see #createEventInstance(String, JsonElement)
+     */
+    protected RuntimeEvent createRuntimeEvent(String eventDefinitionName, JsonElement content) {
+        checkNotNull(eventDefinitionName, "Cannot create a %s from the provided %s name %s", RuntimeEvent.class
                 .getSimpleName(), EventDefinition.class.getSimpleName(), eventDefinitionName);
-        checkNotNull(content, "Cannot create an %s from the provided %s content %s", EventInstance.class
+        checkNotNull(content, "Cannot create a %s from the provided %s content %s", RuntimeEvent.class
                 .getSimpleName(), JsonElement.class.getSimpleName(), content);
         eventInstanceBuilder.clear();
         eventInstanceBuilder.setEventDefinitionName(eventDefinitionName);
-        convertJsonObjectToOutContext(content.getAsJsonObject(), eventInstanceBuilder);
+        OutContextPathTrie pathTrie = getPathTrie(eventDefinitionName);
+        if (nonNull(pathTrie)) {
+            pathTrie.extract(content.getAsJsonObject(), eventInstanceBuilder);
+        } else {
+            convertJsonObjectToOutContext(content.getAsJsonObject(), eventInstanceBuilder);
+        }
         if (printBuilder) {
             Log.info("{0}", eventInstanceBuilder.prettyPrintEventDefinition());
         }
-        return eventInstanceBuilder.build();
+        return eventInstanceBuilder.buildRuntimeEvent();
     }
 
     /**
@@ -307,6 +582,72 @@ public class JsonEventMatcher {
         }
     }
 
+    /**
+     * The compiled events associated to a {@link HeaderValue}.
+     * <p>
+     * This class switches on the values of the discriminating fields registered for a {@link HeaderValue}, or
+     * directly returns the event associated to the {@link FieldValue#EMPTY_FIELD_VALUE}.
+     *
+     * @see #compile()
+     */
+    private static final class CompiledHeaderValue {
+
+        /**
+         * The event associated to the {@link FieldValue#EMPTY_FIELD_VALUE}, or {@code null} if the
+         * {@link HeaderValue} is associated to specialized {@link FieldValue}s.
+         */
+        private final String emptyFieldEvent;
+
+        /**
+         * The keys of the discriminating fields, in registration order.
+         */
+        private final String[] fieldKeys;
+
+        /**
+         * The events associated to the values of each discriminating field, indexed as the {@link #fieldKeys}.
+         */
+        private final List<Map<String, String>> fieldEvents;
+
+        /**
+         * Constructs a new {@link CompiledHeaderValue} from the provided {@code emptyFieldEvent} and {@code
+         * fieldEvents}.
+         *
+         * @param emptyFieldEvent the event associated to the {@link FieldValue#EMPTY_FIELD_VALUE}, or {@code null}
+         * @param fieldEvents     the events associated to each discriminating field key and value
+         */
+        private CompiledHeaderValue(String emptyFieldEvent, Map<String, Map<String, String>> fieldEvents) {
+            this.emptyFieldEvent = emptyFieldEvent;
+            this.fieldKeys = fieldEvents.keySet().toArray(new String[fieldEvents.size()]);
+            this.fieldEvents = new ArrayList<>(fieldEvents.values());
+        }
+
+        /**
+         * Returns the event matching the field values returned by the provided {@code fieldReader}.
+         *
+         * @param fieldReader the {@link Function} returning the value of a top-level field of the request content
+         * @return the matched event if it exists, {@code null} otherwise
+         */
+        private String match(Function<String, String> fieldReader) {
+            if (nonNull(emptyFieldEvent)) {
+                /*
+                 * The addMatchableEvent method ensures that the EMPTY_FIELD_VALUE is not registered along with
+                 * specialized FieldValues.
+                 */
+                return emptyFieldEvent;
+            }
+            for (int i = 0; i < fieldKeys.length; i++) {
+                String fieldValue = fieldReader.apply(fieldKeys[i]);
+                if (nonNull(fieldValue)) {
+                    String eventDefinitionName = fieldEvents.get(i).get(fieldValue);
+                    if (nonNull(eventDefinitionName)) {
+                        return eventDefinitionName;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
     /**
      * A pair representing a {@link Header} value to match.
      *
@@ -377,7 +718,8 @@ public class JsonEventMatcher {
         /**
          * Checks if the provided {@code obj} is equal to this {@link HeaderValue}.
          * <p>
-         * Two {@link HeaderValue}s are equal if their {@code keys} and {@code values} are respectively equal.
+         * Two {@link HeaderValue}s are equal if their {@code keys} are equal ignoring their case, and their {@code
+         * values} are equal. Header names are case-insensitive in HTTP requests.
          *
          * @param obj the {@link Object} to check
          * @return {@code true} if the provided {@code obj} is equal to this {@link HeaderValue}, {@code false}
@@ -388,22 +730,22 @@ public class JsonEventMatcher {
             if (isNull(obj) || !(obj instanceof HeaderValue)) {
                 return false;
             } else {
-                return key.equals(((HeaderValue) obj).key) && value.equals(((HeaderValue) obj).value);
+                return key.equalsIgnoreCase(((HeaderValue) obj).key) && value.equals(((HeaderValue) obj).value);
             }
         }
 
         /**
          * Computes the hash code associated to this {@link HeaderValue}.
          * <p>
-         * {@link HeaderValue}'s hash code is computed by summing the hash codes of its key and value ({@code key
-         * .hashCode() + value.hashCode()}.
+         * {@link HeaderValue}'s hash code is computed by summing the hash codes of its lower case key and value
+         * ({@code key.toLowerCase().hashCode() + value.hashCode()}.
          *
          * @return the hash code associated to this {@link HeaderValue}
          * @see String#hashCode()
          */
         @Override
         public int hashCode() {
-            return key.hashCode() + value.hashCode();
+            return key.toLowerCase(Locale.ROOT).hashCode() + value.hashCode();
         }
 
         /**
@@ -2,6 +2,7 @@ package edu.uoc.som.jarvis.core.platform.io;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.stream.JsonReader;
 import edu.uoc.som.jarvis.core.JarvisException;
@@ -91,6 +92,12 @@ public abstract class JsonWebhookEventProvider<T extends RuntimePlatform> extend
     @Override
     protected final JsonElement parseContent(Object content) {
         checkNotNull(content, "Cannot parse the provided content %s", content);
+        if (content instanceof WebhookContent) {
+            return parseContent((WebhookContent) content);
+        }
+        if (content instanceof JsonElement) {
+            return (JsonElement) content;
+        }
         if (content instanceof String) {
             return jsonParser.parse((String) content);
         }
@@ -101,8 +108,52 @@ public abstract class JsonWebhookEventProvider<T extends RuntimePlatform> extend
             return jsonParser.parse((JsonReader) content);
         }
         throw new JarvisException(MessageFormat.format("Cannot parse the provided content {0}, expected a {1}, {2}, " +
-                "or {3}, found {4}", content, String.class.getName(), Reader.class.getName(), JsonReader.class
-                .getName(), content.getClass().getName()));
+                "{3}, {4}, or {5}, found {6}", content, WebhookContent.class.getName(), JsonElement.class.getName(),
+                String.class.getName(), Reader.class.getName(), JsonReader.class.getName(), content.getClass()
+                .getName()));
+    }
+
+    /**
+     * Returns the {@link JsonElement} representation of the provided {@link WebhookContent}.
+     * <p>
+     * The returned {@link JsonElement} is parsed once per request and shared by all the
+     * {@link JsonWebhookEventProvider}s handling it. Subclasses must not modify it in {@link #handleParsedContent(JsonElement, Header[])}.
+     *
+     * @param content the {@link WebhookContent} to parse
+     * @return the {@link JsonElement} representation of the provided {@code content}
+     * @throws JarvisException if the provided {@code content} is not a valid Json document
+     * @see WebhookContent#getJsonElement()
+     */
+    @Override
+    protected final JsonElement parseContent(WebhookContent content) {
+        checkNotNull(content, "Cannot parse the provided content %s", content);
+        try {
+            return content.getJsonElement();
+        } catch (JsonParseException e) {
+            throw new JarvisException("Cannot parse the provided content, see attached exception", e);
+        }
+    }
+
+    /**
+     * Returns the value of the deduplication field with the provided {@code path} in the {@link WebhookContent}.
+     * <p>
+     * The field is read with {@link WebhookContent#getFieldValue(String[])}: top-level fields are retrieved from the
+     * streamed fields shared with the {@link JsonEventMatcher}, and the content is not parsed into a
+     * {@link JsonElement} unless its representation has already been computed.
+     *
+     * @param content the {@link WebhookContent} to read the field from
+     * @param path    the path of the Json field to retrieve the value of
+     * @return the value of the field, or {@code null} if the content does not contain a primitive value at the
+     * provided {@code path}
+     * @throws JarvisException if the provided {@code content} is not a valid Json document
+     */
+    @Override
+    protected String readDeduplicationField(WebhookContent content, String[] path) {
+        try {
+            return content.getFieldValue(path);
+        } catch (JsonParseException e) {
+            throw new JarvisException("Cannot read the provided content, see attached exception", e);
+        }
     }
 
     /**
@@ -0,0 +1,364 @@
+package edu.uoc.som.jarvis.core.platform.io;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import edu.uoc.som.jarvis.intent.Context;
+import edu.uoc.som.jarvis.intent.ContextParameter;
+import edu.uoc.som.jarvis.intent.EventDefinition;
+import fr.inria.atlanmod.commons.log.Log;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A trie of the Json paths declared as out context parameters by an {@link EventDefinition}.
+ * <p>
+ * Out context parameter names follow the naming convention of
+ * {@link JsonEventMatcher#convertJsonObjectToOutContext(JsonObject, EventInstanceBuilder)}: lower case field names
+ * separated by {@code "->"} (e.g. {@code "issue->user->login"}). This class compiles these names into a trie that
+ * is used to extract only the declared values from a Json document, either by following the declared paths in a
+ * {@link JsonElement}, or by streaming the document with a {@link JsonReader} and skipping the undeclared fields
+ * without materializing them.
+ * <p>
+ * Json arrays are accessed with the following path patterns (see {@link EventInstanceBuilder#arrayElementKey(String,
+ * int)} and {@link EventInstanceBuilder#arrayLengthKey(String)}):
+ * <ul>
+ * <li>{@code "commits[0]->message"} accesses the {@code message} field of the first element of the {@code commits}
+ * array</li>
+ * <li>{@code "commits->length"} is set with the number of elements of the {@code commits} array</li>
+ * <li>{@code "commits"} is set with the Json representation of the {@code commits} array</li>
+ * </ul>
+ * Arrays are only read if a declared path references them, and only the referenced elements are visited.
+ * <p>
+ * Json field names are compared to the declared paths ignoring their case.
+ */
+final class OutContextPathTrie {
+
+    /**
+     * The separator of the Json field names in the out context parameter names.
+     */
+    static final String PATH_SEPARATOR = "->";
+
+    /**
+     * The path segment representing the length of a Json array.
+     */
+    static final String LENGTH_SEGMENT = "length";
+
+    /**
+     * The pattern of the array index accessors of a path segment (e.g. {@code "[0]"}).
+     */
+    private static final Pattern INDEX_PATTERN = Pattern.compile("\\[(\\d+)]");
+
+    /**
+     * The root {@link Node} of the trie.
+     */
+    private final Node root = new Node();
+
+    /**
+     * The {@link EventDefinition} the trie has been compiled from.
+     */
+    private final EventDefinition eventDefinition;
+
+    /**
+     * Constructs a new {@link OutContextPathTrie} from the out context parameters of the provided {@code
+     * eventDefinition}.
+     *
+     * @param eventDefinition the {@link EventDefinition} to compile the out context parameters of
+     * @throws NullPointerException if the provided {@code eventDefinition} is {@code null}
+     */
+    OutContextPathTrie(EventDefinition eventDefinition) {
+        checkNotNull(eventDefinition, "Cannot compile the out context paths of the provided %s %s",
+                EventDefinition.class.getSimpleName(), eventDefinition);
+        this.eventDefinition = eventDefinition;
+        for (Context outContext : eventDefinition.getOutContexts()) {
+            for (ContextParameter parameter : outContext.getParameters()) {
+                String parameterName = parameter.getName();
+                if (isNull(parameterName) || !parameterName.equals(parameterName.toLowerCase(Locale.ROOT))) {
+                    /*
+                     * Json field names are lower cased when converted to out context keys, parameters containing
+                     * upper case characters cannot be matched.
+                     */
+                    continue;
+                }
+                Node node = addPath(parameterName);
+                if (nonNull(node)) {
+                    node.parameterName = parameterName;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link EventDefinition} the trie has been compiled from.
+     *
+     * @return the {@link EventDefinition} the trie has been compiled from
+     */
+    EventDefinition getEventDefinition() {
+        return eventDefinition;
+    }
+
+    /**
+     * Adds the nodes representing the provided {@code path} to the trie.
+     *
+     * @param path the path to add
+     * @return the {@link Node} representing the end of the path, or {@code null} if the path contains a malformed
+     * array index
+     */
+    private Node addPath(String path) {
+        Node node = root;
+        for (String segment : path.split(PATH_SEPARATOR, -1)) {
+            int indexStart = segment.indexOf('[');
+            String fieldName = indexStart < 0 ? segment : segment.substring(0, indexStart);
+            node = node.children.computeIfAbsent(fieldName, k -> new Node());
+            if (indexStart >= 0) {
+                Matcher matcher = INDEX_PATTERN.matcher(segment);
+                int position = indexStart;
+                while (position < segment.length()) {
+                    if (!matcher.find(position) || matcher.start() != position) {
+                        Log.warn("Cannot compile the out context parameter {0}, malformed array index in {1}", path,
+                                segment);
+                        return null;
+                    }
+                    node = node.elements.computeIfAbsent(Integer.parseInt(matcher.group(1)), k -> new Node());
+                    position = matcher.end();
+                }
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Returns whether the trie does not contain any path.
+     *
+     * @return {@code true} if the trie does not contain any path, {@code false} otherwise
+     */
+    boolean isEmpty() {
+        return root.children.isEmpty();
+    }
+
+    /**
+     * Sets the out context values declared in the trie from the provided {@code jsonObject}.
+     * <p>
+     * This method only visits the fields of the {@code jsonObject} that are prefixes of a declared path.
+     *
+     * @param jsonObject the {@link JsonObject} to extract the values from
+     * @param builder    the {@link EventInstanceBuilder} used to set the out context values
+     */
+    void extract(JsonObject jsonObject, EventInstanceBuilder builder) {
+        extractObject(root, jsonObject, builder);
+    }
+
+    /**
+     * Sets the out context values declared below the provided {@code node} from the provided {@code jsonObject}.
+     *
+     * @param node       the trie {@link Node} representing the {@code jsonObject}
+     * @param jsonObject the {@link JsonObject} to extract the values from
+     * @param builder    the {@link EventInstanceBuilder} used to set the out context values
+     */
+    private static void extractObject(Node node, JsonObject jsonObject, EventInstanceBuilder builder) {
+        for (Map.Entry<String, JsonElement> field : jsonObject.entrySet()) {
+            Node child = node.children.get(field.getKey());
+            if (nonNull(child)) {
+                extractValue(child, field.getValue(), builder);
+            }
+        }
+    }
+
+    /**
+     * Sets the out context values declared below the provided {@code node} from the provided {@code jsonArray}.
+     *
+     * @param node      the trie {@link Node} representing the {@code jsonArray}
+     * @param jsonArray the {@link JsonArray} to extract the values from
+     * @param builder   the {@link EventInstanceBuilder} used to set the out context values
+     */
+    private static void extractArray(Node node, JsonArray jsonArray, EventInstanceBuilder builder) {
+        if (nonNull(node.parameterName)) {
+            builder.setOutContextValue(node.parameterName, jsonArray.toString());
+        }
+        setLength(node, jsonArray.size(), builder);
+        for (Map.Entry<Integer, Node> element : node.elements.entrySet()) {
+            if (element.getKey() < jsonArray.size()) {
+                extractValue(element.getValue(), jsonArray.get(element.getKey()), builder);
+            }
+        }
+    }
+
+    /**
+     * Sets the out context values declared below the provided {@code node} from the provided {@code value}.
+     *
+     * @param node    the trie {@link Node} representing the {@code value}
+     * @param value   the {@link JsonElement} to extract the values from
+     * @param builder the {@link EventInstanceBuilder} used to set the out context values
+     */
+    private static void extractValue(Node node, JsonElement value, EventInstanceBuilder builder) {
+        if (value.isJsonObject()) {
+            extractObject(node, value.getAsJsonObject(), builder);
+        } else if (value.isJsonArray()) {
+            if (node.referencesArray()) {
+                extractArray(node, value.getAsJsonArray(), builder);
+            }
+        } else if (nonNull(node.parameterName)) {
+            if (value.isJsonPrimitive()) {
+                builder.setOutContextValue(node.parameterName, value.getAsString());
+            } else if (value.isJsonNull()) {
+                builder.setOutContextValue(node.parameterName, "");
+            }
+        }
+    }
+
+    /**
+     * Sets the out context values declared in the trie from the Json document read by the provided {@code reader}.
+     * <p>
+     * The undeclared fields are skipped by the {@code reader} without being materialized. This method consumes the
+     * top-level value of the document.
+     *
+     * @param reader  the {@link JsonReader} to read the document from
+     * @param builder the {@link EventInstanceBuilder} used to set the out context values
+     * @throws IOException if an error occurred when reading the document
+     */
+    void extract(JsonReader reader, EventInstanceBuilder builder) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            Log.warn("Cannot extract the out context values from a {0} Json document", reader.peek());
+            reader.skipValue();
+            return;
+        }
+        extractValue(root, reader, builder);
+    }
+
+    /**
+     * Sets the out context values declared below the provided {@code node} from the Json value read by the provided
+     * {@code reader}.
+     *
+     * @param node    the trie {@link Node} representing the value to read
+     * @param reader  the {@link JsonReader} positioned at the beginning of the value to read
+     * @param builder the {@link EventInstanceBuilder} used to set the out context values
+     * @throws IOException if an error occurred when reading the document
+     */
+    private static void extractValue(Node node, JsonReader reader, EventInstanceBuilder builder) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                if (node.children.isEmpty()) {
+                    reader.skipValue();
+                    break;
+                }
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    Node child = node.children.get(reader.nextName());
+                    if (isNull(child)) {
+                        reader.skipValue();
+                    } else {
+                        extractValue(child, reader, builder);
+                    }
+                }
+                reader.endObject();
+                break;
+            case BEGIN_ARRAY:
+                if (!node.referencesArray()) {
+                    reader.skipValue();
+                } else if (nonNull(node.parameterName)) {
+                    /*
+                     * The whole array is referenced: materialize it to compute its Json representation.
+                     */
+                    extractArray(node, new JsonParser().parse(reader).getAsJsonArray(), builder);
+                } else {
+                    reader.beginArray();
+                    int index = 0;
+                    while (reader.hasNext()) {
+                        Node element = node.elements.get(index);
+                        if (isNull(element)) {
+                            reader.skipValue();
+                        } else {
+                            extractValue(element, reader, builder);
+                        }
+                        index++;
+                    }
+                    reader.endArray();
+                    setLength(node, index, builder);
+                }
+                break;
+            case NULL:
+                reader.nextNull();
+                if (nonNull(node.parameterName)) {
+                    builder.setOutContextValue(node.parameterName, "");
+                }
+                break;
+            case BOOLEAN:
+                boolean booleanValue = reader.nextBoolean();
+                if (nonNull(node.parameterName)) {
+                    builder.setOutContextValue(node.parameterName, Boolean.toString(booleanValue));
+                }
+                break;
+            default:
+                /*
+                 * Strings and numbers: JsonReader returns the literal value of numbers, as JsonPrimitive does.
+                 */
+                String value = reader.nextString();
+                if (nonNull(node.parameterName)) {
+                    builder.setOutContextValue(node.parameterName, value);
+                }
+        }
+    }
+
+    /**
+     * Sets the length out context value declared below the provided array {@code node}, if any.
+     *
+     * @param node    the trie {@link Node} representing the array
+     * @param length  the length of the array
+     * @param builder the {@link EventInstanceBuilder} used to set the out context value
+     */
+    private static void setLength(Node node, int length, EventInstanceBuilder builder) {
+        Node lengthNode = node.children.get(LENGTH_SEGMENT);
+        if (nonNull(lengthNode) && nonNull(lengthNode.parameterName)) {
+            builder.setOutContextValue(lengthNode.parameterName, Integer.toString(length));
+        }
+    }
+
+    /**
+     * A node of the {@link OutContextPathTrie}, representing a Json field name or an array element.
+     */
+    private static final class Node {
+
+        /**
+         * The child nodes, indexed by their field name (ignoring its case).
+         */
+        private final Map<String, Node> children = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        /**
+         * The array element nodes, indexed by their position in the array.
+         */
+        private final Map<Integer, Node> elements = new HashMap<>();
+
+        /**
+         * The name of the out context parameter declared for the path ending at this node, or {@code null} if the
+         * path is only a prefix of declared paths.
+         */
+        private String parameterName;
+
+        /**
+         * Returns whether a declared path references the array represented by this node.
+         *
+         * @return {@code true} if the array itself, its length, or one of its elements is referenced, {@code false}
+         * otherwise
+         */
+        private boolean referencesArray() {
+            if (nonNull(parameterName) || !elements.isEmpty()) {
+                return true;
+            }
+            Node lengthNode = children.get(LENGTH_SEGMENT);
+            return nonNull(lengthNode) && nonNull(lengthNode.parameterName);
+        }
+    }
+}
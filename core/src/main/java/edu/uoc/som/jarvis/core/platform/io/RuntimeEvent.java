@@ -0,0 +1,328 @@
+package edu.uoc.som.jarvis.core.platform.io;
+
+import edu.uoc.som.jarvis.intent.Context;
+import edu.uoc.som.jarvis.intent.ContextInstance;
+import edu.uoc.som.jarvis.intent.ContextParameter;
+import edu.uoc.som.jarvis.intent.ContextParameterValue;
+import edu.uoc.som.jarvis.intent.EventDefinition;
+import edu.uoc.som.jarvis.intent.EventInstance;
+import edu.uoc.som.jarvis.intent.IntentFactory;
+import edu.uoc.som.jarvis.intent.RecognizedIntent;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import java.util.List;
+import java.util.Objects;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An immutable representation of an event handled by the {@link edu.uoc.som.jarvis.core.ExecutionService}.
+ * <p>
+ * This class is a compact alternative to {@link EventInstance} used on the runtime path: it stores the output
+ * context values of the event in flat arrays referencing the {@link Context}s and {@link ContextParameter}s of its
+ * {@link EventDefinition}, and does not create any {@link ContextInstance} or {@link ContextParameterValue}. The
+ * equivalent {@link EventInstance} can be created on demand with {@link #toEventInstance()}, e.g. for tooling
+ * purposes. {@link EventInstance}s created by {@link #toEventInstance()} keep a reference to their source
+ * {@link RuntimeEvent}, that is returned by {@link #of(EventInstance)} as long as the {@link EventInstance} has
+ * not been modified.
+ *
+ * @see EventInstanceBuilder#buildRuntimeEvent()
+ * @see edu.uoc.som.jarvis.core.ExecutionService#handleRuntimeEvent(RuntimeEvent,
+ * edu.uoc.som.jarvis.core.session.JarvisSession)
+ */
+public final class RuntimeEvent {
+
+    /**
+     * Returns the {@link RuntimeEvent} representing the provided {@code eventInstance}.
+     * <p>
+     * This method returns the source {@link RuntimeEvent} of the provided {@code eventInstance} if it has been
+     * created with {@link #toEventInstance()} and has not been modified since then, and creates a new
+     * {@link RuntimeEvent} otherwise.
+     *
+     * @param eventInstance the {@link EventInstance} to create a {@link RuntimeEvent} from
+     * @return the {@link RuntimeEvent} representing the provided {@code eventInstance}
+     * @throws NullPointerException if the provided {@code eventInstance} or its definition is {@code null}
+     */
+    public static RuntimeEvent of(EventInstance eventInstance) {
+        checkNotNull(eventInstance, "Cannot create a %s from the provided %s %s", RuntimeEvent.class.getSimpleName(),
+                EventInstance.class.getSimpleName(), eventInstance);
+        SourceAdapter sourceAdapter = (SourceAdapter) EcoreUtil.getExistingAdapter(eventInstance, RuntimeEvent.class);
+        if (nonNull(sourceAdapter) && sourceAdapter.source.represents(eventInstance)) {
+            return sourceAdapter.source;
+        }
+        int valueCount = 0;
+        for (ContextInstance contextInstance : eventInstance.getOutContextInstances()) {
+            valueCount += contextInstance.getValues().size();
+        }
+        Context[] contexts = new Context[valueCount];
+        int[] lifespanCounts = new int[valueCount];
+        ContextParameter[] parameters = new ContextParameter[valueCount];
+        String[] values = new String[valueCount];
+        int index = 0;
+        for (ContextInstance contextInstance : eventInstance.getOutContextInstances()) {
+            for (ContextParameterValue value : contextInstance.getValues()) {
+                contexts[index] = contextInstance.getDefinition();
+                lifespanCounts[index] = contextInstance.getLifespanCount();
+                parameters[index] = value.getContextParameter();
+                values[index] = value.getValue();
+                index++;
+            }
+        }
+        return new RuntimeEvent(eventInstance.getDefinition(), eventInstance instanceof RecognizedIntent, contexts,
+                lifespanCounts, parameters, values);
+    }
+
+    /**
+     * The {@link EventDefinition} of the event.
+     */
+    private final EventDefinition definition;
+
+    /**
+     * A flag telling whether the event is a recognized intent.
+     */
+    private final boolean recognizedIntent;
+
+    /**
+     * The {@link Context}s of the output context values, indexed by value.
+     */
+    private final Context[] contexts;
+
+    /**
+     * The lifespan counts of the output context values, indexed by value.
+     */
+    private final int[] lifespanCounts;
+
+    /**
+     * The {@link ContextParameter}s of the output context values, indexed by value.
+     */
+    private final ContextParameter[] parameters;
+
+    /**
+     * The output context values.
+     */
+    private final String[] values;
+
+    /**
+     * Constructs a new {@link RuntimeEvent} with the provided parameters.
+     * <p>
+     * The provided arrays are not copied, and must not be modified by the caller. {@link RuntimeEventProvider}s
+     * should use an {@link EventInstanceBuilder} to create their events (see
+     * {@link EventInstanceBuilder#buildRuntimeEvent()}).
+     *
+     * @param definition       the {@link EventDefinition} of the event
+     * @param recognizedIntent whether the event is a recognized intent
+     * @param contexts         the {@link Context}s of the output context values
+     * @param lifespanCounts   the lifespan counts of the output context values
+     * @param parameters       the {@link ContextParameter}s of the output context values
+     * @param values           the output context values
+     * @throws NullPointerException     if the provided {@code definition} is {@code null}
+     * @throws IllegalArgumentException if the provided arrays do not have the same length
+     */
+    public RuntimeEvent(EventDefinition definition, boolean recognizedIntent, Context[] contexts, int[] lifespanCounts,
+                 ContextParameter[] parameters, String[] values) {
+        checkNotNull(definition, "Cannot construct a %s with the provided %s %s", RuntimeEvent.class.getSimpleName(),
+                EventDefinition.class.getSimpleName(), definition);
+        checkArgument(contexts.length == lifespanCounts.length && contexts.length == parameters.length && contexts
+                .length == values.length, "Cannot construct a %s with output context arrays of different lengths",
+                RuntimeEvent.class.getSimpleName());
+        this.definition = definition;
+        this.recognizedIntent = recognizedIntent;
+        this.contexts = contexts;
+        this.lifespanCounts = lifespanCounts;
+        this.parameters = parameters;
+        this.values = values;
+    }
+
+    /**
+     * Returns the {@link EventDefinition} of the event.
+     *
+     * @return the {@link EventDefinition} of the event
+     */
+    public EventDefinition getDefinition() {
+        return definition;
+    }
+
+    /**
+     * Returns whether the event is a recognized intent.
+     *
+     * @return {@code true} if the event is a recognized intent, {@code false} otherwise
+     */
+    public boolean isRecognizedIntent() {
+        return recognizedIntent;
+    }
+
+    /**
+     * Returns the number of output context values of the event.
+     *
+     * @return the number of output context values of the event
+     */
+    public int getValueCount() {
+        return values.length;
+    }
+
+    /**
+     * Returns the {@link Context} of the output context value at the provided {@code index}.
+     *
+     * @param index the index of the output context value
+     * @return the {@link Context} of the output context value
+     * @throws ArrayIndexOutOfBoundsException if the provided {@code index} is not in {@code [0, getValueCount())}
+     */
+    public Context getContext(int index) {
+        return contexts[index];
+    }
+
+    /**
+     * Returns the lifespan count of the output context value at the provided {@code index}.
+     *
+     * @param index the index of the output context value
+     * @return the lifespan count of the output context value
+     * @throws ArrayIndexOutOfBoundsException if the provided {@code index} is not in {@code [0, getValueCount())}
+     */
+    public int getLifespanCount(int index) {
+        return lifespanCounts[index];
+    }
+
+    /**
+     * Returns the {@link ContextParameter} of the output context value at the provided {@code index}.
+     *
+     * @param index the index of the output context value
+     * @return the {@link ContextParameter} of the output context value
+     * @throws ArrayIndexOutOfBoundsException if the provided {@code index} is not in {@code [0, getValueCount())}
+     */
+    public ContextParameter getContextParameter(int index) {
+        return parameters[index];
+    }
+
+    /**
+     * Returns the output context value at the provided {@code index}.
+     *
+     * @param index the index of the output context value
+     * @return the output context value
+     * @throws ArrayIndexOutOfBoundsException if the provided {@code index} is not in {@code [0, getValueCount())}
+     */
+    public String getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns the output context value of the parameter with the provided {@code parameterName}.
+     *
+     * @param parameterName the name of the output context parameter
+     * @return the output context value if it exists, {@code null} otherwise
+     */
+    public String getValue(String parameterName) {
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].getName().equals(parameterName)) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates the {@link EventInstance} representing this event.
+     * <p>
+     * This method creates a new {@link EventInstance} each time it is called: the returned instance is not shared,
+     * and can be modified by the caller. The returned instance references this {@link RuntimeEvent}, allowing
+     * {@link #of(EventInstance)} to return it without converting the {@link EventInstance} back.
+     *
+     * @return the created {@link EventInstance}
+     */
+    public EventInstance toEventInstance() {
+        EventInstance eventInstance = recognizedIntent ? IntentFactory.eINSTANCE.createRecognizedIntent() :
+                IntentFactory.eINSTANCE.createEventInstance();
+        eventInstance.setDefinition(definition);
+        for (int i = 0; i < values.length; i++) {
+            ContextInstance contextInstance = eventInstance.getOutContextInstance(contexts[i].getName());
+            if (isNull(contextInstance)) {
+                contextInstance = IntentFactory.eINSTANCE.createContextInstance();
+                contextInstance.setDefinition(contexts[i]);
+                contextInstance.setLifespanCount(lifespanCounts[i]);
+                eventInstance.getOutContextInstances().add(contextInstance);
+            }
+            ContextParameterValue contextParameterValue = IntentFactory.eINSTANCE.createContextParameterValue();
+            contextParameterValue.setContextParameter(parameters[i]);
+            contextParameterValue.setValue(values[i]);
+            contextInstance.getValues().add(contextParameterValue);
+        }
+        eventInstance.eAdapters().add(new SourceAdapter(this));
+        return eventInstance;
+    }
+
+    /**
+     * Returns whether this {@link RuntimeEvent} represents the provided {@code eventInstance}.
+     * <p>
+     * This method compares the output context values of each {@link ContextInstance} of the provided {@code
+     * eventInstance} with the values of this event defined for the same {@link Context}, in the order they are
+     * created by {@link #toEventInstance()}. It does not allocate any object.
+     *
+     * @param eventInstance the {@link EventInstance} to compare
+     * @return {@code true} if this {@link RuntimeEvent} represents the provided {@code eventInstance}, {@code false}
+     * otherwise
+     */
+    private boolean represents(EventInstance eventInstance) {
+        if (eventInstance.getDefinition() != definition || eventInstance instanceof RecognizedIntent !=
+                recognizedIntent) {
+            return false;
+        }
+        List<ContextInstance> contextInstances = eventInstance.getOutContextInstances();
+        int matchedCount = 0;
+        for (int i = 0; i < contextInstances.size(); i++) {
+            ContextInstance contextInstance = contextInstances.get(i);
+            Context context = contextInstance.getDefinition();
+            List<ContextParameterValue> contextValues = contextInstance.getValues();
+            int index = -1;
+            for (int j = 0; j < contextValues.size(); j++) {
+                ContextParameterValue value = contextValues.get(j);
+                do {
+                    index++;
+                } while (index < values.length && contexts[index] != context);
+                if (index == values.length || lifespanCounts[index] != contextInstance.getLifespanCount() || value
+                        .getContextParameter() != parameters[index] || !Objects.equals(value.getValue(),
+                        values[index])) {
+                    return false;
+                }
+                matchedCount++;
+            }
+            while (++index < values.length) {
+                if (contexts[index] == context) {
+                    return false;
+                }
+            }
+        }
+        return matchedCount == values.length;
+    }
+
+    /**
+     * An adapter attaching the source {@link RuntimeEvent} of an {@link EventInstance} created with
+     * {@link #toEventInstance()}.
+     * <p>
+     * The adapter is not notified of the modifications of the contained {@link ContextInstance}s: the
+     * {@link EventInstance} is compared with its source before reusing it (see {@link #represents(EventInstance)}).
+     */
+    private static class SourceAdapter extends AdapterImpl {
+
+        /**
+         * The {@link RuntimeEvent} the adapted {@link EventInstance} has been created from.
+         */
+        private final RuntimeEvent source;
+
+        /**
+         * Constructs a new {@link SourceAdapter} for the provided {@code source}.
+         *
+         * @param source the {@link RuntimeEvent} the adapted {@link EventInstance} has been created from
+         */
+        private SourceAdapter(RuntimeEvent source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean isAdapterForType(Object type) {
+            return type == RuntimeEvent.class;
+        }
+    }
+}
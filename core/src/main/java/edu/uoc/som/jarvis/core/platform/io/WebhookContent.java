@@ -0,0 +1,351 @@
+package edu.uoc.som.jarvis.core.platform.io;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * The raw content of a HTTP request received by the {@link edu.uoc.som.jarvis.core.server.JarvisServer}.
+ * <p>
+ * This class wraps the bytes of the request entity, that are read once by the server, and lazily computes the
+ * representations required by the notified {@link WebhookEventProvider}s. The {@link String} and {@link JsonElement}
+ * representations of the content are computed at most once, and shared by all the providers handling the request.
+ * The top-level fields of a Json content can also be streamed without materializing its {@link JsonElement}
+ * representation (see {@link #getTopLevelFieldValue(String)}).
+ * <p>
+ * <b>Note</b>: the {@link JsonElement} returned by {@link #getJsonElement()} is shared between the
+ * {@link WebhookEventProvider}s, and must not be modified.
+ *
+ * @see WebhookEventProvider#parseContent(WebhookContent)
+ */
+public final class WebhookContent {
+
+    /**
+     * The content type of the request.
+     */
+    private final String contentType;
+
+    /**
+     * The raw bytes of the request entity.
+     */
+    private final byte[] bytes;
+
+    /**
+     * The {@link Charset} used to decode the request entity.
+     */
+    private final Charset charset;
+
+    /**
+     * The lazily decoded {@link String} representation of the content.
+     *
+     * @see #getString()
+     */
+    private String string;
+
+    /**
+     * The lazily parsed {@link JsonElement} representation of the content.
+     *
+     * @see #getJsonElement()
+     */
+    private JsonElement jsonElement;
+
+    /**
+     * The {@link JsonParseException} thrown when parsing the content, if any.
+     * <p>
+     * This exception is stored to avoid parsing the same invalid content for each {@link WebhookEventProvider}.
+     *
+     * @see #getJsonElement()
+     */
+    private JsonParseException jsonParseException;
+
+    /**
+     * The lazily streamed values of the top-level primitive fields of the content.
+     *
+     * @see #getTopLevelFieldValue(String)
+     */
+    private Map<String, String> topLevelFields;
+
+    /**
+     * Constructs a new {@link WebhookContent} from the provided {@code contentType}, {@code bytes}, and {@code
+     * charset}.
+     * <p>
+     * <b>Note</b>: the provided {@code bytes} array is not copied, and must not be modified once the
+     * {@link WebhookContent} is created.
+     *
+     * @param contentType the content type of the request
+     * @param bytes       the raw bytes of the request entity
+     * @param charset     the {@link Charset} used to decode the request entity, or {@code null} to use {@code UTF-8}
+     * @throws NullPointerException if the provided {@code bytes} is {@code null}
+     */
+    public WebhookContent(String contentType, byte[] bytes, Charset charset) {
+        checkNotNull(bytes, "Cannot construct a %s with the provided bytes %s", WebhookContent.class.getSimpleName(),
+                bytes);
+        this.contentType = contentType;
+        this.bytes = bytes;
+        this.charset = nonNull(charset) ? charset : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Returns the content type of the request.
+     *
+     * @return the content type of the request
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns the length of the request entity in bytes.
+     *
+     * @return the length of the request entity in bytes
+     */
+    public int getLength() {
+        return bytes.length;
+    }
+
+    /**
+     * Returns whether the request entity is empty.
+     *
+     * @return {@code true} if the request entity is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return bytes.length == 0;
+    }
+
+    /**
+     * Returns a read-only {@link ByteBuffer} view of the raw bytes of the request entity.
+     * <p>
+     * This method does not copy the content, and allows to write it (e.g. in the
+     * {@link edu.uoc.som.jarvis.core.journal.EventJournal}) without exposing the underlying array.
+     *
+     * @return a read-only {@link ByteBuffer} view of the raw bytes of the request entity
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a {@link Reader} over the decoded content.
+     * <p>
+     * This method allows to stream the content (e.g. with a {@link com.google.gson.stream.JsonReader}) without
+     * materializing its {@link String} or {@link JsonElement} representation. Each call returns a new {@link Reader}
+     * positioned at the beginning of the content.
+     *
+     * @return a {@link Reader} over the decoded content
+     */
+    public Reader openReader() {
+        synchronized (this) {
+            if (nonNull(string)) {
+                return new StringReader(string);
+            }
+        }
+        return new InputStreamReader(new ByteArrayInputStream(bytes), charset);
+    }
+
+    /**
+     * Returns the {@link Charset} used to decode the request entity.
+     *
+     * @return the {@link Charset} used to decode the request entity
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Returns the {@link String} representation of the content.
+     * <p>
+     * The content is decoded the first time this method is called, and the returned {@link String} is cached for
+     * subsequent calls.
+     *
+     * @return the {@link String} representation of the content
+     */
+    public synchronized String getString() {
+        if (isNull(string)) {
+            string = new String(bytes, charset);
+        }
+        return string;
+    }
+
+    /**
+     * Returns the {@link JsonElement} representation of the content.
+     * <p>
+     * The content is parsed from its raw bytes the first time this method is called, and the returned
+     * {@link JsonElement} is shared by subsequent calls. Parsing errors are also cached, and thrown by each call to
+     * this method.
+     *
+     * @return the {@link JsonElement} representation of the content
+     * @throws JsonParseException if the content is not a valid Json document
+     */
+    public synchronized JsonElement getJsonElement() {
+        if (nonNull(jsonParseException)) {
+            throw jsonParseException;
+        }
+        if (isNull(jsonElement)) {
+            try {
+                if (nonNull(string)) {
+                    jsonElement = new JsonParser().parse(string);
+                } else {
+                    jsonElement = new JsonParser().parse(new InputStreamReader(new ByteArrayInputStream(bytes),
+                            charset));
+                }
+            } catch (JsonParseException e) {
+                jsonParseException = e;
+                throw e;
+            }
+        }
+        return jsonElement;
+    }
+
+    /**
+     * Returns the value of the top-level Json field with the provided {@code fieldKey}.
+     * <p>
+     * The content is streamed the first time this method is called, and the values of its top-level primitive fields
+     * are cached for subsequent calls. The nested objects and arrays of the content are skipped without being
+     * materialized: this method allows to inspect the discriminating fields of a request without computing its
+     * {@link JsonElement} representation.
+     *
+     * @param fieldKey the key of the top-level field to retrieve the value of
+     * @return the value of the field, or {@code null} if the content does not contain a primitive value for this
+     * field
+     * @throws JsonParseException if the content is not a valid Json document
+     */
+    public synchronized String getTopLevelFieldValue(String fieldKey) {
+        if (isNull(topLevelFields)) {
+            Map<String, String> fields = new HashMap<>();
+            try (JsonReader reader = new JsonReader(openReader())) {
+                reader.setLenient(true);
+                if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String name = reader.nextName();
+                        String value = readPrimitiveValue(reader);
+                        if (nonNull(value)) {
+                            fields.put(name, value);
+                        }
+                    }
+                }
+            } catch (MalformedJsonException e) {
+                throw new JsonSyntaxException(e);
+            } catch (IOException e) {
+                throw new JsonIOException(e);
+            }
+            topLevelFields = fields;
+        }
+        return topLevelFields.get(fieldKey);
+    }
+
+    /**
+     * Returns the value of the Json field with the provided {@code path}.
+     * <p>
+     * Top-level fields are retrieved with {@link #getTopLevelFieldValue(String)}. Nested fields are read from the
+     * {@link JsonElement} representation of the content if it has already been computed, and streamed otherwise:
+     * the fields that are not part of the {@code path} are skipped without being materialized.
+     *
+     * @param path the names of the fields leading to the field to retrieve the value of
+     * @return the value of the field, or {@code null} if the content does not contain a primitive value at the
+     * provided {@code path}
+     * @throws NullPointerException if the provided {@code path} is {@code null}
+     * @throws JsonParseException   if the content is not a valid Json document
+     */
+    public String getFieldValue(String[] path) {
+        checkNotNull(path, "Cannot retrieve the value of the field with the provided path %s", path);
+        if (path.length == 1) {
+            return getTopLevelFieldValue(path[0]);
+        }
+        JsonElement element;
+        synchronized (this) {
+            element = jsonElement;
+        }
+        if (nonNull(element)) {
+            for (String fieldName : path) {
+                if (!element.isJsonObject()) {
+                    return null;
+                }
+                element = element.getAsJsonObject().get(fieldName);
+                if (isNull(element)) {
+                    return null;
+                }
+            }
+            return element.isJsonPrimitive() ? element.getAsString() : null;
+        }
+        try (JsonReader reader = new JsonReader(openReader())) {
+            reader.setLenient(true);
+            for (String fieldName : path) {
+                if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    return null;
+                }
+                reader.beginObject();
+                boolean found = false;
+                while (!found && reader.hasNext()) {
+                    if (reader.nextName().equals(fieldName)) {
+                        found = true;
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                if (!found) {
+                    return null;
+                }
+            }
+            return readPrimitiveValue(reader);
+        } catch (MalformedJsonException e) {
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * Reads the primitive value at the current position of the provided {@code reader}.
+     * <p>
+     * Objects, arrays, and {@code null} values are skipped.
+     *
+     * @param reader the {@link JsonReader} positioned at the value to read
+     * @return the {@link String} representation of the read value, or {@code null} if the value is not a primitive
+     * @throws IOException if an error occurred when reading the content
+     */
+    private static String readPrimitiveValue(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+                return reader.nextString();
+            case BOOLEAN:
+                return Boolean.toString(reader.nextBoolean());
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    /**
+     * Returns the {@link String} representation of the content.
+     * <p>
+     * This method allows to lazily log the content of the request, and is equivalent to {@link #getString()}.
+     *
+     * @return the {@link String} representation of the content
+     */
+    @Override
+    public String toString() {
+        return getString();
+    }
+}
@@ -0,0 +1,286 @@
+package edu.uoc.som.jarvis.core.platform.io;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A bounded and time-windowed set of webhook delivery keys used to drop redelivered requests.
+ * <p>
+ * This cache does not store the delivery keys themselves: each key is reduced to a 64-bit hash stored in an
+ * open-addressing table of primitive {@code long}s, along with its expiration time. Keys are forgotten once the
+ * configured {@code window} has elapsed, when the cache is full (the oldest key is evicted first), or when they are
+ * removed (see {@link #remove(String)}), so the memory used by the cache is fixed once it is constructed.
+ * <p>
+ * <b>Note</b>: two distinct keys with the same 64-bit hash are considered equal. This is acceptable for delivery
+ * identifiers such as UUIDs, where the collision probability is negligible.
+ *
+ * @see WebhookEventProvider#DEDUPLICATION_HEADER_KEY
+ * @see WebhookEventProvider#DEDUPLICATION_FIELD_KEY
+ */
+public class WebhookDeduplicationCache {
+
+    /**
+     * The hash value representing an empty slot of the table.
+     */
+    private static final long EMPTY = 0;
+
+    /**
+     * The expiration value representing a removed entry of the table.
+     * <p>
+     * Removed entries keep their hash to preserve the probing sequences of the other entries, and are recycled by
+     * the next insertions.
+     */
+    private static final long REMOVED = Long.MIN_VALUE;
+
+    /**
+     * The duration (in nanoseconds) during which a key is remembered.
+     */
+    private final long window;
+
+    /**
+     * The maximum number of keys stored in the cache.
+     */
+    private final int maxEntries;
+
+    /**
+     * The hashes of the stored keys, indexed by their table slot.
+     */
+    private final long[] hashes;
+
+    /**
+     * The expiration times (in {@link System#nanoTime()} units) of the stored keys, indexed by their table slot.
+     */
+    private final long[] expirations;
+
+    /**
+     * The mask used to compute the table slot of a hash.
+     */
+    private final int mask;
+
+    /**
+     * The number of non-empty slots (stored or removed entries) of the table.
+     */
+    private int usedSlots;
+
+    /**
+     * The hashes of the inserted keys, in insertion order.
+     * <p>
+     * Keys are inserted with the same {@code window}, so the insertion order is also the expiration order. This
+     * array may contain keys that have been removed from the table (see {@link #remove(String)}), they are skipped
+     * when they become the oldest key.
+     */
+    private final long[] insertionOrder;
+
+    /**
+     * The expiration times of the keys in {@link #insertionOrder}, indexed by their position in
+     * {@link #insertionOrder}.
+     * <p>
+     * The expiration time allows to distinguish a removed key from a key with the same hash inserted afterwards.
+     */
+    private final long[] insertionExpirations;
+
+    /**
+     * The index of the oldest key in {@link #insertionOrder}.
+     */
+    private int head;
+
+    /**
+     * The number of keys in {@link #insertionOrder}, including the keys that have been removed from the table.
+     */
+    private int size;
+
+    /**
+     * The number of stored keys.
+     */
+    private int storedCount;
+
+    /**
+     * Constructs a new {@link WebhookDeduplicationCache} with the provided {@code window} and {@code maxEntries}.
+     *
+     * @param window     the duration (in milliseconds) during which a key is remembered
+     * @param maxEntries the maximum number of keys stored in the cache
+     * @throws IllegalArgumentException if the provided {@code window} or {@code maxEntries} is not positive
+     */
+    public WebhookDeduplicationCache(long window, int maxEntries) {
+        checkArgument(window > 0, "Cannot construct a %s with the provided window %s, expected a positive value",
+                WebhookDeduplicationCache.class.getSimpleName(), window);
+        checkArgument(maxEntries > 0 && maxEntries <= 1 << 28, "Cannot construct a %s with the provided maximum " +
+                "entries %s, expected a value in [1, %s]", WebhookDeduplicationCache.class.getSimpleName(),
+                maxEntries, 1 << 28);
+        this.window = TimeUnit.MILLISECONDS.toNanos(window);
+        this.maxEntries = maxEntries;
+        /*
+         * Keep the table at most half full with stored entries, and rebuild it when removed entries fill another
+         * quarter of the slots.
+         */
+        int capacity = Integer.highestOneBit(maxEntries * 2 - 1) << 1;
+        this.hashes = new long[capacity];
+        this.expirations = new long[capacity];
+        this.mask = capacity - 1;
+        this.insertionOrder = new long[maxEntries];
+        this.insertionExpirations = new long[maxEntries];
+    }
+
+    /**
+     * Records the provided {@code key} and returns whether it has already been recorded in the current window.
+     *
+     * @param key the delivery key to record
+     * @return {@code true} if the provided {@code key} has already been recorded and has not expired, {@code false}
+     * otherwise
+     * @throws NullPointerException if the provided {@code key} is {@code null}
+     */
+    public synchronized boolean isDuplicate(String key) {
+        checkNotNull(key, "Cannot check the provided delivery key %s", key);
+        long hash = hash(key);
+        long now = System.nanoTime();
+        evictExpired(now);
+        if (indexOf(hash) >= 0) {
+            return true;
+        }
+        if (size == maxEntries) {
+            evictOldest();
+        }
+        if (usedSlots >= hashes.length - (hashes.length >> 2)) {
+            rebuild();
+        }
+        long expiration = now + window;
+        insert(hash, expiration);
+        int position = (head + size) % maxEntries;
+        insertionOrder[position] = hash;
+        insertionExpirations[position] = expiration;
+        size++;
+        storedCount++;
+        return false;
+    }
+
+    /**
+     * Removes the provided {@code key} from the cache.
+     * <p>
+     * This method is typically called when the request with the provided {@code key} has not been handled
+     * successfully: the next delivery of the request is not considered as a duplicate.
+     *
+     * @param key the delivery key to remove
+     * @throws NullPointerException if the provided {@code key} is {@code null}
+     */
+    public synchronized void remove(String key) {
+        checkNotNull(key, "Cannot remove the provided delivery key %s", key);
+        int index = indexOf(hash(key));
+        if (index >= 0) {
+            expirations[index] = REMOVED;
+            storedCount--;
+        }
+    }
+
+    /**
+     * Returns the number of keys stored in the cache.
+     *
+     * @return the number of keys stored in the cache
+     */
+    public synchronized int size() {
+        evictExpired(System.nanoTime());
+        return storedCount;
+    }
+
+    /**
+     * Removes the keys that have expired at the provided time {@code now}.
+     *
+     * @param now the current {@link System#nanoTime()} value
+     */
+    private void evictExpired(long now) {
+        while (size > 0 && insertionExpirations[head] - now <= 0) {
+            evictOldest();
+        }
+    }
+
+    /**
+     * Removes the oldest key of {@link #insertionOrder}, and removes it from the table if it has not been removed
+     * yet.
+     */
+    private void evictOldest() {
+        int index = indexOf(insertionOrder[head]);
+        if (index >= 0 && expirations[index] == insertionExpirations[head]) {
+            expirations[index] = REMOVED;
+            storedCount--;
+        }
+        head = (head + 1) % maxEntries;
+        size--;
+    }
+
+    /**
+     * Returns the table slot of the stored entry with the provided {@code hash}.
+     *
+     * @param hash the hash to search
+     * @return the table slot of the stored entry, or {@code -1} if the table does not contain it
+     */
+    private int indexOf(long hash) {
+        int index = (int) (hash ^ (hash >>> 32)) & mask;
+        while (hashes[index] != EMPTY) {
+            if (hashes[index] == hash && expirations[index] != REMOVED) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Inserts the provided {@code hash} in the first empty or removed slot of its probing sequence.
+     *
+     * @param hash       the hash to insert
+     * @param expiration the expiration time of the inserted entry
+     */
+    private void insert(long hash, long expiration) {
+        int index = (int) (hash ^ (hash >>> 32)) & mask;
+        while (hashes[index] != EMPTY && expirations[index] != REMOVED) {
+            index = (index + 1) & mask;
+        }
+        if (hashes[index] == EMPTY) {
+            usedSlots++;
+        }
+        hashes[index] = hash;
+        expirations[index] = expiration;
+    }
+
+    /**
+     * Rebuilds the table without its removed entries.
+     */
+    private void rebuild() {
+        boolean[] stored = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            int position = (head + i) % maxEntries;
+            int index = indexOf(insertionOrder[position]);
+            stored[i] = index >= 0 && expirations[index] == insertionExpirations[position];
+        }
+        Arrays.fill(hashes, EMPTY);
+        Arrays.fill(expirations, 0);
+        usedSlots = 0;
+        for (int i = 0; i < size; i++) {
+            if (stored[i]) {
+                int position = (head + i) % maxEntries;
+                insert(insertionOrder[position], insertionExpirations[position]);
+            }
+        }
+    }
+
+    /**
+     * Computes the 64-bit hash of the provided {@code key}.
+     * <p>
+     * This method uses the FNV-1a hash function over the {@code UTF-8} bytes of the key, and never returns
+     * {@link #EMPTY}.
+     *
+     * @param key the key to hash
+     * @return the 64-bit hash of the provided {@code key}
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash == EMPTY ? 1 : hash;
+    }
+}
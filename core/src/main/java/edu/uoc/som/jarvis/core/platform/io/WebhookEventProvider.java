@@ -1,11 +1,18 @@
 package edu.uoc.som.jarvis.core.platform.io;
 
+import com.google.gson.JsonElement;
 import fr.inria.atlanmod.commons.log.Log;
 import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
+import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.http.Header;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * A specialised {@link RuntimeEventProvider} that handles HTTP requests sent by the
@@ -13,12 +20,80 @@ import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
  * <p>
  * This class defines primitives to handle raw HTTP request contents, manipulate the parsed content, and provides an
  * utility method that checks if the {@link WebhookEventProvider} accepts a given {@code contentType}.
+ * <p>
+ * Requests redelivered by the caller can be dropped before being handled by configuring a delivery key (see
+ * {@link #DEDUPLICATION_HEADER_KEY} and {@link #DEDUPLICATION_FIELD_KEY}): the keys received in the deduplication
+ * window are stored in a bounded {@link WebhookDeduplicationCache}.
  *
  * @param <T> the concrete {@link RuntimePlatform} subclass type containing the provider
  * @param <C> the type of the parsed HTTP request content
  */
 public abstract class WebhookEventProvider<T extends RuntimePlatform, C> extends RuntimeEventProvider<T> {
 
+    /**
+     * The {@link Configuration} key to store the name of the header containing the delivery key of the requests.
+     * <p>
+     * Requests with a delivery key that has already been received in the deduplication window are dropped before
+     * being handled (see {@link #handleParsedContent(Object, Header[])}). This property overrides the provider's
+     * default header (see {@link #getDefaultDeduplicationHeader()}).
+     *
+     * @see #DEDUPLICATION_FIELD_KEY
+     * @see #DEDUPLICATION_WINDOW_KEY
+     */
+    public static String DEDUPLICATION_HEADER_KEY = "jarvis.webhook.deduplication.header";
+
+    /**
+     * The {@link Configuration} key to store the dot-separated path of the Json field containing the delivery key of
+     * the requests.
+     * <p>
+     * This property is only used if no deduplication header is set (see {@link #DEDUPLICATION_HEADER_KEY}), and
+     * requires the parsed content to be a {@link JsonElement}.
+     */
+    public static String DEDUPLICATION_FIELD_KEY = "jarvis.webhook.deduplication.field";
+
+    /**
+     * The {@link Configuration} key to store the duration (in milliseconds) during which a delivery key is
+     * remembered.
+     */
+    public static String DEDUPLICATION_WINDOW_KEY = "jarvis.webhook.deduplication.window";
+
+    /**
+     * The default duration (in milliseconds) during which a delivery key is remembered.
+     *
+     * @see #DEDUPLICATION_WINDOW_KEY
+     */
+    public static long DEFAULT_DEDUPLICATION_WINDOW_VALUE = 60 * 60 * 1000;
+
+    /**
+     * The {@link Configuration} key to store the maximum number of delivery keys remembered by the provider.
+     */
+    public static String DEDUPLICATION_MAX_ENTRIES_KEY = "jarvis.webhook.deduplication.max_entries";
+
+    /**
+     * The default maximum number of delivery keys remembered by the provider.
+     *
+     * @see #DEDUPLICATION_MAX_ENTRIES_KEY
+     */
+    public static int DEFAULT_DEDUPLICATION_MAX_ENTRIES_VALUE = 65536;
+
+    /**
+     * The name of the header containing the delivery key of the requests, or {@code null} if the requests are not
+     * deduplicated using a header.
+     */
+    private String deduplicationHeader;
+
+    /**
+     * The path of the Json field containing the delivery key of the requests, or {@code null} if the requests are
+     * not deduplicated using a Json field.
+     */
+    private String[] deduplicationField;
+
+    /**
+     * The {@link WebhookDeduplicationCache} storing the received delivery keys, or {@code null} if the requests are
+     * not deduplicated.
+     */
+    private WebhookDeduplicationCache deduplicationCache;
+
     /**
      * Constructs a new {@link WebhookEventProvider} with the provided {@code runtimePlatform}.
      * <p>
@@ -29,7 +104,7 @@ public abstract class WebhookEventProvider<T extends RuntimePlatform, C> extends
      * @throws NullPointerException if the provided {@code runtimePlatform} is {@code null}
      */
     public WebhookEventProvider(T runtimePlatform) {
-        super(runtimePlatform);
+        this(runtimePlatform, new BaseConfiguration());
     }
 
     /**
@@ -46,6 +121,33 @@ public abstract class WebhookEventProvider<T extends RuntimePlatform, C> extends
      */
     public WebhookEventProvider(T runtimePlatform, Configuration configuration) {
         super(runtimePlatform, configuration);
+        this.deduplicationHeader = configuration.getString(DEDUPLICATION_HEADER_KEY,
+                getDefaultDeduplicationHeader());
+        if (isNull(deduplicationHeader) && configuration.containsKey(DEDUPLICATION_FIELD_KEY)) {
+            this.deduplicationField = configuration.getString(DEDUPLICATION_FIELD_KEY).split("\\.");
+        }
+        if (nonNull(deduplicationHeader) || nonNull(deduplicationField)) {
+            this.deduplicationCache = new WebhookDeduplicationCache(configuration.getLong(DEDUPLICATION_WINDOW_KEY,
+                    DEFAULT_DEDUPLICATION_WINDOW_VALUE), configuration.getInt(DEDUPLICATION_MAX_ENTRIES_KEY,
+                    DEFAULT_DEDUPLICATION_MAX_ENTRIES_VALUE));
+        }
+    }
+
+    /**
+     * Returns the name of the header containing the delivery key of the requests handled by this provider.
+     * <p>
+     * The default implementation returns {@code null}: the requests are not deduplicated unless the
+     * {@link #DEDUPLICATION_HEADER_KEY} or {@link #DEDUPLICATION_FIELD_KEY} property is set. Subclasses handling
+     * requests from services that redeliver them with a unique identifier can override this method to enable the
+     * deduplication by default.
+     * <p>
+     * <b>Note</b>: this method is called by the {@link WebhookEventProvider} constructor, and must not depend on the
+     * state of the subclass.
+     *
+     * @return the name of the header containing the delivery key of the requests, or {@code null}
+     */
+    protected String getDefaultDeduplicationHeader() {
+        return null;
     }
 
     /**
@@ -57,6 +159,23 @@ public abstract class WebhookEventProvider<T extends RuntimePlatform, C> extends
      */
     public abstract boolean acceptContentType(String contentType);
 
+    /**
+     * Returns the {@link WebhookRoute}s claimed by this {@link WebhookEventProvider}.
+     * <p>
+     * The {@link edu.uoc.som.jarvis.core.server.JarvisServer} only dispatches to this provider the requests matching
+     * one of the returned routes. Providers that do not claim any route (the default) receive all the requests with
+     * an accepted content type (see {@link #acceptContentType(String)}).
+     * <p>
+     * <b>Note</b>: the routes are retrieved once when the provider is registered to the
+     * {@link edu.uoc.som.jarvis.core.server.JarvisServer}, and must not change afterwards.
+     *
+     * @return the {@link WebhookRoute}s claimed by this {@link WebhookEventProvider}
+     * @see edu.uoc.som.jarvis.core.server.JarvisServer#registerWebhookEventProvider(WebhookEventProvider)
+     */
+    public Collection<WebhookRoute> getRoutes() {
+        return Collections.emptyList();
+    }
+
     /**
      * Parses the provided raw HTTP request content.
      * <p>
@@ -69,6 +188,22 @@ public abstract class WebhookEventProvider<T extends RuntimePlatform, C> extends
      */
     protected abstract C parseContent(Object content);
 
+    /**
+     * Parses the provided {@link WebhookContent} read by the {@link edu.uoc.som.jarvis.core.server.JarvisServer}.
+     * <p>
+     * The default implementation delegates to {@link #parseContent(Object)} with the {@link String} representation of
+     * the provided {@code content}. Subclasses can override this method to reuse the representations cached by the
+     * {@link WebhookContent} and avoid parsing the same request once per {@link WebhookEventProvider}.
+     *
+     * @param content the {@link WebhookContent} to parse
+     * @return a parsed representation of the request content
+     * @see WebhookContent#getString()
+     * @see WebhookContent#getJsonElement()
+     */
+    protected C parseContent(WebhookContent content) {
+        return parseContent((Object) content.getString());
+    }
+
     /**
      * Handles the parsed request content and headers.
      * <p>
@@ -82,15 +217,52 @@ public abstract class WebhookEventProvider<T extends RuntimePlatform, C> extends
      */
     protected abstract void handleParsedContent(C parsedContent, Header[] headers);
 
+    /**
+     * Handles the {@link WebhookContent} read by the {@link edu.uoc.som.jarvis.core.server.JarvisServer}.
+     * <p>
+     * The default implementation parses the provided {@code content} with {@link #parseContent(WebhookContent)} and
+     * delegates to {@link #handleParsedContent(Object, Header[])}. Subclasses can override this method to stream the
+     * raw content instead of materializing its parsed representation.
+     *
+     * @param content the {@link WebhookContent} to handle
+     * @param headers the HTTP headers of the received request
+     * @see #handleContent(Object, Header[])
+     */
+    protected void handleWebhookContent(WebhookContent content, Header[] headers) {
+        handleParsedContent(parseContent(content), headers);
+    }
+
+    /**
+     * Returns the value of the deduplication field with the provided {@code path} in the {@link WebhookContent}.
+     * <p>
+     * The default implementation reads the field from the representation returned by
+     * {@link #parseContent(WebhookContent)}. Subclasses handling Json contents can override this method to read the
+     * field without parsing the entire content.
+     *
+     * @param content the {@link WebhookContent} to read the field from
+     * @param path    the path of the Json field to retrieve the value of
+     * @return the value of the field, or {@code null} if the content does not contain a primitive value at the
+     * provided {@code path}
+     * @see #DEDUPLICATION_FIELD_KEY
+     */
+    protected String readDeduplicationField(WebhookContent content, String[] path) {
+        return findFieldValue(parseContent(content), path);
+    }
+
     /**
      * Handles the raw HTTP request content and headers.
      * <p>
      * This method parses the provided {@code content} and internally calls
      * {@link #handleParsedContent(Object, Header[])} to
-     * create the associated {@link edu.uoc.som.jarvis.intent.EventInstance}s.
+     * create the associated {@link edu.uoc.som.jarvis.intent.EventInstance}s. {@link WebhookContent} instances are
+     * handled with {@link #handleWebhookContent(WebhookContent, Header[])}.
      * <p>
      * This method is part of the core API and cannot be reimplemented by concrete subclasses. Use
      * {@link #handleParsedContent(Object, Header[])} to tune the request content processing.
+     * <p>
+     * The delivery key of the request (see {@link #DEDUPLICATION_HEADER_KEY} and {@link #DEDUPLICATION_FIELD_KEY})
+     * is recorded before the request is handled, and forgotten if an exception is thrown when parsing or handling
+     * the request: the redelivered request is then handled again.
      *
      * @param content the raw HTTP request content to handle
      * @param headers the HTTP headers of the received request
@@ -98,8 +270,110 @@ public abstract class WebhookEventProvider<T extends RuntimePlatform, C> extends
      * @see #handleParsedContent(Object, Header[])
      */
     public final void handleContent(Object content, Header[] headers) {
-        C parsedContent = parseContent(content);
-        handleParsedContent(parsedContent, headers);
+        /*
+         * Check the delivery header before parsing the content: redelivered requests are dropped without being
+         * parsed.
+         */
+        String deliveryKey = null;
+        if (nonNull(deduplicationHeader)) {
+            deliveryKey = findHeaderValue(headers, deduplicationHeader);
+            if (isDuplicate(deliveryKey)) {
+                return;
+            }
+        }
+        try {
+            if (content instanceof WebhookContent) {
+                WebhookContent webhookContent = (WebhookContent) content;
+                if (nonNull(deduplicationField)) {
+                    deliveryKey = readDeduplicationField(webhookContent, deduplicationField);
+                    if (isDuplicate(deliveryKey)) {
+                        return;
+                    }
+                }
+                handleWebhookContent(webhookContent, headers);
+            } else {
+                C parsedContent = parseContent(content);
+                if (nonNull(deduplicationField)) {
+                    deliveryKey = findFieldValue(parsedContent, deduplicationField);
+                    if (isDuplicate(deliveryKey)) {
+                        return;
+                    }
+                }
+                handleParsedContent(parsedContent, headers);
+            }
+        } catch (RuntimeException e) {
+            if (nonNull(deliveryKey)) {
+                /*
+                 * The request has not been handled, accept its next delivery.
+                 */
+                deduplicationCache.remove(deliveryKey);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Records the provided {@code deliveryKey} and returns whether the request has already been received.
+     * <p>
+     * Requests without a delivery key are never considered as duplicates.
+     *
+     * @param deliveryKey the delivery key of the request
+     * @return {@code true} if a request with the same {@code deliveryKey} has already been received in the
+     * deduplication window, {@code false} otherwise
+     */
+    private boolean isDuplicate(String deliveryKey) {
+        if (isNull(deliveryKey)) {
+            return false;
+        }
+        if (deduplicationCache.isDuplicate(deliveryKey)) {
+            Log.info("{0} dropped the redelivered request {1}", this.getClass().getSimpleName(), deliveryKey);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the value of the header with the provided {@code headerName}, ignoring its case.
+     *
+     * @param headers    the HTTP headers of the request
+     * @param headerName the name of the header to retrieve the value of
+     * @return the value of the header, or {@code null} if the request does not contain it
+     */
+    private static String findHeaderValue(Header[] headers, String headerName) {
+        if (isNull(headers)) {
+            return null;
+        }
+        for (Header header : headers) {
+            if (headerName.equalsIgnoreCase(header.getName())) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value of the Json field with the provided {@code path}.
+     *
+     * @param parsedContent the parsed request content
+     * @param path          the path of the Json field to retrieve the value of
+     * @return the value of the field, or {@code null} if the parsed content is not a {@link JsonElement} or does not
+     * contain a primitive value at the provided {@code path}
+     */
+    private static String findFieldValue(Object parsedContent, String[] path) {
+        if (!(parsedContent instanceof JsonElement)) {
+            return null;
+        }
+        JsonElement element = (JsonElement) parsedContent;
+        for (String fieldName : path) {
+            if (!element.isJsonObject()) {
+                return null;
+            }
+            element = element.getAsJsonObject().get(fieldName);
+            if (isNull(element)) {
+                return null;
+            }
+        }
+        return element.isJsonPrimitive() ? element.getAsString() : null;
     }
 
     /**
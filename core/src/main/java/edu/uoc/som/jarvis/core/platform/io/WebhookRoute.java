@@ -0,0 +1,158 @@
+package edu.uoc.som.jarvis.core.platform.io;
+
+import java.util.Locale;
+import java.util.Objects;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A route claimed by a {@link WebhookEventProvider}.
+ * <p>
+ * A {@link WebhookRoute} is defined by a request path and an optional discriminating header. A request matches the
+ * route if its path is equal to the route path and, if the route defines a header, if the request contains this
+ * header with the expected value. Paths are compared once normalized (see {@link #normalizePath(String)}), and header
+ * names are compared ignoring case.
+ * <p>
+ * Routes can omit the path (see {@link #forHeader(String)}) to match the requests received on any path, and the
+ * header value to match any value of the discriminating header.
+ *
+ * @see WebhookEventProvider#getRoutes()
+ * @see edu.uoc.som.jarvis.core.server.JarvisServer#notifyWebhookEventProviders(String, String, Object,
+ * org.apache.http.Header[])
+ */
+public final class WebhookRoute {
+
+    /**
+     * The normalized path of the route, or {@code null} if the route matches any path.
+     */
+    private final String path;
+
+    /**
+     * The lower case name of the discriminating header, or {@code null} if the route does not define a header.
+     */
+    private final String headerName;
+
+    /**
+     * The expected value of the discriminating header, or {@code null} if the route matches any header value.
+     */
+    private final String headerValue;
+
+    /**
+     * Creates a {@link WebhookRoute} matching the requests received on the provided {@code path}.
+     *
+     * @param path the path of the route
+     * @return the created {@link WebhookRoute}
+     * @throws NullPointerException if the provided {@code path} is {@code null}
+     */
+    public static WebhookRoute forPath(String path) {
+        checkNotNull(path, "Cannot create a %s with the provided path %s", WebhookRoute.class.getSimpleName(), path);
+        return new WebhookRoute(path, null, null);
+    }
+
+    /**
+     * Creates a {@link WebhookRoute} matching the requests containing the provided {@code headerName}, on any path.
+     *
+     * @param headerName the name of the discriminating header
+     * @return the created {@link WebhookRoute}
+     * @throws NullPointerException if the provided {@code headerName} is {@code null}
+     */
+    public static WebhookRoute forHeader(String headerName) {
+        checkNotNull(headerName, "Cannot create a %s with the provided header name %s", WebhookRoute.class
+                .getSimpleName(), headerName);
+        return new WebhookRoute(null, headerName, null);
+    }
+
+    /**
+     * Constructs a new {@link WebhookRoute} with the provided {@code path}, {@code headerName}, and {@code
+     * headerValue}.
+     *
+     * @param path        the path of the route, or {@code null} to match any path
+     * @param headerName  the name of the discriminating header, or {@code null} to ignore the request headers
+     * @param headerValue the expected value of the discriminating header, or {@code null} to match any value
+     * @throws IllegalArgumentException if the route defines neither a path nor a header, or if the provided {@code
+     *                                  headerValue} is set without {@code headerName}
+     */
+    public WebhookRoute(String path, String headerName, String headerValue) {
+        checkArgument(nonNull(path) || nonNull(headerName), "Cannot create a %s matching any path and any header",
+                WebhookRoute.class.getSimpleName());
+        checkArgument(nonNull(headerName) || isNull(headerValue), "Cannot create a %s with the header value %s: the " +
+                "header name is not set", WebhookRoute.class.getSimpleName(), headerValue);
+        this.path = isNull(path) ? null : normalizePath(path);
+        this.headerName = isNull(headerName) ? null : headerName.toLowerCase(Locale.ROOT);
+        this.headerValue = headerValue;
+    }
+
+    /**
+     * Normalizes the provided request {@code path}.
+     * <p>
+     * The returned path always starts with a {@code /} and never ends with one (except for the root path {@code /}).
+     * {@code null} and empty paths are normalized to the root path.
+     *
+     * @param path the path to normalize
+     * @return the normalized path
+     */
+    public static String normalizePath(String path) {
+        if (isNull(path) || path.isEmpty()) {
+            return "/";
+        }
+        String result = path.startsWith("/") ? path : "/" + path;
+        while (result.length() > 1 && result.endsWith("/")) {
+            result = result.substring(0, result.length() - 1);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the normalized path of the route.
+     *
+     * @return the normalized path of the route, or {@code null} if the route matches any path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the lower case name of the discriminating header.
+     *
+     * @return the lower case name of the discriminating header, or {@code null} if the route does not define a header
+     */
+    public String getHeaderName() {
+        return headerName;
+    }
+
+    /**
+     * Returns the expected value of the discriminating header.
+     *
+     * @return the expected value of the discriminating header, or {@code null} if the route matches any value
+     */
+    public String getHeaderValue() {
+        return headerValue;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof WebhookRoute)) {
+            return false;
+        }
+        WebhookRoute other = (WebhookRoute) obj;
+        return Objects.equals(path, other.path) && Objects.equals(headerName, other.headerName) && Objects.equals
+                (headerValue, other.headerValue);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(path, headerName, headerValue);
+    }
+
+    @Override
+    public String toString() {
+        return (isNull(path) ? "*" : path) + (isNull(headerName) ? "" : " [" + headerName + ": " + (isNull
+                (headerValue) ? "*" : headerValue) + "]");
+    }
+}
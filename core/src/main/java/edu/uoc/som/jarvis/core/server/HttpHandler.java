@@ -1,6 +1,7 @@
 package edu.uoc.som.jarvis.core.server;
 
-import com.google.gson.*;
+import edu.uoc.som.jarvis.core.journal.EventJournal;
+import edu.uoc.som.jarvis.core.platform.io.WebhookContent;
 import edu.uoc.som.jarvis.core.platform.io.WebhookEventProvider;
 import fr.inria.atlanmod.commons.log.Log;
 import edu.uoc.som.jarvis.core.JarvisException;
@@ -11,16 +12,21 @@ import org.apache.http.protocol.HTTP;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.protocol.HttpRequestHandler;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
 import java.text.MessageFormat;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
@@ -34,19 +40,21 @@ class HttpHandler implements HttpRequestHandler {
      * The {@link JarvisServer} is used to notify the {@link WebhookEventProvider}s when a new
      * request is received.
      *
-     * @see JarvisServer#notifyWebhookEventProviders(String, Object, Header[])
+     * @see JarvisServer#notifyWebhookEventProviders(String, String, Object, Header[])
      */
     private JarvisServer jarvisServer;
 
     /**
-     * The {@link JsonParser} used to pretty print {@code application/json} contents and provide readable debug logs.
+     * The maximum capacity of the {@link ContentBuffer}s kept between two requests.
+     * <p>
+     * Buffers grown above this capacity to read large requests are released once the request content has been read.
      */
-    private JsonParser parser;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
 
     /**
-     * The {@link Gson} instance used to pretty print {@code application/json} contents and provide readable debut logs.
+     * The per-thread {@link ContentBuffer}s used to read the request entities.
      */
-    private Gson gson;
+    private static final ThreadLocal<ContentBuffer> CONTENT_BUFFERS = ThreadLocal.withInitial(ContentBuffer::new);
 
     /**
      * Constructs a new {@link HttpHandler} managed by the given {@code jarvisServer}.
@@ -59,20 +67,20 @@ class HttpHandler implements HttpRequestHandler {
         checkNotNull(jarvisServer, "Cannot construct a %s with the provided %s: %s", HttpHandler.class.getSimpleName
                 (), JarvisServer.class.getSimpleName(), jarvisServer);
         this.jarvisServer = jarvisServer;
-        this.parser = new JsonParser();
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
     }
 
     /**
      * Handles the received {@code request} and fill the provided {@code response}.
      * <p>
      * This method parses the received {@code request} headers and content and notifies the {@link JarvisServer}'s
-     * registered {@link WebhookEventProvider}s.
+     * registered {@link WebhookEventProvider}s. If the {@link JarvisServer} uses the
+     * {@link JarvisServer#QUEUE_INGESTION_MODE} the request is enqueued instead, and the providers are notified
+     * asynchronously.
      *
      * @param request  the received {@link HttpRequest}
      * @param response the {@link HttpResponse} to send to the caller
      * @param context  the {@link HttpContext} associated to the received {@link HttpRequest}
-     * @see JarvisServer#notifyWebhookEventProviders(String, Object, Header[])
+     * @see JarvisServer#notifyWebhookEventProviders(String, String, Object, Header[])
      */
     public void handle(final HttpRequest request, final HttpResponse response, final HttpContext context) {
 
@@ -82,8 +90,11 @@ class HttpHandler implements HttpRequestHandler {
         Log.info("Received a {0} query on {1}", method, target);
 
         List<NameValuePair> parameters = null;
+        String path = null;
         try {
-            parameters = URLEncodedUtils.parse(new URI(target), HTTP.UTF_8);
+            URI uri = new URI(target);
+            path = uri.getPath();
+            parameters = URLEncodedUtils.parse(uri, HTTP.UTF_8);
         } catch (URISyntaxException e) {
             String errorMessage = MessageFormat.format("Cannot parse the requested URI {0}", target);
             throw new JarvisException(errorMessage);
@@ -118,29 +129,27 @@ class HttpHandler implements HttpRequestHandler {
             Log.info("Query content length: {0}", contentLength);
 
             try {
-                BufferedReader reader = new BufferedReader(new InputStreamReader(entity.getContent()));
-                StringBuilder contentBuilder = new StringBuilder();
-                while (reader.ready()) {
-                    contentBuilder.append(reader.readLine());
-                }
-                String content = contentBuilder.toString();
+                WebhookContent content = readContent(entity, contentType);
                 if (content.isEmpty()) {
                     Log.warn("Empty query content");
                 } else {
-                    if (ContentType.APPLICATION_JSON.getMimeType().equals(contentType)) {
-                        Log.info("Parsing {0} content", ContentType.APPLICATION_JSON.getMimeType());
-                        try {
-                            JsonElement jsonElement = parser.parse(content);
-                            Log.info("Query content: \n {0}", gson.toJson(jsonElement));
-                        } catch(JsonSyntaxException e) {
-                            Log.error(e, "Cannot parse the {0} content {1}", ContentType.APPLICATION_JSON.getMimeType
-                                    (), content);
-                        }
-                    } else {
-                        Log.info("No parser for the provided content type {0}, returning the raw content: \n {1}",
-                                contentType, content);
+                    /*
+                     * The content is not parsed here: the WebhookContent lazily parses it the first time a provider
+                     * requires it, and shares the parsed representation with the other providers.
+                     */
+                    Log.debug("Query content: \n {0}", content);
+                    WebhookIngestionQueue ingestionQueue = this.jarvisServer.getIngestionQueue();
+                    if (nonNull(ingestionQueue) && !checkRecipients(path, contentType, headers, response)) {
+                        return;
+                    }
+                    EventJournal journal = this.jarvisServer.getEventJournal();
+                    long journalSequence = nonNull(journal) ? journal.appendWebhook(path, content, headers) :
+                            EventJournal.NO_SEQUENCE;
+                    if (nonNull(ingestionQueue)) {
+                        enqueue(ingestionQueue, journalSequence, path, contentType, content, headers, response);
+                        return;
                     }
-                    this.jarvisServer.notifyWebhookEventProviders(contentType, content, headers);
+                    this.jarvisServer.dispatchWebhook(journalSequence, path, contentType, content, headers);
                 }
             } catch (IOException e) {
                 throw new JarvisException("An error occurred when handling the request content", e);
@@ -149,6 +158,111 @@ class HttpHandler implements HttpRequestHandler {
         response.setStatusCode(HttpStatus.SC_OK);
     }
 
+    /**
+     * Checks that the request can be handled by a registered {@link WebhookEventProvider} before it is enqueued.
+     * <p>
+     * The {@code response} is set to {@code 404 Not Found} if no provider owns the request {@code path} and {@code
+     * headers}, and to {@code 415 Unsupported Media Type} if none of the owning providers accepts the request
+     * {@code contentType}. Rejected requests are not journaled.
+     *
+     * @param path        the path of the request
+     * @param contentType the content type of the request
+     * @param headers     the HTTP headers of the request
+     * @param response    the {@link HttpResponse} to send to the caller
+     * @return {@code true} if the request can be handled by a registered {@link WebhookEventProvider}, {@code false}
+     * otherwise
+     * @see JarvisServer#getWebhookRecipients(String, Header[])
+     * @see WebhookEventProvider#acceptContentType(String)
+     */
+    private boolean checkRecipients(String path, String contentType, Header[] headers, HttpResponse response) {
+        Set<WebhookEventProvider> recipients = this.jarvisServer.getWebhookRecipients(path, headers);
+        if (recipients.isEmpty()) {
+            Log.warn("No {0} registered for the request on {1}", WebhookEventProvider.class.getSimpleName(), path);
+            response.setStatusCode(HttpStatus.SC_NOT_FOUND);
+            return false;
+        }
+        for (WebhookEventProvider recipient : recipients) {
+            if (recipient.acceptContentType(contentType)) {
+                return true;
+            }
+        }
+        Log.warn("No {0} accepting the content type {1} of the request on {2}", WebhookEventProvider.class
+                .getSimpleName(), contentType, path);
+        response.setStatusCode(HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE);
+        return false;
+    }
+
+    /**
+     * Enqueues the provided request in the {@code ingestionQueue} and fills the provided {@code response}.
+     * <p>
+     * The {@code response} is set to {@code 202 Accepted} if the request has been enqueued, and to {@code 503 Service
+     * Unavailable} with a {@code Retry-After} header if the queue is full. The journal entry of a rejected request is
+     * marked as completed: the caller is expected to send it again.
+     *
+     * @param ingestionQueue  the {@link WebhookIngestionQueue} to enqueue the request in
+     * @param journalSequence the sequence number of the journaled request, or {@link EventJournal#NO_SEQUENCE}
+     * @param path            the path of the request
+     * @param contentType     the content type of the request
+     * @param content         the content of the request
+     * @param headers         the HTTP headers of the request
+     * @param response        the {@link HttpResponse} to send to the caller
+     * @see JarvisServer#QUEUE_INGESTION_MODE
+     */
+    private void enqueue(WebhookIngestionQueue ingestionQueue, long journalSequence, String path, String
+            contentType, WebhookContent content, Header[] headers, HttpResponse response) {
+        if (ingestionQueue.offer(journalSequence, path, contentType, content, headers)) {
+            response.setStatusCode(HttpStatus.SC_ACCEPTED);
+        } else {
+            EventJournal journal = this.jarvisServer.getEventJournal();
+            if (nonNull(journal) && journalSequence != EventJournal.NO_SEQUENCE) {
+                journal.complete(journalSequence);
+            }
+            Log.warn("Cannot enqueue the request on {0}, the ingestion queue is full ({1} queued request(s))", path,
+                    ingestionQueue.getDepth());
+            response.setStatusCode(HttpStatus.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        }
+    }
+
+    /**
+     * Reads the provided {@code entity} into a {@link WebhookContent}.
+     * <p>
+     * The entity is read once through the calling thread's {@link ContentBuffer}, and the returned
+     * {@link WebhookContent} holds an exact-size copy of the read bytes.
+     *
+     * @param entity      the {@link HttpEntity} to read
+     * @param contentType the content type of the request
+     * @return the {@link WebhookContent} containing the read bytes
+     * @throws IOException if an error occurred when reading the {@code entity}
+     */
+    private WebhookContent readContent(HttpEntity entity, String contentType) throws IOException {
+        Charset charset = null;
+        try {
+            ContentType entityContentType = ContentType.get(entity);
+            if (nonNull(entityContentType)) {
+                charset = entityContentType.getCharset();
+            }
+        } catch (ParseException | UnsupportedCharsetException e) {
+            Log.warn("Cannot retrieve the query content charset, using {0}", StandardCharsets.UTF_8);
+        }
+        ContentBuffer buffer = CONTENT_BUFFERS.get();
+        try (InputStream inputStream = entity.getContent()) {
+            if (isNull(inputStream)) {
+                return new WebhookContent(contentType, new byte[0], charset);
+            }
+            return new WebhookContent(contentType, buffer.read(inputStream), charset);
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+                /*
+                 * Do not retain the buffers grown by exceptionally large requests.
+                 */
+                CONTENT_BUFFERS.remove();
+            } else {
+                buffer.reset();
+            }
+        }
+    }
+
     /**
      * An utility method that logs the names and values of the provided {@link Header} array.
      *
@@ -160,4 +274,48 @@ class HttpHandler implements HttpRequestHandler {
         }
     }
 
+    /**
+     * A reusable buffer used to read request entities.
+     * <p>
+     * Each {@link ContentBuffer} is owned by a single thread (see {@link #CONTENT_BUFFERS}), and reused to read the
+     * requests handled by this thread.
+     */
+    private static class ContentBuffer extends ByteArrayOutputStream {
+
+        /**
+         * The chunk used to transfer the bytes from the request {@link InputStream}.
+         */
+        private final byte[] chunk = new byte[8192];
+
+        /**
+         * Constructs a new {@link ContentBuffer}.
+         */
+        private ContentBuffer() {
+            super(8192);
+        }
+
+        /**
+         * Reads the provided {@code inputStream} until its end and returns the read bytes.
+         *
+         * @param inputStream the {@link InputStream} to read
+         * @return an exact-size copy of the read bytes
+         * @throws IOException if an error occurred when reading the {@code inputStream}
+         */
+        private byte[] read(InputStream inputStream) throws IOException {
+            int read;
+            while ((read = inputStream.read(chunk)) != -1) {
+                write(chunk, 0, read);
+            }
+            return toByteArray();
+        }
+
+        /**
+         * Returns the capacity of the buffer.
+         *
+         * @return the capacity of the buffer
+         */
+        private int capacity() {
+            return buf.length;
+        }
+    }
 }
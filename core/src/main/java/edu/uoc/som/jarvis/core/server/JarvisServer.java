@@ -1,7 +1,11 @@
 package edu.uoc.som.jarvis.core.server;
 
 import edu.uoc.som.jarvis.core.JarvisException;
+import edu.uoc.som.jarvis.core.journal.EventJournal;
+import edu.uoc.som.jarvis.core.platform.io.WebhookContent;
 import edu.uoc.som.jarvis.core.platform.io.WebhookEventProvider;
+import edu.uoc.som.jarvis.core.platform.io.WebhookRoute;
+import edu.uoc.som.jarvis.util.VirtualThreads;
 import fr.inria.atlanmod.commons.log.Log;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.http.Header;
@@ -15,10 +19,15 @@ import java.text.MessageFormat;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * The REST server used to receive external webhooks.
@@ -44,11 +53,174 @@ public class JarvisServer {
      */
     protected static int DEFAULT_SERVER_PORT = 5000;
 
+    /**
+     * The {@link Configuration} key to store the server mode to use.
+     * <p>
+     * Accepted values are {@link #BLOCKING_SERVER_MODE} (each connection is handled by a dedicated listener thread)
+     * and {@link #NIO_SERVER_MODE} (connections are handled by a non-blocking reactor, and requests are processed
+     * in a bounded worker pool).
+     */
+    public static String SERVER_MODE_KEY = "jarvis.server.mode";
+
+    /**
+     * The {@link #SERVER_MODE_KEY} value using a blocking {@link HttpServer}.
+     */
+    public static String BLOCKING_SERVER_MODE = "blocking";
+
+    /**
+     * The {@link #SERVER_MODE_KEY} value using a non-blocking reactor and a bounded worker pool.
+     */
+    public static String NIO_SERVER_MODE = "nio";
+
+    /**
+     * The default server mode to use.
+     */
+    public static String DEFAULT_SERVER_MODE_VALUE = BLOCKING_SERVER_MODE;
+
+    /**
+     * The {@link Configuration} key to store the number of worker threads handling the requests in
+     * {@link #NIO_SERVER_MODE}.
+     */
+    public static String SERVER_WORKERS_KEY = "jarvis.server.workers";
+
+    /**
+     * The default number of worker threads handling the requests in {@link #NIO_SERVER_MODE}.
+     */
+    public static int DEFAULT_SERVER_WORKERS_VALUE = Runtime.getRuntime().availableProcessors() * 2;
+
+    /**
+     * The {@link Configuration} key to store the maximum number of requests waiting for a worker thread in
+     * {@link #NIO_SERVER_MODE}.
+     * <p>
+     * Requests received when the queue is full are rejected with a {@code 503} response.
+     */
+    public static String SERVER_QUEUE_SIZE_KEY = "jarvis.server.queue_size";
+
+    /**
+     * The default maximum number of requests waiting for a worker thread in {@link #NIO_SERVER_MODE}.
+     */
+    public static int DEFAULT_SERVER_QUEUE_SIZE_VALUE = 512;
+
+    /**
+     * The {@link Configuration} key to store the maximum number of open connections in {@link #NIO_SERVER_MODE}.
+     * <p>
+     * This value is also used as the backlog size of the server socket.
+     */
+    public static String SERVER_MAX_CONNECTIONS_KEY = "jarvis.server.max_connections";
+
+    /**
+     * The default maximum number of open connections in {@link #NIO_SERVER_MODE}.
+     */
+    public static int DEFAULT_SERVER_MAX_CONNECTIONS_VALUE = 1024;
+
+    /**
+     * The {@link Configuration} key to store the ingestion mode to use.
+     * <p>
+     * Accepted values are {@link #SYNC_INGESTION_MODE} (the {@link WebhookEventProvider}s are notified before
+     * replying to the request) and {@link #QUEUE_INGESTION_MODE} (the request is enqueued and the server immediately
+     * replies with a {@code 202 Accepted} response). In {@link #QUEUE_INGESTION_MODE} the requests that cannot be
+     * handled by any registered {@link WebhookEventProvider} are not enqueued: the server replies with a {@code 404}
+     * response if no provider owns the request path, and with a {@code 415} response if none of them accepts the
+     * request content type.
+     */
+    public static String INGESTION_MODE_KEY = "jarvis.server.ingestion.mode";
+
+    /**
+     * The {@link #INGESTION_MODE_KEY} value notifying the {@link WebhookEventProvider}s before replying to the
+     * request.
+     */
+    public static String SYNC_INGESTION_MODE = "sync";
+
+    /**
+     * The {@link #INGESTION_MODE_KEY} value enqueuing the requests in a {@link WebhookIngestionQueue}.
+     */
+    public static String QUEUE_INGESTION_MODE = "queue";
+
+    /**
+     * The default ingestion mode to use.
+     */
+    public static String DEFAULT_INGESTION_MODE_VALUE = SYNC_INGESTION_MODE;
+
+    /**
+     * The {@link Configuration} key to store the maximum number of requests stored in the
+     * {@link WebhookIngestionQueue}.
+     * <p>
+     * Requests received when the queue is full are rejected with a {@code 503} response.
+     */
+    public static String INGESTION_QUEUE_SIZE_KEY = "jarvis.server.ingestion.queue_size";
+
+    /**
+     * The default maximum number of requests stored in the {@link WebhookIngestionQueue}.
+     */
+    public static int DEFAULT_INGESTION_QUEUE_SIZE_VALUE = 1024;
+
+    /**
+     * The {@link Configuration} key to store the number of worker threads draining the {@link WebhookIngestionQueue}.
+     */
+    public static String INGESTION_WORKERS_KEY = "jarvis.server.ingestion.workers";
+
+    /**
+     * The default number of worker threads draining the {@link WebhookIngestionQueue}.
+     * <p>
+     * The workers are virtual threads if Jarvis is configured to use them (see
+     * {@link edu.uoc.som.jarvis.core.ExecutionService#VIRTUAL_THREADS_KEY}).
+     */
+    public static int DEFAULT_INGESTION_WORKERS_VALUE = Runtime.getRuntime().availableProcessors();
+
     /**
      * The {@link HttpServer} used to receive input requests.
+     * <p>
+     * This field is {@code null} if the {@link JarvisServer} is configured to use the {@link #NIO_SERVER_MODE}.
      */
     private HttpServer server;
 
+    /**
+     * The {@link NioHttpServer} used to receive input requests.
+     * <p>
+     * This field is {@code null} if the {@link JarvisServer} is configured to use the
+     * {@link #BLOCKING_SERVER_MODE}.
+     */
+    private NioHttpServer nioServer;
+
+    /**
+     * Whether the {@link JarvisServer} uses the {@link #QUEUE_INGESTION_MODE}.
+     */
+    private boolean queueIngestion;
+
+    /**
+     * The maximum number of requests stored in the {@link #ingestionQueue}.
+     */
+    private int ingestionQueueSize;
+
+    /**
+     * The number of worker threads draining the {@link #ingestionQueue}.
+     */
+    private int ingestionWorkers;
+
+    /**
+     * The {@link ThreadFactory} creating the worker threads draining the {@link #ingestionQueue}.
+     * <p>
+     * This field is {@code null} if the {@link JarvisServer} uses the {@link #SYNC_INGESTION_MODE}.
+     */
+    private ThreadFactory ingestionThreadFactory;
+
+    /**
+     * The {@link WebhookIngestionQueue} storing the accepted requests.
+     * <p>
+     * This field is {@code null} if the {@link JarvisServer} uses the {@link #SYNC_INGESTION_MODE}, or if it is not
+     * started.
+     */
+    private volatile WebhookIngestionQueue ingestionQueue;
+
+    /**
+     * The {@link EventJournal} storing the received requests until they are dispatched.
+     * <p>
+     * This field is {@code null} if the journal is not enabled.
+     *
+     * @see #setEventJournal(EventJournal)
+     */
+    private volatile EventJournal eventJournal;
+
     /**
      * A boolean flag representing whether the {@link JarvisServer} is started.
      *
@@ -72,6 +244,15 @@ public class JarvisServer {
      */
     private Set<WebhookEventProvider> webhookEventProviders;
 
+    /**
+     * The {@link WebhookRoutingTable} indexing the routes claimed by the registered {@link WebhookEventProvider}s.
+     * <p>
+     * This table is rebuilt each time a {@link WebhookEventProvider} is registered or unregistered.
+     *
+     * @see WebhookEventProvider#getRoutes()
+     */
+    private volatile WebhookRoutingTable routingTable;
+
     /**
      * Constructs a new {@link JarvisServer} with the given {@link Configuration}.
      * <p>
@@ -79,11 +260,19 @@ public class JarvisServer {
      * {@link #SERVER_PORT_KEY}). If the {@link Configuration} does not specify a port the default value ({@code
      * 5000}) is used.
      * <p>
+     * The {@link Configuration} can also specify the server mode (see {@link #SERVER_MODE_KEY}), as well as the
+     * worker pool and connection limits of the {@link #NIO_SERVER_MODE} (see {@link #SERVER_WORKERS_KEY},
+     * {@link #SERVER_QUEUE_SIZE_KEY}, and {@link #SERVER_MAX_CONNECTIONS_KEY}). The workers of the
+     * {@link #NIO_SERVER_MODE} are virtual threads if Jarvis is configured to use them (see
+     * {@link edu.uoc.som.jarvis.core.ExecutionService#VIRTUAL_THREADS_KEY}).
+     * <p>
      * <b>Note:</b> this method does not start the underlying {@link HttpServer}. Use {@link #start()} to start the
      * {@link HttpServer} in a dedicated thread.
      *
      * @param configuration the {@link Configuration} used to initialize the {@link JarvisServer}
-     * @throws NullPointerException if the provided {@code configuration} is {@code null}
+     * @throws NullPointerException     if the provided {@code configuration} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code configuration} contains an invalid server mode
+     * @throws JarvisException          if an error occurred when creating the non-blocking server
      * @see #start()
      * @see #stop()
      */
@@ -95,7 +284,54 @@ public class JarvisServer {
         this.port = configuration.getInt(SERVER_PORT_KEY, DEFAULT_SERVER_PORT);
         Log.info("{0} listening to port {1}", this.getClass().getSimpleName(), port);
         webhookEventProviders = new HashSet<>();
+        routingTable = WebhookRoutingTable.EMPTY;
+        String ingestionMode = configuration.getString(INGESTION_MODE_KEY, DEFAULT_INGESTION_MODE_VALUE);
+        checkArgument(SYNC_INGESTION_MODE.equals(ingestionMode) || QUEUE_INGESTION_MODE.equals(ingestionMode),
+                "Cannot construct the %s with the provided ingestion mode %s, expected %s or %s", this.getClass()
+                        .getSimpleName(), ingestionMode, SYNC_INGESTION_MODE, QUEUE_INGESTION_MODE);
+        this.queueIngestion = QUEUE_INGESTION_MODE.equals(ingestionMode);
+        this.ingestionQueueSize = configuration.getInt(INGESTION_QUEUE_SIZE_KEY, DEFAULT_INGESTION_QUEUE_SIZE_VALUE);
+        this.ingestionWorkers = configuration.getInt(INGESTION_WORKERS_KEY, DEFAULT_INGESTION_WORKERS_VALUE);
+        if (queueIngestion) {
+            Log.info("Using {0} ingestion mode ({1} worker(s), queue size: {2})", ingestionMode, ingestionWorkers,
+                    ingestionQueueSize);
+            if (VirtualThreads.isEnabled(configuration)) {
+                Log.info("Using virtual threads to drain the ingestion queue");
+                this.ingestionThreadFactory = VirtualThreads.newThreadFactory("jarvis-ingestion-worker-");
+            } else {
+                this.ingestionThreadFactory = WebhookIngestionQueue.createWorkerThreadFactory();
+            }
+        }
+        String serverMode = configuration.getString(SERVER_MODE_KEY, DEFAULT_SERVER_MODE_VALUE);
+        checkArgument(BLOCKING_SERVER_MODE.equals(serverMode) || NIO_SERVER_MODE.equals(serverMode), "Cannot " +
+                "construct the %s with the provided server mode %s, expected %s or %s", this.getClass()
+                .getSimpleName(), serverMode, BLOCKING_SERVER_MODE, NIO_SERVER_MODE);
+        if (NIO_SERVER_MODE.equals(serverMode)) {
+            int workers = configuration.getInt(SERVER_WORKERS_KEY, DEFAULT_SERVER_WORKERS_VALUE);
+            int queueSize = configuration.getInt(SERVER_QUEUE_SIZE_KEY, DEFAULT_SERVER_QUEUE_SIZE_VALUE);
+            int maxConnections = configuration.getInt(SERVER_MAX_CONNECTIONS_KEY,
+                    DEFAULT_SERVER_MAX_CONNECTIONS_VALUE);
+            Log.info("Using {0} server mode ({1} worker(s), queue size: {2}, max connections: {3})", serverMode,
+                    workers, queueSize, maxConnections);
+            try {
+                if (VirtualThreads.isEnabled(configuration)) {
+                    Log.info("Using virtual threads to handle the received requests");
+                    nioServer = new NioHttpServer(port, new HttpHandler(this), workers, queueSize, maxConnections,
+                            VirtualThreads.newThreadFactory("jarvis-server-worker-"));
+                } else {
+                    nioServer = new NioHttpServer(port, new HttpHandler(this), workers, queueSize, maxConnections);
+                }
+            } catch (IOException e) {
+                throw new JarvisException(MessageFormat.format("Cannot create the {0}, see attached exception",
+                        NioHttpServer.class.getSimpleName()), e);
+            }
+            return;
+        }
+        /*
+         * Reuse the address: the port can be bound again while the connections of a stopped server are in TIME_WAIT.
+         */
         SocketConfig socketConfig = SocketConfig.custom()
+                .setSoReuseAddress(true)
                 .setSoTimeout(15000)
                 .setTcpNoDelay(true)
                 .build();
@@ -113,12 +349,60 @@ public class JarvisServer {
      * <p>
      * <b>Note:</b> this method is protected for testing purposes, and should not be called by client code.
      *
-     * @return the {@link HttpServer} used to receive requests
+     * @return the {@link HttpServer} used to receive requests, or {@code null} if the {@link JarvisServer} uses the
+     * {@link #NIO_SERVER_MODE}
      */
     protected HttpServer getHttpServer() {
         return this.server;
     }
 
+    /**
+     * Sets the {@link EventJournal} storing the received requests.
+     * <p>
+     * The requests received by the server are appended to the provided {@code eventJournal} before being
+     * dispatched or enqueued, and marked as completed once they have been dispatched to the
+     * {@link WebhookEventProvider}s.
+     *
+     * @param eventJournal the {@link EventJournal} to use, or {@code null} to disable the journal
+     * @see #dispatchWebhook(long, String, String, Object, Header[])
+     */
+    public void setEventJournal(EventJournal eventJournal) {
+        this.eventJournal = eventJournal;
+    }
+
+    /**
+     * Returns the {@link EventJournal} storing the received requests.
+     *
+     * @return the {@link EventJournal} storing the received requests, or {@code null} if the journal is not enabled
+     */
+    public EventJournal getEventJournal() {
+        return eventJournal;
+    }
+
+    /**
+     * Returns the {@link WebhookIngestionQueue} storing the accepted requests.
+     * <p>
+     * The returned queue can be used to monitor the queue depth and the time spent by the requests in the queue.
+     *
+     * @return the {@link WebhookIngestionQueue}, or {@code null} if the {@link JarvisServer} uses the
+     * {@link #SYNC_INGESTION_MODE} or is not started
+     */
+    public WebhookIngestionQueue getIngestionQueue() {
+        return this.ingestionQueue;
+    }
+
+    /**
+     * Returns the port the {@link JarvisServer} is bound to.
+     *
+     * @return the port the {@link JarvisServer} is bound to, or {@code -1} if the server is not started
+     */
+    public int getLocalPort() {
+        if (nonNull(nioServer)) {
+            return nioServer.getLocalPort();
+        }
+        return server.getLocalPort();
+    }
+
     /**
      * Returns {@code true} if the {@link JarvisServer} is started, {@code false} otherwise.
      *
@@ -136,24 +420,33 @@ public class JarvisServer {
      */
     public void start() {
         Log.info("Starting {0}", this.getClass().getSimpleName());
+        if (queueIngestion) {
+            this.ingestionQueue = new WebhookIngestionQueue(this, ingestionQueueSize, ingestionWorkers,
+                    ingestionThreadFactory);
+        }
         try {
-            this.server.start();
+            if (nonNull(nioServer)) {
+                this.nioServer.start();
+            } else {
+                this.server.start();
+            }
         } catch (BindException e) {
+            shutdownIngestionQueue();
             throw new JarvisException(MessageFormat.format("Cannot start the {0}, the port {1} cannot be bound. This " +
                     "may happen if another bot is started on the same port, if a previously started bot was not shut " +
                     "down properly, or if another application is already using the port", this.getClass()
                     .getSimpleName(), port), e);
         } catch (IOException e) {
+            shutdownIngestionQueue();
             throw new JarvisException(MessageFormat.format("Cannot start the {0}, see attached exception", this
                     .getClass().getSimpleName()), e);
         }
         isStarted = true;
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            server.shutdown(5, TimeUnit.SECONDS);
+            shutdownServer();
             isStarted = false;
         }));
-        Log.info("JarvisServer started, listening on {0}:{1}", server.getInetAddress().toString(), server
-                .getLocalPort());
+        Log.info("JarvisServer started, listening on port {0}", getLocalPort());
     }
 
     /**
@@ -164,27 +457,55 @@ public class JarvisServer {
         if (!isStarted) {
             Log.warn("Cannot stop the {0}, the server is not started", this.getClass().getSimpleName());
         }
-        server.shutdown(5, TimeUnit.SECONDS);
+        shutdownServer();
         isStarted = false;
     }
 
+    /**
+     * Shuts down the underlying server, waiting at most 5 seconds for the requests being handled.
+     */
+    private void shutdownServer() {
+        if (nonNull(nioServer)) {
+            nioServer.shutdown(5, TimeUnit.SECONDS);
+        } else {
+            server.shutdown(5, TimeUnit.SECONDS);
+        }
+        shutdownIngestionQueue();
+    }
+
+    /**
+     * Shuts down the {@link WebhookIngestionQueue}, waiting at most 5 seconds for the queued requests to be processed.
+     */
+    private void shutdownIngestionQueue() {
+        WebhookIngestionQueue queue = this.ingestionQueue;
+        if (nonNull(queue)) {
+            queue.shutdown(5, TimeUnit.SECONDS);
+            this.ingestionQueue = null;
+        }
+    }
+
     /**
      * Register a {@link WebhookEventProvider}.
      * <p>
      * The registered {@code webhookEventProvider} will be notified when a new request is received. If the provider
      * supports the request content type (see {@link WebhookEventProvider#acceptContentType(String)}, it will receive
      * the request content that will be used to create the associated {@link edu.uoc.som.jarvis.intent.EventInstance}.
+     * <p>
+     * Providers claiming {@link WebhookRoute}s (see {@link WebhookEventProvider#getRoutes()}) are only notified of
+     * the requests matching their routes.
      *
      * @param webhookEventProvider the {@link WebhookEventProvider} to register
      * @throws NullPointerException if the provided {@code webhookEventProvider} is {@code null}
-     * @see #notifyWebhookEventProviders(String, Object, Header[])
+     * @see #notifyWebhookEventProviders(String, String, Object, Header[])
+     * @see WebhookEventProvider#getRoutes()
      * @see WebhookEventProvider#acceptContentType(String)
      * @see WebhookEventProvider#handleContent(Object, Header[])
      */
-    public void registerWebhookEventProvider(WebhookEventProvider webhookEventProvider) {
+    public synchronized void registerWebhookEventProvider(WebhookEventProvider webhookEventProvider) {
         checkNotNull(webhookEventProvider, "Cannot register the provided %s: %s", WebhookEventProvider.class
                 .getSimpleName(), webhookEventProvider);
         this.webhookEventProviders.add(webhookEventProvider);
+        this.routingTable = new WebhookRoutingTable(webhookEventProviders);
     }
 
     /**
@@ -196,10 +517,11 @@ public class JarvisServer {
      * @param webhookEventProvider the {@link WebhookEventProvider} to unregister
      * @throws NullPointerException if the provided {@code webhookEventProvider} is {@code null}
      */
-    public void unregisterWebhookEventProvider(WebhookEventProvider webhookEventProvider) {
+    public synchronized void unregisterWebhookEventProvider(WebhookEventProvider webhookEventProvider) {
         checkNotNull(webhookEventProvider, "Cannot unregister the provided %s: %s", WebhookEventProvider.class
                 .getSimpleName(), webhookEventProvider);
         this.webhookEventProviders.remove(webhookEventProvider);
+        this.routingTable = new WebhookRoutingTable(webhookEventProviders);
     }
 
     /**
@@ -214,21 +536,105 @@ public class JarvisServer {
     /**
      * Notifies the registered {@link WebhookEventProvider}s that a new request has been handled.
      * <p>
-     * This method asks each registered {@link WebhookEventProvider} if it accepts the given {@code contentType}. If
-     * so, the provided {@code content} is sent to the {@link WebhookEventProvider} that will create the associated
+     * This method is equivalent to {@link #notifyWebhookEventProviders(String, String, Object, Header[])} with a
+     * {@code null} path: the request is dispatched to the providers that do not claim any route, and to the providers
+     * claiming routes matching any path.
+     *
+     * @param contentType the content type of the received request
+     * @param content     the content of the received request
+     * @param headers     the HTTP headers of the received request
+     * @see #notifyWebhookEventProviders(String, String, Object, Header[])
+     */
+    public void notifyWebhookEventProviders(String contentType, Object content, Header[] headers) {
+        notifyWebhookEventProviders(null, contentType, content, headers);
+    }
+
+    /**
+     * Dispatches the journaled request with the provided {@code journalSequence} to the {@link WebhookEventProvider}s.
+     * <p>
+     * This method notifies the providers (see {@link #notifyWebhookEventProviders(String, String, Object, Header[])})
+     * and marks the journal entry as completed once they have been notified. The {@link
+     * edu.uoc.som.jarvis.intent.EventInstance}s journaled by the providers while handling the request are bound to
+     * the request entry (see {@link EventJournal#runWithParent(long, Runnable)}).
+     *
+     * @param journalSequence the sequence number of the journaled request, or {@link EventJournal#NO_SEQUENCE} if
+     *                        the request is not journaled
+     * @param path            the path of the received request
+     * @param contentType     the content type of the received request
+     * @param content         the content of the received request
+     * @param headers         the HTTP headers of the received request
+     */
+    public void dispatchWebhook(long journalSequence, String path, String contentType, Object content, Header[]
+            headers) {
+        EventJournal journal = this.eventJournal;
+        if (isNull(journal) || journalSequence == EventJournal.NO_SEQUENCE) {
+            notifyWebhookEventProviders(path, contentType, content, headers);
+            return;
+        }
+        try {
+            journal.runWithParent(journalSequence, () -> notifyWebhookEventProviders(path, contentType, content,
+                    headers));
+        } finally {
+            journal.complete(journalSequence);
+        }
+    }
+
+    /**
+     * Notifies the {@link WebhookEventProvider}s owning the provided request {@code path} and {@code headers}.
+     * <p>
+     * The request is dispatched to the providers claiming a {@link WebhookRoute} matching the provided {@code path}
+     * and {@code headers}, and to the providers that do not claim any route. Each of these providers accepting the
+     * given {@code contentType} receives the provided {@code content} and creates the associated
      * {@link edu.uoc.som.jarvis.intent.EventInstance}.
+     * <p>
+     * The same {@code content} instance is sent to all the accepting {@link WebhookEventProvider}s. Requests received
+     * by the server are notified as {@link WebhookContent}s, that are parsed at most once and share their parsed
+     * representation between the providers.
      *
+     * @param path        the path of the received request, or {@code null} to only match the routes defined for any
+     *                    path
      * @param contentType the content type of the received request
      * @param content     the content of the received request
+     * @param headers     the HTTP headers of the received request
      * @see #registerWebhookEventProvider(WebhookEventProvider)
+     * @see WebhookEventProvider#getRoutes()
      * @see WebhookEventProvider#acceptContentType(String)
      * @see WebhookEventProvider#handleContent(Object, Header[])
      */
-    public void notifyWebhookEventProviders(String contentType, Object content, Header[] headers) {
-        for (WebhookEventProvider webhookEventProvider : webhookEventProviders) {
+    public void notifyWebhookEventProviders(String path, String contentType, Object content, Header[] headers) {
+        Set<WebhookEventProvider> recipients = getWebhookRecipients(path, headers);
+        if (recipients.isEmpty()) {
+            Log.warn("No {0} registered for the request on {1}", WebhookEventProvider.class.getSimpleName(), path);
+            return;
+        }
+        for (WebhookEventProvider webhookEventProvider : recipients) {
             if (webhookEventProvider.acceptContentType(contentType)) {
                 webhookEventProvider.handleContent(content, headers);
             }
         }
     }
+
+    /**
+     * Returns the {@link WebhookEventProvider}s receiving the requests with the provided {@code path} and {@code
+     * headers}.
+     * <p>
+     * The returned {@link Set} contains the providers claiming a {@link WebhookRoute} matching the request, followed
+     * by the providers that do not claim any route. The content type of the request is not checked by this method
+     * (see {@link WebhookEventProvider#acceptContentType(String)}).
+     *
+     * @param path    the path of the request
+     * @param headers the HTTP headers of the request
+     * @return the {@link WebhookEventProvider}s receiving the request
+     * @see #notifyWebhookEventProviders(String, String, Object, Header[])
+     */
+    Set<WebhookEventProvider> getWebhookRecipients(String path, Header[] headers) {
+        WebhookRoutingTable table = this.routingTable;
+        Set<WebhookEventProvider> owners = table.getOwners(path, headers);
+        if (table.getBroadcastProviders().isEmpty()) {
+            return owners;
+        }
+        Set<WebhookEventProvider> recipients = new LinkedHashSet<>(owners);
+        recipients.addAll(table.getBroadcastProviders());
+        return recipients;
+    }
 }
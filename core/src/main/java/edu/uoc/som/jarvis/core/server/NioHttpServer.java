@@ -0,0 +1,378 @@
+package edu.uoc.som.jarvis.core.server;
+
+import fr.inria.atlanmod.commons.log.Log;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.config.ConnectionConfig;
+import org.apache.http.impl.nio.DefaultHttpServerIODispatch;
+import org.apache.http.impl.nio.reactor.DefaultListeningIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.NHttpServerConnection;
+import org.apache.http.nio.NHttpServerEventHandler;
+import org.apache.http.nio.protocol.BasicAsyncRequestConsumer;
+import org.apache.http.nio.protocol.HttpAsyncExchange;
+import org.apache.http.nio.protocol.HttpAsyncRequestConsumer;
+import org.apache.http.nio.protocol.HttpAsyncRequestHandler;
+import org.apache.http.nio.protocol.HttpAsyncService;
+import org.apache.http.nio.protocol.UriHttpAsyncRequestHandlerMapper;
+import org.apache.http.nio.reactor.IOEventDispatch;
+import org.apache.http.nio.reactor.ListenerEndpoint;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpProcessor;
+import org.apache.http.protocol.HttpProcessorBuilder;
+import org.apache.http.protocol.HttpRequestHandler;
+import org.apache.http.protocol.ResponseConnControl;
+import org.apache.http.protocol.ResponseContent;
+import org.apache.http.protocol.ResponseDate;
+import org.apache.http.protocol.ResponseServer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A non-blocking HTTP server delegating the handling of the received requests to a bounded worker pool.
+ * <p>
+ * This server uses an httpcore-nio reactor to accept connections and read the requests, and executes the provided
+ * {@link HttpRequestHandler} in a bounded {@link ThreadPoolExecutor}. Requests that cannot be queued in the worker
+ * pool are rejected with a {@code 503} response, and connections exceeding the configured maximum number of open
+ * connections are closed.
+ *
+ * @see JarvisServer#NIO_SERVER_MODE
+ */
+class NioHttpServer {
+
+    /**
+     * The port the server listens to.
+     */
+    private final int port;
+
+    /**
+     * The {@link HttpRequestHandler} executed in the worker pool to handle the received requests.
+     */
+    private final HttpRequestHandler requestHandler;
+
+    /**
+     * The maximum number of open connections.
+     */
+    private final int maxConnections;
+
+    /**
+     * The number of open connections.
+     */
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    /**
+     * The bounded worker pool used to handle the received requests.
+     */
+    private final ThreadPoolExecutor workerPool;
+
+    /**
+     * The reactor accepting the connections and reading the requests.
+     */
+    private final DefaultListeningIOReactor ioReactor;
+
+    /**
+     * The {@link ListenerEndpoint} bound to the server port.
+     */
+    private ListenerEndpoint endpoint;
+
+    /**
+     * Constructs a new {@link NioHttpServer} with the provided parameters.
+     * <p>
+     * <b>Note:</b> this method does not start the server, see {@link #start()}.
+     *
+     * @param port           the port the server listens to
+     * @param requestHandler the {@link HttpRequestHandler} used to handle the received requests
+     * @param workers        the number of threads of the worker pool
+     * @param queueSize      the maximum number of requests waiting for a worker
+     * @param maxConnections the maximum number of open connections
+     * @throws IOException if an error occurred when creating the reactor
+     */
+    NioHttpServer(int port, HttpRequestHandler requestHandler, int workers, int queueSize, int maxConnections)
+            throws IOException {
+        this(port, requestHandler, workers, queueSize, maxConnections, createWorkerThreadFactory());
+    }
+
+    /**
+     * Constructs a new {@link NioHttpServer} with the provided parameters, using the provided
+     * {@code workerThreadFactory} to create the threads of the worker pool.
+     * <p>
+     * <b>Note:</b> this method does not start the server, see {@link #start()}.
+     *
+     * @param port                the port the server listens to
+     * @param requestHandler      the {@link HttpRequestHandler} used to handle the received requests
+     * @param workers             the number of threads of the worker pool
+     * @param queueSize           the maximum number of requests waiting for a worker
+     * @param maxConnections      the maximum number of open connections
+     * @param workerThreadFactory the {@link ThreadFactory} used to create the threads of the worker pool
+     * @throws IOException if an error occurred when creating the reactor
+     */
+    NioHttpServer(int port, HttpRequestHandler requestHandler, int workers, int queueSize, int maxConnections,
+                  ThreadFactory workerThreadFactory) throws IOException {
+        this.port = port;
+        this.requestHandler = requestHandler;
+        this.maxConnections = maxConnections;
+        this.workerPool = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>
+                (queueSize), workerThreadFactory);
+        /*
+         * Reuse the address like the blocking server does: the port can be bound again while the connections of a
+         * stopped server are in TIME_WAIT.
+         */
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setSoReuseAddress(true)
+                .setIoThreadCount(Runtime.getRuntime().availableProcessors())
+                .setSoTimeout(15000)
+                .setTcpNoDelay(true)
+                .setBacklogSize(maxConnections)
+                .build();
+        this.ioReactor = new DefaultListeningIOReactor(ioReactorConfig);
+    }
+
+    /**
+     * Creates the default {@link ThreadFactory} of the worker pool.
+     * <p>
+     * The created {@link ThreadFactory} creates daemon platform threads named {@code jarvis-server-worker-<n>}.
+     *
+     * @return the created {@link ThreadFactory}
+     */
+    private static ThreadFactory createWorkerThreadFactory() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, "jarvis-server-worker-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Starts the server and binds it to its port.
+     * <p>
+     * The reactor is executed in a dedicated thread. This method returns once the server port is bound.
+     *
+     * @throws IOException if an error occurred when binding the server port
+     */
+    void start() throws IOException {
+        HttpProcessor httpProcessor = HttpProcessorBuilder.create()
+                .add(new ResponseDate())
+                .add(new ResponseServer("Jarvis/1.1"))
+                .add(new ResponseContent())
+                .add(new ResponseConnControl())
+                .build();
+        UriHttpAsyncRequestHandlerMapper handlerMapper = new UriHttpAsyncRequestHandlerMapper();
+        handlerMapper.register("*", new WorkerPoolRequestHandler());
+        HttpAsyncService httpAsyncService = new HttpAsyncService(httpProcessor, handlerMapper);
+        IOEventDispatch ioEventDispatch = new DefaultHttpServerIODispatch(new ConnectionLimitingHandler
+                (httpAsyncService), ConnectionConfig.DEFAULT);
+        this.endpoint = ioReactor.listen(new InetSocketAddress(port));
+        Thread reactorThread = new Thread(() -> {
+            try {
+                ioReactor.execute(ioEventDispatch);
+            } catch (InterruptedIOException e) {
+                Log.info("{0} reactor interrupted", NioHttpServer.class.getSimpleName());
+            } catch (IOException e) {
+                Log.error("An error occurred in the {0} reactor: {1}", NioHttpServer.class.getSimpleName(), e
+                        .getMessage());
+            }
+        }, "jarvis-server-reactor");
+        reactorThread.setDaemon(true);
+        reactorThread.start();
+        try {
+            endpoint.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while binding the server port");
+        }
+        if (nonNull(endpoint.getException())) {
+            shutdown(0, TimeUnit.SECONDS);
+            throw endpoint.getException();
+        }
+    }
+
+    /**
+     * Returns the port the server is bound to.
+     *
+     * @return the port the server is bound to, or {@code -1} if the server is not started
+     */
+    int getLocalPort() {
+        if (nonNull(endpoint) && endpoint.getAddress() instanceof InetSocketAddress) {
+            return ((InetSocketAddress) endpoint.getAddress()).getPort();
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of requests waiting for a worker.
+     *
+     * @return the number of requests waiting for a worker
+     */
+    int getQueuedRequestCount() {
+        return workerPool.getQueue().size();
+    }
+
+    /**
+     * Returns the number of open connections.
+     *
+     * @return the number of open connections
+     */
+    int getOpenConnectionCount() {
+        return openConnections.get();
+    }
+
+    /**
+     * Stops the server.
+     * <p>
+     * The reactor and the worker pool are given the provided {@code gracePeriod} to complete the requests being
+     * handled.
+     *
+     * @param gracePeriod the time to wait for the requests being handled
+     * @param timeUnit    the unit of the provided {@code gracePeriod}
+     */
+    void shutdown(long gracePeriod, TimeUnit timeUnit) {
+        workerPool.shutdown();
+        try {
+            workerPool.awaitTermination(gracePeriod, timeUnit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            ioReactor.shutdown(timeUnit.toMillis(gracePeriod));
+        } catch (IOException e) {
+            Log.error("An error occurred when stopping the {0} reactor: {1}", NioHttpServer.class.getSimpleName(), e
+                    .getMessage());
+        }
+    }
+
+    /**
+     * The {@link HttpAsyncRequestHandler} buffering the received requests and handling them in the worker pool.
+     */
+    private class WorkerPoolRequestHandler implements HttpAsyncRequestHandler<HttpRequest> {
+
+        @Override
+        public HttpAsyncRequestConsumer<HttpRequest> processRequest(HttpRequest request, HttpContext context) {
+            return new BasicAsyncRequestConsumer();
+        }
+
+        @Override
+        public void handle(HttpRequest request, HttpAsyncExchange httpExchange, HttpContext context) {
+            try {
+                workerPool.execute(() -> {
+                    HttpResponse response = httpExchange.getResponse();
+                    try {
+                        requestHandler.handle(request, response, context);
+                    } catch (HttpException | IOException | RuntimeException e) {
+                        Log.error("An error occurred when handling the request {0}: {1} {2}", request
+                                .getRequestLine(), e.getClass().getSimpleName(), e.getMessage());
+                        response.setStatusCode(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+                    }
+                    submitResponse(httpExchange);
+                });
+            } catch (RejectedExecutionException e) {
+                Log.warn("Cannot handle the request {0}, the worker pool is full", request.getRequestLine());
+                httpExchange.getResponse().setStatusCode(HttpStatus.SC_SERVICE_UNAVAILABLE);
+                submitResponse(httpExchange);
+            }
+        }
+
+        /**
+         * Submits the response of the provided {@code httpExchange}.
+         *
+         * @param httpExchange the {@link HttpAsyncExchange} to submit the response of
+         */
+        private void submitResponse(HttpAsyncExchange httpExchange) {
+            try {
+                httpExchange.submitResponse();
+            } catch (IllegalStateException e) {
+                /*
+                 * The exchange has been cancelled (e.g. the connection has been closed by the client).
+                 */
+                Log.warn("Cannot submit the response: {0}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A {@link NHttpServerEventHandler} closing the connections exceeding the maximum number of open connections.
+     */
+    private class ConnectionLimitingHandler implements NHttpServerEventHandler {
+
+        /**
+         * The {@link NHttpServerEventHandler} to delegate the events to.
+         */
+        private final NHttpServerEventHandler delegate;
+
+        /**
+         * Constructs a new {@link ConnectionLimitingHandler} delegating to the provided {@code delegate}.
+         *
+         * @param delegate the {@link NHttpServerEventHandler} to delegate the events to
+         */
+        private ConnectionLimitingHandler(NHttpServerEventHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void connected(NHttpServerConnection conn) throws IOException, HttpException {
+            delegate.connected(conn);
+            if (openConnections.incrementAndGet() > maxConnections) {
+                Log.warn("Closing connection {0}, the maximum number of open connections ({1}) is reached", conn,
+                        maxConnections);
+                conn.shutdown();
+            }
+        }
+
+        @Override
+        public void requestReceived(NHttpServerConnection conn) throws IOException, HttpException {
+            delegate.requestReceived(conn);
+        }
+
+        @Override
+        public void inputReady(NHttpServerConnection conn, ContentDecoder decoder) throws IOException,
+                HttpException {
+            delegate.inputReady(conn, decoder);
+        }
+
+        @Override
+        public void responseReady(NHttpServerConnection conn) throws IOException, HttpException {
+            delegate.responseReady(conn);
+        }
+
+        @Override
+        public void outputReady(NHttpServerConnection conn, ContentEncoder encoder) throws IOException,
+                HttpException {
+            delegate.outputReady(conn, encoder);
+        }
+
+        @Override
+        public void endOfInput(NHttpServerConnection conn) throws IOException {
+            delegate.endOfInput(conn);
+        }
+
+        @Override
+        public void timeout(NHttpServerConnection conn) throws IOException {
+            delegate.timeout(conn);
+        }
+
+        @Override
+        public void closed(NHttpServerConnection conn) {
+            openConnections.decrementAndGet();
+            delegate.closed(conn);
+        }
+
+        @Override
+        public void exception(NHttpServerConnection conn, Exception ex) {
+            delegate.exception(conn, ex);
+        }
+    }
+}
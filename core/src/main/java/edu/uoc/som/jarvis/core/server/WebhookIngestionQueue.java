@@ -0,0 +1,364 @@
+package edu.uoc.som.jarvis.core.server;
+
+import fr.inria.atlanmod.commons.log.Log;
+import org.apache.http.Header;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A bounded in-memory queue of the webhook requests accepted by the {@link JarvisServer}.
+ * <p>
+ * This queue is used by the {@link JarvisServer#QUEUE_INGESTION_MODE}: the received requests are validated and
+ * enqueued by the HTTP handler, that immediately replies with a {@code 202 Accepted} response, and a pool of worker
+ * threads drains the queue and notifies the {@link edu.uoc.som.jarvis.core.platform.io.WebhookEventProvider}s.
+ * Requests received when the queue is full are rejected, and the handler replies with a {@code 503} response.
+ * Requests that cannot be handled by any provider are not enqueued (see {@link JarvisServer#INGESTION_MODE_KEY}).
+ * <p>
+ * This class also records the queue metrics (depth, wait time, and accepted/rejected/processed/failed counts), that
+ * can be accessed through {@link JarvisServer#getIngestionQueue()}.
+ */
+public class WebhookIngestionQueue {
+
+    /**
+     * The {@link JarvisServer} notified when a request is dequeued.
+     */
+    private final JarvisServer jarvisServer;
+
+    /**
+     * The queue containing the accepted requests.
+     */
+    private final BlockingQueue<IngestedRequest> queue;
+
+    /**
+     * The maximum number of requests stored in the queue.
+     */
+    private final int capacity;
+
+    /**
+     * The worker threads draining the queue.
+     */
+    private final List<Thread> workers;
+
+    /**
+     * A flag representing whether the queue has been shut down.
+     */
+    private volatile boolean isShutdown;
+
+    /**
+     * The number of accepted requests.
+     */
+    private final LongAdder acceptedCount = new LongAdder();
+
+    /**
+     * The number of requests rejected because the queue was full.
+     */
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * The number of requests successfully processed by the workers.
+     */
+    private final LongAdder processedCount = new LongAdder();
+
+    /**
+     * The number of requests that threw an exception when processed by the workers.
+     */
+    private final LongAdder failedCount = new LongAdder();
+
+    /**
+     * The sum of the time spent by the dequeued requests in the queue, in nanoseconds.
+     */
+    private final LongAdder totalWaitTime = new LongAdder();
+
+    /**
+     * The maximum time spent by a dequeued request in the queue, in nanoseconds.
+     */
+    private final AtomicLong maxWaitTime = new AtomicLong();
+
+    /**
+     * Constructs a new {@link WebhookIngestionQueue} with the provided {@code capacity} and {@code workerCount}.
+     * <p>
+     * The worker threads are daemon platform threads (see {@link #createWorkerThreadFactory()}), and are started by
+     * this constructor.
+     *
+     * @param jarvisServer the {@link JarvisServer} notified when a request is dequeued
+     * @param capacity     the maximum number of requests stored in the queue
+     * @param workerCount  the number of worker threads draining the queue
+     * @throws NullPointerException     if the provided {@code jarvisServer} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code capacity} or {@code workerCount} is lower than {@code 1}
+     */
+    WebhookIngestionQueue(JarvisServer jarvisServer, int capacity, int workerCount) {
+        this(jarvisServer, capacity, workerCount, createWorkerThreadFactory());
+    }
+
+    /**
+     * Constructs a new {@link WebhookIngestionQueue} with the provided {@code capacity} and {@code workerCount}.
+     * <p>
+     * The worker threads are created with the provided {@code threadFactory}, and are started by this constructor.
+     *
+     * @param jarvisServer  the {@link JarvisServer} notified when a request is dequeued
+     * @param capacity      the maximum number of requests stored in the queue
+     * @param workerCount   the number of worker threads draining the queue
+     * @param threadFactory the {@link ThreadFactory} creating the worker threads
+     * @throws NullPointerException     if the provided {@code jarvisServer} or {@code threadFactory} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code capacity} or {@code workerCount} is lower than {@code 1}
+     */
+    WebhookIngestionQueue(JarvisServer jarvisServer, int capacity, int workerCount, ThreadFactory threadFactory) {
+        checkNotNull(jarvisServer, "Cannot construct a %s with the provided %s: %s", WebhookIngestionQueue.class
+                .getSimpleName(), JarvisServer.class.getSimpleName(), jarvisServer);
+        checkNotNull(threadFactory, "Cannot construct a %s with the provided %s: %s", WebhookIngestionQueue.class
+                .getSimpleName(), ThreadFactory.class.getSimpleName(), threadFactory);
+        checkArgument(capacity > 0, "Cannot construct a %s with the provided capacity %s, expected a positive " +
+                "value", WebhookIngestionQueue.class.getSimpleName(), capacity);
+        checkArgument(workerCount > 0, "Cannot construct a %s with the provided worker count %s, expected a " +
+                "positive value", WebhookIngestionQueue.class.getSimpleName(), workerCount);
+        this.jarvisServer = jarvisServer;
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.workers = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = threadFactory.newThread(this::drain);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Creates the default {@link ThreadFactory} of the worker threads.
+     * <p>
+     * The created {@link ThreadFactory} creates daemon platform threads named {@code jarvis-ingestion-worker-<n>}.
+     *
+     * @return the created {@link ThreadFactory}
+     */
+    static ThreadFactory createWorkerThreadFactory() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, "jarvis-ingestion-worker-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Enqueues the provided request.
+     *
+     * @param journalSequence the sequence number of the journaled request, or
+     *                        {@link edu.uoc.som.jarvis.core.journal.EventJournal#NO_SEQUENCE} if the request is not
+     *                        journaled
+     * @param path            the path of the received request
+     * @param contentType     the content type of the received request
+     * @param content         the content of the received request
+     * @param headers         the HTTP headers of the received request
+     * @return {@code true} if the request has been enqueued, {@code false} if the queue is full or shut down
+     */
+    boolean offer(long journalSequence, String path, String contentType, Object content, Header[] headers) {
+        if (isShutdown || !queue.offer(new IngestedRequest(journalSequence, path, contentType, content, headers))) {
+            rejectedCount.increment();
+            return false;
+        }
+        acceptedCount.increment();
+        return true;
+    }
+
+    /**
+     * Takes the queued requests and notifies the {@link JarvisServer}'s providers until the queue is shut down.
+     */
+    private void drain() {
+        while (!isShutdown || !queue.isEmpty()) {
+            IngestedRequest request;
+            try {
+                request = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (request == null) {
+                continue;
+            }
+            long waitTime = System.nanoTime() - request.enqueuedAt;
+            totalWaitTime.add(waitTime);
+            maxWaitTime.accumulateAndGet(waitTime, Math::max);
+            try {
+                jarvisServer.dispatchWebhook(request.journalSequence, request.path, request.contentType, request
+                        .content, request.headers);
+                processedCount.increment();
+            } catch (RuntimeException e) {
+                failedCount.increment();
+                Log.error("An error occurred when processing the queued request on {0}: {1} {2}", request.path, e
+                        .getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Shuts down the queue.
+     * <p>
+     * The queue stops accepting requests, and the workers are given the provided {@code gracePeriod} to process the
+     * queued ones. The requests that are still queued after the grace period are discarded.
+     *
+     * @param gracePeriod the time to wait for the queued requests to be processed
+     * @param timeUnit    the unit of the provided {@code gracePeriod}
+     */
+    void shutdown(long gracePeriod, TimeUnit timeUnit) {
+        isShutdown = true;
+        long deadline = System.nanoTime() + timeUnit.toNanos(gracePeriod);
+        for (Thread worker : workers) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            try {
+                if (remaining > 0) {
+                    worker.join(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.forEach(Thread::interrupt);
+        int discarded = queue.size();
+        queue.clear();
+        if (discarded > 0) {
+            Log.warn("{0} queued request(s) discarded when stopping the {1}", discarded, WebhookIngestionQueue.class
+                    .getSimpleName());
+        }
+    }
+
+    /**
+     * Returns the number of requests waiting in the queue.
+     *
+     * @return the number of requests waiting in the queue
+     */
+    public int getDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the maximum number of requests stored in the queue.
+     *
+     * @return the maximum number of requests stored in the queue
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of accepted requests.
+     *
+     * @return the number of accepted requests
+     */
+    public long getAcceptedCount() {
+        return acceptedCount.sum();
+    }
+
+    /**
+     * Returns the number of requests rejected because the queue was full.
+     *
+     * @return the number of rejected requests
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Returns the number of requests successfully processed by the workers.
+     *
+     * @return the number of processed requests
+     */
+    public long getProcessedCount() {
+        return processedCount.sum();
+    }
+
+    /**
+     * Returns the number of requests that threw an exception when processed by the workers.
+     *
+     * @return the number of failed requests
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * Returns the average time spent by the dequeued requests in the queue, in milliseconds.
+     *
+     * @return the average wait time in milliseconds, or {@code 0} if no request has been dequeued
+     */
+    public double getAverageWaitTime() {
+        long dequeued = processedCount.sum() + failedCount.sum();
+        if (dequeued == 0) {
+            return 0;
+        }
+        return totalWaitTime.sum() / (double) dequeued / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Returns the maximum time spent by a dequeued request in the queue, in milliseconds.
+     *
+     * @return the maximum wait time in milliseconds
+     */
+    public long getMaxWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitTime.get());
+    }
+
+    /**
+     * A request stored in the {@link WebhookIngestionQueue}.
+     */
+    private static class IngestedRequest {
+
+        /**
+         * The sequence number of the journaled request.
+         */
+        private final long journalSequence;
+
+        /**
+         * The path of the request.
+         */
+        private final String path;
+
+        /**
+         * The content type of the request.
+         */
+        private final String contentType;
+
+        /**
+         * The content of the request.
+         */
+        private final Object content;
+
+        /**
+         * The HTTP headers of the request.
+         */
+        private final Header[] headers;
+
+        /**
+         * The {@link System#nanoTime()} value when the request has been enqueued.
+         */
+        private final long enqueuedAt;
+
+        /**
+         * Constructs a new {@link IngestedRequest} with the provided parameters.
+         *
+         * @param journalSequence the sequence number of the journaled request
+         * @param path            the path of the request
+         * @param contentType     the content type of the request
+         * @param content         the content of the request
+         * @param headers         the HTTP headers of the request
+         */
+        private IngestedRequest(long journalSequence, String path, String contentType, Object content, Header[]
+                headers) {
+            this.journalSequence = journalSequence;
+            this.path = path;
+            this.contentType = contentType;
+            this.content = content;
+            this.headers = headers;
+            this.enqueuedAt = System.nanoTime();
+        }
+    }
+}
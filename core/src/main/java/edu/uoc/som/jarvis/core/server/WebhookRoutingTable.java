@@ -0,0 +1,224 @@
+package edu.uoc.som.jarvis.core.server;
+
+import edu.uoc.som.jarvis.core.platform.io.WebhookEventProvider;
+import edu.uoc.som.jarvis.core.platform.io.WebhookRoute;
+import org.apache.http.Header;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An immutable index of the {@link WebhookRoute}s claimed by the registered {@link WebhookEventProvider}s.
+ * <p>
+ * This table associates request paths and discriminating headers to the {@link WebhookEventProvider}s owning them.
+ * Resolving the owners of a request requires a lookup for the request path, a lookup for the routes matching any
+ * path, and a lookup for each discriminating header name registered for these paths. Providers that do not claim any
+ * route are stored as broadcast providers, and receive all the requests.
+ * <p>
+ * The {@link JarvisServer} rebuilds its table each time a provider is registered or unregistered, and can safely
+ * share it between the threads handling the requests.
+ *
+ * @see WebhookEventProvider#getRoutes()
+ */
+class WebhookRoutingTable {
+
+    /**
+     * An empty {@link WebhookRoutingTable}.
+     */
+    static final WebhookRoutingTable EMPTY = new WebhookRoutingTable(Collections.emptySet());
+
+    /**
+     * The {@link RouteNode}s associated to the normalized request paths.
+     */
+    private final Map<String, RouteNode> pathNodes = new HashMap<>();
+
+    /**
+     * The {@link RouteNode} containing the routes matching any path.
+     */
+    private final RouteNode anyPathNode = new RouteNode();
+
+    /**
+     * The {@link WebhookEventProvider}s that do not claim any route.
+     */
+    private final Set<WebhookEventProvider> broadcastProviders = new LinkedHashSet<>();
+
+    /**
+     * Constructs a new {@link WebhookRoutingTable} indexing the routes of the provided {@code providers}.
+     *
+     * @param providers the {@link WebhookEventProvider}s to index the routes of
+     */
+    WebhookRoutingTable(Collection<WebhookEventProvider> providers) {
+        for (WebhookEventProvider provider : providers) {
+            Collection<WebhookRoute> routes = provider.getRoutes();
+            if (isNull(routes) || routes.isEmpty()) {
+                broadcastProviders.add(provider);
+                continue;
+            }
+            for (WebhookRoute route : routes) {
+                RouteNode node = isNull(route.getPath()) ? anyPathNode : pathNodes.computeIfAbsent(route.getPath(),
+                        path -> new RouteNode());
+                node.add(route, provider);
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link WebhookEventProvider}s that do not claim any route.
+     *
+     * @return an unmodifiable {@link Set} containing the {@link WebhookEventProvider}s that do not claim any route
+     */
+    Set<WebhookEventProvider> getBroadcastProviders() {
+        return Collections.unmodifiableSet(broadcastProviders);
+    }
+
+    /**
+     * Returns the {@link WebhookEventProvider}s owning a route matching the provided {@code path} and {@code
+     * headers}.
+     * <p>
+     * A {@code null} {@code path} only matches the routes that do not define a path. The returned {@link Set} does
+     * not contain the broadcast providers (see {@link #getBroadcastProviders()}).
+     *
+     * @param path    the path of the request
+     * @param headers the headers of the request
+     * @return the {@link WebhookEventProvider}s owning a route matching the request
+     */
+    Set<WebhookEventProvider> getOwners(String path, Header[] headers) {
+        Set<WebhookEventProvider> owners = new LinkedHashSet<>();
+        Map<String, String> headerValues = null;
+        if (nonNull(path)) {
+            RouteNode pathNode = pathNodes.get(WebhookRoute.normalizePath(path));
+            if (nonNull(pathNode)) {
+                headerValues = pathNode.collectOwners(headers, null, owners);
+            }
+        }
+        anyPathNode.collectOwners(headers, headerValues, owners);
+        return owners;
+    }
+
+    /**
+     * The routes registered for a given path.
+     */
+    private static class RouteNode {
+
+        /**
+         * The {@link WebhookEventProvider}s owning routes that do not define a discriminating header.
+         */
+        private final Set<WebhookEventProvider> owners = new LinkedHashSet<>();
+
+        /**
+         * The {@link HeaderNode}s associated to the lower case names of the discriminating headers.
+         */
+        private final Map<String, HeaderNode> headerNodes = new HashMap<>();
+
+        /**
+         * Adds the provided {@code route} owned by the provided {@code provider} to this node.
+         *
+         * @param route    the {@link WebhookRoute} to add
+         * @param provider the {@link WebhookEventProvider} owning the route
+         */
+        private void add(WebhookRoute route, WebhookEventProvider provider) {
+            if (isNull(route.getHeaderName())) {
+                owners.add(provider);
+            } else {
+                headerNodes.computeIfAbsent(route.getHeaderName(), name -> new HeaderNode()).add(route
+                        .getHeaderValue(), provider);
+            }
+        }
+
+        /**
+         * Adds the owners of the routes of this node matching the provided {@code headers} to {@code result}.
+         *
+         * @param headers      the headers of the request
+         * @param headerValues the header values indexed by lower case header name, or {@code null} if they have not
+         *                     been computed yet
+         * @param result       the {@link Set} to add the owners to
+         * @return the header values indexed by lower case header name, if they have been computed
+         */
+        private Map<String, String> collectOwners(Header[] headers, Map<String, String> headerValues,
+                                                  Set<WebhookEventProvider> result) {
+            result.addAll(owners);
+            if (headerNodes.isEmpty()) {
+                return headerValues;
+            }
+            Map<String, String> values = nonNull(headerValues) ? headerValues : indexHeaders(headers);
+            for (Map.Entry<String, HeaderNode> headerNode : headerNodes.entrySet()) {
+                String value = values.get(headerNode.getKey());
+                if (nonNull(value)) {
+                    headerNode.getValue().collectOwners(value, result);
+                }
+            }
+            return values;
+        }
+
+        /**
+         * Indexes the provided {@code headers} by lower case name.
+         * <p>
+         * Only the first value of each header is indexed.
+         *
+         * @param headers the headers to index
+         * @return the header values indexed by lower case header name
+         */
+        private static Map<String, String> indexHeaders(Header[] headers) {
+            if (isNull(headers) || headers.length == 0) {
+                return Collections.emptyMap();
+            }
+            Map<String, String> result = new HashMap<>();
+            for (Header header : headers) {
+                result.putIfAbsent(header.getName().toLowerCase(Locale.ROOT), header.getValue());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The routes registered for a given discriminating header.
+     */
+    private static class HeaderNode {
+
+        /**
+         * The {@link WebhookEventProvider}s owning routes that match any value of the header.
+         */
+        private final Set<WebhookEventProvider> anyValueOwners = new LinkedHashSet<>();
+
+        /**
+         * The {@link WebhookEventProvider}s associated to the expected header values.
+         */
+        private final Map<String, Set<WebhookEventProvider>> valueOwners = new HashMap<>();
+
+        /**
+         * Adds the provided {@code provider} as an owner of the provided header {@code value}.
+         *
+         * @param value    the expected header value, or {@code null} to match any value
+         * @param provider the {@link WebhookEventProvider} owning the route
+         */
+        private void add(String value, WebhookEventProvider provider) {
+            if (isNull(value)) {
+                anyValueOwners.add(provider);
+            } else {
+                valueOwners.computeIfAbsent(value, v -> new LinkedHashSet<>()).add(provider);
+            }
+        }
+
+        /**
+         * Adds the owners of the provided header {@code value} to {@code result}.
+         *
+         * @param value  the value of the header in the request
+         * @param result the {@link Set} to add the owners to
+         */
+        private void collectOwners(String value, Set<WebhookEventProvider> result) {
+            result.addAll(anyValueOwners);
+            Set<WebhookEventProvider> owners = valueOwners.get(value);
+            if (nonNull(owners)) {
+                result.addAll(owners);
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package edu.uoc.som.jarvis.core.session;
+
+import fr.inria.atlanmod.commons.log.Log;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A pre-parsed message containing context variable accesses.
+ * <p>
+ * A {@link MessageTemplate} splits its source message into text segments and context variable segments (e.g.
+ * {@code {$context.variable}}) once, and renders them into a single {@link StringBuilder} each time the message is
+ * filled with the values of a {@link RuntimeContexts}. {@link MessageTemplate}s are immutable, and are cached by
+ * their source message (see {@link #of(String)}).
+ *
+ * @see RuntimeContexts#fillContextValues(String)
+ */
+public final class MessageTemplate {
+
+    /**
+     * The maximum number of {@link MessageTemplate}s stored in the {@link #TEMPLATE_CACHE}.
+     * <p>
+     * A template that has not been used recently is evicted when this limit is reached: dynamically computed
+     * messages cannot prevent the frequently rendered ones from being cached.
+     */
+    static final int MAX_TEMPLATE_CACHE_SIZE = 1024;
+
+    /**
+     * The {@link Pattern} matching context variable accesses in a message.
+     */
+    private static final Pattern CONTEXT_VARIABLE_PATTERN = Pattern.compile("\\{\\$[^\\s\\}]+\\}");
+
+    /**
+     * The cache containing the parsed {@link MessageTemplate}s, indexed by source message.
+     * <p>
+     * This map is read without locking. Templates are evicted in a second-chance (CLOCK) order once it contains more
+     * than {@link #MAX_TEMPLATE_CACHE_SIZE} templates (see {@link #evictTemplates()}).
+     */
+    private static final ConcurrentMap<String, MessageTemplate> TEMPLATE_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * The cached {@link MessageTemplate}s, in the order they are considered for eviction.
+     * <p>
+     * This queue must be accessed while holding its lock.
+     *
+     * @see #evictTemplates()
+     */
+    private static final Queue<MessageTemplate> EVICTION_QUEUE = new ArrayDeque<>();
+
+    /**
+     * Returns the {@link MessageTemplate} corresponding to the provided {@code message}.
+     * <p>
+     * The provided {@code message} is parsed the first time this method is called, and the created
+     * {@link MessageTemplate} is reused for the next calls with the same {@code message}, as long as it is not
+     * evicted from the cache (see {@link #MAX_TEMPLATE_CACHE_SIZE}). Cached templates are retrieved without locking.
+     *
+     * @param message the source message of the {@link MessageTemplate} to retrieve
+     * @return the {@link MessageTemplate} corresponding to the provided {@code message}
+     * @throws NullPointerException if the provided {@code message} is {@code null}
+     */
+    public static MessageTemplate of(String message) {
+        checkNotNull(message, "Cannot create a %s from the null message", MessageTemplate.class.getSimpleName());
+        MessageTemplate template = TEMPLATE_CACHE.get(message);
+        if (nonNull(template)) {
+            if (!template.referenced) {
+                /*
+                 * Only write the flag if it is not set: frequently rendered templates are not written by concurrent
+                 * readers.
+                 */
+                template.referenced = true;
+            }
+            return template;
+        }
+        /*
+         * Concurrent calls with the same message may create distinct (equivalent) templates, the first one is cached.
+         */
+        MessageTemplate created = new MessageTemplate(message);
+        template = TEMPLATE_CACHE.putIfAbsent(message, created);
+        if (nonNull(template)) {
+            return template;
+        }
+        synchronized (EVICTION_QUEUE) {
+            EVICTION_QUEUE.add(created);
+            evictTemplates();
+        }
+        return created;
+    }
+
+    /**
+     * Evicts templates from the {@link #TEMPLATE_CACHE} until it contains at most {@link #MAX_TEMPLATE_CACHE_SIZE}
+     * templates.
+     * <p>
+     * The templates are considered in their insertion order: a template that has been used since it was last
+     * considered is given a second chance and moved to the end of the {@link #EVICTION_QUEUE}, the first template
+     * that has not been used is evicted. This method must be called while holding the lock of the
+     * {@link #EVICTION_QUEUE}, and is only called when a new template is cached.
+     */
+    private static void evictTemplates() {
+        while (EVICTION_QUEUE.size() > MAX_TEMPLATE_CACHE_SIZE) {
+            MessageTemplate candidate = EVICTION_QUEUE.remove();
+            if (candidate.referenced) {
+                candidate.referenced = false;
+                EVICTION_QUEUE.add(candidate);
+            } else {
+                TEMPLATE_CACHE.remove(candidate.source, candidate);
+            }
+        }
+    }
+
+    /**
+     * Whether this template has been retrieved from the cache since it was last considered for eviction.
+     *
+     * @see #evictTemplates()
+     */
+    private volatile boolean referenced;
+
+    /**
+     * The source message of this template.
+     */
+    private final String source;
+
+    /**
+     * The text segments of the message.
+     * <p>
+     * The {@code i}-th text segment precedes the {@code i}-th context variable segment, and the last text segment
+     * ends the message. This array therefore contains one more element than {@link #variables}.
+     */
+    private final String[] texts;
+
+    /**
+     * The context variable segments of the message.
+     */
+    private final ContextVariable[] variables;
+
+    /**
+     * The cumulated length of the text segments, used to size the rendered {@link StringBuilder}.
+     */
+    private final int textLength;
+
+    /**
+     * Constructs a new {@link MessageTemplate} by parsing the provided {@code message}.
+     *
+     * @param message the source message to parse
+     * @see #of(String)
+     */
+    private MessageTemplate(String message) {
+        this.source = message;
+        List<String> textList = new ArrayList<>();
+        List<ContextVariable> variableList = new ArrayList<>();
+        Matcher m = CONTEXT_VARIABLE_PATTERN.matcher(message);
+        int textStart = 0;
+        int length = 0;
+        while (m.find()) {
+            String group = m.group();
+            /*
+             * Cannot be empty.
+             */
+            String[] splitGroup = group.substring(2).split("\\.");
+            if (splitGroup.length == 2) {
+                String text = message.substring(textStart, m.start());
+                textList.add(text);
+                length += text.length();
+                variableList.add(new ContextVariable(group, splitGroup[0], splitGroup[1].substring(0,
+                        splitGroup[1].length() - 1)));
+                textStart = m.end();
+            } else {
+                /*
+                 * Invalid accesses are kept in the text segments and printed as is.
+                 */
+                Log.error("Invalid context variable access: {0}", group);
+            }
+        }
+        String lastText = message.substring(textStart);
+        textList.add(lastText);
+        length += lastText.length();
+        this.texts = textList.toArray(new String[textList.size()]);
+        this.variables = variableList.toArray(new ContextVariable[variableList.size()]);
+        this.textLength = length;
+    }
+
+    /**
+     * Returns the source message of this template.
+     *
+     * @return the source message of this template
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the number of context variable accesses in this template.
+     *
+     * @return the number of context variable accesses in this template
+     */
+    public int getVariableCount() {
+        return variables.length;
+    }
+
+    /**
+     * Renders this template with the values stored in the provided {@code runtimeContexts}.
+     * <p>
+     * Context variable accesses that cannot be resolved (e.g. because the context or the variable does not exist)
+     * are printed as is in the rendered message.
+     *
+     * @param runtimeContexts the {@link RuntimeContexts} containing the values of the context variables
+     * @return the rendered message
+     * @throws NullPointerException if the provided {@code runtimeContexts} is {@code null}
+     * @see RuntimeContexts#fillContextValues(String)
+     */
+    public String render(RuntimeContexts runtimeContexts) {
+        checkNotNull(runtimeContexts, "Cannot render the template with the provided %s %s", RuntimeContexts.class
+                .getSimpleName(), runtimeContexts);
+        if (variables.length == 0) {
+            return source;
+        }
+        String[] values = new String[variables.length];
+        int length = textLength;
+        for (int i = 0; i < variables.length; i++) {
+            ContextVariable variable = variables[i];
+            String value = runtimeContexts.getPrintedValue(variable.contextName, variable.variableName);
+            values[i] = nonNull(value) ? value : variable.token;
+            length += values[i].length();
+        }
+        return concat(values, length);
+    }
+
+    /**
+     * Renders this template with the values stored in the provided {@code runtimeContexts} <b>asynchronously</b>.
+     * <p>
+     * The values of the context variables are retrieved concurrently, and the returned {@link CompletableFuture} is
+     * completed with the rendered message once all of them are available. Context variable accesses that cannot be
+     * resolved are printed as is in the rendered message.
+     *
+     * @param runtimeContexts the {@link RuntimeContexts} containing the values of the context variables
+     * @return a {@link CompletableFuture} completed with the rendered message
+     * @throws NullPointerException if the provided {@code runtimeContexts} is {@code null}
+     * @see RuntimeContexts#fillContextValuesAsync(String)
+     */
+    public CompletableFuture<String> renderAsync(RuntimeContexts runtimeContexts) {
+        checkNotNull(runtimeContexts, "Cannot render the template with the provided %s %s", RuntimeContexts.class
+                .getSimpleName(), runtimeContexts);
+        if (variables.length == 0) {
+            return CompletableFuture.completedFuture(source);
+        }
+        @SuppressWarnings("unchecked")
+        CompletableFuture<String>[] values = new CompletableFuture[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            values[i] = runtimeContexts.getPrintedValueAsync(variables[i].contextName, variables[i].variableName);
+        }
+        return CompletableFuture.allOf(values).thenApply(v -> {
+            String[] printedValues = new String[variables.length];
+            int length = textLength;
+            for (int i = 0; i < variables.length; i++) {
+                String value = values[i].join();
+                printedValues[i] = nonNull(value) ? value : variables[i].token;
+                length += printedValues[i].length();
+            }
+            return concat(printedValues, length);
+        });
+    }
+
+    /**
+     * Concatenates the text segments of this template with the provided {@code printedValues}.
+     *
+     * @param printedValues the printed values of the context variables
+     * @param length        the length of the rendered message
+     * @return the rendered message
+     */
+    private String concat(String[] printedValues, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < variables.length; i++) {
+            sb.append(texts[i]).append(printedValues[i]);
+        }
+        sb.append(texts[variables.length]);
+        return sb.toString();
+    }
+
+    /**
+     * A context variable access segment of a {@link MessageTemplate}.
+     */
+    private static final class ContextVariable {
+
+        /**
+         * The source text of the access (e.g. {@code {$context.variable}}), printed if the variable cannot be
+         * resolved.
+         */
+        private final String token;
+
+        /**
+         * The name of the accessed context.
+         */
+        private final String contextName;
+
+        /**
+         * The name of the accessed variable.
+         */
+        private final String variableName;
+
+        /**
+         * Constructs a new {@link ContextVariable} with the provided parameters.
+         *
+         * @param token        the source text of the access
+         * @param contextName  the name of the accessed context
+         * @param variableName the name of the accessed variable
+         */
+        private ContextVariable(String token, String contextName, String variableName) {
+            this.token = token;
+            this.contextName = contextName;
+            this.variableName = variableName;
+        }
+    }
+}
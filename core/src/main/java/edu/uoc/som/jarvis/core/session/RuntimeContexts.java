@@ -5,6 +5,7 @@ import edu.uoc.som.jarvis.core.platform.action.RuntimeAction;
 import edu.uoc.som.jarvis.core.platform.io.RuntimeEventProvider;
 import edu.uoc.som.jarvis.intent.Context;
 import edu.uoc.som.jarvis.intent.ContextParameterValue;
+import edu.uoc.som.jarvis.util.VirtualThreads;
 import fr.inria.atlanmod.commons.log.Log;
 import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
@@ -15,11 +16,12 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
@@ -50,6 +52,62 @@ public class RuntimeContexts {
      */
     public static int DEFAULT_VARIABLE_TIMEOUT_VALUE = 2;
 
+    /**
+     * The placeholder printed in place of a {@link Future} variable that took too long to complete.
+     */
+    private static final String TIMEOUT_PLACEHOLDER = "<Task took too long to complete>";
+
+    /**
+     * The placeholder printed in place of a {@link Future} variable that has been cancelled.
+     */
+    private static final String CANCELLED_PLACEHOLDER = "<Task has been cancelled>";
+
+    /**
+     * The {@link ScheduledExecutorService} used to time out the {@link CompletableFuture} variables awaited by
+     * {@link #fillContextValuesAsync(String)}.
+     */
+    private static final ScheduledExecutorService VARIABLE_TIMEOUT_SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "jarvis-context-variable-timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * The maximum number of platform {@link Thread}s used to wait for the {@link Future} variables that do not
+     * support completion callbacks.
+     * <p>
+     * Each {@link Thread} waits at most {@link #variableTimeout} seconds for a variable, the variables submitted
+     * while all the {@link Thread}s are waiting are queued, and their timeout includes the time spent in the queue.
+     */
+    private static final int FUTURE_VARIABLE_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * The prefix of the names of the {@link Thread}s waiting for the {@link Future} variables.
+     */
+    private static final String FUTURE_VARIABLE_THREAD_NAME_PREFIX = "jarvis-context-variable-waiter-";
+
+    /**
+     * The {@link ExecutorService} used to wait for the {@link Future} variables that do not support completion
+     * callbacks in {@link #fillContextValuesAsync(String)}.
+     * <p>
+     * This executor is bounded to {@link #FUTURE_VARIABLE_THREADS} platform {@link Thread}s, and is not used if
+     * virtual {@link Thread}s are enabled (see {@link VirtualFutureVariableExecutorHolder}).
+     */
+    private static final ExecutorService FUTURE_VARIABLE_EXECUTOR;
+
+    static {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(FUTURE_VARIABLE_THREADS,
+                FUTURE_VARIABLE_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, FUTURE_VARIABLE_THREAD_NAME_PREFIX + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        FUTURE_VARIABLE_EXECUTOR = threadPoolExecutor;
+    }
+
     /**
      * The sub-contexts associated to this class.
      * <p>
@@ -80,6 +138,19 @@ public class RuntimeContexts {
      */
     private int variableTimeout;
 
+    /**
+     * The {@link ExecutorService} used to wait for the {@link Future} variables that do not support completion
+     * callbacks.
+     * <p>
+     * This executor creates a virtual {@link Thread} for each awaited variable if virtual {@link Thread}s are enabled
+     * in this class' {@link Configuration} constructor parameter (see
+     * {@link edu.uoc.som.jarvis.core.ExecutionService#VIRTUAL_THREADS_KEY}), and is the shared
+     * {@link #FUTURE_VARIABLE_EXECUTOR} otherwise.
+     *
+     * @see #RuntimeContexts(Configuration)
+     */
+    private final ExecutorService futureVariableExecutor;
+
     /**
      * Constructs a new empty {@link RuntimeContexts}.
      * <p>
@@ -117,6 +188,8 @@ public class RuntimeContexts {
             this.variableTimeout = DEFAULT_VARIABLE_TIMEOUT_VALUE;
             Log.info("Using default context variable timeout ({0}s)", DEFAULT_VARIABLE_TIMEOUT_VALUE);
         }
+        this.futureVariableExecutor = VirtualThreads.isEnabled(configuration) ?
+                VirtualFutureVariableExecutorHolder.EXECUTOR : FUTURE_VARIABLE_EXECUTOR;
     }
 
     /**
@@ -378,6 +451,9 @@ public class RuntimeContexts {
      * {@code {$contextName.variableName}}.
      * <p>
      * If a variable cannot be replaced the variable pattern is left unchanged.
+     * <p>
+     * The provided {@code message} is parsed once into a {@link MessageTemplate}, that is cached and reused for the
+     * next calls with the same {@code message}.
      *
      * @param message the message to replace the variables from
      * @return the provided {@code message} with its declared variables replaced by their context values.
@@ -385,67 +461,206 @@ public class RuntimeContexts {
      */
     public String fillContextValues(String message) {
         checkNotNull(message, "Cannot fill the context values of the null message");
-        Log.info("Filling context values for message {0}", message);
-        String outMessage = message;
-        Matcher m = Pattern.compile("\\{\\$[^\\s\\}]+\\}").matcher(message);
-        while (m.find()) {
-            String group = m.group();
-            Log.info("Found context variable {0}", group);
+        return MessageTemplate.of(message).render(this);
+    }
+
+    /**
+     * Replace declared variables from {@code message} by their context values <b>asynchronously</b>.
+     * <p>
+     * This method is the asynchronous version of {@link #fillContextValues(String)}: the {@link Future} values
+     * accessed in the provided {@code message} are awaited concurrently, and the returned {@link CompletableFuture}
+     * is completed with the filled message once all of them are available. The calling thread is not blocked while
+     * waiting for the {@link Future} values.
+     * <p>
+     * {@link Future} values that take more than the configured variable timeout (see {@link #VARIABLE_TIMEOUT_KEY})
+     * to complete are cancelled and replaced by a placeholder, as in {@link #fillContextValues(String)}.
+     *
+     * @param message the message to replace the variables from
+     * @return a {@link CompletableFuture} completed with the provided {@code message} with its declared variables
+     * replaced by their context values, or completed exceptionally with a {@link JarvisException} if an error
+     * occurred when retrieving a value from a previous action
+     * @throws NullPointerException if the provided {@code message} is {@code null}
+     * @see #fillContextValues(String)
+     */
+    public CompletableFuture<String> fillContextValuesAsync(String message) {
+        checkNotNull(message, "Cannot fill the context values of the null message");
+        return MessageTemplate.of(message).renderAsync(this);
+    }
+
+    /**
+     * Returns the printed value of the provided {@code variableName} in the provided {@code contextName}.
+     * <p>
+     * This method is used by {@link MessageTemplate#render(RuntimeContexts)} to retrieve the values of the context
+     * variables accessed in a message. {@link Future} values are awaited for at most the configured variable
+     * timeout (see {@link #VARIABLE_TIMEOUT_KEY}), and are replaced by a placeholder if they take too long to
+     * complete or if they have been cancelled.
+     *
+     * @param contextName  the name of the context containing the variable
+     * @param variableName the name of the variable to retrieve the printed value of
+     * @return the printed value of the variable, or {@code null} if the context or the variable does not exist
+     * @throws JarvisException if an error occurred when retrieving a value from a previous action
+     */
+    String getPrintedValue(String contextName, String variableName) {
+        return getPrintedValue(contextName, variableName, TimeUnit.SECONDS.toNanos(variableTimeout));
+    }
+
+    /**
+     * Returns the printed value of the provided {@code variableName} in the provided {@code contextName}, waiting
+     * at most {@code timeoutNanos} nanoseconds for {@link Future} values.
+     *
+     * @param contextName  the name of the context containing the variable
+     * @param variableName the name of the variable to retrieve the printed value of
+     * @param timeoutNanos the maximum time to wait for a {@link Future} value (in nanoseconds)
+     * @return the printed value of the variable, or {@code null} if the context or the variable does not exist
+     * @throws JarvisException if an error occurred when retrieving a {@link Future} value
+     * @see #getPrintedValue(String, String)
+     */
+    private String getPrintedValue(String contextName, String variableName, long timeoutNanos) {
+        Object value = getVariableValue(contextName, variableName);
+        if (isNull(value)) {
+            return null;
+        }
+        String printedValue;
+        if (value instanceof Future) {
+            try {
+                printedValue = ((Future) value).get(timeoutNanos, TimeUnit.NANOSECONDS).toString();
+            } catch (InterruptedException | ExecutionException e) {
+                String errorMessage = MessageFormat.format("An error occurred when retrieving the value of the " +
+                        "variable {0}", variableName);
+                Log.error(errorMessage);
+                throw new JarvisException(e);
+            } catch (TimeoutException e) {
+                /*
+                 * The Future takes too long to compute, return a placeholder (see https://github
+                 * .com/gdaniel/jarvis/wiki/Troubleshooting#my-bot-sends-task-takes-too-long-to
+                 * -compute-messages).
+                 */
+                Log.error("The value for {0}.{1} took too long to complete, stopping it and returning a " +
+                        "placeholder", contextName, variableName);
+                ((Future) value).cancel(true);
+                printedValue = TIMEOUT_PLACEHOLDER;
+            } catch (CancellationException e) {
+                Log.error("Cannot retrieve the value for {0}.{1}: the task has been cancelled, returning a " +
+                        "placeholder", contextName, variableName);
+                printedValue = CANCELLED_PLACEHOLDER;
+            }
+        } else {
+            printedValue = value.toString();
+        }
+        Log.debug("Found value {0} for {1}.{2}", printedValue, contextName, variableName);
+        return printedValue;
+    }
+
+    /**
+     * Returns a {@link CompletableFuture} completed with the printed value of the provided {@code variableName} in
+     * the provided {@code contextName}.
+     * <p>
+     * This method is used by {@link MessageTemplate#renderAsync(RuntimeContexts)} to retrieve the values of the
+     * context variables accessed in a message without blocking the calling thread. {@link CompletableFuture} values
+     * are timed out using a shared scheduler, and other pending {@link Future} values are awaited in a bounded
+     * thread pool, or in virtual threads if they are enabled (see {@link #FUTURE_VARIABLE_THREADS}). Timed out and
+     * cancelled values are replaced by the same placeholders as {@link #getPrintedValue(String, String)}.
+     *
+     * @param contextName  the name of the context containing the variable
+     * @param variableName the name of the variable to retrieve the printed value of
+     * @return a {@link CompletableFuture} completed with the printed value of the variable, or with {@code null} if
+     * the context or the variable does not exist
+     */
+    CompletableFuture<String> getPrintedValueAsync(String contextName, String variableName) {
+        Object value = getVariableValue(contextName, variableName);
+        if (!(value instanceof Future) || ((Future) value).isDone()) {
             /*
-             * Cannot be empty.
+             * The value is available, no need to wait for it.
              */
-            String filteredGroup = group.substring(2);
-            String[] splitGroup = filteredGroup.split("\\.");
-            if (splitGroup.length == 2) {
-                Log.info("Looking for context \"{0}\"", splitGroup[0]);
-                Map<String, Object> variables = this.getContextVariables(splitGroup[0]);
-                if (nonNull(variables)) {
-                    String variableIdentifier = splitGroup[1].substring(0, splitGroup[1].length() - 1);
-                    Object value = variables.get(variableIdentifier);
-                    Log.info("Looking for variable \"{0}\"", variableIdentifier);
-                    if (nonNull(value)) {
-                        String printedValue = null;
-                        if (value instanceof Future) {
-                            try {
-                                printedValue = ((Future) value).get(variableTimeout, TimeUnit.SECONDS).toString();
-                                Log.info("Found value {0} for {1}.{2}", printedValue, splitGroup[0],
-                                        variableIdentifier);
-                            } catch (InterruptedException | ExecutionException e) {
-                                String errorMessage = MessageFormat.format("An error occurred when retrieving the " +
-                                        "value of the variable {0}", variableIdentifier);
-                                Log.error(errorMessage);
-                                throw new JarvisException(e);
-                            } catch (TimeoutException e) {
-                                /*
-                                 * The Future takes too long to compute, return a placeholder (see https://github
-                                 * .com/gdaniel/jarvis/wiki/Troubleshooting#my-bot-sends-task-takes-too-long-to
-                                 * -compute-messages).
-                                 */
-                                Log.error("The value for {0}.{1} took too long to complete, stopping it and returning" +
-                                        " a placeholder", splitGroup[0], variableIdentifier);
-                                ((Future) value).cancel(true);
-                                printedValue = "<Task took too long to complete>";
-                            } catch (CancellationException e) {
-                                Log.error("Cannot retrieve the value for {0}.{1}: the task has been cancelled, " +
-                                        "returning a placeholder", splitGroup[0], variableIdentifier);
-                                printedValue = "<Task has been cancelled>";
-                            }
-                        } else {
-                            printedValue = value.toString();
-                            Log.info("found value {0} for {1}.{2}", printedValue, splitGroup[0],
-                                    variableIdentifier);
-                        }
-                        outMessage = outMessage.replace(group, printedValue);
-                    } else {
-                        Log.error("The context variable {0} is null", group);
-                    }
+            CompletableFuture<String> result = new CompletableFuture<>();
+            try {
+                result.complete(isNull(value) ? null : getPrintedValue(contextName, variableName));
+            } catch (JarvisException e) {
+                result.completeExceptionally(e);
+            }
+            return result;
+        }
+        if (!(value instanceof CompletableFuture)) {
+            /*
+             * The Future does not provide completion callbacks, wait for it in a dedicated thread. The timeout
+             * starts now, so the time spent waiting for an available thread is not added to the variable timeout.
+             */
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(variableTimeout);
+            return CompletableFuture.supplyAsync(() -> getPrintedValue(contextName, variableName, Math.max(0,
+                    deadline - System.nanoTime())), futureVariableExecutor);
+        }
+        CompletableFuture<?> futureValue = (CompletableFuture<?>) value;
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AtomicBoolean timedOut = new AtomicBoolean(false);
+        ScheduledFuture<?> timeout = VARIABLE_TIMEOUT_SCHEDULER.schedule(() -> {
+            /*
+             * The Future takes too long to compute, return a placeholder (see https://github
+             * .com/gdaniel/jarvis/wiki/Troubleshooting#my-bot-sends-task-takes-too-long-to
+             * -compute-messages). The Future is cancelled before the result is completed, the completion callback
+             * below completes the result with the timeout placeholder.
+             */
+            timedOut.set(true);
+            futureValue.cancel(true);
+        }, variableTimeout, TimeUnit.SECONDS);
+        futureValue.whenComplete((computedValue, throwable) -> {
+            timeout.cancel(false);
+            if (isNull(throwable)) {
+                String printedValue = String.valueOf(computedValue);
+                Log.debug("Found value {0} for {1}.{2}", printedValue, contextName, variableName);
+                result.complete(printedValue);
+            } else if (throwable instanceof CancellationException) {
+                if (timedOut.get()) {
+                    Log.error("The value for {0}.{1} took too long to complete, stopping it and returning a " +
+                            "placeholder", contextName, variableName);
+                    result.complete(TIMEOUT_PLACEHOLDER);
                 } else {
-                    Log.error("The context variable {0} does not exist", group);
+                    Log.error("Cannot retrieve the value for {0}.{1}: the task has been cancelled, returning a " +
+                            "placeholder", contextName, variableName);
+                    result.complete(CANCELLED_PLACEHOLDER);
                 }
             } else {
-                Log.error("Invalid context variable access: {0}", group);
+                Log.error(MessageFormat.format("An error occurred when retrieving the value of the variable {0}",
+                        variableName));
+                Throwable cause = throwable instanceof CompletionException && nonNull(throwable.getCause()) ?
+                        throwable.getCause() : throwable;
+                result.completeExceptionally(new JarvisException(cause));
             }
+        });
+        return result;
+    }
+
+    /**
+     * Returns the raw value of the provided {@code variableName} in the provided {@code contextName}.
+     *
+     * @param contextName  the name of the context containing the variable
+     * @param variableName the name of the variable to retrieve the value of
+     * @return the raw value of the variable, or {@code null} if the context or the variable does not exist
+     */
+    private Object getVariableValue(String contextName, String variableName) {
+        Map<String, Object> variables = this.getContextVariables(contextName);
+        if (isNull(variables)) {
+            Log.error("The context variable {0}.{1} does not exist", contextName, variableName);
+            return null;
+        }
+        Object value = variables.get(variableName);
+        if (isNull(value)) {
+            Log.error("The context variable {0}.{1} is null", contextName, variableName);
         }
-        return outMessage;
+        return value;
+    }
+
+    /**
+     * A holder creating the virtual {@link Thread} {@link ExecutorService} used to wait for the {@link Future}
+     * variables the first time a {@link RuntimeContexts} enabling virtual {@link Thread}s is constructed.
+     *
+     * @see VirtualThreads#newThreadPerTaskExecutor(String)
+     */
+    private static class VirtualFutureVariableExecutorHolder {
+
+        /**
+         * The {@link ExecutorService} creating a virtual {@link Thread} for each awaited {@link Future} variable.
+         */
+        private static final ExecutorService EXECUTOR = VirtualThreads.newThreadPerTaskExecutor
+                (FUTURE_VARIABLE_THREAD_NAME_PREFIX);
     }
 }
@@ -0,0 +1,655 @@
+package edu.uoc.som.jarvis.core.session;
+
+import edu.uoc.som.jarvis.core.JarvisException;
+import fr.inria.atlanmod.commons.log.Log;
+import org.apache.commons.configuration2.Configuration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An append-only file storing the {@link RuntimeContexts} of hibernated {@link JarvisSession}s.
+ * <p>
+ * This class is used to persist the {@link JarvisSession}s evicted from the {@link SessionStore} and to restore them
+ * when they are accessed again (see {@link #hibernate(JarvisSession)} and {@link #restore(JarvisSession)}).
+ * Hibernated sessions are appended to the file as compact binary records, and an in-memory index stores the offset
+ * of the last record of each session. Restored sessions are removed from the file by appending a tombstone record.
+ * <p>
+ * The file is read when the {@link SessionHibernationStore} is constructed, allowing to restore the sessions
+ * hibernated by a previous execution. The file is compacted when it is opened and when a record is appended if it
+ * contains more obsolete records than live ones (files smaller than {@link #COMPACTION_MIN_SIZE} bytes are not
+ * compacted). Each record is protected by a checksum covering its type, its session identifier, and its payload.
+ * <p>
+ * The following context values are supported: {@link String}s, {@link Integer}s, {@link Long}s, {@link Double}s,
+ * {@link Float}s, {@link Boolean}s, and {@code null}. Completed {@link Future} values are stored as their result,
+ * pending {@link Future}s are not stored, and other values are stored as their {@link Object#toString()}
+ * representation.
+ *
+ * @see SessionStore
+ */
+public class SessionHibernationStore {
+
+    /**
+     * The {@link Configuration} key to store the path of the hibernation file.
+     * <p>
+     * Evicted sessions are not hibernated if this key is not set.
+     */
+    public static String HIBERNATION_FILE_KEY = "jarvis.sessions.hibernation.file";
+
+    /**
+     * The record type of hibernated sessions.
+     */
+    private static final byte PUT_RECORD = 1;
+
+    /**
+     * The record type of removed sessions.
+     */
+    private static final byte DELETE_RECORD = 2;
+
+    /**
+     * The value type tags used to serialize context values.
+     */
+    private static final byte NULL_VALUE = 0;
+    private static final byte STRING_VALUE = 1;
+    private static final byte INTEGER_VALUE = 2;
+    private static final byte LONG_VALUE = 3;
+    private static final byte DOUBLE_VALUE = 4;
+    private static final byte FLOAT_VALUE = 5;
+    private static final byte BOOLEAN_VALUE = 6;
+    private static final byte PENDING_FUTURE_VALUE = 7;
+
+    /**
+     * The marker returned by {@link #readValue(DataInputStream)} for pending {@link Future} values that have not
+     * been stored.
+     */
+    private static final Object PENDING_VALUE = new Object();
+
+    /**
+     * The size of a record header (record type, key length, payload length, and record checksum).
+     */
+    private static final int RECORD_HEADER_SIZE = 1 + 4 + 4 + 8;
+
+    /**
+     * The minimum size (in bytes) of the hibernation file before it is compacted.
+     */
+    private static final long COMPACTION_MIN_SIZE = 1024 * 1024;
+
+    /**
+     * The hibernation file.
+     */
+    private final File file;
+
+    /**
+     * The {@link RandomAccessFile} used to append and read the records of the hibernation file.
+     */
+    private RandomAccessFile randomAccessFile;
+
+    /**
+     * The locations of the last record of each hibernated session, indexed by session identifier.
+     */
+    private final Map<String, RecordLocation> index = new HashMap<>();
+
+    /**
+     * The total size of the records referenced by the {@link #index}, used to decide whether the file should be
+     * compacted.
+     */
+    private long liveBytes;
+
+    /**
+     * Constructs a new {@link SessionHibernationStore} backed by the provided {@code file}.
+     * <p>
+     * The provided {@code file} is created if it does not exist. Otherwise its records are read to build the
+     * in-memory index, and a partially written record at the end of the file (e.g. because the previous execution
+     * crashed) is discarded.
+     *
+     * @param file the hibernation file
+     * @throws NullPointerException if the provided {@code file} is {@code null}
+     * @throws JarvisException      if an error occurred when opening or reading the provided {@code file}
+     */
+    public SessionHibernationStore(File file) {
+        checkNotNull(file, "Cannot construct a %s with the provided file %s", SessionHibernationStore.class
+                .getSimpleName(), file);
+        this.file = file;
+        try {
+            if (nonNull(file.getParentFile())) {
+                file.getParentFile().mkdirs();
+            }
+            this.randomAccessFile = new RandomAccessFile(file, "rw");
+            loadIndex();
+            compactIfNeeded();
+        } catch (IOException e) {
+            throw new JarvisException(MessageFormat.format("Cannot open the session hibernation file {0}",
+                    file.getAbsolutePath()), e);
+        }
+        Log.info("{0} started ({1} hibernated session(s) in {2})", SessionHibernationStore.class.getSimpleName(),
+                index.size(), file.getAbsolutePath());
+    }
+
+    /**
+     * Creates the {@link SessionHibernationStore} configured in the provided {@code configuration}.
+     *
+     * @param configuration the {@link Configuration} containing the {@link #HIBERNATION_FILE_KEY} key
+     * @return the created {@link SessionHibernationStore}, or {@code null} if the provided {@code configuration}
+     * does not contain the {@link #HIBERNATION_FILE_KEY} key
+     * @throws NullPointerException if the provided {@code configuration} is {@code null}
+     * @throws JarvisException      if an error occurred when opening the hibernation file
+     */
+    public static SessionHibernationStore fromConfiguration(Configuration configuration) {
+        checkNotNull(configuration, "Cannot create a %s from the provided %s %s", SessionHibernationStore.class
+                .getSimpleName(), Configuration.class.getSimpleName(), configuration);
+        if (configuration.containsKey(HIBERNATION_FILE_KEY)) {
+            return new SessionHibernationStore(new File(configuration.getString(HIBERNATION_FILE_KEY)));
+        }
+        return null;
+    }
+
+    /**
+     * Appends the {@link RuntimeContexts} of the provided {@code session} to the hibernation file.
+     *
+     * @param session the {@link JarvisSession} to hibernate
+     * @throws NullPointerException  if the provided {@code session} is {@code null}
+     * @throws IllegalStateException if the store is closed
+     * @throws JarvisException       if an error occurred when writing the hibernation file
+     */
+    public synchronized void hibernate(JarvisSession session) {
+        checkNotNull(session, "Cannot hibernate the provided %s %s", JarvisSession.class.getSimpleName(), session);
+        checkOpen();
+        try {
+            RecordLocation location = appendRecord(PUT_RECORD, session.getSessionId(), serialize(session
+                    .getRuntimeContexts()));
+            RecordLocation previous = index.put(session.getSessionId(), location);
+            if (nonNull(previous)) {
+                liveBytes -= previous.size;
+            }
+            liveBytes += location.size;
+        } catch (IOException e) {
+            throw new JarvisException(MessageFormat.format("Cannot hibernate the session {0}", session
+                    .getSessionId()), e);
+        }
+        tryCompact();
+    }
+
+    /**
+     * Restores the hibernated {@link RuntimeContexts} of the provided {@code session}.
+     * <p>
+     * This method does nothing if the provided {@code session} has not been hibernated. Restored sessions are
+     * removed from the hibernation file, and have to be hibernated again to be persisted.
+     *
+     * @param session the {@link JarvisSession} to restore
+     * @return {@code true} if the session has been restored, {@code false} otherwise
+     * @throws NullPointerException  if the provided {@code session} is {@code null}
+     * @throws IllegalStateException if the store is closed
+     * @throws JarvisException       if an error occurred when reading the hibernation file
+     */
+    public synchronized boolean restore(JarvisSession session) {
+        checkNotNull(session, "Cannot restore the provided %s %s", JarvisSession.class.getSimpleName(), session);
+        checkOpen();
+        RecordLocation location = index.get(session.getSessionId());
+        if (isNull(location)) {
+            return false;
+        }
+        try {
+            byte[] payload = readPayload(location.offset, session.getSessionId());
+            deserialize(payload, session.getRuntimeContexts());
+            liveBytes -= location.size;
+            index.remove(session.getSessionId());
+            appendRecord(DELETE_RECORD, session.getSessionId(), new byte[0]);
+        } catch (IOException e) {
+            throw new JarvisException(MessageFormat.format("Cannot restore the session {0}", session
+                    .getSessionId()), e);
+        }
+        Log.debug("Session {0} restored from {1}", session.getSessionId(), file.getAbsolutePath());
+        tryCompact();
+        return true;
+    }
+
+    /**
+     * Returns whether the session with the provided {@code sessionId} is hibernated.
+     *
+     * @param sessionId the identifier of the session
+     * @return {@code true} if the session is hibernated, {@code false} otherwise
+     */
+    public synchronized boolean contains(String sessionId) {
+        return index.containsKey(sessionId);
+    }
+
+    /**
+     * Returns the number of hibernated sessions.
+     *
+     * @return the number of hibernated sessions
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Flushes and closes the hibernation file.
+     * <p>
+     * The hibernated sessions can be restored by constructing a new {@link SessionHibernationStore} with the same
+     * file.
+     */
+    public synchronized void close() {
+        if (isNull(randomAccessFile)) {
+            return;
+        }
+        try {
+            randomAccessFile.getFD().sync();
+            randomAccessFile.close();
+        } catch (IOException e) {
+            Log.error("An error occurred when closing the session hibernation file {0}: {1}", file
+                    .getAbsolutePath(), e.getMessage());
+        } finally {
+            randomAccessFile = null;
+        }
+    }
+
+    /**
+     * Checks that the hibernation file is open.
+     *
+     * @throws IllegalStateException if the hibernation file is closed
+     */
+    private void checkOpen() {
+        if (isNull(randomAccessFile)) {
+            throw new IllegalStateException(MessageFormat.format("The session hibernation file {0} is closed", file
+                    .getAbsolutePath()));
+        }
+    }
+
+    /**
+     * Reads the records of the hibernation file and builds the in-memory index.
+     * <p>
+     * The file is truncated after the last valid record.
+     *
+     * @throws IOException if an error occurred when reading the file
+     */
+    private void loadIndex() throws IOException {
+        long length = randomAccessFile.length();
+        long offset = 0;
+        randomAccessFile.seek(0);
+        while (offset + RECORD_HEADER_SIZE <= length) {
+            byte type = randomAccessFile.readByte();
+            int keyLength = randomAccessFile.readInt();
+            int payloadLength = randomAccessFile.readInt();
+            long checksum = randomAccessFile.readLong();
+            if ((type != PUT_RECORD && type != DELETE_RECORD) || keyLength < 0 || payloadLength < 0
+                    || offset + RECORD_HEADER_SIZE + keyLength + payloadLength > length) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            randomAccessFile.readFully(key);
+            byte[] payload = new byte[payloadLength];
+            randomAccessFile.readFully(payload);
+            if (checksum(type, key, payload) != checksum) {
+                break;
+            }
+            String sessionId = new String(key, StandardCharsets.UTF_8);
+            int recordSize = RECORD_HEADER_SIZE + keyLength + payloadLength;
+            RecordLocation previous = type == PUT_RECORD ? index.put(sessionId, new RecordLocation(offset,
+                    recordSize)) : index.remove(sessionId);
+            if (nonNull(previous)) {
+                liveBytes -= previous.size;
+            }
+            if (type == PUT_RECORD) {
+                liveBytes += recordSize;
+            }
+            offset += recordSize;
+        }
+        if (offset < length) {
+            Log.warn("Discarding {0} byte(s) of invalid records at the end of the session hibernation file {1}",
+                    length - offset, file.getAbsolutePath());
+            randomAccessFile.setLength(offset);
+        }
+    }
+
+    /**
+     * Compacts the hibernation file if it contains more obsolete records than live ones.
+     * <p>
+     * Files smaller than {@link #COMPACTION_MIN_SIZE} bytes are not compacted.
+     *
+     * @throws IOException if an error occurred when compacting the file
+     * @see #compact()
+     */
+    private void compactIfNeeded() throws IOException {
+        long length = randomAccessFile.length();
+        if (length > COMPACTION_MIN_SIZE && length - liveBytes > liveBytes) {
+            compact();
+        }
+    }
+
+    /**
+     * Compacts the hibernation file if needed, and logs the errors.
+     * <p>
+     * This method is called once a record has been appended: a compaction error does not invalidate the appended
+     * record, and the compaction is attempted again with the next record.
+     *
+     * @see #compactIfNeeded()
+     */
+    private void tryCompact() {
+        try {
+            compactIfNeeded();
+        } catch (IOException e) {
+            Log.warn("Cannot compact the session hibernation file {0}: {1}", file.getAbsolutePath(), e
+                    .getMessage());
+        }
+    }
+
+    /**
+     * Rewrites the hibernation file with the live records only.
+     * <p>
+     * The live records are copied in a temporary file that atomically replaces the hibernation file. The hibernation
+     * file and its index are left unchanged if the compaction fails.
+     *
+     * @throws IOException if an error occurred when writing the file
+     */
+    private void compact() throws IOException {
+        File compactedFile = new File(file.getAbsolutePath() + ".compact");
+        Map<String, RecordLocation> compactedIndex = new HashMap<>();
+        try (RandomAccessFile compacted = new RandomAccessFile(compactedFile, "rw")) {
+            compacted.setLength(0);
+            for (Map.Entry<String, RecordLocation> entry : index.entrySet()) {
+                byte[] record = new byte[entry.getValue().size];
+                randomAccessFile.seek(entry.getValue().offset);
+                randomAccessFile.readFully(record);
+                compactedIndex.put(entry.getKey(), new RecordLocation(compacted.getFilePointer(), record.length));
+                compacted.write(record);
+            }
+            compacted.getFD().sync();
+        }
+        randomAccessFile.close();
+        try {
+            Files.move(compactedFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            /*
+             * The hibernation file has not been replaced, reopen it with its current index.
+             */
+            this.randomAccessFile = new RandomAccessFile(file, "rw");
+            compactedFile.delete();
+            throw new IOException(MessageFormat.format("Cannot replace {0} by its compacted version", file
+                    .getAbsolutePath()), e);
+        }
+        this.randomAccessFile = new RandomAccessFile(file, "rw");
+        this.index.clear();
+        this.index.putAll(compactedIndex);
+        Log.info("Session hibernation file {0} compacted", file.getAbsolutePath());
+    }
+
+    /**
+     * Appends a record to the hibernation file.
+     *
+     * @param type      the type of the record
+     * @param sessionId the identifier of the session
+     * @param payload   the payload of the record
+     * @return the location of the appended record
+     * @throws IOException if an error occurred when writing the file
+     */
+    private RecordLocation appendRecord(byte type, String sessionId, byte[] payload) throws IOException {
+        byte[] key = sessionId.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_HEADER_SIZE + key.length + payload.length);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(type);
+        out.writeInt(key.length);
+        out.writeInt(payload.length);
+        out.writeLong(checksum(type, key, payload));
+        out.write(key);
+        out.write(payload);
+        long offset = randomAccessFile.length();
+        randomAccessFile.seek(offset);
+        randomAccessFile.write(bytes.toByteArray());
+        return new RecordLocation(offset, bytes.size());
+    }
+
+    /**
+     * Reads the payload of the record of the provided {@code sessionId} at the provided {@code offset}.
+     *
+     * @param offset    the offset of the record
+     * @param sessionId the identifier of the session stored in the record
+     * @return the payload of the record
+     * @throws IOException if an error occurred when reading the file, if the record is corrupted, or if it does not
+     *                     store the provided {@code sessionId}
+     */
+    private byte[] readPayload(long offset, String sessionId) throws IOException {
+        randomAccessFile.seek(offset);
+        byte type = randomAccessFile.readByte();
+        int keyLength = randomAccessFile.readInt();
+        int payloadLength = randomAccessFile.readInt();
+        long checksum = randomAccessFile.readLong();
+        byte[] key = new byte[keyLength];
+        randomAccessFile.readFully(key);
+        byte[] payload = new byte[payloadLength];
+        randomAccessFile.readFully(payload);
+        if (type != PUT_RECORD || checksum(type, key, payload) != checksum || !sessionId.equals(new String(key,
+                StandardCharsets.UTF_8))) {
+            throw new IOException(MessageFormat.format("Corrupted record at offset {0}", offset));
+        }
+        return payload;
+    }
+
+    /**
+     * Computes the checksum of a record from its {@code type}, {@code key}, and {@code payload}.
+     *
+     * @param type    the type of the record
+     * @param key     the session identifier of the record
+     * @param payload the payload of the record
+     * @return the checksum of the record
+     */
+    private static long checksum(byte type, byte[] key, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(key);
+        crc.update(payload);
+        return crc.getValue();
+    }
+
+    /**
+     * Serializes the provided {@code runtimeContexts}.
+     * <p>
+     * The created payload contains, for each context, its name, its lifespan count, and its variables.
+     *
+     * @param runtimeContexts the {@link RuntimeContexts} to serialize
+     * @return the serialized {@code runtimeContexts}
+     * @throws IOException if an error occurred when serializing the {@code runtimeContexts}
+     */
+    private static byte[] serialize(RuntimeContexts runtimeContexts) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        Map<String, Map<String, Object>> contexts = runtimeContexts.getContextMap();
+        Map<String, Integer> lifespanCounts = runtimeContexts.getLifespanCountsMap();
+        out.writeInt(contexts.size());
+        for (Map.Entry<String, Map<String, Object>> context : contexts.entrySet()) {
+            Integer lifespanCount = lifespanCounts.get(context.getKey());
+            writeString(out, context.getKey());
+            out.writeInt(isNull(lifespanCount) ? 1 : lifespanCount);
+            Map<String, Object> variables = new HashMap<>(context.getValue());
+            out.writeInt(variables.size());
+            for (Map.Entry<String, Object> variable : variables.entrySet()) {
+                writeString(out, variable.getKey());
+                writeValue(out, variable.getValue());
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserializes the provided {@code payload} into the provided {@code runtimeContexts}.
+     *
+     * @param payload         the payload to deserialize
+     * @param runtimeContexts the {@link RuntimeContexts} to set the deserialized values in
+     * @throws IOException if an error occurred when deserializing the {@code payload}
+     */
+    private static void deserialize(byte[] payload, RuntimeContexts runtimeContexts) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int contextCount = in.readInt();
+        for (int i = 0; i < contextCount; i++) {
+            String context = readString(in);
+            int lifespanCount = in.readInt();
+            int variableCount = in.readInt();
+            for (int j = 0; j < variableCount; j++) {
+                String key = readString(in);
+                Object value = readValue(in);
+                if (value != PENDING_VALUE) {
+                    runtimeContexts.setContextValue(context, lifespanCount, key, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the provided {@code value} with its type tag.
+     *
+     * @param out   the {@link DataOutputStream} to write to
+     * @param value the value to write
+     * @throws IOException if an error occurred when writing the value
+     */
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof Future) {
+            Future<?> future = (Future<?>) value;
+            if (!future.isDone() || future.isCancelled()) {
+                Log.warn("Cannot hibernate the pending value {0}, the value will not be restored", value);
+                out.writeByte(PENDING_FUTURE_VALUE);
+                return;
+            }
+            try {
+                value = future.get();
+            } catch (Exception e) {
+                Log.warn("Cannot hibernate the erroring value {0}, the value will not be restored", value);
+                out.writeByte(PENDING_FUTURE_VALUE);
+                return;
+            }
+        }
+        if (isNull(value)) {
+            out.writeByte(NULL_VALUE);
+        } else if (value instanceof String) {
+            out.writeByte(STRING_VALUE);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER_VALUE);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG_VALUE);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE_VALUE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT_VALUE);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN_VALUE);
+            out.writeBoolean((Boolean) value);
+        } else {
+            out.writeByte(STRING_VALUE);
+            writeString(out, value.toString());
+        }
+    }
+
+    /**
+     * Reads a value written by {@link #writeValue(DataOutputStream, Object)}.
+     *
+     * @param in the {@link DataInputStream} to read from
+     * @return the read value, or {@link #PENDING_VALUE} if the value has not been stored
+     * @throws IOException if an error occurred when reading the value
+     */
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL_VALUE:
+                return null;
+            case STRING_VALUE:
+                return readString(in);
+            case INTEGER_VALUE:
+                return in.readInt();
+            case LONG_VALUE:
+                return in.readLong();
+            case DOUBLE_VALUE:
+                return in.readDouble();
+            case FLOAT_VALUE:
+                return in.readFloat();
+            case BOOLEAN_VALUE:
+                return in.readBoolean();
+            case PENDING_FUTURE_VALUE:
+                return PENDING_VALUE;
+            default:
+                throw new IOException(MessageFormat.format("Unknown value type {0}", type));
+        }
+    }
+
+    /**
+     * Writes the provided {@code value} as a length-prefixed UTF-8 {@link String}.
+     * <p>
+     * This method is used instead of {@link DataOutputStream#writeUTF(String)}, that cannot write {@link String}s
+     * longer than 65535 bytes.
+     *
+     * @param out   the {@link DataOutputStream} to write to
+     * @param value the {@link String} to write
+     * @throws IOException if an error occurred when writing the {@link String}
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a {@link String} written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param in the {@link DataInputStream} to read from
+     * @return the read {@link String}
+     * @throws IOException if an error occurred when reading the {@link String}
+     */
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new EOFException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The location of a record in the hibernation file.
+     */
+    private static final class RecordLocation {
+
+        /**
+         * The offset of the record.
+         */
+        private final long offset;
+
+        /**
+         * The size of the record (including its header).
+         */
+        private final int size;
+
+        /**
+         * Constructs a new {@link RecordLocation} with the provided {@code offset} and {@code size}.
+         *
+         * @param offset the offset of the record
+         * @param size   the size of the record
+         */
+        private RecordLocation(long offset, int size) {
+            this.offset = offset;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,657 @@
+package edu.uoc.som.jarvis.core.session;
+
+import fr.inria.atlanmod.commons.log.Log;
+import org.apache.commons.configuration2.Configuration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A bounded, concurrent store of {@link JarvisSession}s.
+ * <p>
+ * This class stores the {@link JarvisSession}s created by the {@link edu.uoc.som.jarvis.core.JarvisCore}, and
+ * evicts them when the store contains more than {@link #MAX_SIZE_KEY} sessions (the least recently used sessions
+ * are evicted first), or when they have not been accessed for {@link #IDLE_TIMEOUT_KEY} seconds. Evicted sessions
+ * are notified to the registered {@link EvictionListener}s.
+ * <p>
+ * An evicted session is not returned by the lookups of the store, but it is only removed once the
+ * {@link EvictionListener}s have been notified: creating a new session with the same identifier waits until then,
+ * allowing the listeners to persist the evicted session before the new one is created (and possibly restored).
+ * <p>
+ * Session lookups do not acquire any lock: accesses are recorded in a buffer that is replayed on the LRU order when
+ * the store is modified or when the buffer is full. If an idle timeout is configured, a background thread also
+ * evicts the idle sessions periodically (see {@link #cleanUp()}), and must be stopped with {@link #close()}.
+ *
+ * @see edu.uoc.som.jarvis.core.JarvisCore#getOrCreateJarvisSession(String)
+ */
+public class SessionStore {
+
+    /**
+     * The {@link Configuration} key to store the maximum number of {@link JarvisSession}s held in memory.
+     */
+    public static String MAX_SIZE_KEY = "jarvis.sessions.max_size";
+
+    /**
+     * The default maximum number of {@link JarvisSession}s held in memory.
+     */
+    public static int DEFAULT_MAX_SIZE_VALUE = 100000;
+
+    /**
+     * The {@link Configuration} key to store the time (in seconds) after which a {@link JarvisSession} that has not
+     * been accessed is evicted.
+     * <p>
+     * Idle sessions are never evicted if this value is lower or equal to {@code 0}.
+     */
+    public static String IDLE_TIMEOUT_KEY = "jarvis.sessions.idle_timeout";
+
+    /**
+     * The default time (in seconds) after which a {@link JarvisSession} that has not been accessed is evicted.
+     * <p>
+     * Idle sessions are not evicted by default.
+     */
+    public static long DEFAULT_IDLE_TIMEOUT_VALUE = 0;
+
+    /**
+     * The number of recorded accesses triggering the update of the LRU order.
+     */
+    private static final int ACCESS_BUFFER_THRESHOLD = 64;
+
+    /**
+     * The reasons causing the eviction of a {@link JarvisSession}.
+     */
+    public enum EvictionCause {
+        /**
+         * The {@link JarvisSession} has been evicted because the store contains too many sessions.
+         */
+        SIZE,
+        /**
+         * The {@link JarvisSession} has been evicted because it has not been accessed for too long.
+         */
+        EXPIRED
+    }
+
+    /**
+     * A listener notified when a {@link JarvisSession} is evicted from a {@link SessionStore}.
+     *
+     * @see #addEvictionListener(EvictionListener)
+     */
+    @FunctionalInterface
+    public interface EvictionListener {
+
+        /**
+         * Handles the eviction of the provided {@code session}.
+         * <p>
+         * This method is called before the {@code session} is removed from the store. The {@code session} is not
+         * returned by the lookups of the store anymore, but the creation of a new session with the same identifier
+         * waits until this method returns. Implementations can persist the {@code session}, but should not block
+         * longer than needed.
+         *
+         * @param session the evicted {@link JarvisSession}
+         * @param cause   the {@link EvictionCause} of the eviction
+         */
+        void onEviction(JarvisSession session, EvictionCause cause);
+    }
+
+    /**
+     * The stored {@link JarvisSession}s, indexed by session identifier.
+     */
+    private final Map<String, Entry> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * The stored {@link Entry}s, in LRU order.
+     * <p>
+     * This map is only accessed when holding the {@link #lock}.
+     */
+    private final LinkedHashMap<String, Entry> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The lock protecting the {@link #accessOrder} map.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * The buffer containing the recorded accesses that have not been replayed on the {@link #accessOrder} map.
+     */
+    private final ConcurrentLinkedQueue<Entry> accessBuffer = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of accesses in the {@link #accessBuffer}.
+     */
+    private final AtomicInteger accessBufferSize = new AtomicInteger();
+
+    /**
+     * The {@link EvictionListener}s notified when a {@link JarvisSession} is evicted.
+     */
+    private final List<EvictionListener> evictionListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The maximum number of {@link JarvisSession}s held in the store.
+     */
+    private final int maxSize;
+
+    /**
+     * The time (in nanoseconds) after which a {@link JarvisSession} that has not been accessed is evicted, or
+     * {@code 0} if idle sessions are never evicted.
+     */
+    private final long idleTimeoutNanos;
+
+    /**
+     * The {@link ScheduledExecutorService} periodically evicting the idle {@link JarvisSession}s, or {@code null} if
+     * idle sessions are never evicted.
+     */
+    private final ScheduledExecutorService cleaner;
+
+    /**
+     * The number of lookups that returned a stored {@link JarvisSession}.
+     */
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * The number of lookups that did not find a stored {@link JarvisSession}.
+     */
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * The number of evicted {@link JarvisSession}s.
+     */
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Constructs a new {@link SessionStore} with the provided {@code configuration}.
+     * <p>
+     * The provided {@link Configuration} can contain the {@link #MAX_SIZE_KEY} and {@link #IDLE_TIMEOUT_KEY} keys
+     * to customize the eviction policy of the store. If an idle timeout is configured the idle sessions are
+     * evicted every half idle timeout (and at most once per second) by a background thread, even if the store is
+     * not accessed.
+     *
+     * @param configuration the {@link Configuration} parameterizing the {@link SessionStore}
+     * @throws NullPointerException     if the provided {@code configuration} is {@code null}
+     * @throws IllegalArgumentException if the configured maximum size is lower than {@code 1}
+     */
+    public SessionStore(Configuration configuration) {
+        checkNotNull(configuration, "Cannot construct a %s with the provided %s %s", SessionStore.class
+                .getSimpleName(), Configuration.class.getSimpleName(), configuration);
+        this.maxSize = configuration.getInt(MAX_SIZE_KEY, DEFAULT_MAX_SIZE_VALUE);
+        checkArgument(maxSize > 0, "Cannot construct a %s with the provided maximum size %s, expected a positive " +
+                "value", SessionStore.class.getSimpleName(), maxSize);
+        long idleTimeout = configuration.getLong(IDLE_TIMEOUT_KEY, DEFAULT_IDLE_TIMEOUT_VALUE);
+        this.idleTimeoutNanos = idleTimeout > 0 ? TimeUnit.SECONDS.toNanos(idleTimeout) : 0;
+        if (idleTimeoutNanos > 0) {
+            this.cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "jarvis-session-cleaner");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long cleanUpIntervalNanos = Math.max(TimeUnit.SECONDS.toNanos(1), idleTimeoutNanos / 2);
+            this.cleaner.scheduleWithFixedDelay(this::cleanUp, cleanUpIntervalNanos, cleanUpIntervalNanos,
+                    TimeUnit.NANOSECONDS);
+        } else {
+            this.cleaner = null;
+        }
+        Log.info("{0} started (max size: {1}, idle timeout: {2})", SessionStore.class.getSimpleName(), maxSize,
+                idleTimeout > 0 ? idleTimeout + "s" : "none");
+    }
+
+    /**
+     * Registers the provided {@code listener} to the evictions of this store.
+     *
+     * @param listener the {@link EvictionListener} to register
+     * @throws NullPointerException if the provided {@code listener} is {@code null}
+     */
+    public void addEvictionListener(EvictionListener listener) {
+        checkNotNull(listener, "Cannot register the provided %s %s", EvictionListener.class.getSimpleName(),
+                listener);
+        this.evictionListeners.add(listener);
+    }
+
+    /**
+     * Returns the {@link JarvisSession} associated to the provided {@code sessionId}.
+     *
+     * @param sessionId the identifier of the {@link JarvisSession} to retrieve
+     * @return the {@link JarvisSession} associated to the provided {@code sessionId}, or {@code null} if the store
+     * does not contain it
+     * @throws NullPointerException if the provided {@code sessionId} is {@code null}
+     */
+    public JarvisSession get(String sessionId) {
+        checkNotNull(sessionId, "Cannot retrieve a session from null as the session ID");
+        long now = System.nanoTime();
+        Entry entry = sessions.get(sessionId);
+        if (nonNull(entry) && isExpired(entry, now)) {
+            evict(entry, EvictionCause.EXPIRED);
+        }
+        if (isNull(entry) || entry.evicting.get() || !entry.created.isDone()) {
+            /*
+             * Sessions that are being created are not returned: they are only visible once their factory returned.
+             */
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        recordAccess(entry, now);
+        return entry.session;
+    }
+
+    /**
+     * Returns the {@link JarvisSession} associated to the provided {@code sessionId}, creating it with the provided
+     * {@code factory} if the store does not contain it.
+     * <p>
+     * The creation is atomic: concurrent calls with the same {@code sessionId} return the same
+     * {@link JarvisSession}. Creating a {@link JarvisSession} may evict the least recently used sessions of the
+     * store.
+     * <p>
+     * The {@code factory} is called without holding any lock of the store, and can perform I/O operations (e.g.
+     * restoring a hibernated session). Concurrent calls with the same {@code sessionId} wait until it returns.
+     * <p>
+     * If the {@link JarvisSession} associated to the provided {@code sessionId} is being evicted this method waits
+     * until the {@link EvictionListener}s have been notified before creating the new one.
+     *
+     * @param sessionId the identifier of the {@link JarvisSession} to retrieve
+     * @param factory   the {@link Function} creating the {@link JarvisSession} from its identifier
+     * @return the {@link JarvisSession} associated to the provided {@code sessionId}
+     * @throws NullPointerException if the provided {@code sessionId} or {@code factory} is {@code null}
+     */
+    public JarvisSession getOrCreate(String sessionId, Function<String, JarvisSession> factory) {
+        checkNotNull(factory, "Cannot create a session with the provided factory %s", factory);
+        JarvisSession session = get(sessionId);
+        if (nonNull(session)) {
+            return session;
+        }
+        Entry created = new Entry(sessionId, System.nanoTime());
+        Entry entry;
+        while (nonNull(entry = sessions.putIfAbsent(sessionId, created))) {
+            if (entry.evicting.get()) {
+                /*
+                 * The stored session is being evicted: wait until the listeners have been notified (and removed the
+                 * entry) before creating the new one.
+                 */
+                entry.evicted.join();
+            } else {
+                /*
+                 * Another thread created the session concurrently, or is creating it: wait until its factory
+                 * returned. The creation is retried if the factory failed.
+                 */
+                session = entry.created.join();
+                if (nonNull(session)) {
+                    recordAccess(entry, System.nanoTime());
+                    return session;
+                }
+            }
+        }
+        /*
+         * The entry is inserted before the session is created: the factory is called outside the bin lock of the
+         * sessions map.
+         */
+        try {
+            created.session = factory.apply(sessionId);
+        } finally {
+            if (isNull(created.session)) {
+                sessions.remove(sessionId, created);
+            }
+            created.created.complete(created.session);
+        }
+        long now = System.nanoTime();
+        created.lastAccessTime = now;
+        List<Entry> evicted;
+        lock.lock();
+        try {
+            if (sessions.get(sessionId) == created) {
+                /*
+                 * Do not order the entry if it has been invalidated or cleared while the session was created.
+                 */
+                accessOrder.put(sessionId, created);
+            }
+            evicted = runMaintenance(now);
+        } finally {
+            lock.unlock();
+        }
+        notifyEvictions(evicted);
+        return created.session;
+    }
+
+    /**
+     * Removes the {@link JarvisSession} associated to the provided {@code sessionId} from the store.
+     * <p>
+     * The {@link EvictionListener}s are not notified of invalidated sessions.
+     *
+     * @param sessionId the identifier of the {@link JarvisSession} to remove
+     * @return the removed {@link JarvisSession}, or {@code null} if the store does not contain it
+     * @throws NullPointerException if the provided {@code sessionId} is {@code null}
+     */
+    public JarvisSession invalidate(String sessionId) {
+        checkNotNull(sessionId, "Cannot invalidate a session from null as the session ID");
+        Entry entry = sessions.remove(sessionId);
+        if (isNull(entry)) {
+            return null;
+        }
+        lock.lock();
+        try {
+            accessOrder.remove(sessionId, entry);
+        } finally {
+            lock.unlock();
+        }
+        return entry.session;
+    }
+
+    /**
+     * Removes all the {@link JarvisSession}s from the store.
+     * <p>
+     * The {@link EvictionListener}s are not notified of cleared sessions.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            sessions.clear();
+            accessOrder.clear();
+            accessBuffer.clear();
+            accessBufferSize.set(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evicts the {@link JarvisSession}s that have not been accessed for more than the configured idle timeout.
+     * <p>
+     * Idle sessions are also evicted when the store is accessed or modified. This method is called periodically by
+     * the background thread of the store, and can be called to force their eviction.
+     */
+    public void cleanUp() {
+        List<Entry> evicted;
+        lock.lock();
+        try {
+            evicted = runMaintenance(System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+        notifyEvictions(evicted);
+    }
+
+    /**
+     * Stops the background thread evicting the idle {@link JarvisSession}s.
+     * <p>
+     * The stored sessions are not evicted nor removed: the store can still be used, but idle sessions are only
+     * evicted when the store is accessed or modified, or when {@link #cleanUp()} is called.
+     */
+    public void close() {
+        if (nonNull(cleaner)) {
+            cleaner.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns an unmodifiable view of the {@link JarvisSession}s held in the store.
+     *
+     * @return an unmodifiable view of the {@link JarvisSession}s held in the store
+     */
+    public Collection<JarvisSession> getSessions() {
+        List<JarvisSession> result = new ArrayList<>(sessions.size());
+        for (Entry entry : sessions.values()) {
+            if (!entry.evicting.get() && entry.created.isDone() && nonNull(entry.session)) {
+                result.add(entry.session);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Returns the number of {@link JarvisSession}s held in the store.
+     *
+     * @return the number of {@link JarvisSession}s held in the store
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Returns the maximum number of {@link JarvisSession}s held in the store.
+     *
+     * @return the maximum number of {@link JarvisSession}s held in the store
+     * @see #MAX_SIZE_KEY
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of lookups that returned a stored {@link JarvisSession}.
+     *
+     * @return the number of lookups that returned a stored {@link JarvisSession}
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of lookups that did not find a stored {@link JarvisSession}.
+     *
+     * @return the number of lookups that did not find a stored {@link JarvisSession}
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the number of {@link JarvisSession}s evicted from the store.
+     *
+     * @return the number of {@link JarvisSession}s evicted from the store
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Returns whether the provided {@code entry} has not been accessed for more than the configured idle timeout.
+     *
+     * @param entry the {@link Entry} to check
+     * @param now   the current time (in nanoseconds)
+     * @return {@code true} if the provided {@code entry} is expired, {@code false} otherwise
+     */
+    private boolean isExpired(Entry entry, long now) {
+        return idleTimeoutNanos > 0 && now - entry.lastAccessTime > idleTimeoutNanos;
+    }
+
+    /**
+     * Records an access to the provided {@code entry}.
+     * <p>
+     * The access is replayed on the LRU order when the access buffer is full, or when the store is modified.
+     *
+     * @param entry the accessed {@link Entry}
+     * @param now   the current time (in nanoseconds)
+     */
+    private void recordAccess(Entry entry, long now) {
+        entry.lastAccessTime = now;
+        accessBuffer.offer(entry);
+        if (accessBufferSize.incrementAndGet() >= ACCESS_BUFFER_THRESHOLD && lock.tryLock()) {
+            try {
+                drainAccessBuffer();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Replays the recorded accesses on the LRU order.
+     * <p>
+     * This method must be called while holding the {@link #lock}.
+     */
+    private void drainAccessBuffer() {
+        Entry entry;
+        while (nonNull(entry = accessBuffer.poll())) {
+            accessBufferSize.decrementAndGet();
+            /*
+             * Access-ordered LinkedHashMap: get moves the entry to the end of the LRU order.
+             */
+            accessOrder.get(entry.sessionId);
+        }
+    }
+
+    /**
+     * Evicts the expired and least recently used {@link Entry}s of the store.
+     * <p>
+     * This method must be called while holding the {@link #lock}. The evicted {@link Entry}s are not removed from
+     * the {@link #sessions} map and the {@link EvictionListener}s are not notified by this method, see
+     * {@link #notifyEvictions(List)}.
+     *
+     * @param now the current time (in nanoseconds)
+     * @return the evicted {@link Entry}s
+     */
+    private List<Entry> runMaintenance(long now) {
+        drainAccessBuffer();
+        List<Entry> evicted = null;
+        Iterator<Entry> it = accessOrder.values().iterator();
+        while (it.hasNext()) {
+            Entry eldest = it.next();
+            EvictionCause cause;
+            if (accessOrder.size() > maxSize) {
+                cause = EvictionCause.SIZE;
+            } else if (isExpired(eldest, now)) {
+                cause = EvictionCause.EXPIRED;
+            } else {
+                break;
+            }
+            it.remove();
+            if (eldest.evicting.compareAndSet(false, true)) {
+                eldest.cause = cause;
+                if (isNull(evicted)) {
+                    evicted = new ArrayList<>();
+                }
+                evicted.add(eldest);
+            }
+        }
+        return isNull(evicted) ? Collections.emptyList() : evicted;
+    }
+
+    /**
+     * Evicts the provided {@code entry} from the store and notifies the {@link EvictionListener}s.
+     *
+     * @param entry the {@link Entry} to evict
+     * @param cause the {@link EvictionCause} of the eviction
+     */
+    private void evict(Entry entry, EvictionCause cause) {
+        if (!entry.evicting.compareAndSet(false, true)) {
+            /*
+             * The entry has already been evicted by another thread.
+             */
+            return;
+        }
+        lock.lock();
+        try {
+            accessOrder.remove(entry.sessionId, entry);
+        } finally {
+            lock.unlock();
+        }
+        entry.cause = cause;
+        notifyEvictions(Collections.singletonList(entry));
+    }
+
+    /**
+     * Notifies the {@link EvictionListener}s of the provided evicted {@link Entry}s, and removes them from the
+     * {@link #sessions} map.
+     * <p>
+     * This method must be called without holding the {@link #lock}.
+     *
+     * @param evicted the evicted {@link Entry}s
+     */
+    private void notifyEvictions(List<Entry> evicted) {
+        for (Entry entry : evicted) {
+            evictionCount.increment();
+            Log.debug("Evicting session {0} ({1})", entry.sessionId, entry.cause);
+            try {
+                for (EvictionListener listener : evictionListeners) {
+                    try {
+                        listener.onEviction(entry.session, entry.cause);
+                    } catch (RuntimeException e) {
+                        Log.error("An error occurred when notifying the eviction of session {0}: {1} {2}", entry
+                                .sessionId, e.getClass().getSimpleName(), e.getMessage());
+                    }
+                }
+            } finally {
+                sessions.remove(entry.sessionId, entry);
+                entry.evicted.complete(null);
+            }
+        }
+    }
+
+    /**
+     * A {@link JarvisSession} stored in a {@link SessionStore}.
+     */
+    private static final class Entry {
+
+        /**
+         * The identifier of the stored {@link JarvisSession}.
+         */
+        private final String sessionId;
+
+        /**
+         * The stored {@link JarvisSession}.
+         * <p>
+         * This field is set once the factory creating the session returned, and must be read after the completion of
+         * {@link #created}.
+         */
+        private JarvisSession session;
+
+        /**
+         * The time (in nanoseconds) of the last access to the stored {@link JarvisSession}.
+         */
+        private volatile long lastAccessTime;
+
+        /**
+         * The {@link EvictionCause} of the eviction of this entry, if it has been evicted.
+         */
+        private EvictionCause cause;
+
+        /**
+         * Whether this entry is being evicted.
+         * <p>
+         * This flag is set by the thread evicting the entry, and ensures that the {@link EvictionListener}s are
+         * notified once.
+         */
+        private final AtomicBoolean evicting = new AtomicBoolean();
+
+        /**
+         * The {@link CompletableFuture} completed once the {@link EvictionListener}s have been notified of the
+         * eviction of this entry, and the entry has been removed from the {@link SessionStore#sessions} map.
+         */
+        private final CompletableFuture<Void> evicted = new CompletableFuture<>();
+
+        /**
+         * The {@link CompletableFuture} completed with the stored {@link JarvisSession} once it has been created, or
+         * with {@code null} if its factory failed.
+         */
+        private final CompletableFuture<JarvisSession> created = new CompletableFuture<>();
+
+        /**
+         * Constructs a new {@link Entry} with the provided {@code sessionId}.
+         *
+         * @param sessionId      the identifier of the stored {@link JarvisSession}
+         * @param lastAccessTime the time (in nanoseconds) of the creation of the entry
+         */
+        private Entry(String sessionId, long lastAccessTime) {
+            this.sessionId = sessionId;
+            this.lastAccessTime = lastAccessTime;
+        }
+    }
+}
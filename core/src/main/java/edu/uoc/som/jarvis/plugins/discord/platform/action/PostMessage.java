@@ -14,6 +14,8 @@ import net.dv8tion.jda.core.requests.RequestFuture;
 
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -78,7 +80,9 @@ public class PostMessage extends RuntimeMessageAction<DiscordPlatform> {
      * to authenticate the bot and post the {@code message} to the given {@code channel}.
      * <p>
      * This method is not executed asynchronously and waits for the response from the Discord platform in order to
-     * detect potential connection issues and throw an {@link IOException}.
+     * detect potential connection issues and throw an {@link IOException}. The {@link
+     * edu.uoc.som.jarvis.core.ExecutionService} sends the message with {@link #computeAsync()}, that does not wait
+     * for the response.
      *
      * @return {@code null}
      * @throws IOException if a network error occurred when sending the message
@@ -111,6 +115,33 @@ public class PostMessage extends RuntimeMessageAction<DiscordPlatform> {
         return null;
     }
 
+    /**
+     * Posts the provided {@code message} to the given {@code channel} without blocking the calling {@link Thread}.
+     * <p>
+     * The message is queued in the containing {@link DiscordPlatform}'s Discord {@link net.dv8tion.jda.core.JDA}
+     * client, and the returned {@link CompletionStage} is completed by the client once the Discord platform
+     * answered. As for {@link #compute()}, the returned {@link CompletionStage} is completed exceptionally with an
+     * {@link IOException} if the Discord platform cannot be reached.
+     *
+     * @return a {@link CompletionStage} completed with {@code null} once the message has been posted
+     * @see #compute()
+     */
+    @Override
+    protected CompletionStage<?> computeAsync() {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        channel.sendMessage(message).queue(sentMessage -> result.complete(null), throwable -> {
+            if (throwable instanceof ErrorResponseException) {
+                /*
+                 * Throwing an IOException to trigger RuntimeMessageAction's retries, see compute().
+                 */
+                result.completeExceptionally(new IOException("Cannot reach the Discord platform", throwable));
+            } else {
+                result.completeExceptionally(throwable);
+            }
+        });
+        return result;
+    }
+
     @Override
     protected JarvisSession getClientSession() {
         return this.runtimePlatform.createSessionFromChannel(channel);
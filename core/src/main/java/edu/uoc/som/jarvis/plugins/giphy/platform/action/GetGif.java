@@ -1,20 +1,29 @@
 package edu.uoc.som.jarvis.plugins.giphy.platform.action;
 
+import com.mashape.unirest.http.HttpResponse;
 import com.mashape.unirest.http.JsonNode;
 import com.mashape.unirest.http.Unirest;
+import com.mashape.unirest.http.async.Callback;
 import com.mashape.unirest.http.exceptions.UnirestException;
+import edu.uoc.som.jarvis.core.JarvisException;
+import edu.uoc.som.jarvis.core.platform.action.AsyncRuntimeAction;
 import edu.uoc.som.jarvis.core.platform.action.RuntimeAction;
 import edu.uoc.som.jarvis.core.session.JarvisSession;
 import edu.uoc.som.jarvis.plugins.giphy.platform.GiphyPlatform;
+import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 /**
  * A {@link RuntimeAction} that retrieves a GIF from a given search string.
  * <p>
  * This class relies on the {@link GiphyPlatform} to access the Giphy API using the token stored in the
- * {@link org.apache.commons.configuration2.Configuration}.
+ * {@link org.apache.commons.configuration2.Configuration}. The request is sent asynchronously, and does not block
+ * the execution lane of the action while waiting for the Giphy API.
  */
-public class GetGif extends RuntimeAction<GiphyPlatform> {
+public class GetGif extends AsyncRuntimeAction<GiphyPlatform> {
 
     /**
      * The {@link String} used to search GIFs from the Giphy API.
@@ -40,27 +49,41 @@ public class GetGif extends RuntimeAction<GiphyPlatform> {
     /**
      * Build and send a REST query to the Giphy API to retrieve GIFs associated to the provided {@code searchString}.
      * <p>
-     * This method relies on the containing {@link GiphyPlatform} to access the Giphy API.
+     * This method relies on the containing {@link GiphyPlatform} to access the Giphy API. The returned
+     * {@link CompletionStage} is completed exceptionally if the request failed or if the Giphy API response does
+     * not contain any GIF.
      *
-     * @return a {@link String} containing the URL of the retrieved GIF
+     * @return a {@link CompletionStage} completed with a {@link String} containing the URL of the retrieved GIF
      * @see GiphyPlatform#getGiphyToken()
      */
     @Override
-    protected Object compute() {
-        JsonNode jsonNode = null;
-        try {
-            jsonNode =
-                    Unirest.get(("https://api.giphy.com/v1/gifs/search?api_key=" + this.runtimePlatform.getGiphyToken() + "&q" +
-                            "=" + searchString).replace(" ", "%20"))
-                            .asJson().getBody();
-        } catch (UnirestException e) {
-            e.printStackTrace();
-        }
-        JSONObject object = jsonNode.getObject().getJSONArray("data").getJSONObject(0);
-        JSONObject images = object.getJSONObject("images");
-        JSONObject original = images.getJSONObject("original");
-        String url = original.getString("url");
-        return url;
+    protected CompletionStage<?> computeAsync() {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Unirest.get(("https://api.giphy.com/v1/gifs/search?api_key=" + this.runtimePlatform.getGiphyToken() + "&q" +
+                "=" + searchString).replace(" ", "%20")).asJsonAsync(new Callback<JsonNode>() {
+            @Override
+            public void completed(HttpResponse<JsonNode> response) {
+                try {
+                    JSONObject object = response.getBody().getObject().getJSONArray("data").getJSONObject(0);
+                    JSONObject images = object.getJSONObject("images");
+                    JSONObject original = images.getJSONObject("original");
+                    result.complete(original.getString("url"));
+                } catch (JSONException e) {
+                    result.completeExceptionally(new JarvisException("Cannot retrieve a GIF from the Giphy API " +
+                            "response", e));
+                }
+            }
+
+            @Override
+            public void failed(UnirestException e) {
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                result.completeExceptionally(new JarvisException("The request to the Giphy API has been cancelled"));
+            }
+        });
+        return result;
     }
 }
-
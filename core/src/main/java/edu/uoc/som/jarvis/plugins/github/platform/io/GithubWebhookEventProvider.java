@@ -4,22 +4,41 @@ import com.google.gson.JsonElement;
 import edu.uoc.som.jarvis.core.platform.io.EventInstanceBuilder;
 import edu.uoc.som.jarvis.core.platform.io.JsonEventMatcher;
 import edu.uoc.som.jarvis.core.platform.io.JsonWebhookEventProvider;
+import edu.uoc.som.jarvis.core.platform.io.RuntimeEvent;
+import edu.uoc.som.jarvis.core.platform.io.WebhookContent;
+import edu.uoc.som.jarvis.core.platform.io.WebhookRoute;
 import edu.uoc.som.jarvis.core.session.JarvisSession;
-import edu.uoc.som.jarvis.intent.EventInstance;
 import edu.uoc.som.jarvis.plugins.github.platform.GithubPlatform;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.http.Header;
 
+import java.util.Collection;
+import java.util.Collections;
+
 public class GithubWebhookEventProvider extends JsonWebhookEventProvider<GithubPlatform> {
 
     private final static String GITHUB_EVENT_HEADER_KEY = "X-Github-Event";
 
+    private final static String GITHUB_DELIVERY_HEADER_KEY = "X-GitHub-Delivery";
+
     private JsonEventMatcher matcher;
 
     public GithubWebhookEventProvider(GithubPlatform runtimePlatform, Configuration configuration) {
         super(runtimePlatform, configuration);
         matcher = new JsonEventMatcher(EventInstanceBuilder.newBuilder(this.jarvisCore.getEventDefinitionRegistry()),
                 configuration);
+        registerGithubEvents(matcher);
+    }
+
+    /**
+     * Registers the Github events to the provided {@code matcher}.
+     * <p>
+     * This method is package-private to allow benchmarking the {@link JsonEventMatcher} with the complete Github rule
+     * set.
+     *
+     * @param matcher the {@link JsonEventMatcher} to register the Github events to
+     */
+    static void registerGithubEvents(JsonEventMatcher matcher) {
         JsonEventMatcher.HeaderValue issueHeader = JsonEventMatcher.HeaderValue.of(GITHUB_EVENT_HEADER_KEY, "issues");
         matcher.addMatchableEvent(issueHeader, JsonEventMatcher.FieldValue.of("action", "opened"), "Issue_Opened");
         matcher.addMatchableEvent(issueHeader, JsonEventMatcher.FieldValue.of("action", "edited"), "Issue_Edited");
@@ -77,11 +96,53 @@ public class GithubWebhookEventProvider extends JsonWebhookEventProvider<GithubP
         matcher.addMatchableEvent(pushHeader, JsonEventMatcher.FieldValue.EMPTY_FIELD_VALUE, "Push");
     }
 
+    /**
+     * Claims the requests containing a {@value #GITHUB_EVENT_HEADER_KEY} header, on any path.
+     *
+     * @return a singleton {@link Collection} containing the Github {@link WebhookRoute}
+     */
+    @Override
+    public Collection<WebhookRoute> getRoutes() {
+        return Collections.singletonList(WebhookRoute.forHeader(GITHUB_EVENT_HEADER_KEY));
+    }
+
+    /**
+     * Deduplicates the requests using their {@value #GITHUB_DELIVERY_HEADER_KEY} header.
+     * <p>
+     * Github redelivers a request with the same {@value #GITHUB_DELIVERY_HEADER_KEY} identifier when the previous
+     * delivery failed or timed out.
+     *
+     * @return the {@value #GITHUB_DELIVERY_HEADER_KEY} header name
+     */
+    @Override
+    protected String getDefaultDeduplicationHeader() {
+        return GITHUB_DELIVERY_HEADER_KEY;
+    }
+
+    /**
+     * Streams the provided {@code content} with the {@link JsonEventMatcher}.
+     * <p>
+     * The Github payloads (especially push and pull request ones) are large, and only a few of their fields are
+     * declared by the Github events: the content is matched and its declared fields are extracted without parsing it
+     * into a {@link JsonElement}.
+     *
+     * @param content the {@link WebhookContent} to handle
+     * @param headers the HTTP headers of the received request
+     * @see JsonEventMatcher#matchRuntimeEvent(Header[], WebhookContent)
+     */
+    @Override
+    protected void handleWebhookContent(WebhookContent content, Header[] headers) {
+        handleRuntimeEvent(matcher.matchRuntimeEvent(headers, content));
+    }
+
     @Override
     protected void handleParsedContent(JsonElement parsedContent, Header[] headers) {
-        EventInstance eventInstance = matcher.match(headers, parsedContent);
+        handleRuntimeEvent(matcher.matchRuntimeEvent(headers, parsedContent));
+    }
+
+    private void handleRuntimeEvent(RuntimeEvent runtimeEvent) {
         JarvisSession jarvisSession = this.jarvisCore.getOrCreateJarvisSession("github");
-        this.jarvisCore.getExecutionService().handleEventInstance(eventInstance, jarvisSession);
+        this.jarvisCore.getExecutionService().handleRuntimeEvent(runtimeEvent, jarvisSession);
     }
 
     @Override
@@ -7,8 +7,16 @@ import edu.uoc.som.jarvis.core.platform.action.RuntimeAction;
 import edu.uoc.som.jarvis.core.session.JarvisSession;
 import edu.uoc.som.jarvis.plugins.slack.JarvisSlackUtils;
 import edu.uoc.som.jarvis.plugins.slack.platform.action.PostMessage;
+import edu.uoc.som.jarvis.util.VirtualThreads;
 import org.apache.commons.configuration2.Configuration;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
 import static java.util.Objects.nonNull;
 
@@ -27,6 +35,19 @@ import static java.util.Objects.nonNull;
  */
 public class SlackPlatform extends RuntimePlatform {
 
+    /**
+     * The number of platform {@link Thread}s used to send the requests to the Slack API.
+     * <p>
+     * The Slack API client does not provide non-blocking methods, each {@link Thread} waits for the response of the
+     * request it sent. The requests submitted while all the {@link Thread}s are waiting are queued.
+     */
+    private static final int SLACK_API_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * The prefix of the names of the {@link Thread}s sending the requests to the Slack API.
+     */
+    private static final String SLACK_API_THREAD_NAME_PREFIX = "jarvis-slack-api-";
+
     /**
      * The {@link String} representing the Slack bot API token.
      * <p>
@@ -43,6 +64,17 @@ public class SlackPlatform extends RuntimePlatform {
      */
     private Slack slack;
 
+    /**
+     * The {@link ExecutorService} used to send the requests to the Slack API.
+     * <p>
+     * This executor allows the Slack actions to send their requests without blocking the execution lanes of the
+     * {@link edu.uoc.som.jarvis.core.ExecutionService}. It is bounded to {@link #SLACK_API_THREADS} platform
+     * {@link Thread}s, or creates a virtual {@link Thread} per request if virtual {@link Thread}s are enabled.
+     *
+     * @see #getApiExecutor()
+     */
+    private ExecutorService apiExecutor;
+
     /**
      * Constructs a new {@link SlackPlatform} from the provided {@link JarvisCore} and {@link Configuration}.
      * <p>
@@ -64,6 +96,19 @@ public class SlackPlatform extends RuntimePlatform {
                 "provided token %s, please ensure that the jarvis configuration contains a valid Slack bot API token " +
                 "associated to the key %s", slackToken, JarvisSlackUtils.SLACK_TOKEN_KEY);
         slack = new Slack();
+        if (VirtualThreads.isEnabled(configuration)) {
+            apiExecutor = VirtualThreads.newThreadPerTaskExecutor(SLACK_API_THREAD_NAME_PREFIX);
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(SLACK_API_THREADS, SLACK_API_THREADS, 60,
+                    TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, SLACK_API_THREAD_NAME_PREFIX + threadCount.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            apiExecutor = threadPoolExecutor;
+        }
     }
 
     /**
@@ -84,6 +129,18 @@ public class SlackPlatform extends RuntimePlatform {
         return slack;
     }
 
+    /**
+     * Returns the {@link Executor} used to send the requests to the Slack API.
+     * <p>
+     * Slack actions use this {@link Executor} to wait for the blocking {@link Slack} client calls without blocking
+     * the execution lanes of the {@link edu.uoc.som.jarvis.core.ExecutionService}.
+     *
+     * @return the {@link Executor} used to send the requests to the Slack API
+     */
+    public Executor getApiExecutor() {
+        return apiExecutor;
+    }
+
     /**
      * Returns the {@link JarvisSession} associated to the provided {@code channel}.
      *
@@ -93,4 +150,16 @@ public class SlackPlatform extends RuntimePlatform {
     public JarvisSession createSessionFromChannel(String channel) {
         return this.jarvisCore.getOrCreateJarvisSession(channel);
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This method also shuts down the {@link Executor} used to send the requests to the Slack API. The requests
+     * already submitted are sent before its {@link Thread}s terminate.
+     */
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        apiExecutor.shutdown();
+    }
 }
@@ -12,6 +12,9 @@ import fr.inria.atlanmod.commons.log.Log;
 
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
 import static java.util.Objects.nonNull;
@@ -85,6 +88,27 @@ public class PostMessage extends RuntimeMessageAction<SlackPlatform> {
         return null;
     }
 
+    /**
+     * Posts the provided {@code message} to the given {@code channel} without blocking the calling {@link Thread}.
+     * <p>
+     * The Slack API client does not provide non-blocking methods: this method runs {@link #compute()} in the
+     * {@link SlackPlatform#getApiExecutor()}, and returns a {@link CompletionStage} completed once the Slack API
+     * answered.
+     *
+     * @return a {@link CompletionStage} completed with {@code null} once the message has been posted
+     * @see #compute()
+     */
+    @Override
+    protected CompletionStage<?> computeAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return compute();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, runtimePlatform.getApiExecutor());
+    }
+
     @Override
     protected JarvisSession getClientSession() {
         return this.runtimePlatform.createSessionFromChannel(channel);
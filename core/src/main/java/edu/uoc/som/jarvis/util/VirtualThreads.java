@@ -0,0 +1,192 @@
+package edu.uoc.som.jarvis.util;
+
+import edu.uoc.som.jarvis.core.ExecutionService;
+import edu.uoc.som.jarvis.core.JarvisException;
+import fr.inria.atlanmod.commons.log.Log;
+import org.apache.commons.configuration2.Configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.text.MessageFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An utility class creating virtual {@link Thread}s when they are supported by the running JVM.
+ * <p>
+ * Jarvis is compiled against Java 8, and cannot reference the virtual thread API directly: this class retrieves
+ * the {@code Thread.ofVirtual()} and {@code Executors.newThreadPerTaskExecutor(ThreadFactory)} methods
+ * reflectively, and reports virtual threads as unsupported when they are not available (e.g. on Java versions
+ * older than 21, or when the preview API is not enabled).
+ *
+ * @see ExecutionService#VIRTUAL_THREADS_KEY
+ */
+public class VirtualThreads {
+
+    /**
+     * The {@code Thread.ofVirtual()} method, or {@code null} if virtual threads are not supported.
+     */
+    private static final Method OF_VIRTUAL_METHOD;
+
+    /**
+     * The {@code Thread.Builder.name(String, long)} method, or {@code null} if virtual threads are not supported.
+     */
+    private static final Method BUILDER_NAME_METHOD;
+
+    /**
+     * The {@code Thread.Builder.factory()} method, or {@code null} if virtual threads are not supported.
+     */
+    private static final Method BUILDER_FACTORY_METHOD;
+
+    /**
+     * The {@code Executors.newThreadPerTaskExecutor(ThreadFactory)} method, or {@code null} if virtual threads are
+     * not supported.
+     */
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR_METHOD;
+
+    /**
+     * A flag used to log the unsupported virtual threads warning only once.
+     *
+     * @see #isEnabled(Configuration)
+     */
+    private static final AtomicBoolean UNSUPPORTED_WARNING_LOGGED = new AtomicBoolean();
+
+    static {
+        Method ofVirtualMethod = null;
+        Method builderNameMethod = null;
+        Method builderFactoryMethod = null;
+        Method newThreadPerTaskExecutorMethod = null;
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtualMethod = Thread.class.getMethod("ofVirtual");
+            builderNameMethod = builderClass.getMethod("name", String.class, long.class);
+            builderFactoryMethod = builderClass.getMethod("factory");
+            newThreadPerTaskExecutorMethod = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory
+                    .class);
+            /*
+             * Create a builder to make sure the API is not a disabled preview feature.
+             */
+            ofVirtualMethod.invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            ofVirtualMethod = null;
+        }
+        OF_VIRTUAL_METHOD = ofVirtualMethod;
+        BUILDER_NAME_METHOD = builderNameMethod;
+        BUILDER_FACTORY_METHOD = builderFactoryMethod;
+        NEW_THREAD_PER_TASK_EXECUTOR_METHOD = newThreadPerTaskExecutorMethod;
+    }
+
+    /**
+     * Disables the default constructor, this class only provides static methods and should not be constructed.
+     */
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns whether the running JVM supports virtual {@link Thread}s.
+     *
+     * @return {@code true} if the running JVM supports virtual {@link Thread}s, {@code false} otherwise
+     */
+    public static boolean isSupported() {
+        return nonNull(OF_VIRTUAL_METHOD);
+    }
+
+    /**
+     * Returns whether the provided {@code configuration} enables virtual {@link Thread}s and the running JVM supports
+     * them.
+     * <p>
+     * A warning is logged if virtual {@link Thread}s are enabled by the {@code configuration} but not supported by
+     * the running JVM. In this case Jarvis falls back to platform {@link Thread}s.
+     *
+     * @param configuration the {@link Configuration} to check
+     * @return {@code true} if virtual {@link Thread}s should be used, {@code false} otherwise
+     * @throws NullPointerException if the provided {@code configuration} is {@code null}
+     * @see ExecutionService#VIRTUAL_THREADS_KEY
+     */
+    public static boolean isEnabled(Configuration configuration) {
+        checkNotNull(configuration, "Cannot check whether virtual threads are enabled in the provided %s %s",
+                Configuration.class.getSimpleName(), configuration);
+        boolean enabled = configuration.getBoolean(ExecutionService.VIRTUAL_THREADS_KEY, ExecutionService
+                .DEFAULT_VIRTUAL_THREADS_VALUE);
+        if (enabled && !isSupported()) {
+            if (UNSUPPORTED_WARNING_LOGGED.compareAndSet(false, true)) {
+                Log.warn("Virtual threads are enabled ({0}) but not supported by the running JVM (Java {1}), " +
+                        "using platform threads instead", ExecutionService.VIRTUAL_THREADS_KEY, System.getProperty
+                        ("java.version"));
+            }
+            return false;
+        }
+        return enabled;
+    }
+
+    /**
+     * Creates a {@link ThreadFactory} creating virtual {@link Thread}s named after the provided {@code namePrefix}.
+     * <p>
+     * The created {@link Thread}s are named {@code namePrefix0}, {@code namePrefix1}, etc.
+     *
+     * @param namePrefix the prefix of the names of the created {@link Thread}s
+     * @return the created {@link ThreadFactory}
+     * @throws NullPointerException if the provided {@code namePrefix} is {@code null}
+     * @throws JarvisException      if virtual {@link Thread}s are not supported by the running JVM
+     * @see #isSupported()
+     */
+    public static ThreadFactory newThreadFactory(String namePrefix) {
+        checkNotNull(namePrefix, "Cannot create a virtual %s with the provided name prefix %s", ThreadFactory.class
+                .getSimpleName(), namePrefix);
+        checkSupported();
+        Object builder = invoke(OF_VIRTUAL_METHOD, null);
+        builder = invoke(BUILDER_NAME_METHOD, builder, namePrefix, 0L);
+        return (ThreadFactory) invoke(BUILDER_FACTORY_METHOD, builder);
+    }
+
+    /**
+     * Creates an {@link ExecutorService} executing each submitted task in a new virtual {@link Thread}.
+     *
+     * @param namePrefix the prefix of the names of the created {@link Thread}s
+     * @return the created {@link ExecutorService}
+     * @throws NullPointerException if the provided {@code namePrefix} is {@code null}
+     * @throws JarvisException      if virtual {@link Thread}s are not supported by the running JVM
+     * @see #newThreadFactory(String)
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory threadFactory = newThreadFactory(namePrefix);
+        return (ExecutorService) invoke(NEW_THREAD_PER_TASK_EXECUTOR_METHOD, null, threadFactory);
+    }
+
+    /**
+     * Throws a {@link JarvisException} if virtual {@link Thread}s are not supported by the running JVM.
+     *
+     * @throws JarvisException if virtual {@link Thread}s are not supported by the running JVM
+     */
+    private static void checkSupported() {
+        if (!isSupported()) {
+            throw new JarvisException(MessageFormat.format("Cannot create virtual threads, they are not supported by" +
+                    " the running JVM (Java {0})", System.getProperty("java.version")));
+        }
+    }
+
+    /**
+     * Invokes the provided {@code method} and wraps the reflection API exceptions in {@link JarvisException}s.
+     *
+     * @param method    the {@link Method} to invoke
+     * @param target    the object to invoke the {@code method} on, or {@code null} for static methods
+     * @param arguments the arguments of the invocation
+     * @return the result of the invocation
+     * @throws JarvisException if an error occurred when invoking the {@code method}
+     */
+    private static Object invoke(Method method, Object target, Object... arguments) {
+        try {
+            return method.invoke(target, arguments);
+        } catch (IllegalAccessException e) {
+            throw new JarvisException(MessageFormat.format("Cannot invoke the method {0}", method.getName()), e);
+        } catch (InvocationTargetException e) {
+            throw new JarvisException(MessageFormat.format("An error occurred when invoking the method {0}", method
+                    .getName()), e.getCause());
+        }
+    }
+}
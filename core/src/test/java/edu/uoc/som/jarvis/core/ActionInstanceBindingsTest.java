@@ -0,0 +1,179 @@
+package edu.uoc.som.jarvis.core;
+
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import edu.uoc.som.jarvis.execution.ActionInstance;
+import edu.uoc.som.jarvis.execution.ExecutionFactory;
+import edu.uoc.som.jarvis.execution.ExecutionRule;
+import edu.uoc.som.jarvis.platform.ActionDefinition;
+import edu.uoc.som.jarvis.platform.PlatformDefinition;
+import edu.uoc.som.jarvis.platform.PlatformFactory;
+import edu.uoc.som.jarvis.stubs.EmptyRuntimePlatform;
+import edu.uoc.som.jarvis.stubs.StubJarvisCore;
+import edu.uoc.som.jarvis.stubs.action.StubRuntimeActionNoParameter;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ActionInstanceBindingsTest extends AbstractJarvisTest {
+
+    private static JarvisCore jarvisCore;
+
+    private RuntimePlatformRegistry registry;
+
+    private EmptyRuntimePlatform runtimePlatform;
+
+    private ActionDefinition actionDefinition;
+
+    private ActionInstance actionInstance;
+
+    private ActionInstanceBindings bindings;
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        jarvisCore = new StubJarvisCore();
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        if (nonNull(jarvisCore)) {
+            jarvisCore.shutdown();
+        }
+    }
+
+    @Before
+    public void setUp() {
+        registry = new RuntimePlatformRegistry();
+        runtimePlatform = new EmptyRuntimePlatform(jarvisCore);
+        PlatformDefinition platformDefinition = PlatformFactory.eINSTANCE.createPlatformDefinition();
+        platformDefinition.setName(runtimePlatform.getName());
+        actionDefinition = PlatformFactory.eINSTANCE.createActionDefinition();
+        actionDefinition.setName(StubRuntimeActionNoParameter.class.getSimpleName());
+        platformDefinition.getActions().add(actionDefinition);
+        actionInstance = ExecutionFactory.eINSTANCE.createActionInstance();
+        actionInstance.setAction(actionDefinition);
+        bindings = new ActionInstanceBindings(registry);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullRuntimePlatformRegistry() {
+        bindings = new ActionInstanceBindings(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void getBindingNullActionInstance() {
+        bindings.getBinding(null);
+    }
+
+    @Test(expected = JarvisException.class)
+    public void getBindingNotRegisteredPlatform() {
+        bindings.getBinding(actionInstance);
+    }
+
+    @Test
+    public void getBindingEnabledAction() {
+        registry.registerRuntimePlatform(runtimePlatform);
+        runtimePlatform.enableAction(actionDefinition);
+        ActionInstanceBindings.Binding binding = bindings.getBinding(actionInstance);
+        assertThat(binding.getRuntimePlatform()).as("Valid RuntimePlatform").isEqualTo(runtimePlatform);
+        assertThat(binding.getActionFactory()).as("Valid RuntimeActionFactory").isEqualTo(runtimePlatform
+                .getActionFactory(actionDefinition));
+        assertThat(bindings.getBinding(actionInstance)).as("Binding reused").isSameAs(binding);
+    }
+
+    @Test
+    public void getBindingActionEnabledAfterBinding() {
+        registry.registerRuntimePlatform(runtimePlatform);
+        ActionInstanceBindings.Binding binding = bindings.getBinding(actionInstance);
+        assertThat(binding.getActionFactory()).as("Null RuntimeActionFactory").isNull();
+        runtimePlatform.enableAction(actionDefinition);
+        binding = bindings.getBinding(actionInstance);
+        assertThat(binding.getActionFactory()).as("RuntimeActionFactory bound after enableAction").isNotNull();
+    }
+
+    @Test
+    public void getBindingPlatformRegisteredAfterBinding() {
+        registry.registerRuntimePlatform(runtimePlatform);
+        runtimePlatform.enableAction(actionDefinition);
+        bindings.getBinding(actionInstance);
+        EmptyRuntimePlatform otherRuntimePlatform = new EmptyRuntimePlatform(jarvisCore);
+        otherRuntimePlatform.enableAction(actionDefinition);
+        registry.registerRuntimePlatform(otherRuntimePlatform);
+        ActionInstanceBindings.Binding binding = bindings.getBinding(actionInstance);
+        assertThat(binding.getRuntimePlatform()).as("New RuntimePlatform bound").isEqualTo(otherRuntimePlatform);
+        assertThat(binding.getActionFactory()).as("New RuntimeActionFactory bound").isEqualTo(otherRuntimePlatform
+                .getActionFactory(actionDefinition));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void bindNullRule() {
+        bindings.bind(null);
+    }
+
+    @Test(expected = JarvisException.class)
+    public void bindRuleNotRegisteredPlatform() {
+        bindings.bind(createRule());
+    }
+
+    @Test
+    public void bindRuleAttachesBinding() {
+        registry.registerRuntimePlatform(runtimePlatform);
+        runtimePlatform.enableAction(actionDefinition);
+        ExecutionRule rule = createRule();
+        bindings.bind(rule);
+        assertThat(actionInstance.eAdapters()).as("Binding attached to the ActionInstance").hasSize(1);
+        ActionInstanceBindings.Binding binding = bindings.getBinding(actionInstance);
+        assertThat(binding.getRuntimePlatform()).as("Valid RuntimePlatform").isEqualTo(runtimePlatform);
+        bindings.bind(rule);
+        assertThat(bindings.getBinding(actionInstance)).as("Valid binding not recomputed").isSameAs(binding);
+        assertThat(actionInstance.eAdapters()).as("Single binding attached").hasSize(1);
+    }
+
+    @Test
+    public void unbindRuleRemovesBinding() {
+        registry.registerRuntimePlatform(runtimePlatform);
+        ExecutionRule rule = createRule();
+        bindings.bind(rule);
+        bindings.unbind(rule);
+        assertThat(actionInstance.eAdapters()).as("Binding removed from the ActionInstance").isEmpty();
+        assertThat(bindings.findBinding(actionInstance)).as("No binding found").isNull();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void findBindingNullActionInstance() {
+        bindings.findBinding(null);
+    }
+
+    @Test
+    public void findBindingNotBoundActionInstance() {
+        registry.registerRuntimePlatform(runtimePlatform);
+        assertThat(bindings.findBinding(actionInstance)).as("No binding found").isNull();
+        assertThat(actionInstance.eAdapters()).as("No binding attached").isEmpty();
+    }
+
+    @Test
+    public void findBindingBoundRule() {
+        registry.registerRuntimePlatform(runtimePlatform);
+        runtimePlatform.enableAction(actionDefinition);
+        bindings.bind(createRule());
+        assertThat(bindings.findBinding(actionInstance)).as("Attached binding found").isSameAs(bindings.getBinding
+                (actionInstance));
+    }
+
+    @Test
+    public void findBindingActionEnabledAfterBinding() {
+        registry.registerRuntimePlatform(runtimePlatform);
+        bindings.bind(createRule());
+        runtimePlatform.enableAction(actionDefinition);
+        assertThat(bindings.findBinding(actionInstance)).as("Invalid binding not returned").isNull();
+    }
+
+    private ExecutionRule createRule() {
+        ExecutionRule rule = ExecutionFactory.eINSTANCE.createExecutionRule();
+        rule.getInstructions().add(actionInstance);
+        return rule;
+    }
+}
@@ -0,0 +1,18 @@
+package edu.uoc.som.jarvis.core;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+
+/**
+ * Runs the {@link ExecutionServiceTest} test cases against an {@link ExecutionService} configured with the
+ * {@link ExecutionService#COMPILED_ENGINE}.
+ */
+public class CompiledExecutionServiceTest extends ExecutionServiceTest {
+
+    @Override
+    protected Configuration createConfiguration() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(ExecutionService.EXECUTION_ENGINE_KEY, ExecutionService.COMPILED_ENGINE);
+        return configuration;
+    }
+}
@@ -0,0 +1,82 @@
+package edu.uoc.som.jarvis.core;
+
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import edu.uoc.som.jarvis.execution.ExecutionFactory;
+import edu.uoc.som.jarvis.execution.ExecutionModel;
+import edu.uoc.som.jarvis.execution.ExecutionRule;
+import edu.uoc.som.jarvis.intent.EventDefinition;
+import edu.uoc.som.jarvis.intent.IntentFactory;
+import edu.uoc.som.jarvis.test.util.models.TestExecutionModel;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExecutionRuleIndexTest extends AbstractJarvisTest {
+
+    private TestExecutionModel testExecutionModel;
+
+    @Before
+    public void setUp() {
+        testExecutionModel = new TestExecutionModel();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void ofNullExecutionModel() {
+        ExecutionRuleIndex.of(null);
+    }
+
+    @Test
+    public void getExecutionRulesIndexedEventDefinition() {
+        ExecutionRuleIndex index = ExecutionRuleIndex.of(testExecutionModel.getExecutionModel());
+        List<ExecutionRule> rules = index.getExecutionRules(testExecutionModel.getTestIntentModel()
+                .getIntentDefinition());
+        assertThat(rules).as("Single rule retrieved").hasSize(1);
+        assertThat(rules.get(0)).as("Valid rule retrieved").isEqualTo(testExecutionModel.getExecutionRule());
+    }
+
+    @Test
+    public void getExecutionRulesSameNameEventDefinition() {
+        ExecutionRuleIndex index = ExecutionRuleIndex.of(testExecutionModel.getExecutionModel());
+        EventDefinition sameNameDefinition = IntentFactory.eINSTANCE.createEventDefinition();
+        sameNameDefinition.setName(testExecutionModel.getTestIntentModel().getIntentDefinition().getName());
+        assertThat(index.getExecutionRules(sameNameDefinition)).as("Rule retrieved from the event name")
+                .containsExactly(testExecutionModel.getExecutionRule());
+    }
+
+    @Test
+    public void getExecutionRulesNotIndexedEventDefinition() {
+        ExecutionRuleIndex index = ExecutionRuleIndex.of(testExecutionModel.getExecutionModel());
+        EventDefinition notIndexedDefinition = IntentFactory.eINSTANCE.createEventDefinition();
+        notIndexedDefinition.setName("NotIndexed");
+        assertThat(index.getExecutionRules(notIndexedDefinition)).as("Empty rule list").isEmpty();
+    }
+
+    @Test
+    public void executionServiceIndexUpdatedOnRuleAddition() {
+        ExecutionModel executionModel = testExecutionModel.getExecutionModel();
+        ExecutionService executionService = new ExecutionService(executionModel, new RuntimePlatformRegistry());
+        try {
+            ExecutionRuleIndex initialIndex = executionService.getExecutionRuleIndex();
+            EventDefinition newDefinition = IntentFactory.eINSTANCE.createEventDefinition();
+            newDefinition.setName("NewEvent");
+            ExecutionRule newRule = ExecutionFactory.eINSTANCE.createExecutionRule();
+            newRule.setEvent(newDefinition);
+            executionModel.getExecutionRules().add(newRule);
+            assertThat(executionService.getExecutionRuleIndex()).as("Index recomputed").isNotSameAs(initialIndex);
+            assertThat(executionService.getExecutionRuleIndex().getExecutionRules(newDefinition)).as("New rule " +
+                    "indexed").containsExactly(newRule);
+            EventDefinition otherDefinition = IntentFactory.eINSTANCE.createEventDefinition();
+            otherDefinition.setName("OtherEvent");
+            newRule.setEvent(otherDefinition);
+            assertThat(executionService.getExecutionRuleIndex().getExecutionRules(newDefinition)).as("Previous " +
+                    "event not indexed anymore").isEmpty();
+            assertThat(executionService.getExecutionRuleIndex().getExecutionRules(otherDefinition)).as("Updated " +
+                    "event indexed").containsExactly(newRule);
+        } finally {
+            executionService.shutdown();
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package edu.uoc.som.jarvis.core;
 
 import edu.uoc.som.jarvis.AbstractJarvisTest;
+import edu.uoc.som.jarvis.common.BooleanLiteral;
+import edu.uoc.som.jarvis.common.CommonFactory;
+import edu.uoc.som.jarvis.common.IfExpression;
 import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
+import edu.uoc.som.jarvis.core.platform.io.RuntimeEvent;
 import edu.uoc.som.jarvis.core.recognition.dialogflow.DialogFlowApiTest;
 import edu.uoc.som.jarvis.core.session.JarvisSession;
 import edu.uoc.som.jarvis.core.session.RuntimeContexts;
@@ -13,19 +17,33 @@ import edu.uoc.som.jarvis.intent.*;
 import edu.uoc.som.jarvis.platform.ActionDefinition;
 import edu.uoc.som.jarvis.platform.PlatformDefinition;
 import edu.uoc.som.jarvis.platform.PlatformFactory;
+import edu.uoc.som.jarvis.stubs.EmptyRuntimePlatform;
 import edu.uoc.som.jarvis.stubs.StubRuntimePlatform;
+import edu.uoc.som.jarvis.stubs.StubRuntimePlatformJarvisCoreConstructor;
+import edu.uoc.som.jarvis.stubs.action.StubBlockingRuntimeAction;
+import edu.uoc.som.jarvis.stubs.action.StubCountingRuntimeAction;
 import edu.uoc.som.jarvis.test.util.models.TestExecutionModel;
 import edu.uoc.som.jarvis.test.util.models.TestIntentModel;
 import edu.uoc.som.jarvis.test.util.models.TestPlatformModel;
+import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
 import org.junit.*;
 
 import java.util.UUID;
+import java.util.concurrent.Executor;
 
 import static edu.uoc.som.jarvis.test.util.ElementFactory.createBaseEntityDefinitionReference;
 import static java.util.Objects.nonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 
+/**
+ * Tests the {@link ExecutionService} configured with the {@link ExecutionService#INTERPRETER_ENGINE}.
+ * <p>
+ * Subclasses can override {@link #createConfiguration()} to run the same test cases against another configuration
+ * of the {@link ExecutionService}.
+ *
+ * @see CompiledExecutionServiceTest
+ */
 public class ExecutionServiceTest extends AbstractJarvisTest {
 
     protected static ExecutionModel VALID_EXECUTION_MODEL;
@@ -117,12 +135,24 @@ public class ExecutionServiceTest extends AbstractJarvisTest {
 
     private ExecutionService executionService;
 
+    /**
+     * Creates the {@link Configuration} of the tested {@link ExecutionService}s.
+     *
+     * @return the {@link Configuration} of the tested {@link ExecutionService}s
+     */
+    protected Configuration createConfiguration() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(ExecutionService.EXECUTION_ENGINE_KEY, ExecutionService.INTERPRETER_ENGINE);
+        return configuration;
+    }
+
     private ExecutionService getValidExecutionService() {
         executionService = new ExecutionService(VALID_EXECUTION_MODEL, VALID_JARVIS_CORE
-                .getRuntimePlatformRegistry());
+                .getRuntimePlatformRegistry(), createConfiguration());
         return executionService;
     }
 
+
     @Test(expected = NullPointerException.class)
     public void constructNullExecutionModel() {
         executionService = new ExecutionService(null, VALID_JARVIS_CORE.getRuntimePlatformRegistry());
@@ -173,6 +203,34 @@ public class ExecutionServiceTest extends AbstractJarvisTest {
         assertThat(stubRuntimePlatform.getAction().isActionProcessed()).as("Action processed").isTrue();
     }
 
+    @Test(expected = NullPointerException.class)
+    public void handleRuntimeEventNullEvent() {
+        executionService = getValidExecutionService();
+        executionService.handleRuntimeEvent(null, new JarvisSession("sessionID"));
+    }
+
+    @Test
+    public void handleRuntimeEventValidEvent() throws InterruptedException {
+        executionService = getValidExecutionService();
+        StubRuntimePlatform stubRuntimePlatform = (StubRuntimePlatform) VALID_JARVIS_CORE.getRuntimePlatformRegistry()
+                .getRuntimePlatform("StubRuntimePlatform");
+        executionService.handleRuntimeEvent(RuntimeEvent.of(VALID_EVENT_INSTANCE), VALID_JARVIS_CORE
+                .getOrCreateJarvisSession("sessionID"));
+        /*
+         * Sleep to ensure that the Action has been processed.
+         */
+        Thread.sleep(1000);
+        assertThat(stubRuntimePlatform.getAction().isActionProcessed()).as("Action processed").isTrue();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidExecutionEngine() {
+        Configuration configuration = createConfiguration();
+        configuration.setProperty(ExecutionService.EXECUTION_ENGINE_KEY, "invalid");
+        executionService = new ExecutionService(VALID_EXECUTION_MODEL, VALID_JARVIS_CORE.getRuntimePlatformRegistry
+                (), configuration);
+    }
+
     @Test
     public void handleEventMultiOutputContext() throws InterruptedException {
         /*
@@ -279,4 +337,170 @@ public class ExecutionServiceTest extends AbstractJarvisTest {
         assertThat(stubRuntimePlatform.getErroringAction().isActionProcessed()).as("Erroring action processed").isTrue();
         assertThat(stubRuntimePlatform.getAction().isActionProcessed()).as("Fallback action processed").isTrue();
     }
+
+    @Test
+    public void handleEventNoBulkheadPlatformRunsWhileBulkheadSaturated() throws InterruptedException {
+        /*
+         * A single lane: the blocked actions of the bulkhead platform are executed by the bulkhead, and the lane is
+         * released for the events of the other sessions.
+         */
+        Configuration configuration = createBulkheadConfiguration();
+        configuration.addProperty(ExecutionService.EXECUTION_LANES_KEY, 1);
+        BulkheadTestModel model = new BulkheadTestModel();
+        executionService = model.createExecutionService(configuration);
+        executionService.handleEventInstance(model.blockingEventInstance, new JarvisSession("session1"));
+        executionService.handleEventInstance(model.blockingEventInstance, new JarvisSession("session2"));
+        executionService.handleEventInstance(model.countingEventInstance, new JarvisSession("session3"));
+        Thread.sleep(1000);
+        assertThat(StubBlockingRuntimeAction.getStartedCount()).as("Bulkhead saturated").isEqualTo(1);
+        assertThat(StubCountingRuntimeAction.getExecutionCount()).as("Action without bulkhead executed").isEqualTo(1);
+        StubBlockingRuntimeAction.release();
+    }
+
+    @Test
+    public void handleEventNoBulkheadPlatformRunsWhileBulkheadSaturatedInIfBranch() throws InterruptedException {
+        /*
+         * The blocked actions are in the branch of an IfExpression: the lane is released as well.
+         */
+        Configuration configuration = createBulkheadConfiguration();
+        configuration.addProperty(ExecutionService.EXECUTION_LANES_KEY, 1);
+        BulkheadTestModel model = new BulkheadTestModel();
+        ExecutionRule blockingRule = model.executionModel.getExecutionRules().get(0);
+        IfExpression ifExpression = CommonFactory.eINSTANCE.createIfExpression();
+        BooleanLiteral condition = CommonFactory.eINSTANCE.createBooleanLiteral();
+        condition.setValue(true);
+        ifExpression.setCondition(condition);
+        ifExpression.getThenInstructions().addAll(blockingRule.getInstructions());
+        blockingRule.getInstructions().add(ifExpression);
+        executionService = model.createExecutionService(configuration);
+        executionService.handleEventInstance(model.blockingEventInstance, new JarvisSession("session1"));
+        executionService.handleEventInstance(model.blockingEventInstance, new JarvisSession("session2"));
+        executionService.handleEventInstance(model.countingEventInstance, new JarvisSession("session3"));
+        Thread.sleep(1000);
+        assertThat(StubBlockingRuntimeAction.getStartedCount()).as("Bulkhead saturated").isEqualTo(1);
+        assertThat(StubCountingRuntimeAction.getExecutionCount()).as("Action without bulkhead executed").isEqualTo(1);
+        StubBlockingRuntimeAction.release();
+    }
+
+    @Test
+    public void handleEventNoBulkheadPlatformOtherLaneRunsWhileBulkheadSaturated() throws InterruptedException {
+        /*
+         * The sessions of the other lanes are processed while the blocked session waits for the bulkhead.
+         */
+        Configuration configuration = createBulkheadConfiguration();
+        configuration.addProperty(ExecutionService.EXECUTION_LANES_KEY, 2);
+        BulkheadTestModel model = new BulkheadTestModel();
+        executionService = model.createExecutionService(configuration);
+        SessionShardedExecutor executor = (SessionShardedExecutor) executionService.getExecutorService();
+        Executor blockedLane = executor.getLane("session0");
+        String otherLaneSessionId = null;
+        for (int i = 1; i < 100 && otherLaneSessionId == null; i++) {
+            if (executor.getLane("session" + i) != blockedLane) {
+                otherLaneSessionId = "session" + i;
+            }
+        }
+        assertThat(otherLaneSessionId).as("Found a session associated to another lane").isNotNull();
+        executionService.handleEventInstance(model.blockingEventInstance, new JarvisSession("session0"));
+        executionService.handleEventInstance(model.countingEventInstance, new JarvisSession(otherLaneSessionId));
+        Thread.sleep(1000);
+        assertThat(StubBlockingRuntimeAction.getStartedCount()).as("Bulkhead saturated").isEqualTo(1);
+        assertThat(StubCountingRuntimeAction.getExecutionCount()).as("Action without bulkhead executed").isEqualTo(1);
+        StubBlockingRuntimeAction.release();
+    }
+
+    @Test(expected = JarvisException.class)
+    public void bindActionsNotRegisteredPlatform() {
+        BulkheadTestModel model = new BulkheadTestModel();
+        executionService = new ExecutionService(model.executionModel, new RuntimePlatformRegistry(),
+                createConfiguration());
+        executionService.bindActions();
+    }
+
+    @Test
+    public void bindActionsRemovedRuleUnbound() {
+        BulkheadTestModel model = new BulkheadTestModel();
+        executionService = model.createExecutionService(createConfiguration());
+        executionService.bindActions();
+        ExecutionRule rule = model.executionModel.getExecutionRules().get(0);
+        ActionInstance actionInstance = (ActionInstance) rule.getInstructions().get(0);
+        /*
+         * The ActionInstance contains the binding adapter and the adapter observing the rule content.
+         */
+        assertThat(actionInstance.eAdapters()).as("ActionInstance bound").hasSize(2);
+        model.executionModel.getExecutionRules().remove(rule);
+        assertThat(actionInstance.eAdapters()).as("Removed ActionInstance unbound").isEmpty();
+    }
+
+    @Test
+    public void handleEventModifiedActionInstance() throws InterruptedException {
+        BulkheadTestModel model = new BulkheadTestModel();
+        executionService = model.createExecutionService(createBulkheadConfiguration());
+        executionService.bindActions();
+        /*
+         * Modify an element nested in the rule: the rule must be recompiled and its ActionInstance bound again.
+         */
+        ExecutionRule blockingRule = model.executionModel.getExecutionRules().get(0);
+        ActionInstance actionInstance = (ActionInstance) blockingRule.getInstructions().get(0);
+        ExecutionRule countingRule = model.executionModel.getExecutionRules().get(1);
+        actionInstance.setAction(((ActionInstance) countingRule.getInstructions().get(0)).getAction());
+        executionService.handleEventInstance(model.blockingEventInstance, new JarvisSession("session"));
+        Thread.sleep(1000);
+        assertThat(StubBlockingRuntimeAction.getStartedCount()).as("Previous action not executed").isEqualTo(0);
+        assertThat(StubCountingRuntimeAction.getExecutionCount()).as("Modified action executed").isEqualTo(1);
+    }
+
+    private Configuration createBulkheadConfiguration() {
+        StubBlockingRuntimeAction.reset();
+        StubCountingRuntimeAction.reset();
+        Configuration configuration = createConfiguration();
+        String platformName = EmptyRuntimePlatform.class.getSimpleName();
+        configuration.addProperty(PlatformBulkheads.getKey(platformName, PlatformBulkheads.CONCURRENCY_KEY), 1);
+        configuration.addProperty(PlatformBulkheads.getKey(platformName, PlatformBulkheads.QUEUE_SIZE_KEY), 1);
+        return configuration;
+    }
+
+    /**
+     * An {@link ExecutionModel} containing a rule executing a blocking action of a platform isolated in a
+     * {@link PlatformBulkhead}, and a rule executing an action of a platform without bulkhead.
+     */
+    private static class BulkheadTestModel {
+
+        private final RuntimePlatformRegistry registry = new RuntimePlatformRegistry();
+
+        private final ExecutionModel executionModel = ExecutionFactory.eINSTANCE.createExecutionModel();
+
+        private final EventInstance blockingEventInstance = IntentFactory.eINSTANCE.createEventInstance();
+
+        private final EventInstance countingEventInstance = IntentFactory.eINSTANCE.createEventInstance();
+
+        private BulkheadTestModel() {
+            addRule(new EmptyRuntimePlatform(VALID_JARVIS_CORE), StubBlockingRuntimeAction.class.getSimpleName(),
+                    blockingEventInstance);
+            addRule(new StubRuntimePlatformJarvisCoreConstructor(VALID_JARVIS_CORE), StubCountingRuntimeAction.class
+                    .getSimpleName(), countingEventInstance);
+        }
+
+        private void addRule(RuntimePlatform runtimePlatform, String actionName, EventInstance eventInstance) {
+            PlatformDefinition platformDefinition = PlatformFactory.eINSTANCE.createPlatformDefinition();
+            platformDefinition.setName(runtimePlatform.getName());
+            ActionDefinition actionDefinition = PlatformFactory.eINSTANCE.createActionDefinition();
+            actionDefinition.setName(actionName);
+            platformDefinition.getActions().add(actionDefinition);
+            runtimePlatform.enableAction(actionDefinition);
+            registry.registerRuntimePlatform(runtimePlatform);
+            IntentDefinition intentDefinition = IntentFactory.eINSTANCE.createIntentDefinition();
+            intentDefinition.setName(actionName + "Intent");
+            eventInstance.setDefinition(intentDefinition);
+            ExecutionRule rule = ExecutionFactory.eINSTANCE.createExecutionRule();
+            rule.setEvent(intentDefinition);
+            ActionInstance actionInstance = ExecutionFactory.eINSTANCE.createActionInstance();
+            actionInstance.setAction(actionDefinition);
+            rule.getInstructions().add(actionInstance);
+            executionModel.getExecutionRules().add(rule);
+        }
+
+        private ExecutionService createExecutionService(Configuration configuration) {
+            return new ExecutionService(executionModel, registry, configuration);
+        }
+    }
 }
@@ -0,0 +1,153 @@
+package edu.uoc.som.jarvis.core;
+
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
+import edu.uoc.som.jarvis.core.platform.action.RuntimeActionResult;
+import edu.uoc.som.jarvis.core.session.JarvisSession;
+import edu.uoc.som.jarvis.stubs.EmptyRuntimePlatform;
+import edu.uoc.som.jarvis.stubs.StubJarvisCore;
+import edu.uoc.som.jarvis.stubs.action.StubAsyncRuntimeAction;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PlatformBulkheadTest extends AbstractJarvisTest {
+
+    private static JarvisCore jarvisCore;
+
+    private static RuntimePlatform runtimePlatform;
+
+    private PlatformBulkhead bulkhead;
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        jarvisCore = new StubJarvisCore();
+        runtimePlatform = new EmptyRuntimePlatform(jarvisCore);
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        if (nonNull(jarvisCore)) {
+            jarvisCore.shutdown();
+        }
+    }
+
+    @After
+    public void tearDown() {
+        if (nonNull(bulkhead) && !bulkhead.isShutdown()) {
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructZeroConcurrency() {
+        bulkhead = new PlatformBulkhead("Platform", 0, 1, PlatformBulkhead.RejectionPolicy.ABORT, Executors
+                .newCachedThreadPool());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullExecutorService() {
+        bulkhead = new PlatformBulkhead("Platform", 1, 1, PlatformBulkhead.RejectionPolicy.ABORT, null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void executeNullAction() {
+        bulkhead = createBulkhead(1, 1, PlatformBulkhead.RejectionPolicy.ABORT);
+        bulkhead.execute(null);
+    }
+
+    @Test
+    public void executeAction() throws Exception {
+        bulkhead = createBulkhead(1, 1, PlatformBulkhead.RejectionPolicy.ABORT);
+        StubAsyncRuntimeAction action = createAction();
+        CompletableFuture<RuntimeActionResult> result = bulkhead.execute(action);
+        assertThat(bulkhead.getRunningActionCount()).as("Action running").isEqualTo(1);
+        action.getComputation().complete("result");
+        assertThat(result.get(5, TimeUnit.SECONDS).getResult()).as("Valid result").isEqualTo("result");
+        assertThat(bulkhead.getRunningActionCount()).as("Running slot released").isEqualTo(0);
+    }
+
+    @Test
+    public void executeActionOverConcurrencyWaits() throws Exception {
+        bulkhead = createBulkhead(1, 1, PlatformBulkhead.RejectionPolicy.ABORT);
+        StubAsyncRuntimeAction firstAction = createAction();
+        StubAsyncRuntimeAction secondAction = createAction();
+        CompletableFuture<RuntimeActionResult> firstResult = bulkhead.execute(firstAction);
+        CompletableFuture<RuntimeActionResult> secondResult = bulkhead.execute(secondAction);
+        assertThat(bulkhead.getWaitingActionCount()).as("Second action waiting").isEqualTo(1);
+        secondAction.getComputation().complete("second");
+        assertThat(secondResult).as("Second action not started").isNotDone();
+        firstAction.getComputation().complete("first");
+        assertThat(firstResult.get(5, TimeUnit.SECONDS).getResult()).as("Valid first result").isEqualTo("first");
+        assertThat(secondResult.get(5, TimeUnit.SECONDS).getResult()).as("Valid second result").isEqualTo("second");
+    }
+
+    @Test
+    public void executeActionAbortRejection() {
+        bulkhead = createBulkhead(1, 0, PlatformBulkhead.RejectionPolicy.ABORT);
+        bulkhead.execute(createAction());
+        CompletableFuture<RuntimeActionResult> result = bulkhead.execute(createAction());
+        assertThat(result).as("Rejected action completed").isDone();
+        assertThat(result.join().isError()).as("Error result").isTrue();
+        assertThat(result.join().getThrownException()).as("Valid exception").isInstanceOf
+                (RejectedExecutionException.class);
+        assertThat(result.join().getThrownException().getMessage()).as("Valid exception message").contains("1 " +
+                "running action(s), 0 waiting action(s)");
+    }
+
+    @Test
+    public void executeActionDiscardOldestRejection() {
+        bulkhead = createBulkhead(1, 1, PlatformBulkhead.RejectionPolicy.DISCARD_OLDEST);
+        bulkhead.execute(createAction());
+        CompletableFuture<RuntimeActionResult> secondResult = bulkhead.execute(createAction());
+        CompletableFuture<RuntimeActionResult> thirdResult = bulkhead.execute(createAction());
+        assertThat(secondResult).as("Oldest waiting action rejected").isDone();
+        assertThat(secondResult.join().getThrownException()).as("Valid exception").isInstanceOf
+                (RejectedExecutionException.class);
+        assertThat(thirdResult).as("Submitted action waiting").isNotDone();
+        assertThat(bulkhead.getWaitingActionCount()).as("Submitted action queued").isEqualTo(1);
+    }
+
+    @Test
+    public void executeActionCallerRunsRejection() {
+        bulkhead = createBulkhead(1, 0, PlatformBulkhead.RejectionPolicy.CALLER_RUNS);
+        bulkhead.execute(createAction());
+        StubAsyncRuntimeAction action = createAction();
+        action.getComputation().complete("result");
+        CompletableFuture<RuntimeActionResult> result = bulkhead.execute(action);
+        assertThat(result).as("Action computed by the caller").isDone();
+        assertThat(result.join().getResult()).as("Valid result").isEqualTo("result");
+        assertThat(bulkhead.getRunningActionCount()).as("Running actions unchanged").isEqualTo(1);
+    }
+
+    @Test
+    public void shutdownRejectsWaitingActions() {
+        bulkhead = createBulkhead(1, 1, PlatformBulkhead.RejectionPolicy.ABORT);
+        bulkhead.execute(createAction());
+        CompletableFuture<RuntimeActionResult> result = bulkhead.execute(createAction());
+        bulkhead.shutdown();
+        assertThat(bulkhead.isShutdown()).as("Bulkhead shutdown").isTrue();
+        assertThat(result).as("Waiting action completed").isDone();
+        assertThat(result.join().getThrownException()).as("Valid exception").isInstanceOf
+                (RejectedExecutionException.class);
+    }
+
+    private PlatformBulkhead createBulkhead(int concurrency, int queueSize, PlatformBulkhead.RejectionPolicy
+            rejectionPolicy) {
+        return new PlatformBulkhead("Platform", concurrency, queueSize, rejectionPolicy, Executors
+                .newCachedThreadPool());
+    }
+
+    private StubAsyncRuntimeAction createAction() {
+        return new StubAsyncRuntimeAction(runtimePlatform, new JarvisSession("sessionID"));
+    }
+}
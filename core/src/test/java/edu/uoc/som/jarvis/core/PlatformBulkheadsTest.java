@@ -0,0 +1,144 @@
+package edu.uoc.som.jarvis.core;
+
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
+import edu.uoc.som.jarvis.stubs.EmptyRuntimePlatform;
+import edu.uoc.som.jarvis.stubs.StubJarvisCore;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PlatformBulkheadsTest extends AbstractJarvisTest {
+
+    private static JarvisCore jarvisCore;
+
+    private static RuntimePlatform runtimePlatform;
+
+    private Configuration configuration;
+
+    private PlatformBulkheads bulkheads;
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        jarvisCore = new StubJarvisCore();
+        runtimePlatform = new EmptyRuntimePlatform(jarvisCore);
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        if (nonNull(jarvisCore)) {
+            jarvisCore.shutdown();
+        }
+    }
+
+    @Before
+    public void setUp() {
+        configuration = new BaseConfiguration();
+    }
+
+    @After
+    public void tearDown() {
+        if (nonNull(bulkheads)) {
+            bulkheads.shutdown();
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullConfiguration() {
+        bulkheads = new PlatformBulkheads(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void getBulkheadNullRuntimePlatform() {
+        bulkheads = new PlatformBulkheads(configuration);
+        bulkheads.getBulkhead(null);
+    }
+
+    @Test
+    public void getBulkheadEmptyConfiguration() {
+        bulkheads = new PlatformBulkheads(configuration);
+        assertThat(bulkheads.getBulkhead(runtimePlatform)).as("Bulkhead disabled").isNull();
+    }
+
+    @Test
+    public void getBulkheadPlatformConfiguration() {
+        String platformName = runtimePlatform.getName();
+        configuration.addProperty(PlatformBulkheads.getKey(platformName, PlatformBulkheads.CONCURRENCY_KEY), 2);
+        configuration.addProperty(PlatformBulkheads.getKey(platformName, PlatformBulkheads.QUEUE_SIZE_KEY), 8);
+        configuration.addProperty(PlatformBulkheads.getKey(platformName, PlatformBulkheads.REJECTION_KEY),
+                PlatformBulkheads.DISCARD_OLDEST_REJECTION);
+        bulkheads = new PlatformBulkheads(configuration);
+        PlatformBulkhead bulkhead = bulkheads.getBulkhead(runtimePlatform);
+        assertThat(bulkhead).as("Bulkhead created").isNotNull();
+        assertThat(bulkhead.getPlatformName()).as("Valid platform name").isEqualTo(platformName);
+        assertThat(bulkhead.getConcurrency()).as("Valid concurrency").isEqualTo(2);
+        assertThat(bulkhead.getQueueSize()).as("Valid queue size").isEqualTo(8);
+        assertThat(bulkhead.getRejectionPolicy()).as("Valid rejection policy").isEqualTo(PlatformBulkhead
+                .RejectionPolicy.DISCARD_OLDEST);
+        assertThat(bulkheads.getBulkhead(runtimePlatform)).as("Bulkhead reused").isSameAs(bulkhead);
+    }
+
+    @Test
+    public void getBulkheadGlobalConfiguration() {
+        configuration.addProperty(PlatformBulkheads.getKey(PlatformBulkheads.CONCURRENCY_KEY), 4);
+        bulkheads = new PlatformBulkheads(configuration);
+        PlatformBulkhead bulkhead = bulkheads.getBulkhead(runtimePlatform);
+        assertThat(bulkhead).as("Bulkhead created").isNotNull();
+        assertThat(bulkhead.getConcurrency()).as("Valid concurrency").isEqualTo(4);
+        assertThat(bulkhead.getQueueSize()).as("Default queue size").isEqualTo(PlatformBulkheads
+                .DEFAULT_QUEUE_SIZE_VALUE);
+        assertThat(bulkhead.getRejectionPolicy()).as("Default rejection policy").isEqualTo(PlatformBulkhead
+                .RejectionPolicy.ABORT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidRejection() {
+        configuration.addProperty(PlatformBulkheads.getKey(PlatformBulkheads.CONCURRENCY_KEY), 4);
+        configuration.addProperty(PlatformBulkheads.getKey(PlatformBulkheads.REJECTION_KEY), "invalid");
+        bulkheads = new PlatformBulkheads(configuration);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidPlatformConcurrency() {
+        configuration.addProperty(PlatformBulkheads.getKey(runtimePlatform.getName(), PlatformBulkheads
+                .CONCURRENCY_KEY), "invalid");
+        bulkheads = new PlatformBulkheads(configuration);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructNegativeQueueSize() {
+        configuration.addProperty(PlatformBulkheads.getKey(PlatformBulkheads.QUEUE_SIZE_KEY), -1);
+        bulkheads = new PlatformBulkheads(configuration);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructUnknownKey() {
+        configuration.addProperty(PlatformBulkheads.getKey("unknown"), 4);
+        bulkheads = new PlatformBulkheads(configuration);
+    }
+
+    @Test
+    public void shutdown() {
+        configuration.addProperty(PlatformBulkheads.getKey(PlatformBulkheads.CONCURRENCY_KEY), 4);
+        bulkheads = new PlatformBulkheads(configuration);
+        PlatformBulkhead bulkhead = bulkheads.getBulkhead(runtimePlatform);
+        bulkheads.shutdown();
+        assertThat(bulkhead.isShutdown()).as("Bulkhead shutdown").isTrue();
+    }
+
+    @Test(expected = JarvisException.class)
+    public void getBulkheadAfterShutdown() {
+        configuration.addProperty(PlatformBulkheads.getKey(PlatformBulkheads.CONCURRENCY_KEY), 4);
+        bulkheads = new PlatformBulkheads(configuration);
+        bulkheads.shutdown();
+        assertThat(bulkheads.isShutdown()).as("Bulkheads shutdown").isTrue();
+        bulkheads.getBulkhead(runtimePlatform);
+    }
+}
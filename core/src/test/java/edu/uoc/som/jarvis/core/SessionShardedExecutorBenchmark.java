@@ -0,0 +1,64 @@
+package edu.uoc.som.jarvis.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark measuring the throughput of the {@link SessionShardedExecutor} with an increasing number of execution
+ * lanes when the executed events block on I/O.
+ * <p>
+ * Each simulated event blocks its lane for {@link #BLOCKING_CALL_MILLIS} milliseconds, reproducing an action waiting
+ * for a REST API (e.g. posting a message on Slack or GitHub). The events of a session are submitted with
+ * {@link SessionShardedExecutor#executeAsync(String, java.util.function.Supplier)}, as done by the
+ * {@link ExecutionService}. The single lane configuration corresponds to the single-threaded executor previously used
+ * by the {@link ExecutionService}.
+ * <p>
+ * This benchmark is not executed by the test suite, run its {@link #main(String[])} method to print the throughput
+ * of each configuration. Blocking events scale with the number of lanes rather than with the number of processors,
+ * the default number of lanes (see {@link ExecutionService#DEFAULT_EXECUTION_LANES_VALUE}) should be increased for
+ * bots whose actions mostly wait for I/O.
+ */
+public class SessionShardedExecutorBenchmark {
+
+    private static final int SESSION_COUNT = 200;
+
+    private static final int EVENTS_PER_SESSION = 5;
+
+    private static final long BLOCKING_CALL_MILLIS = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("Available processors (default lane count): " + ExecutionService
+                .DEFAULT_EXECUTION_LANES_VALUE);
+        int[] laneCounts = new int[]{1, 2, 4, 8, 16, 32, 64};
+        for (int laneCount : laneCounts) {
+            run(laneCount);
+        }
+    }
+
+    private static void run(int laneCount) throws InterruptedException {
+        SessionShardedExecutor executor = new SessionShardedExecutor(laneCount);
+        CountDownLatch latch = new CountDownLatch(SESSION_COUNT * EVENTS_PER_SESSION);
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS_PER_SESSION; i++) {
+            for (int j = 0; j < SESSION_COUNT; j++) {
+                executor.executeAsync("session" + j, () -> {
+                    try {
+                        Thread.sleep(BLOCKING_CALL_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    latch.countDown();
+                    return CompletableFuture.completedFuture(null);
+                });
+            }
+        }
+        latch.await();
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        double seconds = elapsed / 1e9;
+        System.out.println(String.format("%d lane(s): %.2f s, %.0f events/s", laneCount, seconds,
+                SESSION_COUNT * EVENTS_PER_SESSION / seconds));
+    }
+}
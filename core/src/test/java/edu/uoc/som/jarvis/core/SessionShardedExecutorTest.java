@@ -0,0 +1,274 @@
+package edu.uoc.som.jarvis.core;
+
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SessionShardedExecutorTest extends AbstractJarvisTest {
+
+    private SessionShardedExecutor executor;
+
+    @After
+    public void tearDown() {
+        if (nonNull(executor) && !executor.isShutdown()) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructZeroLanes() {
+        executor = new SessionShardedExecutor(0);
+    }
+
+    @Test
+    public void constructValidLaneCount() {
+        executor = new SessionShardedExecutor(4);
+        assertThat(executor.getLaneCount()).as("Valid lane count").isEqualTo(4);
+        assertThat(executor.isShutdown()).as("Executor started").isFalse();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullTaskExecutor() {
+        executor = new SessionShardedExecutor(null);
+    }
+
+    @Test
+    public void constructTaskExecutor() {
+        ExecutorService taskExecutor = Executors.newCachedThreadPool();
+        executor = new SessionShardedExecutor(taskExecutor);
+        assertThat(executor.getLane("session")).as("Lane is the task executor").isSameAs(taskExecutor);
+        assertThat(executor.isShutdown()).as("Executor started").isFalse();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void getLaneNullKey() {
+        executor = new SessionShardedExecutor(4);
+        executor.getLane(null);
+    }
+
+    @Test
+    public void getLaneSameKey() {
+        executor = new SessionShardedExecutor(4);
+        Executor lane = executor.getLane("session");
+        assertThat(executor.getLane("session")).as("Same lane for the same key").isSameAs(lane);
+    }
+
+    @Test
+    public void executeSameKeyPreservesOrder() throws InterruptedException {
+        executor = new SessionShardedExecutor(4);
+        List<Integer> executionOrder = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            int index = i;
+            executor.getLane("session").execute(() -> {
+                executionOrder.add(index);
+                latch.countDown();
+            });
+        }
+        assertThat(latch.await(5, TimeUnit.SECONDS)).as("All tasks executed").isTrue();
+        for (int i = 0; i < 100; i++) {
+            assertThat(executionOrder.get(i)).as("Task " + i + " executed in submission order").isEqualTo(i);
+        }
+    }
+
+    @Test
+    public void executeAsyncSameKeyTaskExecutorPreservesOrder() throws InterruptedException {
+        /*
+         * Each task is executed by a new thread of the pool, the tasks of the session must still be executed
+         * sequentially.
+         */
+        executor = new SessionShardedExecutor(Executors.newCachedThreadPool());
+        List<Integer> executionOrder = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger runningTasks = new AtomicInteger();
+        AtomicInteger maxRunningTasks = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            int index = i;
+            executor.executeAsync("session", () -> {
+                maxRunningTasks.accumulateAndGet(runningTasks.incrementAndGet(), Math::max);
+                executionOrder.add(index);
+                runningTasks.decrementAndGet();
+                latch.countDown();
+                return CompletableFuture.completedFuture(null);
+            });
+        }
+        assertThat(latch.await(5, TimeUnit.SECONDS)).as("All tasks executed").isTrue();
+        assertThat(maxRunningTasks.get()).as("Tasks executed sequentially").isEqualTo(1);
+        for (int i = 0; i < 100; i++) {
+            assertThat(executionOrder.get(i)).as("Task " + i + " executed in submission order").isEqualTo(i);
+        }
+    }
+
+    @Test
+    public void executeAsyncDifferentKeysTaskExecutorInParallel() throws InterruptedException {
+        executor = new SessionShardedExecutor(Executors.newCachedThreadPool());
+        CountDownLatch blockingLatch = new CountDownLatch(1);
+        CountDownLatch executedLatch = new CountDownLatch(1);
+        executor.executeAsync("session1", () -> {
+            try {
+                blockingLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+        executor.executeAsync("session2", () -> {
+            executedLatch.countDown();
+            return CompletableFuture.completedFuture(null);
+        });
+        assertThat(executedLatch.await(5, TimeUnit.SECONDS)).as("Task executed while the other session is " +
+                "blocked").isTrue();
+        blockingLatch.countDown();
+    }
+
+    @Test
+    public void executeDifferentLanesInParallel() throws InterruptedException {
+        executor = new SessionShardedExecutor(2);
+        /*
+         * Find two keys that are associated to different lanes.
+         */
+        String firstKey = "session0";
+        String secondKey = null;
+        for (int i = 1; i < 100 && secondKey == null; i++) {
+            if (executor.getLane(firstKey) != executor.getLane("session" + i)) {
+                secondKey = "session" + i;
+            }
+        }
+        assertThat(secondKey).as("Found a key associated to another lane").isNotNull();
+        CountDownLatch blockingLatch = new CountDownLatch(1);
+        CountDownLatch executedLatch = new CountDownLatch(1);
+        executor.getLane(firstKey).execute(() -> {
+            try {
+                blockingLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.getLane(secondKey).execute(executedLatch::countDown);
+        assertThat(executedLatch.await(5, TimeUnit.SECONDS)).as("Task executed while the other lane is blocked")
+                .isTrue();
+        blockingLatch.countDown();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void executeAsyncNullTask() {
+        executor = new SessionShardedExecutor(4);
+        executor.executeAsync("session", null);
+    }
+
+    @Test
+    public void executeAsyncWaitsForPreviousTaskCompletion() throws InterruptedException {
+        executor = new SessionShardedExecutor(4);
+        CompletableFuture<Void> firstTaskIO = new CompletableFuture<>();
+        CountDownLatch secondTaskLatch = new CountDownLatch(1);
+        CompletableFuture<Void> firstTask = executor.executeAsync("session", () -> firstTaskIO);
+        CompletableFuture<Void> secondTask = executor.executeAsync("session", () -> {
+            secondTaskLatch.countDown();
+            return CompletableFuture.completedFuture(null);
+        });
+        /*
+         * The lane is not blocked by the pending task.
+         */
+        CountDownLatch laneLatch = new CountDownLatch(1);
+        executor.getLane("session").execute(laneLatch::countDown);
+        assertThat(laneLatch.await(5, TimeUnit.SECONDS)).as("Lane available while the task is pending").isTrue();
+        assertThat(secondTaskLatch.await(200, TimeUnit.MILLISECONDS)).as("Second task not started").isFalse();
+        firstTaskIO.complete(null);
+        assertThat(secondTaskLatch.await(5, TimeUnit.SECONDS)).as("Second task started").isTrue();
+        assertThat(firstTask).as("First task completed").isDone();
+        secondTask.join();
+    }
+
+    @Test
+    public void executeAsyncFailedTaskDoesNotBlockLane() throws InterruptedException {
+        executor = new SessionShardedExecutor(4);
+        CompletableFuture<Void> firstTask = executor.executeAsync("session", () -> {
+            throw new RuntimeException("Task error");
+        });
+        CountDownLatch secondTaskLatch = new CountDownLatch(1);
+        executor.executeAsync("session", () -> {
+            secondTaskLatch.countDown();
+            return CompletableFuture.completedFuture(null);
+        });
+        assertThat(secondTaskLatch.await(5, TimeUnit.SECONDS)).as("Second task started").isTrue();
+        assertThat(firstTask).as("First task failed").isCompletedExceptionally();
+    }
+
+    @Test
+    public void executeAsyncSameLaneDifferentKeyNotBlocked() throws InterruptedException {
+        /*
+         * A single lane: both keys share it, but the pending task of the first key must not delay the second key.
+         */
+        executor = new SessionShardedExecutor(1);
+        CompletableFuture<Void> firstTaskIO = new CompletableFuture<>();
+        executor.executeAsync("session1", () -> firstTaskIO);
+        CountDownLatch secondTaskLatch = new CountDownLatch(1);
+        CompletableFuture<Void> secondTask = executor.executeAsync("session2", () -> {
+            secondTaskLatch.countDown();
+            return CompletableFuture.completedFuture(null);
+        });
+        assertThat(secondTaskLatch.await(5, TimeUnit.SECONDS)).as("Task of another key started").isTrue();
+        secondTask.join();
+        firstTaskIO.complete(null);
+    }
+
+    @Test
+    public void executeAsyncAfterShutdown() {
+        executor = new SessionShardedExecutor(4);
+        executor.shutdown();
+        CompletableFuture<Void> task = executor.executeAsync("session", () -> CompletableFuture.completedFuture(null));
+        assertThat(task).as("Rejected task completed exceptionally").isCompletedExceptionally();
+        assertThatThrownBy(task::join).hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    public void executeAsyncPendingTaskAfterShutdown() {
+        executor = new SessionShardedExecutor(4);
+        CompletableFuture<Void> firstTaskIO = new CompletableFuture<>();
+        executor.executeAsync("session", () -> firstTaskIO);
+        CompletableFuture<Void> secondTask = executor.executeAsync("session", () -> CompletableFuture
+                .completedFuture(null));
+        executor.shutdown();
+        firstTaskIO.complete(null);
+        /*
+         * The first task may still be pending in its lane when it is shut down, join the second task instead of
+         * checking its state.
+         */
+        assertThatThrownBy(secondTask::join).as("Rejected task completed exceptionally").hasCauseInstanceOf
+                (RejectedExecutionException.class);
+    }
+
+    @Test
+    public void shutdown() throws InterruptedException {
+        executor = new SessionShardedExecutor(4);
+        executor.shutdown();
+        assertThat(executor.isShutdown()).as("Executor shutdown").isTrue();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).as("Executor terminated").isTrue();
+    }
+
+    @Test
+    public void shutdownTaskExecutor() throws InterruptedException {
+        ExecutorService taskExecutor = Executors.newCachedThreadPool();
+        executor = new SessionShardedExecutor(taskExecutor);
+        executor.shutdown();
+        assertThat(taskExecutor.isShutdown()).as("Task executor shutdown").isTrue();
+        assertThat(executor.isShutdown()).as("Executor shutdown").isTrue();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).as("Executor terminated").isTrue();
+    }
+}
@@ -0,0 +1,81 @@
+package edu.uoc.som.jarvis.core;
+
+import edu.uoc.som.jarvis.util.VirtualThreads;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A benchmark comparing the throughput and memory usage of the platform execution lanes of the
+ * {@link SessionShardedExecutor} with a virtual {@link Thread} per event when handling events from a large number of
+ * concurrent sessions.
+ * <p>
+ * Each simulated event blocks its {@link Thread} for {@link #BLOCKING_CALL_MILLIS} milliseconds, reproducing an
+ * action waiting for a REST API (e.g. posting a message on Slack). The events of a session are submitted with
+ * {@link SessionShardedExecutor#executeAsync(String, java.util.function.Supplier)}, as done by the
+ * {@link ExecutionService}.
+ * <p>
+ * This benchmark is not executed by the test suite, run its {@link #main(String[])} method on Java 21 or higher to
+ * print the throughput, the peak number of live threads, and the peak heap usage of each configuration. The virtual
+ * configuration is skipped on JVMs that do not support virtual threads.
+ */
+public class VirtualThreadSessionBenchmark {
+
+    private static final int SESSION_COUNT = 10_000;
+
+    private static final int EVENTS_PER_SESSION = 2;
+
+    private static final long BLOCKING_CALL_MILLIS = 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        int platformLanes = ExecutionService.DEFAULT_EXECUTION_LANES_VALUE;
+        run("Platform lanes (" + platformLanes + ")", new SessionShardedExecutor(platformLanes));
+        run("Platform lanes (256)", new SessionShardedExecutor(256));
+        if (VirtualThreads.isSupported()) {
+            run("Virtual thread per event", new SessionShardedExecutor(VirtualThreads.newThreadPerTaskExecutor
+                    ("benchmark-")));
+        } else {
+            String javaVersion = System.getProperty("java.version");
+            System.out.println("Virtual threads are not supported by this JVM (Java " + javaVersion + ")");
+        }
+    }
+
+    private static void run(String name, SessionShardedExecutor executor) throws InterruptedException {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memoryMXBean.getHeapMemoryUsage().getUsed();
+        threadMXBean.resetPeakThreadCount();
+        AtomicLong peakHeap = new AtomicLong(heapBefore);
+        CountDownLatch latch = new CountDownLatch(SESSION_COUNT * EVENTS_PER_SESSION);
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS_PER_SESSION; i++) {
+            for (int j = 0; j < SESSION_COUNT; j++) {
+                executor.executeAsync("session" + j, () -> {
+                    try {
+                        Thread.sleep(BLOCKING_CALL_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    peakHeap.accumulateAndGet(memoryMXBean.getHeapMemoryUsage().getUsed(), Math::max);
+                    latch.countDown();
+                    return CompletableFuture.completedFuture(null);
+                });
+            }
+        }
+        latch.await();
+        long elapsed = System.nanoTime() - start;
+        int peakThreads = threadMXBean.getPeakThreadCount();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        double seconds = elapsed / 1e9;
+        System.out.println(String.format("%s: %.1f s, %.0f events/s, %d peak threads, %.1f MB peak heap " +
+                        "increase", name, seconds, SESSION_COUNT * EVENTS_PER_SESSION / seconds, peakThreads,
+                (peakHeap.get() - heapBefore) / (1024.0 * 1024.0)));
+    }
+}
@@ -39,7 +39,18 @@ public class CommonInterpreterTest {
 
     @Before
     public void setUp() {
-        interpreter = new CommonInterpreter();
+        interpreter = createInterpreter();
+    }
+
+    /**
+     * Creates the {@link CommonInterpreter} to test.
+     * <p>
+     * This method can be overridden by subclasses to run the test cases against another interpreter implementation.
+     *
+     * @return the {@link CommonInterpreter} to test
+     */
+    protected CommonInterpreter createInterpreter() {
+        return new CommonInterpreter();
     }
 
     @Test(expected = NullPointerException.class)
@@ -0,0 +1,115 @@
+package edu.uoc.som.jarvis.core.interpreter;
+
+import edu.uoc.som.jarvis.common.CommonFactory;
+import edu.uoc.som.jarvis.common.Instruction;
+import edu.uoc.som.jarvis.common.StringLiteral;
+import edu.uoc.som.jarvis.common.VariableDeclaration;
+import edu.uoc.som.jarvis.core.interpreter.compiler.CompiledProgram;
+import edu.uoc.som.jarvis.core.interpreter.compiler.InstructionCompiler;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the {@link CommonInterpreterTest} test cases against the {@link CompiledInterpreter}.
+ */
+public class CompiledInterpreterTest extends CommonInterpreterTest {
+
+    @Override
+    protected CommonInterpreter createInterpreter() {
+        return new CompiledInterpreter();
+    }
+
+    @Test
+    public void executeAlternateProgramsResetContext() {
+        InstructionCompiler compiler = new InstructionCompiler();
+        CompiledProgram program1 = compiler.compile(createVariableDeclaration("a", "value1"));
+        CompiledProgram program2 = compiler.compile(createVariableDeclaration("b", "value2"));
+        ExecutionContext context = new ExecutionContext();
+        for (int i = 0; i < 3; i++) {
+            assertThat(program1.execute(context)).as("correct first program result").isEqualTo("value1");
+            assertThat(context.getFrameDescriptor()).as("first program frame bound").isSameAs(program1
+                    .getFrameDescriptor());
+            assertThat(context.getValueCount()).as("context contains a single value").isEqualTo(1);
+            context.reset();
+            assertThat(program2.execute(context)).as("correct second program result").isEqualTo("value2");
+            assertThat(context.getFrameDescriptor()).as("second program frame bound").isSameAs(program2
+                    .getFrameDescriptor());
+            assertThat(context.getValueCount()).as("context contains a single value").isEqualTo(1);
+            context.reset();
+        }
+    }
+
+    @Test
+    public void computeInstructionTwiceReuseCompiledProgram() {
+        VariableDeclaration variableDeclaration = createVariableDeclaration("a", "value");
+        CommonInterpreter interpreter = createInterpreter();
+        ExecutionContext context = new ExecutionContext();
+        interpreter.compute((Instruction) variableDeclaration, context);
+        Object frameDescriptor = context.getFrameDescriptor();
+        assertThat(frameDescriptor).as("compiled program executed").isNotNull();
+        context.reset();
+        assertThat(interpreter.compute((Instruction) variableDeclaration, context)).as("correct result").isEqualTo
+                ("value");
+        assertThat(context.getFrameDescriptor()).as("compiled program reused").isSameAs(frameDescriptor);
+        /*
+         * The compiled program adapter and the adapter invalidating it when the nested elements are modified.
+         */
+        assertThat(variableDeclaration.eAdapters()).as("single compiled program adapter").hasSize(2);
+    }
+
+    @Test
+    public void computeModifiedInstructionRecompile() {
+        VariableDeclaration variableDeclaration = createVariableDeclaration("a", "value");
+        CommonInterpreter interpreter = createInterpreter();
+        ExecutionContext context = new ExecutionContext();
+        interpreter.compute((Instruction) variableDeclaration, context);
+        Object frameDescriptor = context.getFrameDescriptor();
+        assertThat(frameDescriptor).as("compiled program executed").isNotNull();
+        context.reset();
+        variableDeclaration.setName("b");
+        assertThat(interpreter.compute((Instruction) variableDeclaration, context)).as("correct result").isEqualTo
+                ("value");
+        assertThat(context.getFrameDescriptor()).as("instruction recompiled").isNotSameAs(frameDescriptor);
+    }
+
+    @Test
+    public void computeModifiedNestedExpressionRecompile() {
+        VariableDeclaration variableDeclaration = createVariableDeclaration("a", "value");
+        CommonInterpreter interpreter = createInterpreter();
+        ExecutionContext context = new ExecutionContext();
+        interpreter.compute((Instruction) variableDeclaration, context);
+        context.reset();
+        ((StringLiteral) variableDeclaration.getValue()).setValue("modified");
+        assertThat(interpreter.compute((Instruction) variableDeclaration, context)).as("instruction recompiled")
+                .isEqualTo("modified");
+    }
+
+    @Test
+    public void computeRemovedNestedExpressionRecompile() {
+        VariableDeclaration variableDeclaration = createVariableDeclaration("a", "value");
+        CommonInterpreter interpreter = createInterpreter();
+        StringLiteral literal = (StringLiteral) variableDeclaration.getValue();
+        ExecutionContext context = new ExecutionContext();
+        interpreter.compute((Instruction) variableDeclaration, context);
+        context.reset();
+        interpreter.evaluate(literal, context);
+        /*
+         * Removing the literal from its container detaches the invalidator from it, its next evaluation must not
+         * reuse a compilation that missed the modifications performed in between.
+         */
+        variableDeclaration.setValue(null);
+        literal.setValue("modified");
+        context.reset();
+        assertThat(interpreter.evaluate(literal, context)).as("expression recompiled").isEqualTo("modified");
+    }
+
+    private VariableDeclaration createVariableDeclaration(String name, String value) {
+        VariableDeclaration variableDeclaration = CommonFactory.eINSTANCE.createVariableDeclaration();
+        variableDeclaration.setName(name);
+        StringLiteral literal = CommonFactory.eINSTANCE.createStringLiteral();
+        literal.setValue(value);
+        variableDeclaration.setValue(literal);
+        return variableDeclaration;
+    }
+}
@@ -0,0 +1,125 @@
+package edu.uoc.som.jarvis.core.interpreter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExecutionContextTest {
+
+    private ExecutionContext context;
+
+    private FrameDescriptor frameDescriptor;
+
+    @Before
+    public void setUp() {
+        context = new ExecutionContext();
+        frameDescriptor = new FrameDescriptor(Arrays.asList("a", "b"));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void bindNullFrame() {
+        context.bindFrame(null);
+    }
+
+    @Test
+    public void setSlotValueGetValue() {
+        context.bindFrame(frameDescriptor);
+        context.setSlotValue(1, "value");
+        assertThat(context.getValue("b")).as("slot value accessible by name").isEqualTo("value");
+        assertThat(context.getValueCount()).as("context contains a single value").isEqualTo(1);
+    }
+
+    @Test
+    public void setValueGetSlotValue() {
+        context.bindFrame(frameDescriptor);
+        context.setValue("a", "value");
+        assertThat(context.getSlotValue(0)).as("named value stored in the slot").isEqualTo("value");
+    }
+
+    @Test
+    public void setSlotValueNull() {
+        context.bindFrame(frameDescriptor);
+        context.setSlotValue(0, null);
+        assertThat(context.getSlotValue(0)).as("null slot value").isNull();
+        assertThat(context.getValueCount()).as("null slot value is defined").isEqualTo(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setSlotValueAlreadyDefined() {
+        context.bindFrame(frameDescriptor);
+        context.setSlotValue(0, "value");
+        context.setSlotValue(0, "value2");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getSlotValueUndefined() {
+        context.bindFrame(frameDescriptor);
+        context.getSlotValue(0);
+    }
+
+    @Test
+    public void bindFrameMovesNamedValues() {
+        context.setValue("a", "value");
+        context.setValue("c", "other");
+        context.bindFrame(frameDescriptor);
+        assertThat(context.getSlotValue(0)).as("named value moved to the frame").isEqualTo("value");
+        assertThat(context.getValue("c")).as("undescribed value still accessible by name").isEqualTo("other");
+        assertThat(context.getValueCount()).as("context contains two values").isEqualTo(2);
+    }
+
+    @Test
+    public void bindOtherFrameKeepsValues() {
+        context.bindFrame(frameDescriptor);
+        context.setSlotValue(0, "value");
+        FrameDescriptor other = new FrameDescriptor(Arrays.asList("c", "a"));
+        context.bindFrame(other);
+        assertThat(context.getSlotValue(1)).as("value moved to the new frame slot").isEqualTo("value");
+        assertThat(context.getValueCount()).as("context contains a single value").isEqualTo(1);
+    }
+
+    @Test
+    public void clearKeepsFrame() {
+        context.bindFrame(frameDescriptor);
+        context.setSlotValue(0, "value");
+        context.setValue("c", "other");
+        context.clear();
+        assertThat(context.getValueCount()).as("context is empty").isEqualTo(0);
+        assertThat(context.getFrameDescriptor()).as("frame descriptor kept").isEqualTo(frameDescriptor);
+        context.setSlotValue(0, "value2");
+        assertThat(context.getValue("a")).as("slot can be set again").isEqualTo("value2");
+    }
+
+    @Test
+    public void resetUnbindsFrame() {
+        context.bindFrame(frameDescriptor);
+        context.setSlotValue(0, "value");
+        context.setValue("c", "other");
+        context.reset();
+        assertThat(context.getValueCount()).as("context is empty").isEqualTo(0);
+        assertThat(context.getFrameDescriptor()).as("frame descriptor unbound").isNull();
+        context.bindFrame(frameDescriptor);
+        context.setSlotValue(0, "value2");
+        assertThat(context.getValue("a")).as("frame can be bound again").isEqualTo("value2");
+    }
+
+    @Test
+    public void resetAlternateFrames() {
+        FrameDescriptor other = new FrameDescriptor(Arrays.asList("c"));
+        for (int i = 0; i < 3; i++) {
+            context.bindFrame(frameDescriptor);
+            context.setSlotValue(1, "value");
+            context.reset();
+            context.bindFrame(other);
+            assertThat(context.getValueCount()).as("previous frame values not moved").isEqualTo(0);
+            context.setSlotValue(0, "other");
+            context.reset();
+            context.bindFrame(frameDescriptor);
+            assertThat(context.getValueCount()).as("previous frame values not moved").isEqualTo(0);
+            assertThat(context.getFrameDescriptor()).as("frame descriptor bound").isEqualTo(frameDescriptor);
+            context.reset();
+        }
+    }
+}
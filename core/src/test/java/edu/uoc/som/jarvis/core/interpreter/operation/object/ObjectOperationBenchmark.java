@@ -0,0 +1,176 @@
+package edu.uoc.som.jarvis.core.interpreter.operation.object;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A benchmark comparing the cost of the {@link ObjectOperation} dispatch with a direct call and with the reflective
+ * lookup performed on each invocation before the introduction of the inline caches.
+ * <p>
+ * The call sites are monomorphic ({@code value.toUpperCase()}), polymorphic ({@code list.size()} on two
+ * {@link java.util.List} implementations), and megamorphic ({@code value.toString()} on seven source types).
+ * <p>
+ * This benchmark is not executed by the test suite, run its {@link #main(String[])} method to print the average
+ * time per invocation of each scenario. Each scenario is executed in its own forked JVM (so the type profiles
+ * collected by the JIT for one scenario do not affect the others), and runs {@link #WARMUP_ITERATIONS} warmup
+ * iterations followed by {@link #MEASURED_ITERATIONS} measured iterations of {@link #ITERATION_MILLIS} milliseconds
+ * each. The reported time is the mean and standard deviation of the measured iterations.
+ */
+public class ObjectOperationBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+
+    private static final int MEASURED_ITERATIONS = 10;
+
+    private static final long ITERATION_MILLIS = 1_000;
+
+    /**
+     * The number of invocations performed between two clock reads.
+     */
+    private static final int BATCH_SIZE = 10_000;
+
+    /**
+     * Prevents the JIT from removing the benchmarked invocations.
+     */
+    private static int sink;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, Scenario> scenarios = createScenarios();
+        if (args.length == 0) {
+            String javaExecutable = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+            for (String name : scenarios.keySet()) {
+                Process process = new ProcessBuilder(javaExecutable, "-cp", System.getProperty("java.class.path"),
+                        ObjectOperationBenchmark.class.getName(), name).inheritIO().start();
+                if (process.waitFor() != 0) {
+                    System.out.println(String.format("%s: forked JVM exited with code %d", name, process
+                            .exitValue()));
+                }
+            }
+            return;
+        }
+        Scenario scenario = scenarios.get(args[0]);
+        if (scenario == null) {
+            System.out.println("Unknown scenario " + args[0] + ", expected one of " + scenarios.keySet());
+            return;
+        }
+        run(args[0], scenario);
+    }
+
+    private static Map<String, Scenario> createScenarios() {
+        Object[] monomorphicSources = new Object[]{"value"};
+        Object[] polymorphicSources = new Object[]{new ArrayList<>(Arrays.asList("a")), new LinkedList<>(Arrays
+                .asList("a", "b"))};
+        Object[] megamorphicSources = new Object[]{"value", 1, 2L, true, 'c', BigInteger.ONE, BigDecimal.ONE};
+        ObjectOperation toUpperCase = new ObjectOperation("toUpperCase");
+        ObjectOperation size = new ObjectOperation("size");
+        ObjectOperation toString = new ObjectOperation("toString");
+
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        scenarios.put("Monomorphic direct call", new Scenario(monomorphicSources, source -> ((String)
+                source).toUpperCase()));
+        scenarios.put("Monomorphic reflective lookup", new Scenario(monomorphicSources, source ->
+                reflectiveInvoke(source, "toUpperCase")));
+        scenarios.put("Monomorphic inline cache", new Scenario(monomorphicSources, source -> toUpperCase
+                .invoke(source, Collections.emptyList())));
+        scenarios.put("Polymorphic direct call", new Scenario(polymorphicSources, source -> ((List<?>)
+                source).size()));
+        scenarios.put("Polymorphic reflective lookup", new Scenario(polymorphicSources, source ->
+                reflectiveInvoke(source, "size")));
+        scenarios.put("Polymorphic inline cache", new Scenario(polymorphicSources, source -> size.invoke
+                (source, Collections.emptyList())));
+        scenarios.put("Megamorphic direct call", new Scenario(megamorphicSources, Object::toString));
+        scenarios.put("Megamorphic reflective lookup", new Scenario(megamorphicSources, source ->
+                reflectiveInvoke(source, "toString")));
+        scenarios.put("Megamorphic shared cache", new Scenario(megamorphicSources, source -> toString
+                .invoke(source, Collections.emptyList())));
+        return scenarios;
+    }
+
+    private static void run(String name, Scenario scenario) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runIteration(scenario);
+        }
+        double[] results = new double[MEASURED_ITERATIONS];
+        double sum = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            results[i] = runIteration(scenario);
+            sum += results[i];
+        }
+        double mean = sum / MEASURED_ITERATIONS;
+        double squaredDeviations = 0;
+        for (double result : results) {
+            squaredDeviations += (result - mean) * (result - mean);
+        }
+        double standardDeviation = Math.sqrt(squaredDeviations / (MEASURED_ITERATIONS - 1));
+        System.out.println(String.format("%s: %.1f +/- %.1f ns/invocation (sink=%d)", name, mean, standardDeviation,
+                sink));
+    }
+
+    /**
+     * Invokes the provided {@code scenario} during {@link #ITERATION_MILLIS} milliseconds.
+     *
+     * @param scenario the scenario to invoke
+     * @return the average time per invocation in nanoseconds
+     */
+    private static double runIteration(Scenario scenario) {
+        long deadline = ITERATION_MILLIS * 1_000_000;
+        long invocations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            scenario.invokeBatch((int) (invocations % scenario.sources.length));
+            invocations += BATCH_SIZE;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < deadline);
+        return (double) elapsed / invocations;
+    }
+
+    /**
+     * Invokes the provided no-argument method as {@link ObjectOperation} did before the inline caches: the
+     * {@link Method} is retrieved and its root declaration is searched on each invocation.
+     *
+     * @param source     the {@link Object} to invoke the method on
+     * @param methodName the name of the method to invoke
+     * @return the result of the invoked method
+     */
+    private static Object reflectiveInvoke(Object source, String methodName) {
+        try {
+            Method method = ObjectOperation.findRootMethod(source.getClass().getMethod(methodName));
+            return method.invoke(source);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A benchmarked scenario: an invocation and the sources it is invoked on, in a round-robin fashion.
+     */
+    private static class Scenario {
+
+        private final Object[] sources;
+
+        private final Function<Object, Object> invocation;
+
+        private Scenario(Object[] sources, Function<Object, Object> invocation) {
+            this.sources = sources;
+            this.invocation = invocation;
+        }
+
+        private void invokeBatch(int offset) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                sink += invocation.apply(sources[(offset + i) % sources.length]).hashCode();
+            }
+        }
+    }
+}
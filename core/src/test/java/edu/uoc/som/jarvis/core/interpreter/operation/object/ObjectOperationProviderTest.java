@@ -0,0 +1,52 @@
+package edu.uoc.som.jarvis.core.interpreter.operation.object;
+
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import edu.uoc.som.jarvis.common.CommonFactory;
+import edu.uoc.som.jarvis.common.OperationCall;
+import edu.uoc.som.jarvis.core.interpreter.operation.Operation;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObjectOperationProviderTest extends AbstractJarvisTest {
+
+    private ObjectOperationProvider provider;
+
+    @Before
+    public void setUp() {
+        provider = new ObjectOperationProvider();
+    }
+
+    @Test
+    public void getOperationSameOperationCall() {
+        OperationCall operationCall = createOperationCall("toUpperCase");
+        Operation operation = provider.getOperation(operationCall);
+        assertThat(operation).as("Valid operation type").isInstanceOf(ObjectOperation.class);
+        assertThat(provider.getOperation(operationCall)).as("Same operation returned").isSameAs(operation);
+        assertThat(operationCall.eAdapters()).as("Operation attached to the operation call").hasSize(1);
+    }
+
+    @Test
+    public void getOperationDifferentOperationCalls() {
+        Operation operation = provider.getOperation(createOperationCall("toUpperCase"));
+        assertThat(provider.getOperation(createOperationCall("toUpperCase"))).as("Different operation returned")
+                .isNotSameAs(operation);
+    }
+
+    @Test
+    public void getOperationDifferentProviders() {
+        OperationCall operationCall = createOperationCall("+");
+        Operation operation = provider.getOperation(operationCall);
+        assertThat(operation).as("Valid operation type").isInstanceOf(AdditionOperation.class);
+        Operation otherOperation = new ObjectOperationProvider().getOperation(operationCall);
+        assertThat(otherOperation).as("Different operation returned by the other provider").isNotSameAs(operation);
+        assertThat(provider.getOperation(operationCall)).as("Same operation returned").isSameAs(operation);
+    }
+
+    private OperationCall createOperationCall(String name) {
+        OperationCall operationCall = CommonFactory.eINSTANCE.createOperationCall();
+        operationCall.setName(name);
+        return operationCall;
+    }
+}
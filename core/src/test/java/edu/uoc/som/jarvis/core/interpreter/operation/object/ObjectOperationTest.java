@@ -0,0 +1,119 @@
+package edu.uoc.som.jarvis.core.interpreter.operation.object;
+
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import edu.uoc.som.jarvis.core.interpreter.operation.OperationException;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ObjectOperationTest extends AbstractJarvisTest {
+
+    @Test
+    public void invokeNoArgumentMethod() {
+        ObjectOperation operation = new ObjectOperation("toUpperCase");
+        assertThat(operation.invoke("value", Collections.emptyList())).as("Valid result").isEqualTo("VALUE");
+        /*
+         * Invoke the operation a second time to use the cached method.
+         */
+        assertThat(operation.invoke("other", Collections.emptyList())).as("Valid cached result").isEqualTo("OTHER");
+    }
+
+    @Test
+    public void invokeMethodWithArguments() {
+        ObjectOperation operation = new ObjectOperation("indexOf");
+        assertThat(operation.invoke("value", Arrays.asList("l", 0))).as("Valid result").isEqualTo(2);
+        assertThat(operation.invoke("value", Arrays.asList("v", 0))).as("Valid cached result").isEqualTo(0);
+    }
+
+    @Test
+    public void invokeVoidMethod() {
+        ObjectOperation operation = new ObjectOperation("clear");
+        ArrayList<String> list = new ArrayList<>(Arrays.asList("a", "b"));
+        assertThat(operation.invoke(list, Collections.emptyList())).as("Null result").isNull();
+        assertThat(list).as("Method invoked").isEmpty();
+    }
+
+    @Test
+    public void invokePolymorphicSources() {
+        ObjectOperation operation = new ObjectOperation("size");
+        assertThat(operation.invoke(new ArrayList<>(Arrays.asList("a")), Collections.emptyList())).as("Valid " +
+                "ArrayList result").isEqualTo(1);
+        assertThat(operation.invoke(new LinkedList<>(Arrays.asList("a", "b")), Collections.emptyList())).as("Valid " +
+                "LinkedList result").isEqualTo(2);
+        assertThat(operation.invoke(new ArrayList<>(), Collections.emptyList())).as("Valid cached ArrayList result")
+                .isEqualTo(0);
+    }
+
+    @Test
+    public void invokeMegamorphicSources() {
+        ObjectOperation operation = new ObjectOperation("toString");
+        Object[] sources = new Object[]{"value", 1, 2L, true, 'c', BigInteger.ONE, BigDecimal.ONE};
+        /*
+         * Invoke the operation twice on each source to check both the cache misses and the cache hits.
+         */
+        for (int i = 0; i < 2; i++) {
+            for (Object source : sources) {
+                assertThat(operation.invoke(source, Collections.emptyList())).as("Valid result for " + source
+                        .getClass().getSimpleName()).isEqualTo(source.toString());
+            }
+        }
+    }
+
+    @Test
+    public void invokeMegamorphicArguments() {
+        ObjectOperation operation = new ObjectOperation("indexOf");
+        ArrayList<Object> list = new ArrayList<>(Arrays.asList("value", 1, 2L, true, 'c', BigInteger.ONE));
+        /*
+         * Invoke the operation twice on each argument type to check both the cache misses and the cache hits of the
+         * megamorphic cache of the source class.
+         */
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < list.size(); j++) {
+                assertThat(operation.invoke(list, Collections.singletonList(list.get(j)))).as("Valid result for " +
+                        list.get(j).getClass().getSimpleName()).isEqualTo(j);
+            }
+        }
+    }
+
+    @Test(expected = OperationException.class)
+    public void invokeNotExistingMethod() {
+        ObjectOperation operation = new ObjectOperation("size");
+        operation.invoke("value", Collections.emptyList());
+    }
+
+    @Test(expected = OperationException.class)
+    public void invokeInvalidArgumentTypes() {
+        ObjectOperation operation = new ObjectOperation("charAt");
+        operation.invoke("value", Arrays.asList("invalid"));
+    }
+
+    @Test
+    public void invokeMethodThrowingException() {
+        ObjectOperation operation = new ObjectOperation("charAt");
+        assertThatThrownBy(() -> operation.invoke("value", Arrays.asList(10))).as("Exception wrapped")
+                .isInstanceOf(OperationException.class).hasCauseInstanceOf(InvocationTargetException.class)
+                .hasRootCauseInstanceOf(StringIndexOutOfBoundsException.class);
+    }
+
+    @Test(expected = LinkageError.class)
+    public void invokeMethodThrowingError() {
+        ObjectOperation operation = new ObjectOperation("throwError");
+        operation.invoke(new ErrorThrower(), Collections.emptyList());
+    }
+
+    public static class ErrorThrower {
+
+        public void throwError() {
+            throw new LinkageError("Test error");
+        }
+    }
+}
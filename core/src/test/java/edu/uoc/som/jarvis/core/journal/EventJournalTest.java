@@ -0,0 +1,162 @@
+package edu.uoc.som.jarvis.core.journal;
+
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import edu.uoc.som.jarvis.core.EventDefinitionRegistry;
+import edu.uoc.som.jarvis.core.platform.io.RuntimeEvent;
+import edu.uoc.som.jarvis.core.platform.io.WebhookContent;
+import edu.uoc.som.jarvis.intent.EventDefinition;
+import edu.uoc.som.jarvis.intent.EventInstance;
+import edu.uoc.som.jarvis.intent.IntentFactory;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventJournalTest extends AbstractJarvisTest {
+
+    private File directory;
+
+    private EventJournal journal;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = File.createTempFile("jarvis-journal", "");
+        directory.delete();
+    }
+
+    @After
+    public void tearDown() {
+        if (nonNull(journal)) {
+            journal.close();
+        }
+        File[] files = directory.listFiles();
+        if (nonNull(files)) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullDirectory() {
+        journal = new EventJournal(null, 1024, 10, 1000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidSegmentSize() {
+        journal = new EventJournal(directory, 0, 10, 1000);
+    }
+
+    @Test
+    public void fromConfigurationNoDirectory() {
+        assertThat(EventJournal.fromConfiguration(new BaseConfiguration())).as("No journal").isNull();
+    }
+
+    @Test
+    public void recoverNotCompletedWebhook() {
+        journal = openJournal(1024);
+        long sequence = journal.appendWebhook("/test", createContent("{\"key\":\"value\"}"), new Header[]{new
+                BasicHeader("X-Test", "value")});
+        assertThat(sequence).as("Valid sequence").isNotEqualTo(EventJournal.NO_SEQUENCE);
+        journal.close();
+        journal = openJournal(1024);
+        assertThat(journal.getRecoveredEntries()).as("One recovered entry").hasSize(1);
+        List<JournalEntry> replayed = new ArrayList<>();
+        journal.replay(replayed::add);
+        assertThat(replayed).as("One replayed entry").hasSize(1);
+        assertThat(replayed.get(0)).as("Replayed entry is a webhook").isInstanceOf(WebhookJournalEntry.class);
+        WebhookJournalEntry entry = (WebhookJournalEntry) replayed.get(0);
+        assertThat(entry.getSequence()).as("Valid sequence").isEqualTo(sequence);
+        assertThat(entry.getPath()).as("Valid path").isEqualTo("/test");
+        assertThat(entry.getContent().getContentType()).as("Valid content type").isEqualTo("application/json");
+        assertThat(entry.getContent().getString()).as("Valid content").isEqualTo("{\"key\":\"value\"}");
+        assertThat(entry.getHeaders()).as("One header").hasSize(1);
+        assertThat(entry.getHeaders()[0].getName()).as("Valid header name").isEqualTo("X-Test");
+        assertThat(journal.getPendingCount()).as("Replayed entry completed").isEqualTo(0);
+    }
+
+    @Test
+    public void completedWebhookNotRecovered() {
+        journal = openJournal(1024);
+        long sequence = journal.appendWebhook("/test", createContent("{}"), new Header[0]);
+        journal.complete(sequence);
+        assertThat(journal.checkpoint()).as("Checkpoint updated").isEqualTo(sequence);
+        journal.close();
+        journal = openJournal(1024);
+        assertThat(journal.getRecoveredEntries()).as("No recovered entry").isEmpty();
+    }
+
+    @Test
+    public void checkpointStopsAtFirstPendingEntry() {
+        journal = openJournal(1024);
+        long first = journal.appendWebhook("/test", createContent("{}"), new Header[0]);
+        long second = journal.appendWebhook("/test", createContent("{}"), new Header[0]);
+        journal.complete(second);
+        assertThat(journal.checkpoint()).as("Checkpoint before the pending entry").isEqualTo(first - 1);
+        journal.close();
+        journal = openJournal(1024);
+        assertThat(journal.getRecoveredEntries()).as("Both entries recovered").hasSize(2);
+    }
+
+    @Test
+    public void rollSegments() {
+        journal = openJournal(128);
+        for (int i = 0; i < 10; i++) {
+            journal.appendWebhook("/test", createContent("{\"index\":" + i + "}"), new Header[0]);
+        }
+        journal.close();
+        assertThat(directory.listFiles((dir, name) -> name.endsWith(".journal")).length).as("Several segments")
+                .isGreaterThan(1);
+        journal = openJournal(128);
+        assertThat(journal.getRecoveredEntries()).as("All the entries recovered").hasSize(10);
+    }
+
+    @Test
+    public void replaySkipsEventsOfReplayedWebhook() {
+        journal = openJournal(1024);
+        EventDefinition eventDefinition = IntentFactory.eINSTANCE.createEventDefinition();
+        eventDefinition.setName("TestEvent");
+        EventInstance eventInstance = IntentFactory.eINSTANCE.createEventInstance();
+        eventInstance.setDefinition(eventDefinition);
+        long webhookSequence = journal.appendWebhook("/test", createContent("{}"), new Header[0]);
+        journal.runWithParent(webhookSequence, () -> journal.appendEvent(eventInstance, "session"));
+        journal.appendEvent(eventInstance, "session");
+        journal.close();
+        journal = openJournal(1024);
+        assertThat(journal.getRecoveredEntries()).as("All the entries recovered").hasSize(3);
+        List<JournalEntry> replayed = new ArrayList<>();
+        journal.replay(replayed::add);
+        assertThat(replayed).as("Child event skipped").hasSize(2);
+        assertThat(replayed.get(1)).as("Standalone event replayed").isInstanceOf(EventJournalEntry.class);
+        EventJournalEntry eventEntry = (EventJournalEntry) replayed.get(1);
+        assertThat(eventEntry.getSessionId()).as("Valid session id").isEqualTo("session");
+        assertThat(eventEntry.getEventDefinitionName()).as("Valid event name").isEqualTo("TestEvent");
+        assertThat(eventEntry.isRecognizedIntent()).as("Not a recognized intent").isFalse();
+        EventDefinitionRegistry registry = new EventDefinitionRegistry();
+        registry.registerEventDefinition(eventDefinition);
+        RuntimeEvent runtimeEvent = eventEntry.toRuntimeEvent(registry);
+        assertThat(runtimeEvent.getDefinition()).as("Valid EventDefinition").isEqualTo(eventDefinition);
+        assertThat(runtimeEvent.getValueCount()).as("No value").isEqualTo(0);
+    }
+
+    private EventJournal openJournal(int segmentSize) {
+        return new EventJournal(directory, segmentSize, 10, 60000);
+    }
+
+    private WebhookContent createContent(String content) {
+        return new WebhookContent("application/json", content.getBytes(StandardCharsets.UTF_8), StandardCharsets
+                .UTF_8);
+    }
+}
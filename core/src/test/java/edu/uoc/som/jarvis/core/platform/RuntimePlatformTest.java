@@ -183,6 +183,15 @@ public class RuntimePlatformTest extends AbstractJarvisTest {
                 (StubRuntimeActionNoParameter.class);
     }
 
+    @Test(expected = JarvisException.class)
+    public void enableActionNoMatchingConstructor() {
+        ActionDefinition actionDefinition = getNoParameterActionDefinition();
+        Parameter param = PlatformFactory.eINSTANCE.createParameter();
+        param.setKey("myParam");
+        actionDefinition.getParameters().add(param);
+        runtimePlatform.enableAction(actionDefinition);
+    }
+
     @Test
     public void disableActionNotPlatformAction() {
         ActionDefinition actionDefinition = getNotRegisteredActionDefinition();
@@ -0,0 +1,83 @@
+package edu.uoc.som.jarvis.core.platform.action;
+
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import edu.uoc.som.jarvis.core.JarvisCore;
+import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
+import edu.uoc.som.jarvis.core.session.JarvisSession;
+import edu.uoc.som.jarvis.stubs.EmptyRuntimePlatform;
+import edu.uoc.som.jarvis.stubs.StubJarvisCore;
+import edu.uoc.som.jarvis.stubs.action.StubAsyncRuntimeAction;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncRuntimeActionTest extends AbstractJarvisTest {
+
+    private static JarvisCore jarvisCore;
+
+    private static RuntimePlatform runtimePlatform;
+
+    private StubAsyncRuntimeAction action;
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        jarvisCore = new StubJarvisCore();
+        runtimePlatform = new EmptyRuntimePlatform(jarvisCore);
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        if (nonNull(jarvisCore)) {
+            jarvisCore.shutdown();
+        }
+    }
+
+    @Before
+    public void setUp() {
+        action = new StubAsyncRuntimeAction(runtimePlatform, new JarvisSession("sessionID"));
+    }
+
+    @Test
+    public void callAsyncPendingComputation() {
+        CompletableFuture<RuntimeActionResult> result = action.callAsync().toCompletableFuture();
+        assertThat(result).as("Result pending").isNotDone();
+        action.getComputation().complete("result");
+        assertThat(result).as("Result completed").isDone();
+        assertThat(result.join().isError()).as("Not an error result").isFalse();
+        assertThat(result.join().getResult()).as("Valid result").isEqualTo("result");
+    }
+
+    @Test
+    public void callAsyncFailedComputation() {
+        CompletableFuture<RuntimeActionResult> result = action.callAsync().toCompletableFuture();
+        IOException exception = new IOException("Cannot reach the service");
+        action.getComputation().completeExceptionally(exception);
+        assertThat(result).as("Result completed normally").isCompletedWithValueMatching(RuntimeActionResult::isError,
+                "Error result");
+        assertThat(result.join().getThrownException()).as("Valid thrown exception").isEqualTo(exception);
+    }
+
+    @Test
+    public void callCompletedComputation() {
+        action.getComputation().complete("result");
+        RuntimeActionResult result = action.call();
+        assertThat(result.isError()).as("Not an error result").isFalse();
+        assertThat(result.getResult()).as("Valid result").isEqualTo("result");
+    }
+
+    @Test
+    public void callFailedComputation() {
+        IOException exception = new IOException("Cannot reach the service");
+        action.getComputation().completeExceptionally(exception);
+        RuntimeActionResult result = action.call();
+        assertThat(result.isError()).as("Error result").isTrue();
+        assertThat(result.getThrownException()).as("Unwrapped thrown exception").isEqualTo(exception);
+    }
+}
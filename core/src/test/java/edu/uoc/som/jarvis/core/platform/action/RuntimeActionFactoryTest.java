@@ -0,0 +1,113 @@
+package edu.uoc.som.jarvis.core.platform.action;
+
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import edu.uoc.som.jarvis.core.JarvisCore;
+import edu.uoc.som.jarvis.core.JarvisException;
+import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
+import edu.uoc.som.jarvis.core.session.JarvisSession;
+import edu.uoc.som.jarvis.stubs.EmptyRuntimePlatform;
+import edu.uoc.som.jarvis.stubs.StubJarvisCore;
+import edu.uoc.som.jarvis.stubs.action.StubRuntimeActionNoParameter;
+import edu.uoc.som.jarvis.stubs.action.StubRuntimeActionTwoConstructors;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RuntimeActionFactoryTest extends AbstractJarvisTest {
+
+    private static JarvisCore jarvisCore;
+
+    private RuntimePlatform runtimePlatform;
+
+    private RuntimeActionFactory factory;
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        jarvisCore = new StubJarvisCore();
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        if (nonNull(jarvisCore)) {
+            jarvisCore.shutdown();
+        }
+    }
+
+    @Before
+    public void setUp() {
+        runtimePlatform = new EmptyRuntimePlatform(jarvisCore);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullRuntimeActionClass() {
+        factory = new RuntimeActionFactory(null, EmptyRuntimePlatform.class, 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullRuntimePlatformClass() {
+        factory = new RuntimeActionFactory(StubRuntimeActionNoParameter.class, null, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructNegativeParameterCount() {
+        factory = new RuntimeActionFactory(StubRuntimeActionNoParameter.class, EmptyRuntimePlatform.class, -1);
+    }
+
+    @Test(expected = JarvisException.class)
+    public void constructInvalidParameterCount() {
+        factory = new RuntimeActionFactory(StubRuntimeActionNoParameter.class, EmptyRuntimePlatform.class, 1);
+    }
+
+    @Test
+    public void constructValidParameterCount() {
+        factory = new RuntimeActionFactory(StubRuntimeActionTwoConstructors.class, EmptyRuntimePlatform.class, 1);
+        assertThat(factory.getRuntimeActionClass()).as("Valid RuntimeAction class").isEqualTo
+                (StubRuntimeActionTwoConstructors.class);
+        assertThat(factory.getParameterCount()).as("Valid parameter count").isEqualTo(1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void newInstanceNullParameters() throws NoSuchMethodException {
+        factory = new RuntimeActionFactory(StubRuntimeActionNoParameter.class, EmptyRuntimePlatform.class, 0);
+        factory.newInstance(null);
+    }
+
+    @Test(expected = NoSuchMethodException.class)
+    public void newInstanceInvalidParameterCount() throws NoSuchMethodException {
+        factory = new RuntimeActionFactory(StubRuntimeActionNoParameter.class, EmptyRuntimePlatform.class, 0);
+        factory.newInstance(new Object[]{runtimePlatform, new JarvisSession("sessionID"), "value"});
+    }
+
+    @Test(expected = NoSuchMethodException.class)
+    public void newInstanceInvalidParameterType() throws NoSuchMethodException {
+        factory = new RuntimeActionFactory(StubRuntimeActionTwoConstructors.class, EmptyRuntimePlatform.class, 1);
+        factory.newInstance(new Object[]{runtimePlatform, new JarvisSession("sessionID"), 1});
+    }
+
+    @Test
+    public void newInstanceNoParameter() throws NoSuchMethodException {
+        factory = new RuntimeActionFactory(StubRuntimeActionNoParameter.class, EmptyRuntimePlatform.class, 0);
+        RuntimeAction runtimeAction = factory.newInstance(new Object[]{runtimePlatform, new JarvisSession
+                ("sessionID")});
+        assertThat(runtimeAction).as("Valid RuntimeAction type").isInstanceOf(StubRuntimeActionNoParameter.class);
+    }
+
+    @Test
+    public void newInstanceSelectsConstructorFromParameterTypes() throws NoSuchMethodException {
+        factory = new RuntimeActionFactory(StubRuntimeActionTwoConstructors.class, EmptyRuntimePlatform.class, 1);
+        StubRuntimeActionTwoConstructors stringAction = (StubRuntimeActionTwoConstructors) factory.newInstance(new
+                Object[]{runtimePlatform, new JarvisSession("sessionID"), "test"});
+        assertThat(stringAction.getParam()).as("String constructor called").isEqualTo("test");
+        assertThat(stringAction.getListParam()).as("List constructor not called").isNull();
+        StubRuntimeActionTwoConstructors listAction = (StubRuntimeActionTwoConstructors) factory.newInstance(new
+                Object[]{runtimePlatform, new JarvisSession("sessionID"), Collections.singletonList("test")});
+        assertThat(listAction.getListParam()).as("List constructor called").containsExactly("test");
+        assertThat(listAction.getParam()).as("String constructor not called").isNull();
+    }
+}
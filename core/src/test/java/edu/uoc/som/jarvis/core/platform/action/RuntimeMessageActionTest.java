@@ -13,7 +13,11 @@ import org.apache.commons.configuration2.BaseConfiguration;
 import org.junit.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -124,4 +128,36 @@ public class RuntimeMessageActionTest {
         assertThat(result.isError()).as("Result is not an error").isFalse();
         assertThat(result.getResult()).as("Valid result").isEqualTo(StubRuntimeMessageAction.RESULT);
     }
+
+    @Test
+    public void callAsyncRuntimeMessageActionPendingValue() throws Exception {
+        CompletableFuture<String> value = new CompletableFuture<>();
+        session.getRuntimeContexts().setContextValue("Test", 5, "key", value);
+        StubRuntimeMessageAction action = new StubRuntimeMessageAction(RUNTIME_PLATFORM, session,
+                MESSAGE_WITH_VARIABLE);
+        List<Runnable> executorTasks = new ArrayList<>();
+        CompletableFuture<RuntimeActionResult> result = action.callAsync(executorTasks::add).toCompletableFuture();
+        assertThat(result).as("Action waiting for the message").isNotDone();
+        assertThat(action.getAttempts()).as("Action not computed").isEqualTo(0);
+        value.complete("value");
+        assertThat(action.getAttempts()).as("Action not computed in the completing thread").isEqualTo(0);
+        assertThat(executorTasks).as("Action submitted to the provided executor").hasSize(1);
+        executorTasks.get(0).run();
+        assertThat(result.get(5, TimeUnit.SECONDS).isError()).as("Result is not an error").isFalse();
+        assertThat(action.getAttempts()).as("Valid attempt number (1)").isEqualTo(1);
+        assertThat(action.getMessage()).as("Action message variable has been replaced").isEqualTo("test value");
+    }
+
+    @Test
+    public void callAsyncRuntimeMessageActionIOExceptionThenOk() throws Exception {
+        StubRuntimeMessageActionIOExceptionThenOk action = new StubRuntimeMessageActionIOExceptionThenOk
+                (RUNTIME_PLATFORM, session, MESSAGE);
+        CompletableFuture<RuntimeActionResult> result = action.callAsync(Runnable::run).toCompletableFuture();
+        assertThat(result).as("Calling thread not blocked while waiting to send the message again").isNotDone();
+        assertThat(action.getAttempts()).as("Valid attempt number before the retry (1)").isEqualTo(1);
+        RuntimeActionResult actionResult = result.get(5, TimeUnit.SECONDS);
+        assertThat(action.getAttempts()).as("Valid attempt number (2)").isEqualTo(2);
+        assertThat(actionResult.isError()).as("Result is not an error").isFalse();
+        assertThat(actionResult.getResult()).as("Valid result").isEqualTo(StubRuntimeMessageAction.RESULT);
+    }
 }
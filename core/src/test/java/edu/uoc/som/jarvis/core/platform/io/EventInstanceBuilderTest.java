@@ -11,7 +11,10 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class EventInstanceBuilderTest extends AbstractJarvisTest {
 
@@ -156,6 +159,64 @@ public class EventInstanceBuilderTest extends AbstractJarvisTest {
         softly.assertThat(builder.getOutContextValues()).as("Builder OutContextValues cleared").isEmpty();
     }
 
+    @Test
+    public void buildOutContextParameterAddedAfterFirstBuild() {
+        EventDefinition eventDefinition = createAndRegisterEventDefinitionWithOutContextParameter("EventName",
+                "OutContext", "key");
+        builder = EventInstanceBuilder.newBuilder(registry);
+        builder.setEventDefinitionName("EventName").setOutContextValue("key", "value").build();
+        ContextParameter contextParameter = IntentFactory.eINSTANCE.createContextParameter();
+        contextParameter.setName("key2");
+        eventDefinition.getOutContexts().get(0).getParameters().add(contextParameter);
+        EventInstance eventInstance = builder.setEventDefinitionName("EventName").setOutContextValue("key2",
+                "value2").build();
+        assertThat(eventInstance.getOutContextInstances()).as("Out context list contains one element").hasSize(1);
+        softly.assertThat(eventInstance.getOutContextInstances().get(0).getValues().get(0).getContextParameter())
+                .as("Valid ContextParameter").isEqualTo(contextParameter);
+    }
+
+    @Test
+    public void buildFailureClearsBuilder() {
+        createAndRegisterEventDefinitionWithOutContextParameter("EventName", "OutContext", "key");
+        builder = EventInstanceBuilder.newBuilder(registry);
+        assertThatThrownBy(() -> builder.setEventDefinitionName("EventName").setOutContextValue("key2", "value")
+                .build()).as("Undefined parameter").isInstanceOf(JarvisException.class);
+        softly.assertThat(builder.getEventDefinitionName()).as("Builder EventDefinitionName cleared").isNull();
+        softly.assertThat(builder.getOutContextValues()).as("Builder OutContextValues cleared").isEmpty();
+    }
+
+    @Test
+    public void setOutContextValueOtherThread() throws InterruptedException {
+        createAndRegisterEventDefinitionWithOutContextParameter("EventName", "OutContext", "key");
+        builder = EventInstanceBuilder.newBuilder(registry);
+        builder.setEventDefinitionName("EventName").setOutContextValue("key", "value");
+        AtomicReference<EventInstance> otherThreadInstance = new AtomicReference<>();
+        Thread otherThread = new Thread(() -> otherThreadInstance.set(builder.setEventDefinitionName("EventName")
+                .setOutContextValue("key", "otherValue").build()));
+        otherThread.start();
+        otherThread.join();
+        assertThat(otherThreadInstance.get()).as("Other thread built an EventInstance").isNotNull();
+        softly.assertThat(otherThreadInstance.get().getOutContextInstances().get(0).getValues().get(0).getValue())
+                .as("Other thread value").isEqualTo("otherValue");
+        softly.assertThat(builder.getEventDefinitionName()).as("EventDefinitionName not cleared").isEqualTo
+                ("EventName");
+        softly.assertThat(builder.getOutContextValues()).as("OutContextValues not modified").containsEntry("key",
+                "value");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void arrayElementKeyNegativeIndex() {
+        EventInstanceBuilder.arrayElementKey("commits", -1);
+    }
+
+    @Test
+    public void arrayKeys() {
+        softly.assertThat(EventInstanceBuilder.arrayElementKey("commits", 0) + "->message").as("Valid element key")
+                .isEqualTo("commits[0]->message");
+        softly.assertThat(EventInstanceBuilder.arrayLengthKey("commits")).as("Valid length key").isEqualTo
+                ("commits->length");
+    }
+
     private EventDefinition createAndRegisterEmptyEventDefinition(String eventName) {
         EventDefinition eventDefinition = IntentFactory.eINSTANCE.createEventDefinition();
         eventDefinition.setName("EventName");
@@ -2,6 +2,7 @@ package edu.uoc.som.jarvis.core.platform.io;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import edu.uoc.som.jarvis.AbstractJarvisTest;
 import edu.uoc.som.jarvis.core.EventDefinitionRegistry;
 import edu.uoc.som.jarvis.core.JarvisException;
@@ -15,9 +16,12 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 public class JsonEventMatcherTest extends AbstractJarvisTest {
 
@@ -31,6 +35,10 @@ public class JsonEventMatcherTest extends AbstractJarvisTest {
 
     private static JsonElement validPayload;
 
+    private static String arrayPayload = "{\"fkey\":\"fvalue\",\"commits\":[{\"message\":\"first\"}," +
+            "{\"message\":\"second\",\"id\":2},{\"message\":\"third\"}],\"labels\":[\"bug\",\"help\"]," +
+            "\"ignored\":[[1,2],{\"a\":null}]}";
+
     private static EventDefinitionRegistry eventRegistry;
 
     private static EventDefinition validEventDefinition;
@@ -248,7 +256,7 @@ public class JsonEventMatcherTest extends AbstractJarvisTest {
 
     @Test(expected = NullPointerException.class)
     public void matchNullContent() {
-        matcher.match(validHeaders, null);
+        matcher.match(validHeaders, (JsonElement) null);
     }
 
     @Test
@@ -305,11 +313,111 @@ public class JsonEventMatcherTest extends AbstractJarvisTest {
         outContext.getParameters().add(param);
         registry.registerEventDefinition(eventDefinition);
         EventInstanceBuilder builder = EventInstanceBuilder.newBuilder(registry);
-        matcher = new JsonEventMatcher(builder, new BaseConfiguration());
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(JsonEventMatcher.SCHEMA_EXTRACTION_KEY, false);
+        matcher = new JsonEventMatcher(builder, configuration);
         matcher.addMatchableEvent(validHeaderValue, validFieldValue, validEventTypeName);
         matcher.match(validHeaders, validPayload);
     }
 
+    @Test
+    public void matchValidRegisteredEventDefinitionMissingOutContextSchemaExtraction() {
+        EventDefinitionRegistry registry = new EventDefinitionRegistry();
+        EventDefinition eventDefinition = IntentFactory.eINSTANCE.createEventDefinition();
+        eventDefinition.setName(validEventTypeName);
+        Context outContext = IntentFactory.eINSTANCE.createContext();
+        eventDefinition.getOutContexts().add(outContext);
+        outContext.setName("outContext");
+        ContextParameter param = IntentFactory.eINSTANCE.createContextParameter();
+        param.setName(validFieldValue.getKey());
+        outContext.getParameters().add(param);
+        registry.registerEventDefinition(eventDefinition);
+        matcher = new JsonEventMatcher(EventInstanceBuilder.newBuilder(registry), new BaseConfiguration());
+        matcher.addMatchableEvent(validHeaderValue, validFieldValue, validEventTypeName);
+        EventInstance eventInstance = matcher.match(validHeaders, validPayload);
+        assertThat(eventInstance).as("Not null EventInstance").isNotNull();
+        assertThat(eventInstance.getOutContextInstances()).as("One out context instance").hasSize(1);
+        assertThat(eventInstance.getOutContextInstances().get(0).getValues()).as("Undeclared field ignored")
+                .hasSize(1);
+    }
+
+    @Test
+    public void matchWebhookContentValidRegisteredEventDefinition() {
+        matcher.addMatchableEvent(validHeaderValue, validFieldValue, validEventTypeName);
+        String content = "{\"ignored\":{\"nested\":[1,2,{\"a\":null}]},\"fkey\":\"fvalue\",\"TOP-LEVEL\":" +
+                "{\"inner-field\":\"inner-value\",\"other\":true}}";
+        EventInstance eventInstance = matcher.match(validHeaders, new WebhookContent("application/json", content
+                .getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+        assertThat(eventInstance).as("Not null EventInstance").isNotNull();
+        assertThat(eventInstance.getDefinition()).as("Valid EventDefinition").isEqualTo(validEventDefinition);
+        ContextInstance outContextInstance = eventInstance.getOutContextInstances().get(0);
+        assertThat(outContextInstance.getValues()).as("Declared fields extracted").hasSize(2);
+        assertThat(outContextInstance.getValues().stream().map(ContextParameterValue::getValue)).as("Valid values")
+                .containsExactlyInAnyOrder("fvalue", "inner-value");
+    }
+
+    @Test
+    public void matchWebhookContentNotMatchedField() {
+        matcher.addMatchableEvent(validHeaderValue, validFieldValue, validEventTypeName);
+        String content = "{\"fkey\":\"other\"}";
+        EventInstance eventInstance = matcher.match(validHeaders, new WebhookContent("application/json", content
+                .getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+        assertThat(eventInstance).as("Null EventInstance").isNull();
+    }
+
+    @Test
+    public void matchWebhookContentEventDefinitionRegisteredAfterEvent() {
+        EventDefinitionRegistry registry = new EventDefinitionRegistry();
+        matcher = new JsonEventMatcher(EventInstanceBuilder.newBuilder(registry), new BaseConfiguration());
+        matcher.addMatchableEvent(validHeaderValue, validFieldValue, validEventTypeName);
+        registry.registerEventDefinition(validEventDefinition);
+        String content = "{\"fkey\":\"fvalue\",\"top-level\":{\"inner-field\":\"inner-value\"}}";
+        EventInstance eventInstance = matcher.match(validHeaders, new WebhookContent("application/json", content
+                .getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+        assertThat(eventInstance).as("Not null EventInstance").isNotNull();
+        assertThat(eventInstance.getDefinition()).as("Valid EventDefinition").isEqualTo(validEventDefinition);
+        assertThat(eventInstance.getOutContextInstances().get(0).getValues()).as("Declared fields extracted")
+                .hasSize(2);
+    }
+
+    @Test
+    public void matchArrayAccessors() {
+        matcher = createArrayMatcher();
+        JsonElement payload = new JsonParser().parse(arrayPayload);
+        EventInstance eventInstance = matcher.match(validHeaders, payload);
+        assertThat(eventInstance).as("Not null EventInstance").isNotNull();
+        assertThat(getOutContextValues(eventInstance)).as("Valid array values").containsOnly(
+                entry(validFieldValue.getKey(), validFieldValue.getValue()),
+                entry("commits[1]->message", "second"),
+                entry("commits->length", "3"),
+                entry("labels", "[\"bug\",\"help\"]"));
+    }
+
+    @Test
+    public void matchWebhookContentArrayAccessors() {
+        matcher = createArrayMatcher();
+        EventInstance eventInstance = matcher.match(validHeaders, new WebhookContent("application/json",
+                arrayPayload.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+        assertThat(eventInstance).as("Not null EventInstance").isNotNull();
+        assertThat(getOutContextValues(eventInstance)).as("Valid array values").containsOnly(
+                entry(validFieldValue.getKey(), validFieldValue.getValue()),
+                entry("commits[1]->message", "second"),
+                entry("commits->length", "3"),
+                entry("labels", "[\"bug\",\"help\"]"));
+    }
+
+    @Test
+    public void matchArrayIndexOutOfBounds() {
+        matcher = createArrayMatcher();
+        String content = "{\"fkey\":\"fvalue\",\"commits\":[{\"message\":\"first\"}]}";
+        EventInstance eventInstance = matcher.match(validHeaders, new WebhookContent("application/json", content
+                .getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+        assertThat(eventInstance).as("Not null EventInstance").isNotNull();
+        assertThat(getOutContextValues(eventInstance)).as("Missing element not set").containsOnly(
+                entry(validFieldValue.getKey(), validFieldValue.getValue()),
+                entry("commits->length", "1"));
+    }
+
     @Test
     public void matchValidRegisteredEventDefinitionOutContextNotInFields() {
         /*
@@ -336,4 +444,65 @@ public class JsonEventMatcherTest extends AbstractJarvisTest {
         matcher.addMatchableEvent(validHeaderValue, validFieldValue, validEventTypeName);
         matcher.match(validHeaders, validPayload);
     }
+
+    @Test
+    public void matchHeaderNameDifferentCase() {
+        matcher.addMatchableEvent(validHeaderValue, validFieldValue, validEventTypeName);
+        Header[] headers = new Header[]{new BasicHeader(validHeaderValue.getKey().toUpperCase(), validHeaderValue
+                .getValue())};
+        EventInstance eventInstance = matcher.match(headers, validPayload);
+        assertThat(eventInstance).as("Not null EventInstance").isNotNull();
+        assertThat(eventInstance.getDefinition()).as("Valid EventDefinition").isEqualTo(validEventDefinition);
+    }
+
+    @Test
+    public void matchEventDefinitionNameSeveralHeaders() {
+        matcher.addMatchableEvent(validHeaderValue, validFieldValue, validEventTypeName);
+        matcher.addMatchableEvent(validHeaderValue, JsonEventMatcher.FieldValue.of("fkey", "other"), "EventName2");
+        matcher.addMatchableEvent(JsonEventMatcher.HeaderValue.of("hkey2", "hvalue2"), JsonEventMatcher.FieldValue
+                .EMPTY_FIELD_VALUE, "EventName3");
+        Header[] headers = new Header[]{new BasicHeader("Content-Type", "application/json"), new BasicHeader
+                (validHeaderValue.getKey(), validHeaderValue.getValue())};
+        assertThat(matcher.matchEventDefinitionName(headers, validPayload)).as("Field value matched").isEqualTo
+                (validEventTypeName);
+        Header[] emptyFieldHeaders = new Header[]{new BasicHeader("HKEY2", "hvalue2")};
+        assertThat(matcher.matchEventDefinitionName(emptyFieldHeaders, new JsonObject())).as("Empty field value " +
+                "matched").isEqualTo("EventName3");
+        Header[] notMatchedHeaders = new Header[]{new BasicHeader(validHeaderValue.getKey(), "other")};
+        assertThat(matcher.matchEventDefinitionName(notMatchedHeaders, validPayload)).as("Header value not " +
+                "matched").isNull();
+    }
+
+    @Test(expected = JarvisException.class)
+    public void addMatchableEventsHeaderNamesDifferentCaseDifferentEventNames() {
+        matcher.addMatchableEvent(validHeaderValue, validFieldValue, validEventTypeName);
+        matcher.addMatchableEvent(JsonEventMatcher.HeaderValue.of(validHeaderValue.getKey().toUpperCase(),
+                validHeaderValue.getValue()), validFieldValue, "EventName2");
+    }
+
+
+    private JsonEventMatcher createArrayMatcher() {
+        EventDefinitionRegistry registry = new EventDefinitionRegistry();
+        EventDefinition eventDefinition = IntentFactory.eINSTANCE.createEventDefinition();
+        eventDefinition.setName(validEventTypeName);
+        Context outContext = IntentFactory.eINSTANCE.createContext();
+        eventDefinition.getOutContexts().add(outContext);
+        outContext.setName("outContext");
+        for (String parameterName : new String[]{validFieldValue.getKey(), EventInstanceBuilder.arrayElementKey
+                ("commits", 1) + "->message", EventInstanceBuilder.arrayLengthKey("commits"), "labels"}) {
+            ContextParameter param = IntentFactory.eINSTANCE.createContextParameter();
+            param.setName(parameterName);
+            outContext.getParameters().add(param);
+        }
+        registry.registerEventDefinition(eventDefinition);
+        JsonEventMatcher arrayMatcher = new JsonEventMatcher(EventInstanceBuilder.newBuilder(registry), new
+                BaseConfiguration());
+        arrayMatcher.addMatchableEvent(validHeaderValue, validFieldValue, validEventTypeName);
+        return arrayMatcher;
+    }
+
+    private Map<String, String> getOutContextValues(EventInstance eventInstance) {
+        return eventInstance.getOutContextInstances().get(0).getValues().stream().collect(Collectors.toMap(v -> v
+                .getContextParameter().getName(), ContextParameterValue::getValue));
+    }
 }
@@ -0,0 +1,105 @@
+package edu.uoc.som.jarvis.core.platform.io;
+
+import edu.uoc.som.jarvis.core.EventDefinitionRegistry;
+import edu.uoc.som.jarvis.intent.Context;
+import edu.uoc.som.jarvis.intent.ContextParameter;
+import edu.uoc.som.jarvis.intent.EventDefinition;
+import edu.uoc.som.jarvis.intent.IntentFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Supplier;
+
+/**
+ * A micro-benchmark comparing the memory allocated to create an {@link edu.uoc.som.jarvis.intent.EventInstance} and
+ * a {@link RuntimeEvent} from the same {@link EventInstanceBuilder} content.
+ * <p>
+ * The {@code EventInstance dispatch} measure also includes the {@link RuntimeEvent#of(
+ * edu.uoc.som.jarvis.intent.EventInstance)} call performed by
+ * {@link edu.uoc.som.jarvis.core.ExecutionService#handleEventInstance(edu.uoc.som.jarvis.intent.EventInstance,
+ * edu.uoc.som.jarvis.core.session.JarvisSession)}.
+ * <p>
+ * This benchmark is not executed by the test suite, run its {@link #main(String[])} method to print the average
+ * number of bytes allocated per event (two out contexts containing four parameters each). It relies on the
+ * {@code com.sun.management.ThreadMXBean} extension to measure the allocations of the current thread.
+ * <p>
+ * The benchmark requires the classes generated from the Jarvis metamodels: build the project with
+ * {@code mvn test-compile} and run it with the test classpath of the {@code core} module. The reported numbers
+ * depend on the JVM (compressed oops, TLAB sizing, escape analysis), and should be compared on the same JVM.
+ */
+public class RuntimeEventAllocationBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+
+    private static final int CONTEXT_COUNT = 2;
+
+    private static final int PARAMETER_COUNT = 4;
+
+    private static final String[][] PARAMETER_NAMES = new String[CONTEXT_COUNT][PARAMETER_COUNT];
+
+    public static void main(String[] args) {
+        EventDefinitionRegistry registry = new EventDefinitionRegistry();
+        registry.registerEventDefinition(createEventDefinition());
+        EventInstanceBuilder builder = EventInstanceBuilder.newBuilder(registry);
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            System.out.println("Cannot measure the allocated memory on this JVM");
+            return;
+        }
+        com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        double eventInstanceBytes = run("EventInstance", allocationMXBean, () -> fill(builder).build());
+        double runtimeEventBytes = run("RuntimeEvent", allocationMXBean, () -> fill(builder).buildRuntimeEvent());
+        run("EventInstance dispatch", allocationMXBean, () -> RuntimeEvent.of(fill(builder).build()));
+        System.out.println(String.format("RuntimeEvent allocates %.0f%% less memory per event", 100 * (1 -
+                runtimeEventBytes / eventInstanceBytes)));
+    }
+
+    private static double run(String name, com.sun.management.ThreadMXBean allocationMXBean, Supplier<Object>
+            eventSupplier) {
+        int created = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            created += eventSupplier.get() == null ? 0 : 1;
+        }
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = allocationMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            created += eventSupplier.get() == null ? 0 : 1;
+        }
+        long elapsed = System.nanoTime() - start;
+        double allocatedBytes = (allocationMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore) / (double)
+                MEASURED_ITERATIONS;
+        System.out.println(String.format("%s: %.0f bytes/event, %.1f ns/event (%d created)", name, allocatedBytes,
+                elapsed / (double) MEASURED_ITERATIONS, created));
+        return allocatedBytes;
+    }
+
+    private static EventInstanceBuilder fill(EventInstanceBuilder builder) {
+        builder.setEventDefinitionName("BenchmarkEvent");
+        for (int i = 0; i < CONTEXT_COUNT; i++) {
+            for (int j = 0; j < PARAMETER_COUNT; j++) {
+                builder.setOutContextValue(PARAMETER_NAMES[i][j], "value");
+            }
+        }
+        return builder;
+    }
+
+    private static EventDefinition createEventDefinition() {
+        EventDefinition eventDefinition = IntentFactory.eINSTANCE.createEventDefinition();
+        eventDefinition.setName("BenchmarkEvent");
+        for (int i = 0; i < CONTEXT_COUNT; i++) {
+            Context outContext = IntentFactory.eINSTANCE.createContext();
+            outContext.setName("context" + i);
+            for (int j = 0; j < PARAMETER_COUNT; j++) {
+                ContextParameter parameter = IntentFactory.eINSTANCE.createContextParameter();
+                PARAMETER_NAMES[i][j] = "context" + i + "->parameter" + j;
+                parameter.setName(PARAMETER_NAMES[i][j]);
+                outContext.getParameters().add(parameter);
+            }
+            eventDefinition.getOutContexts().add(outContext);
+        }
+        return eventDefinition;
+    }
+}
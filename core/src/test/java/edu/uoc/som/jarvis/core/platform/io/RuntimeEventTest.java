@@ -0,0 +1,115 @@
+package edu.uoc.som.jarvis.core.platform.io;
+
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import edu.uoc.som.jarvis.core.EventDefinitionRegistry;
+import edu.uoc.som.jarvis.intent.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RuntimeEventTest extends AbstractJarvisTest {
+
+    private EventDefinitionRegistry registry;
+
+    private EventDefinition eventDefinition;
+
+    @Before
+    public void setUp() {
+        registry = new EventDefinitionRegistry();
+        eventDefinition = IntentFactory.eINSTANCE.createEventDefinition();
+        eventDefinition.setName("EventName");
+        for (String contextName : new String[]{"Context1", "Context2"}) {
+            Context outContext = IntentFactory.eINSTANCE.createContext();
+            outContext.setName(contextName);
+            ContextParameter contextParameter = IntentFactory.eINSTANCE.createContextParameter();
+            contextParameter.setName(contextName.toLowerCase() + "-key");
+            outContext.getParameters().add(contextParameter);
+            eventDefinition.getOutContexts().add(outContext);
+        }
+        registry.registerEventDefinition(eventDefinition);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void ofNullEventInstance() {
+        RuntimeEvent.of(null);
+    }
+
+    @Test
+    public void buildRuntimeEvent() {
+        RuntimeEvent runtimeEvent = EventInstanceBuilder.newBuilder(registry).setEventDefinitionName("EventName")
+                .setOutContextValue("context1-key", "value1").setOutContextValue("context2-key", "value2")
+                .buildRuntimeEvent();
+        assertThat(runtimeEvent.getDefinition()).as("Valid EventDefinition").isEqualTo(eventDefinition);
+        assertThat(runtimeEvent.isRecognizedIntent()).as("Not a recognized intent").isFalse();
+        assertThat(runtimeEvent.getValueCount()).as("Two values").isEqualTo(2);
+        assertThat(runtimeEvent.getValue("context1-key")).as("Valid context1 value").isEqualTo("value1");
+        assertThat(runtimeEvent.getValue("context2-key")).as("Valid context2 value").isEqualTo("value2");
+        assertThat(runtimeEvent.getValue("unknown")).as("Unknown parameter").isNull();
+        for (int i = 0; i < runtimeEvent.getValueCount(); i++) {
+            assertThat(runtimeEvent.getContextParameter(i).eContainer()).as("Parameter contained in its context")
+                    .isEqualTo(runtimeEvent.getContext(i));
+            assertThat(runtimeEvent.getLifespanCount(i)).as("Default lifespan count").isEqualTo(runtimeEvent
+                    .getContext(i).getLifeSpan());
+        }
+    }
+
+    @Test
+    public void toEventInstance() {
+        RuntimeEvent runtimeEvent = EventInstanceBuilder.newBuilder(registry).setEventDefinitionName("EventName")
+                .setOutContextValue("context1-key", "value1").setOutContextValue("context2-key", "value2")
+                .buildRuntimeEvent();
+        EventInstance eventInstance = runtimeEvent.toEventInstance();
+        assertThat(eventInstance.getDefinition()).as("Valid EventDefinition").isEqualTo(eventDefinition);
+        assertThat(eventInstance.getOutContextInstances()).as("Two out contexts").hasSize(2);
+        ContextInstance contextInstance = eventInstance.getOutContextInstance("Context1");
+        assertThat(contextInstance).as("Context1 instance").isNotNull();
+        assertThat(contextInstance.getValues()).as("One value").hasSize(1);
+        assertThat(contextInstance.getValues().get(0).getValue()).as("Valid value").isEqualTo("value1");
+        assertThat(runtimeEvent.toEventInstance()).as("New EventInstance for each call").isNotSameAs(eventInstance);
+    }
+
+    @Test
+    public void ofCreatedEventInstance() {
+        RuntimeEvent runtimeEvent = EventInstanceBuilder.newBuilder(registry).setEventDefinitionName("EventName")
+                .setOutContextValue("context1-key", "value1").setOutContextValue("context2-key", "value2")
+                .buildRuntimeEvent();
+        assertThat(RuntimeEvent.of(runtimeEvent.toEventInstance())).as("Source RuntimeEvent returned").isSameAs
+                (runtimeEvent);
+    }
+
+    @Test
+    public void ofModifiedEventInstance() {
+        RuntimeEvent runtimeEvent = EventInstanceBuilder.newBuilder(registry).setEventDefinitionName("EventName")
+                .setOutContextValue("context1-key", "value1").setOutContextValue("context2-key", "value2")
+                .buildRuntimeEvent();
+        EventInstance eventInstance = runtimeEvent.toEventInstance();
+        eventInstance.getOutContextInstance("Context1").getValues().get(0).setValue("modified");
+        RuntimeEvent modifiedRuntimeEvent = RuntimeEvent.of(eventInstance);
+        assertThat(modifiedRuntimeEvent).as("New RuntimeEvent created").isNotSameAs(runtimeEvent);
+        assertThat(modifiedRuntimeEvent.getValue("context1-key")).as("Modified value").isEqualTo("modified");
+        assertThat(modifiedRuntimeEvent.getValue("context2-key")).as("Unchanged value").isEqualTo("value2");
+    }
+
+    @Test
+    public void ofRecognizedIntent() {
+        RecognizedIntent recognizedIntent = IntentFactory.eINSTANCE.createRecognizedIntent();
+        recognizedIntent.setDefinition(eventDefinition);
+        Context outContext = eventDefinition.getOutContexts().get(0);
+        ContextInstance contextInstance = IntentFactory.eINSTANCE.createContextInstance();
+        contextInstance.setDefinition(outContext);
+        contextInstance.setLifespanCount(2);
+        ContextParameterValue value = IntentFactory.eINSTANCE.createContextParameterValue();
+        value.setContextParameter(outContext.getParameters().get(0));
+        value.setValue("value1");
+        contextInstance.getValues().add(value);
+        recognizedIntent.getOutContextInstances().add(contextInstance);
+        RuntimeEvent runtimeEvent = RuntimeEvent.of(recognizedIntent);
+        assertThat(runtimeEvent.isRecognizedIntent()).as("Recognized intent").isTrue();
+        assertThat(runtimeEvent.getValueCount()).as("One value").isEqualTo(1);
+        assertThat(runtimeEvent.getContext(0)).as("Valid context").isEqualTo(outContext);
+        assertThat(runtimeEvent.getLifespanCount(0)).as("Custom lifespan count").isEqualTo(2);
+        assertThat(runtimeEvent.getValue(0)).as("Valid value").isEqualTo("value1");
+        assertThat(runtimeEvent.toEventInstance()).as("RecognizedIntent view").isInstanceOf(RecognizedIntent.class);
+    }
+}
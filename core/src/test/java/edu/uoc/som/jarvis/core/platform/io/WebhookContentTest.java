@@ -0,0 +1,107 @@
+package edu.uoc.som.jarvis.core.platform.io;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WebhookContentTest extends AbstractJarvisTest {
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullBytes() {
+        new WebhookContent("application/json", null, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void constructNullCharset() {
+        WebhookContent content = new WebhookContent("application/json", new byte[0], null);
+        assertThat(content.getCharset()).as("Default charset").isEqualTo(StandardCharsets.UTF_8);
+        assertThat(content.isEmpty()).as("Empty content").isTrue();
+    }
+
+    @Test
+    public void getString() {
+        String value = "{\"field\": \"valué\"}";
+        WebhookContent content = new WebhookContent("application/json", value.getBytes(StandardCharsets.UTF_8),
+                StandardCharsets.UTF_8);
+        assertThat(content.getString()).as("Valid String").isEqualTo(value);
+        assertThat(content.getString()).as("String cached").isSameAs(content.getString());
+    }
+
+    @Test
+    public void getJsonElementParsedOnce() {
+        WebhookContent content = new WebhookContent("application/json", "{\"field\": \"value\"}".getBytes
+                (StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        JsonElement jsonElement = content.getJsonElement();
+        assertThat(jsonElement.getAsJsonObject().get("field").getAsString()).as("Valid field value").isEqualTo
+                ("value");
+        assertThat(content.getJsonElement()).as("JsonElement shared").isSameAs(jsonElement);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void getJsonElementInvalidContent() {
+        WebhookContent content = new WebhookContent("application/json", "{\"field\": ".getBytes(StandardCharsets
+                .UTF_8), StandardCharsets.UTF_8);
+        try {
+            content.getJsonElement();
+        } catch (JsonParseException e) {
+            /*
+             * Check that the parsing error is cached and thrown again.
+             */
+        }
+        content.getJsonElement();
+    }
+
+    @Test
+    public void getTopLevelFieldValue() {
+        WebhookContent content = new WebhookContent("application/json", ("{\"action\": \"opened\", \"number\": 42, " +
+                "\"merged\": true, \"issue\": {\"action\": \"nested\"}, \"labels\": [\"bug\"], \"none\": null}")
+                .getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        assertThat(content.getTopLevelFieldValue("action")).as("String field value").isEqualTo("opened");
+        assertThat(content.getTopLevelFieldValue("number")).as("Number field value").isEqualTo("42");
+        assertThat(content.getTopLevelFieldValue("merged")).as("Boolean field value").isEqualTo("true");
+        assertThat(content.getTopLevelFieldValue("issue")).as("Object field skipped").isNull();
+        assertThat(content.getTopLevelFieldValue("labels")).as("Array field skipped").isNull();
+        assertThat(content.getTopLevelFieldValue("none")).as("Null field skipped").isNull();
+        assertThat(content.getTopLevelFieldValue("missing")).as("Missing field").isNull();
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void getTopLevelFieldValueInvalidContent() {
+        WebhookContent content = new WebhookContent("application/json", "{\"field\": ".getBytes(StandardCharsets
+                .UTF_8), StandardCharsets.UTF_8);
+        content.getTopLevelFieldValue("field");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void getFieldValueNullPath() {
+        new WebhookContent("application/json", "{}".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8)
+                .getFieldValue(null);
+    }
+
+    @Test
+    public void getFieldValueNestedStreamed() {
+        WebhookContent content = new WebhookContent("application/json", ("{\"ignored\": [1, {\"id\": \"other\"}], " +
+                "\"delivery\": {\"skipped\": {\"id\": \"other\"}, \"id\": \"value\"}}").getBytes(StandardCharsets
+                .UTF_8), StandardCharsets.UTF_8);
+        assertThat(content.getFieldValue(new String[]{"delivery", "id"})).as("Nested field value").isEqualTo
+                ("value");
+        assertThat(content.getFieldValue(new String[]{"delivery", "missing"})).as("Missing nested field").isNull();
+        assertThat(content.getFieldValue(new String[]{"ignored", "id"})).as("Not an object").isNull();
+        assertThat(content.getFieldValue(new String[]{"delivery", "skipped"})).as("Not a primitive").isNull();
+    }
+
+    @Test
+    public void getFieldValueNestedParsed() {
+        WebhookContent content = new WebhookContent("application/json", "{\"delivery\": {\"id\": \"value\"}}"
+                .getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        content.getJsonElement();
+        assertThat(content.getFieldValue(new String[]{"delivery", "id"})).as("Nested field value").isEqualTo
+                ("value");
+        assertThat(content.getFieldValue(new String[]{"delivery", "missing"})).as("Missing nested field").isNull();
+    }
+}
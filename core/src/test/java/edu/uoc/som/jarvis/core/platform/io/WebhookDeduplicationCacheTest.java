@@ -0,0 +1,97 @@
+package edu.uoc.som.jarvis.core.platform.io;
+
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WebhookDeduplicationCacheTest extends AbstractJarvisTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidWindow() {
+        new WebhookDeduplicationCache(0, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidMaxEntries() {
+        new WebhookDeduplicationCache(1000, 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void isDuplicateNullKey() {
+        new WebhookDeduplicationCache(1000, 10).isDuplicate(null);
+    }
+
+    @Test
+    public void isDuplicateSameKey() {
+        WebhookDeduplicationCache cache = new WebhookDeduplicationCache(60000, 10);
+        assertThat(cache.isDuplicate("key")).as("First delivery").isFalse();
+        assertThat(cache.isDuplicate("key")).as("Redelivery").isTrue();
+        assertThat(cache.isDuplicate("other")).as("Other delivery").isFalse();
+        assertThat(cache.size()).as("Two stored keys").isEqualTo(2);
+    }
+
+    @Test
+    public void isDuplicateExpiredKey() throws InterruptedException {
+        WebhookDeduplicationCache cache = new WebhookDeduplicationCache(50, 10);
+        assertThat(cache.isDuplicate("key")).as("First delivery").isFalse();
+        Thread.sleep(100);
+        assertThat(cache.isDuplicate("key")).as("Expired key not duplicate").isFalse();
+        assertThat(cache.size()).as("One stored key").isEqualTo(1);
+    }
+
+    @Test
+    public void isDuplicateEvictedKey() {
+        WebhookDeduplicationCache cache = new WebhookDeduplicationCache(60000, 2);
+        cache.isDuplicate("first");
+        cache.isDuplicate("second");
+        cache.isDuplicate("third");
+        assertThat(cache.size()).as("Bounded size").isEqualTo(2);
+        assertThat(cache.isDuplicate("third")).as("Recent key stored").isTrue();
+        assertThat(cache.isDuplicate("first")).as("Oldest key evicted").isFalse();
+    }
+
+    @Test
+    public void isDuplicateManyKeys() {
+        WebhookDeduplicationCache cache = new WebhookDeduplicationCache(60000, 100);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(cache.isDuplicate("key" + i)).as("New key %s", i).isFalse();
+        }
+        assertThat(cache.size()).as("Bounded size").isEqualTo(100);
+        for (int i = 900; i < 1000; i++) {
+            assertThat(cache.isDuplicate("key" + i)).as("Recent key %s stored", i).isTrue();
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void removeNullKey() {
+        new WebhookDeduplicationCache(1000, 10).remove(null);
+    }
+
+    @Test
+    public void removeKey() {
+        WebhookDeduplicationCache cache = new WebhookDeduplicationCache(60000, 10);
+        cache.isDuplicate("key");
+        cache.remove("key");
+        assertThat(cache.size()).as("Key removed").isEqualTo(0);
+        assertThat(cache.isDuplicate("key")).as("Removed key not duplicate").isFalse();
+        assertThat(cache.isDuplicate("key")).as("Redelivery").isTrue();
+        assertThat(cache.size()).as("One stored key").isEqualTo(1);
+    }
+
+    @Test
+    public void removeKeyInsertedAgainNotEvicted() {
+        WebhookDeduplicationCache cache = new WebhookDeduplicationCache(60000, 2);
+        cache.isDuplicate("key");
+        cache.remove("key");
+        cache.isDuplicate("key");
+        /*
+         * The insertion of the other key evicts the first insertion of the removed key, and must not evict its
+         * second insertion.
+         */
+        cache.isDuplicate("other");
+        assertThat(cache.isDuplicate("key")).as("Inserted key kept").isTrue();
+        assertThat(cache.isDuplicate("other")).as("Other key kept").isTrue();
+        assertThat(cache.size()).as("Two stored keys").isEqualTo(2);
+    }
+}
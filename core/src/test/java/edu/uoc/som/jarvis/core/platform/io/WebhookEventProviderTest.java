@@ -0,0 +1,130 @@
+package edu.uoc.som.jarvis.core.platform.io;
+
+import com.google.gson.JsonElement;
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import edu.uoc.som.jarvis.stubs.EmptyRuntimePlatform;
+import edu.uoc.som.jarvis.stubs.StubJarvisCore;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class WebhookEventProviderTest extends AbstractJarvisTest {
+
+    private StubJarvisCore stubJarvisCore;
+
+    private EmptyRuntimePlatform runtimePlatform;
+
+    @Before
+    public void setUp() {
+        stubJarvisCore = new StubJarvisCore();
+        runtimePlatform = new EmptyRuntimePlatform(stubJarvisCore);
+    }
+
+    @After
+    public void tearDown() {
+        if (nonNull(stubJarvisCore)) {
+            stubJarvisCore.shutdown();
+        }
+    }
+
+    @Test
+    public void handleContentNoDeduplication() {
+        CountingWebhookEventProvider provider = new CountingWebhookEventProvider(runtimePlatform, new
+                BaseConfiguration());
+        Header[] headers = new Header[]{new BasicHeader("X-Delivery", "id")};
+        provider.handleContent(createContent("{}"), headers);
+        provider.handleContent(createContent("{}"), headers);
+        assertThat(provider.handledCount).as("Both requests handled").isEqualTo(2);
+    }
+
+    @Test
+    public void handleContentDuplicateHeader() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(WebhookEventProvider.DEDUPLICATION_HEADER_KEY, "X-Delivery");
+        CountingWebhookEventProvider provider = new CountingWebhookEventProvider(runtimePlatform, configuration);
+        provider.handleContent(createContent("{}"), new Header[]{new BasicHeader("X-Delivery", "id")});
+        provider.handleContent(createContent("{}"), new Header[]{new BasicHeader("x-delivery", "id")});
+        provider.handleContent(createContent("{}"), new Header[]{new BasicHeader("X-Delivery", "other")});
+        provider.handleContent(createContent("{}"), new Header[0]);
+        assertThat(provider.handledCount).as("Redelivered request dropped").isEqualTo(3);
+    }
+
+    @Test
+    public void handleContentDuplicateField() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(WebhookEventProvider.DEDUPLICATION_FIELD_KEY, "delivery.id");
+        CountingWebhookEventProvider provider = new CountingWebhookEventProvider(runtimePlatform, configuration);
+        provider.handleContent(createContent("{\"delivery\":{\"id\":\"id\"}}"), new Header[0]);
+        provider.handleContent(createContent("{\"delivery\":{\"id\":\"id\"}}"), new Header[0]);
+        provider.handleContent(createContent("{\"delivery\":{\"id\":\"other\"}}"), new Header[0]);
+        assertThat(provider.handledCount).as("Redelivered request dropped").isEqualTo(2);
+    }
+
+    @Test
+    public void handleContentFailureThenRedelivery() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(WebhookEventProvider.DEDUPLICATION_HEADER_KEY, "X-Delivery");
+        CountingWebhookEventProvider provider = new CountingWebhookEventProvider(runtimePlatform, configuration);
+        provider.failureCount = 1;
+        Header[] headers = new Header[]{new BasicHeader("X-Delivery", "id")};
+        assertThatThrownBy(() -> provider.handleContent(createContent("{}"), headers)).as("First delivery failed")
+                .isInstanceOf(IllegalStateException.class);
+        provider.handleContent(createContent("{}"), headers);
+        assertThat(provider.handledCount).as("Redelivered request handled").isEqualTo(2);
+        provider.handleContent(createContent("{}"), headers);
+        assertThat(provider.handledCount).as("Redelivery of the handled request dropped").isEqualTo(2);
+    }
+
+    @Test
+    public void handleContentFailureThenRedeliveryField() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(WebhookEventProvider.DEDUPLICATION_FIELD_KEY, "delivery.id");
+        CountingWebhookEventProvider provider = new CountingWebhookEventProvider(runtimePlatform, configuration);
+        provider.failureCount = 1;
+        assertThatThrownBy(() -> provider.handleContent(createContent("{\"delivery\":{\"id\":\"id\"}}"), new
+                Header[0])).as("First delivery failed").isInstanceOf(IllegalStateException.class);
+        provider.handleContent(createContent("{\"delivery\":{\"id\":\"id\"}}"), new Header[0]);
+        provider.handleContent(createContent("{\"delivery\":{\"id\":\"id\"}}"), new Header[0]);
+        assertThat(provider.handledCount).as("Redelivered request handled once").isEqualTo(2);
+    }
+
+    private WebhookContent createContent(String content) {
+        return new WebhookContent("application/json", content.getBytes(StandardCharsets.UTF_8), StandardCharsets
+                .UTF_8);
+    }
+
+    private static class CountingWebhookEventProvider extends JsonWebhookEventProvider<EmptyRuntimePlatform> {
+
+        private int handledCount;
+
+        private int failureCount;
+
+        private CountingWebhookEventProvider(EmptyRuntimePlatform runtimePlatform, Configuration configuration) {
+            super(runtimePlatform, configuration);
+        }
+
+        @Override
+        protected void handleParsedContent(JsonElement parsedContent, Header[] headers) {
+            handledCount++;
+            if (failureCount > 0) {
+                failureCount--;
+                throw new IllegalStateException("Cannot handle the request");
+            }
+        }
+
+        @Override
+        public void run() {
+
+        }
+    }
+}
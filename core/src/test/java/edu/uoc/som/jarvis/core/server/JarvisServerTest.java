@@ -2,17 +2,28 @@ package edu.uoc.som.jarvis.core.server;
 
 import edu.uoc.som.jarvis.AbstractJarvisTest;
 import edu.uoc.som.jarvis.core.JarvisException;
+import edu.uoc.som.jarvis.core.platform.io.WebhookContent;
+import edu.uoc.som.jarvis.core.platform.io.WebhookRoute;
 import edu.uoc.som.jarvis.stubs.EmptyRuntimePlatform;
 import edu.uoc.som.jarvis.stubs.StubJarvisCore;
 import edu.uoc.som.jarvis.stubs.io.StubJsonWebhookEventProvider;
 import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
 import org.assertj.core.api.JUnitSoftAssertions;
 import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+
 import static java.util.Objects.nonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -149,6 +160,58 @@ public class JarvisServerTest extends AbstractJarvisTest {
                 .isTrue();
     }
 
+    @Test
+    public void notifyAcceptedContentTypeWebhookContent() {
+        this.server = getValidJarvisServer();
+        StubJsonWebhookEventProvider stubJsonWebhookEventProvider = getStubWebhookEventProvider();
+        this.server.registerWebhookEventProvider(stubJsonWebhookEventProvider);
+        WebhookContent content = new WebhookContent("application/json", "{\"field\": \"value\"}".getBytes
+                (StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        this.server.notifyWebhookEventProviders("application/json", content, new Header[0]);
+        assertThat(stubJsonWebhookEventProvider.hasReceivedEvent()).as("WebhookEventProvider has received an event")
+                .isTrue();
+    }
+
+    @Test
+    public void notifyRoutedProviderMatchingPath() {
+        this.server = getValidJarvisServer();
+        StubJsonWebhookEventProvider pathProvider = getRoutedStubWebhookEventProvider(WebhookRoute.forPath("/ci/"));
+        StubJsonWebhookEventProvider otherProvider = getRoutedStubWebhookEventProvider(WebhookRoute.forPath("/other"));
+        this.server.registerWebhookEventProvider(pathProvider);
+        this.server.registerWebhookEventProvider(otherProvider);
+        this.server.notifyWebhookEventProviders("/ci", "application/json", "{field: value}", new Header[0]);
+        assertThat(pathProvider.hasReceivedEvent()).as("Path owner has received an event").isTrue();
+        assertThat(otherProvider.hasReceivedEvent()).as("Other provider hasn't received an event").isFalse();
+    }
+
+    @Test
+    public void notifyRoutedProviderMatchingHeader() {
+        this.server = getValidJarvisServer();
+        StubJsonWebhookEventProvider headerProvider = getRoutedStubWebhookEventProvider(WebhookRoute.forHeader
+                ("X-Test-Event"));
+        StubJsonWebhookEventProvider valueProvider = getRoutedStubWebhookEventProvider(new WebhookRoute("/",
+                "X-Test-Event", "other"));
+        this.server.registerWebhookEventProvider(headerProvider);
+        this.server.registerWebhookEventProvider(valueProvider);
+        Header[] headers = new Header[]{new BasicHeader("x-test-event", "push")};
+        this.server.notifyWebhookEventProviders("/", "application/json", "{field: value}", headers);
+        assertThat(headerProvider.hasReceivedEvent()).as("Header owner has received an event").isTrue();
+        assertThat(valueProvider.hasReceivedEvent()).as("Other header value owner hasn't received an event")
+                .isFalse();
+    }
+
+    @Test
+    public void notifyRoutedAndBroadcastProviders() {
+        this.server = getValidJarvisServer();
+        StubJsonWebhookEventProvider broadcastProvider = getStubWebhookEventProvider();
+        StubJsonWebhookEventProvider pathProvider = getRoutedStubWebhookEventProvider(WebhookRoute.forPath("/ci"));
+        this.server.registerWebhookEventProvider(broadcastProvider);
+        this.server.registerWebhookEventProvider(pathProvider);
+        this.server.notifyWebhookEventProviders("/unknown", "application/json", "{field: value}", new Header[0]);
+        assertThat(broadcastProvider.hasReceivedEvent()).as("Broadcast provider has received an event").isTrue();
+        assertThat(pathProvider.hasReceivedEvent()).as("Path owner hasn't received an event").isFalse();
+    }
+
     @Test
     public void notifyNotAcceptedContentType() {
         this.server = getValidJarvisServer();
@@ -159,6 +222,103 @@ public class JarvisServerTest extends AbstractJarvisTest {
                 "event").isFalse();
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidServerMode() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(JarvisServer.SERVER_MODE_KEY, "invalid");
+        this.server = new JarvisServer(configuration);
+    }
+
+    @Test
+    public void startNioServerMode() {
+        this.server = getValidNioJarvisServer();
+        assertThat(server.getHttpServer()).as("No blocking HttpServer").isNull();
+        this.server.start();
+        softly.assertThat(server.getLocalPort()).as("Valid port number").isEqualTo(1234);
+        softly.assertThat(server.isStarted()).as("Server started").isTrue();
+    }
+
+    @Test(expected = JarvisException.class)
+    public void startTwoNioServersSamePort() {
+        this.server = getValidNioJarvisServer();
+        this.server.start();
+        Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(JarvisServer.SERVER_PORT_KEY, 1234);
+        configuration.setProperty(JarvisServer.SERVER_MODE_KEY, JarvisServer.NIO_SERVER_MODE);
+        this.server2 = new JarvisServer(configuration);
+        this.server2.start();
+    }
+
+    @Test
+    public void nioServerModeNotifyAcceptedContentType() throws IOException {
+        this.server = getValidNioJarvisServer();
+        StubJsonWebhookEventProvider stubJsonWebhookEventProvider = getStubWebhookEventProvider();
+        this.server.registerWebhookEventProvider(stubJsonWebhookEventProvider);
+        this.server.start();
+        assertThat(postJsonContent()).as("OK response").isEqualTo(200);
+        assertThat(stubJsonWebhookEventProvider.hasReceivedEvent()).as("WebhookEventProvider has received an event")
+                .isTrue();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidIngestionMode() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(JarvisServer.INGESTION_MODE_KEY, "invalid");
+        this.server = new JarvisServer(configuration);
+    }
+
+    @Test
+    public void queueIngestionModeNotifyAcceptedContentType() throws IOException, InterruptedException {
+        Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(JarvisServer.SERVER_PORT_KEY, 1234);
+        configuration.setProperty(JarvisServer.INGESTION_MODE_KEY, JarvisServer.QUEUE_INGESTION_MODE);
+        this.server = new JarvisServer(configuration);
+        StubJsonWebhookEventProvider stubJsonWebhookEventProvider = getStubWebhookEventProvider();
+        this.server.registerWebhookEventProvider(stubJsonWebhookEventProvider);
+        assertThat(server.getIngestionQueue()).as("No ingestion queue before start").isNull();
+        this.server.start();
+        assertThat(postJsonContent()).as("Accepted response").isEqualTo(202);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!stubJsonWebhookEventProvider.hasReceivedEvent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(stubJsonWebhookEventProvider.hasReceivedEvent()).as("WebhookEventProvider has received an event")
+                .isTrue();
+        softly.assertThat(server.getIngestionQueue().getAcceptedCount()).as("One accepted request").isEqualTo(1);
+        softly.assertThat(server.getIngestionQueue().getRejectedCount()).as("No rejected request").isEqualTo(0);
+    }
+
+    @Test
+    public void queueIngestionModeNoProviderNotFound() throws IOException {
+        this.server = getValidQueueJarvisServer();
+        this.server.start();
+        assertThat(postJsonContent()).as("Not found response").isEqualTo(404);
+        assertThat(server.getIngestionQueue().getAcceptedCount()).as("No accepted request").isEqualTo(0);
+    }
+
+    @Test
+    public void queueIngestionModeNotAcceptedContentTypeUnsupported() throws IOException {
+        this.server = getValidQueueJarvisServer();
+        this.server.registerWebhookEventProvider(getStubWebhookEventProvider());
+        this.server.start();
+        assertThat(postContent("text/plain", "value")).as("Unsupported media type response").isEqualTo(415);
+        assertThat(server.getIngestionQueue().getAcceptedCount()).as("No accepted request").isEqualTo(0);
+    }
+
+    /**
+     * Returns a valid {@link JarvisServer} instance using the {@link JarvisServer#QUEUE_INGESTION_MODE} and listening
+     * to port {@code 1234}.
+     *
+     * @return a valid {@link JarvisServer} instance using the {@link JarvisServer#QUEUE_INGESTION_MODE}
+     */
+    private JarvisServer getValidQueueJarvisServer() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(JarvisServer.SERVER_PORT_KEY, 1234);
+        configuration.setProperty(JarvisServer.INGESTION_MODE_KEY, JarvisServer.QUEUE_INGESTION_MODE);
+        this.server = new JarvisServer(configuration);
+        return this.server;
+    }
+
     /**
      * Returns a valid {@link JarvisServer} instance listening to port {@code 1234}.
      * <p>
@@ -174,6 +334,49 @@ public class JarvisServerTest extends AbstractJarvisTest {
         return this.server;
     }
 
+    /**
+     * Posts a Json content to the server listening to port {@code 1234} and returns the response code.
+     *
+     * @return the response code
+     * @throws IOException if an error occurred when sending the request
+     */
+    private int postJsonContent() throws IOException {
+        return postContent("application/json", "{\"field\": \"value\"}");
+    }
+
+    /**
+     * Posts the provided {@code content} to the server listening to port {@code 1234} and returns the response code.
+     *
+     * @param contentType the content type of the request
+     * @param content     the content to post
+     * @return the response code
+     * @throws IOException if an error occurred when sending the request
+     */
+    private int postContent(String contentType, String content) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:1234/").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", contentType);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return connection.getResponseCode();
+    }
+
+    /**
+     * Returns a valid {@link JarvisServer} instance using the {@link JarvisServer#NIO_SERVER_MODE} and listening to
+     * port {@code 1234}.
+     *
+     * @return a valid {@link JarvisServer} instance using the {@link JarvisServer#NIO_SERVER_MODE}
+     */
+    private JarvisServer getValidNioJarvisServer() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(JarvisServer.SERVER_PORT_KEY, 1234);
+        configuration.setProperty(JarvisServer.SERVER_MODE_KEY, JarvisServer.NIO_SERVER_MODE);
+        this.server = new JarvisServer(configuration);
+        return this.server;
+    }
+
     /**
      * Returns a valid {@link StubJsonWebhookEventProvider}.
      * <p>
@@ -189,6 +392,19 @@ public class JarvisServerTest extends AbstractJarvisTest {
         return new StubJsonWebhookEventProvider(emptyRuntimePlatform);
     }
 
+    private StubJsonWebhookEventProvider getRoutedStubWebhookEventProvider(WebhookRoute route) {
+        if (stubJarvisCore == null) {
+            stubJarvisCore = new StubJarvisCore();
+        }
+        EmptyRuntimePlatform emptyRuntimePlatform = new EmptyRuntimePlatform(stubJarvisCore);
+        return new StubJsonWebhookEventProvider(emptyRuntimePlatform) {
+            @Override
+            public Collection<WebhookRoute> getRoutes() {
+                return Collections.singletonList(route);
+            }
+        };
+    }
+
     private void checkJarvisServer(JarvisServer server) {
         softly.assertThat(server.getRegisteredWebhookEventProviders()).as("Empty registered WebhookEventProvider " +
                 "collection").isEmpty();
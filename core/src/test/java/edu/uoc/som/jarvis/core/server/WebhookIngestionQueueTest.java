@@ -0,0 +1,120 @@
+package edu.uoc.som.jarvis.core.server;
+
+import com.google.gson.JsonElement;
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import edu.uoc.som.jarvis.core.journal.EventJournal;
+import edu.uoc.som.jarvis.stubs.EmptyRuntimePlatform;
+import edu.uoc.som.jarvis.stubs.StubJarvisCore;
+import edu.uoc.som.jarvis.stubs.io.StubJsonWebhookEventProvider;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.http.Header;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WebhookIngestionQueueTest extends AbstractJarvisTest {
+
+    private StubJarvisCore stubJarvisCore;
+
+    private JarvisServer server;
+
+    private WebhookIngestionQueue queue;
+
+    private CountDownLatch started;
+
+    private CountDownLatch release;
+
+    @Before
+    public void setUp() {
+        stubJarvisCore = new StubJarvisCore();
+        server = new JarvisServer(new BaseConfiguration());
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        server.registerWebhookEventProvider(new StubJsonWebhookEventProvider(new EmptyRuntimePlatform
+                (stubJarvisCore)) {
+            @Override
+            protected void handleParsedContent(JsonElement parsedContent, Header[] headers) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.handleParsedContent(parsedContent, headers);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        if (nonNull(queue)) {
+            queue.shutdown(1, TimeUnit.SECONDS);
+        }
+        if (nonNull(stubJarvisCore)) {
+            stubJarvisCore.shutdown();
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullJarvisServer() {
+        queue = new WebhookIngestionQueue(null, 1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidCapacity() {
+        queue = new WebhookIngestionQueue(server, 0, 1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullThreadFactory() {
+        queue = new WebhookIngestionQueue(server, 1, 1, null);
+    }
+
+    @Test
+    public void constructThreadFactoryCreatesWorkers() {
+        AtomicInteger createdThreads = new AtomicInteger();
+        ThreadFactory threadFactory = WebhookIngestionQueue.createWorkerThreadFactory();
+        queue = new WebhookIngestionQueue(server, 1, 2, r -> {
+            createdThreads.incrementAndGet();
+            return threadFactory.newThread(r);
+        });
+        assertThat(createdThreads.get()).as("Workers created by the thread factory").isEqualTo(2);
+    }
+
+    @Test
+    public void offerFullQueue() throws InterruptedException {
+        queue = new WebhookIngestionQueue(server, 1, 1);
+        assertThat(offer(queue)).as("First request accepted").isTrue();
+        assertThat(started.await(5, TimeUnit.SECONDS)).as("First request handled").isTrue();
+        assertThat(offer(queue)).as("Second request queued").isTrue();
+        assertThat(queue.getDepth()).as("One queued request").isEqualTo(1);
+        assertThat(offer(queue)).as("Third request rejected").isFalse();
+        assertThat(queue.getAcceptedCount()).as("Two accepted requests").isEqualTo(2);
+        assertThat(queue.getRejectedCount()).as("One rejected request").isEqualTo(1);
+    }
+
+    @Test
+    public void shutdownProcessesQueuedRequests() {
+        queue = new WebhookIngestionQueue(server, 2, 1);
+        offer(queue);
+        offer(queue);
+        release.countDown();
+        queue.shutdown(5, TimeUnit.SECONDS);
+        assertThat(queue.getProcessedCount()).as("Queued requests processed").isEqualTo(2);
+        assertThat(queue.getDepth()).as("Empty queue").isEqualTo(0);
+        assertThat(offer(queue)).as("Request rejected after shutdown").isFalse();
+    }
+
+    private boolean offer(WebhookIngestionQueue queue) {
+        return queue.offer(EventJournal.NO_SEQUENCE, "/", "application/json", "{}", new Header[0]);
+    }
+}
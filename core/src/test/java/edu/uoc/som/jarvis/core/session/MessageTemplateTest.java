@@ -0,0 +1,118 @@
+package edu.uoc.som.jarvis.core.session;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MessageTemplateTest {
+
+    private RuntimeContexts runtimeContexts;
+
+    @Before
+    public void setUp() {
+        runtimeContexts = new RuntimeContexts();
+        runtimeContexts.setContextValue("context", 5, "key", "value");
+        runtimeContexts.setContextValue("context", 5, "key2", "value2");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void ofNullMessage() {
+        MessageTemplate.of(null);
+    }
+
+    @Test
+    public void ofSameMessage() {
+        MessageTemplate template = MessageTemplate.of("Cached {$context.key} template");
+        assertThat(MessageTemplate.of("Cached {$context.key} template")).as("Template is cached").isSameAs(template);
+    }
+
+    @Test
+    public void ofDynamicMessagesEvictUnusedTemplates() {
+        MessageTemplate frequent = MessageTemplate.of("Frequent {$context.key} template");
+        MessageTemplate unused = MessageTemplate.of("Unused {$context.key} template");
+        for (int i = 0; i < MessageTemplate.MAX_TEMPLATE_CACHE_SIZE * 2; i++) {
+            MessageTemplate.of("Dynamic message " + i);
+            assertThat(MessageTemplate.of("Frequent {$context.key} template")).as("Frequent template is cached")
+                    .isSameAs(frequent);
+        }
+        assertThat(MessageTemplate.of("Unused {$context.key} template")).as("Unused template is evicted")
+                .isNotSameAs(unused);
+    }
+
+    @Test
+    public void ofConcurrentDynamicMessages() throws Exception {
+        MessageTemplate frequent = MessageTemplate.of("Concurrent {$context.key} template");
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int threadIndex = t;
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < MessageTemplate.MAX_TEMPLATE_CACHE_SIZE; i++) {
+                        assertThat(MessageTemplate.of("Concurrent message " + threadIndex + "-" + i).getSource())
+                                .as("Valid dynamic template").isEqualTo("Concurrent message " + threadIndex + "-" + i);
+                        assertThat(MessageTemplate.of("Concurrent {$context.key} template")).as("Frequent template " +
+                                "is cached").isSameAs(frequent);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void ofMessageWithoutVariables() {
+        MessageTemplate template = MessageTemplate.of("This is a test");
+        assertThat(template.getVariableCount()).as("No variable").isEqualTo(0);
+        assertThat(template.render(runtimeContexts)).as("Message unchanged").isEqualTo("This is a test");
+    }
+
+    @Test
+    public void ofInvalidVariableAccess() {
+        MessageTemplate template = MessageTemplate.of("This is a {$context.key.invalid} test");
+        assertThat(template.getVariableCount()).as("Invalid access is not a variable").isEqualTo(0);
+        assertThat(template.render(runtimeContexts)).as("Invalid access unchanged").isEqualTo("This is a " +
+                "{$context.key.invalid} test");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void renderNullRuntimeContexts() {
+        MessageTemplate.of("{$context.key}").render(null);
+    }
+
+    @Test
+    public void renderMultipleVariables() {
+        MessageTemplate template = MessageTemplate.of("{$context.key} and {$context.key2}, {$context.key}!");
+        assertThat(template.getVariableCount()).as("Three variables").isEqualTo(3);
+        assertThat(template.render(runtimeContexts)).as("All variables replaced").isEqualTo("value and value2, " +
+                "value!");
+    }
+
+    @Test
+    public void renderMissingVariable() {
+        MessageTemplate template = MessageTemplate.of("{$context.key} and {$context.missing}");
+        assertThat(template.render(runtimeContexts)).as("Missing variable unchanged").isEqualTo("value and " +
+                "{$context.missing}");
+    }
+
+    @Test
+    public void renderUpdatedContext() {
+        MessageTemplate template = MessageTemplate.of("{$other.key}");
+        assertThat(template.render(runtimeContexts)).as("Context not set").isEqualTo("{$other.key}");
+        runtimeContexts.setContextValue("other", 5, "key", "otherValue");
+        assertThat(template.render(runtimeContexts)).as("Context values read at rendering time").isEqualTo
+                ("otherValue");
+    }
+}
@@ -9,11 +9,13 @@ import org.apache.commons.configuration2.Configuration;
 import org.junit.Test;
 
 import java.text.MessageFormat;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -499,6 +501,81 @@ public class RuntimeContextsTest extends AbstractJarvisTest {
                 "{0}", futureValue));
     }
 
+    @Test(expected = NullPointerException.class)
+    public void fillContextValuesAsyncNullMessage() {
+        context = new RuntimeContexts();
+        context.fillContextValuesAsync(null);
+    }
+
+    @Test
+    public void fillContextValuesAsyncSetContextSetKey() {
+        context = new RuntimeContexts();
+        context.setContextValue("context", 5, "key", "value");
+        String result = context.fillContextValuesAsync("This is a {$context.key} test from {$context.test}").join();
+        assertThat(result).as("First variable replaced / second variable ignored").isEqualTo("This is a value test " +
+                "from {$context.test}");
+    }
+
+    @Test
+    public void fillContextValuesAsyncPendingFutures() {
+        context = new RuntimeContexts();
+        CompletableFuture<String> valueFuture = new CompletableFuture<>();
+        CompletableFuture<String> testValueFuture = new CompletableFuture<>();
+        context.setContextValue("context", 5, "key", valueFuture);
+        context.setContextValue("context", 5, "test", testValueFuture);
+        CompletableFuture<String> result = context.fillContextValuesAsync("This is a {$context.key} test from " +
+                "{$context.test}");
+        assertThat(result).as("Result not completed").isNotDone();
+        testValueFuture.complete("testValue");
+        valueFuture.complete("value");
+        assertThat(result.join()).as("Replaced future variables").isEqualTo("This is a value test from testValue");
+    }
+
+    @Test
+    public void fillContextValuesAsyncSlowFuture() {
+        context = new RuntimeContexts();
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        context.setContextValue("context", 5, "key", future);
+        String result = context.fillContextValuesAsync("This is a boolean value: {$context.key}").join();
+        assertThat(future).as("Future cancelled").isCancelled();
+        assertThat(result).as("Not replaced future variable").isEqualTo("This is a boolean value: <Task took too long" +
+                " to complete>");
+    }
+
+    @Test
+    public void fillContextValuesAsyncQueuedFutures() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(RuntimeContexts.VARIABLE_TIMEOUT_KEY, 1);
+        context = new RuntimeContexts(configuration);
+        /*
+         * Use more Futures without completion callbacks than waiting threads: the queued Futures must time out with
+         * the others instead of waiting for a thread and then for the full timeout.
+         */
+        int futureCount = 64;
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < futureCount; i++) {
+            context.setContextValue("context", 5, "key" + i, new FutureTask<>(() -> "value"));
+            message.append("{$context.key").append(i).append("}");
+        }
+        long start = System.currentTimeMillis();
+        String result = context.fillContextValuesAsync(message.toString()).join();
+        long elapsed = System.currentTimeMillis() - start;
+        assertThat(result).as("All the futures timed out").isEqualTo(String.join("", Collections.nCopies
+                (futureCount, "<Task took too long to complete>")));
+        assertThat(elapsed).as("Queued futures did not wait for the full timeout").isLessThan(8000);
+    }
+
+    @Test
+    public void fillContextValuesAsyncErroringFuture() {
+        context = new RuntimeContexts();
+        CompletableFuture<String> future = new CompletableFuture<>();
+        context.setContextValue("context", 5, "key", future);
+        CompletableFuture<String> result = context.fillContextValuesAsync("This is a {$context.key} test");
+        future.completeExceptionally(new RuntimeException("error"));
+        assertThatThrownBy(result::join).as("Result completed exceptionally").hasCauseInstanceOf(JarvisException
+                .class);
+    }
+
     private void checkRuntimeContext(RuntimeContexts context) {
         assertThat(context.getContextMap()).as("Not null context map").isNotNull();
         assertThat(context.getContextMap()).as("Empty context map").isEmpty();
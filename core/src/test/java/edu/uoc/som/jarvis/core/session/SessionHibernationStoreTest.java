@@ -0,0 +1,159 @@
+package edu.uoc.som.jarvis.core.session;
+
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SessionHibernationStoreTest extends AbstractJarvisTest {
+
+    private File file;
+
+    private SessionHibernationStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("jarvis-sessions", ".bin");
+        file.delete();
+    }
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+        file.delete();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullFile() {
+        store = new SessionHibernationStore(null);
+    }
+
+    @Test
+    public void fromConfigurationNoFile() {
+        assertThat(SessionHibernationStore.fromConfiguration(new BaseConfiguration())).as("No hibernation store")
+                .isNull();
+    }
+
+    @Test
+    public void restoreNotHibernatedSession() {
+        store = new SessionHibernationStore(file);
+        JarvisSession session = new JarvisSession("id");
+        assertThat(store.restore(session)).as("Session not restored").isFalse();
+        assertThat(session.getRuntimeContexts().getContextMap()).as("Empty context").isEmpty();
+    }
+
+    @Test
+    public void hibernateRestoreSession() {
+        store = new SessionHibernationStore(file);
+        JarvisSession session = createSession("id");
+        store.hibernate(session);
+        assertThat(store.contains("id")).as("Session hibernated").isTrue();
+        JarvisSession restored = new JarvisSession("id");
+        assertThat(store.restore(restored)).as("Session restored").isTrue();
+        checkRestoredSession(restored);
+        assertThat(store.contains("id")).as("Restored session removed").isFalse();
+        assertThat(store.restore(new JarvisSession("id"))).as("Session restored once").isFalse();
+    }
+
+    @Test
+    public void hibernateReopenRestoreSession() {
+        store = new SessionHibernationStore(file);
+        store.hibernate(createSession("id"));
+        store.hibernate(createSession("id2"));
+        store.restore(new JarvisSession("id2"));
+        store.close();
+        store = new SessionHibernationStore(file);
+        assertThat(store.size()).as("Single hibernated session").isEqualTo(1);
+        JarvisSession restored = new JarvisSession("id");
+        assertThat(store.restore(restored)).as("Session restored").isTrue();
+        checkRestoredSession(restored);
+    }
+
+    @Test
+    public void reopenTruncatedFile() throws IOException {
+        store = new SessionHibernationStore(file);
+        store.hibernate(createSession("id"));
+        store.hibernate(createSession("id2"));
+        store.close();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+        store = new SessionHibernationStore(file);
+        assertThat(store.contains("id")).as("Valid record kept").isTrue();
+        assertThat(store.contains("id2")).as("Truncated record discarded").isFalse();
+    }
+
+    @Test
+    public void reopenCorruptedKey() throws IOException {
+        store = new SessionHibernationStore(file);
+        store.hibernate(createSession("id"));
+        store.close();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            /*
+             * Skip the record header (type, key length, payload length, checksum) and replace the first byte of the
+             * key.
+             */
+            raf.seek(1 + 4 + 4 + 8);
+            raf.writeByte('j');
+        }
+        store = new SessionHibernationStore(file);
+        assertThat(store.contains("jd")).as("Corrupted key discarded").isFalse();
+        assertThat(store.size()).as("No hibernated session").isEqualTo(0);
+    }
+
+    @Test
+    public void hibernateCompactsFile() {
+        store = new SessionHibernationStore(file);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 64 * 1024; i++) {
+            sb.append('a');
+        }
+        String largeValue = sb.toString();
+        for (int i = 0; i < 30; i++) {
+            JarvisSession session = new JarvisSession("id");
+            session.getRuntimeContexts().setContextValue("context", 1, "value", largeValue + i);
+            store.hibernate(session);
+        }
+        assertThat(file.length()).as("File compacted").isLessThan(1024 * 1024);
+        JarvisSession restored = new JarvisSession("id");
+        assertThat(store.restore(restored)).as("Session restored").isTrue();
+        assertThat(restored.getRuntimeContexts().getContextValue("context", "value")).as("Last hibernated value " +
+                "restored").isEqualTo(largeValue + 29);
+    }
+
+    private JarvisSession createSession(String sessionId) {
+        JarvisSession session = new JarvisSession(sessionId);
+        RuntimeContexts contexts = session.getRuntimeContexts();
+        contexts.setContextValue("context", 3, "string", "value");
+        contexts.setContextValue("context", 3, "integer", 42);
+        contexts.setContextValue("context", 3, "boolean", true);
+        contexts.setContextValue("context", 3, "future", CompletableFuture.completedFuture("futureValue"));
+        contexts.setContextValue("context", 3, "pending", new CompletableFuture<String>());
+        contexts.setContextValue("other", 1, "double", 1.5d);
+        return session;
+    }
+
+    private void checkRestoredSession(JarvisSession session) {
+        RuntimeContexts contexts = session.getRuntimeContexts();
+        assertThat(contexts.getContextValue("context", "string")).as("String value restored").isEqualTo("value");
+        assertThat(contexts.getContextValue("context", "integer")).as("Integer value restored").isEqualTo(42);
+        assertThat(contexts.getContextValue("context", "boolean")).as("Boolean value restored").isEqualTo(true);
+        assertThat(contexts.getContextValue("context", "future")).as("Completed future restored as its value")
+                .isEqualTo("futureValue");
+        assertThat(contexts.getContextVariables("context")).as("Pending future not restored").doesNotContainKey
+                ("pending");
+        assertThat(contexts.getContextValue("other", "double")).as("Double value restored").isEqualTo(1.5d);
+        assertThat(contexts.getContextLifespanCount("context")).as("Lifespan count restored").isEqualTo(3);
+        assertThat(contexts.getContextLifespanCount("other")).as("Lifespan count restored").isEqualTo(1);
+    }
+}
@@ -0,0 +1,216 @@
+package edu.uoc.som.jarvis.core.session;
+
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SessionStoreTest extends AbstractJarvisTest {
+
+    private SessionStore store;
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullConfiguration() {
+        store = new SessionStore(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidMaxSize() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(SessionStore.MAX_SIZE_KEY, 0);
+        store = new SessionStore(configuration);
+    }
+
+    @Test
+    public void constructEmptyConfiguration() {
+        store = new SessionStore(new BaseConfiguration());
+        assertThat(store.getMaxSize()).as("Default max size").isEqualTo(SessionStore.DEFAULT_MAX_SIZE_VALUE);
+        assertThat(store.size()).as("Empty store").isEqualTo(0);
+    }
+
+    @Test
+    public void getOrCreateNewSession() {
+        store = new SessionStore(new BaseConfiguration());
+        JarvisSession session = store.getOrCreate("id", JarvisSession::new);
+        assertThat(session.getSessionId()).as("Valid session ID").isEqualTo("id");
+        assertThat(store.get("id")).as("Session stored").isSameAs(session);
+        assertThat(store.getOrCreate("id", JarvisSession::new)).as("Session reused").isSameAs(session);
+        assertThat(store.getHitCount()).as("Two hits").isEqualTo(2);
+        assertThat(store.getMissCount()).as("One miss").isEqualTo(1);
+    }
+
+    @Test
+    public void getNotStoredSession() {
+        store = new SessionStore(new BaseConfiguration());
+        assertThat(store.get("id")).as("Null session").isNull();
+        assertThat(store.getMissCount()).as("One miss").isEqualTo(1);
+    }
+
+    @Test
+    public void getOrCreateEvictsLeastRecentlyUsedSession() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(SessionStore.MAX_SIZE_KEY, 2);
+        store = new SessionStore(configuration);
+        List<JarvisSession> evicted = new ArrayList<>();
+        store.addEvictionListener((session, cause) -> {
+            assertThat(cause).as("Size eviction").isEqualTo(SessionStore.EvictionCause.SIZE);
+            evicted.add(session);
+        });
+        JarvisSession session1 = store.getOrCreate("id1", JarvisSession::new);
+        JarvisSession session2 = store.getOrCreate("id2", JarvisSession::new);
+        store.get("id1");
+        store.getOrCreate("id3", JarvisSession::new);
+        assertThat(store.size()).as("Store size is bounded").isEqualTo(2);
+        assertThat(evicted).as("Least recently used session evicted").containsExactly(session2);
+        assertThat(store.get("id1")).as("Recently used session kept").isSameAs(session1);
+        assertThat(store.getEvictionCount()).as("One eviction").isEqualTo(1);
+    }
+
+    @Test
+    public void getOrCreateWaitsForEvictionListeners() throws Exception {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(SessionStore.MAX_SIZE_KEY, 1);
+        store = new SessionStore(configuration);
+        CountDownLatch evicting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean notified = new AtomicBoolean();
+        store.addEvictionListener((session, cause) -> {
+            evicting.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            notified.set(true);
+        });
+        store.getOrCreate("id1", JarvisSession::new);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            executor.submit(() -> store.getOrCreate("id2", JarvisSession::new));
+            assertThat(evicting.await(5, TimeUnit.SECONDS)).as("Eviction listener called").isTrue();
+            assertThat(store.get("id1")).as("Evicted session not returned").isNull();
+            CompletableFuture<Boolean> notifiedAtCreation = CompletableFuture.supplyAsync(() -> {
+                AtomicBoolean result = new AtomicBoolean();
+                store.getOrCreate("id1", id -> {
+                    result.set(notified.get());
+                    return new JarvisSession(id);
+                });
+                return result.get();
+            }, executor);
+            Thread.sleep(100);
+            assertThat(notifiedAtCreation).as("Creation waiting for the eviction listener").isNotDone();
+            release.countDown();
+            assertThat(notifiedAtCreation.get(5, TimeUnit.SECONDS)).as("Session created once the listener has " +
+                    "been notified").isTrue();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getExpiredSession() throws InterruptedException {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(SessionStore.IDLE_TIMEOUT_KEY, 1);
+        store = new SessionStore(configuration);
+        List<SessionStore.EvictionCause> causes = new ArrayList<>();
+        store.addEvictionListener((session, cause) -> causes.add(cause));
+        store.getOrCreate("id", JarvisSession::new);
+        Thread.sleep(1500);
+        assertThat(store.get("id")).as("Expired session evicted").isNull();
+        assertThat(causes).as("Expiration eviction").containsExactly(SessionStore.EvictionCause.EXPIRED);
+    }
+
+    @Test
+    public void idleSessionEvictedWithoutAccess() throws InterruptedException {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(SessionStore.IDLE_TIMEOUT_KEY, 1);
+        store = new SessionStore(configuration);
+        CountDownLatch evicted = new CountDownLatch(1);
+        store.addEvictionListener((session, cause) -> evicted.countDown());
+        store.getOrCreate("id", JarvisSession::new);
+        assertThat(evicted.await(5, TimeUnit.SECONDS)).as("Idle session evicted by the cleaner").isTrue();
+    }
+
+    @Test
+    public void getOrCreateWaitsForConcurrentFactory() throws Exception {
+        store = new SessionStore(new BaseConfiguration());
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            CompletableFuture<JarvisSession> first = CompletableFuture.supplyAsync(() -> store.getOrCreate("id",
+                    id -> {
+                        creating.countDown();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return new JarvisSession(id);
+                    }), executor);
+            assertThat(creating.await(5, TimeUnit.SECONDS)).as("Factory called").isTrue();
+            assertThat(store.get("id")).as("Session being created not returned").isNull();
+            CompletableFuture<JarvisSession> second = CompletableFuture.supplyAsync(() -> store.getOrCreate("id",
+                    JarvisSession::new), executor);
+            Thread.sleep(100);
+            assertThat(second).as("Creation waiting for the concurrent factory").isNotDone();
+            release.countDown();
+            assertThat(second.get(5, TimeUnit.SECONDS)).as("Same session returned").isSameAs(first.get(5,
+                    TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getOrCreateFailedFactoryRetried() {
+        store = new SessionStore(new BaseConfiguration());
+        assertThatThrownBy(() -> store.getOrCreate("id", id -> {
+            throw new IllegalStateException("Factory error");
+        })).as("Factory error thrown").isInstanceOf(IllegalStateException.class);
+        assertThat(store.size()).as("Failed session not stored").isEqualTo(0);
+        JarvisSession session = store.getOrCreate("id", JarvisSession::new);
+        assertThat(store.get("id")).as("Session created").isSameAs(session);
+    }
+
+    @Test
+    public void invalidateSession() {
+        store = new SessionStore(new BaseConfiguration());
+        JarvisSession session = store.getOrCreate("id", JarvisSession::new);
+        assertThat(store.invalidate("id")).as("Invalidated session returned").isSameAs(session);
+        assertThat(store.get("id")).as("Session removed").isNull();
+        assertThat(store.getEvictionCount()).as("Invalidation is not an eviction").isEqualTo(0);
+    }
+
+    @Test
+    public void clear() {
+        store = new SessionStore(new BaseConfiguration());
+        store.getOrCreate("id1", JarvisSession::new);
+        store.getOrCreate("id2", JarvisSession::new);
+        store.clear();
+        assertThat(store.size()).as("Empty store").isEqualTo(0);
+        assertThat(store.getSessions()).as("No stored session").isEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+package edu.uoc.som.jarvis.plugins.github.platform.io;
+
+import com.google.gson.JsonObject;
+import edu.uoc.som.jarvis.core.EventDefinitionRegistry;
+import edu.uoc.som.jarvis.core.platform.io.EventInstanceBuilder;
+import edu.uoc.som.jarvis.core.platform.io.JsonEventMatcher;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+
+import java.util.UUID;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A micro-benchmark measuring the {@link JsonEventMatcher} throughput with the Github rule set.
+ * <p>
+ * This benchmark is not executed by the test suite, run its {@link #main(String[])} method to print the average
+ * matching time of realistic Github requests (ten headers, the event header being the fifth one). The benchmark
+ * only measures the matching step, and does not build the matched {@link edu.uoc.som.jarvis.intent.EventInstance}s.
+ * <p>
+ * The {@code Header names as registered} scenario uses the exact header name registered by the
+ * {@link GithubWebhookEventProvider} ({@code X-Github-Event}), and allows to compare the matching time with
+ * matchers that do not ignore the case of the header names.
+ */
+public class GithubEventMatcherBenchmark {
+
+    private static final String[][] EVENTS = new String[][]{
+            {"issues", "opened"}, {"issues", "edited"}, {"issues", "closed"}, {"issues", "reopened"},
+            {"issues", "assigned"}, {"issues", "unassigned"}, {"issues", "labeled"}, {"issues", "unlabeled"},
+            {"issues", "milestoned"}, {"issues", "demilestoned"}, {"issue_comment", "created"},
+            {"issue_comment", "edited"}, {"issue_comment", "deleted"}, {"label", "created"}, {"label", "edited"},
+            {"label", "deleted"}, {"pull_request", "opened"}, {"pull_request", "edited"},
+            {"pull_request", "closed"}, {"pull_request", "reopened"}, {"pull_request", "assigned"},
+            {"pull_request", "unassigned"}, {"pull_request", "labeled"}, {"pull_request", "unlabeled"},
+            {"pull_request", "review_requested"}, {"pull_request", "review_request_removed"}, {"push", null},
+            {"ping", null}
+    };
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+
+    private static final int MEASURED_ITERATIONS = 10_000_000;
+
+    public static void main(String[] args) {
+        JsonEventMatcher matcher = new JsonEventMatcher(EventInstanceBuilder.newBuilder(new
+                EventDefinitionRegistry()), new BaseConfiguration());
+        GithubWebhookEventProvider.registerGithubEvents(matcher);
+        run("Header names as sent by Github", matcher, createHeaders("X-GitHub-Event"), createPayloads());
+        run("Lower case header names", matcher, createHeaders("x-github-event"), createPayloads());
+        run("Header names as registered", matcher, createHeaders("X-Github-Event"), createPayloads());
+    }
+
+    private static void run(String name, JsonEventMatcher matcher, Header[][] headers, JsonObject[] payloads) {
+        int matched = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            matched += isNull(matcher.matchEventDefinitionName(headers[i % headers.length], payloads[i % payloads
+                    .length])) ? 0 : 1;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            matched += isNull(matcher.matchEventDefinitionName(headers[i % headers.length], payloads[i % payloads
+                    .length])) ? 0 : 1;
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("%s: %.1f ns/match (%d matched)", name, elapsed / (double)
+                MEASURED_ITERATIONS, matched));
+    }
+
+    private static Header[][] createHeaders(String eventHeaderName) {
+        Header[][] headers = new Header[EVENTS.length][];
+        for (int i = 0; i < EVENTS.length; i++) {
+            headers[i] = new Header[]{
+                    new BasicHeader("Host", "jarvis.example.com"),
+                    new BasicHeader("Accept", "*/*"),
+                    new BasicHeader("User-Agent", "GitHub-Hookshot/044aadd"),
+                    new BasicHeader("X-GitHub-Delivery", UUID.randomUUID().toString()),
+                    new BasicHeader(eventHeaderName, EVENTS[i][0]),
+                    new BasicHeader("X-Hub-Signature", "sha1=7d38cdd689735b008b3c702edd92eea23791c5f6"),
+                    new BasicHeader("Content-Type", "application/json"),
+                    new BasicHeader("Content-Length", "6615"),
+                    new BasicHeader("Connection", "close"),
+                    new BasicHeader("X-GitHub-Hook-ID", "42")
+            };
+        }
+        return headers;
+    }
+
+    private static JsonObject[] createPayloads() {
+        JsonObject[] payloads = new JsonObject[EVENTS.length];
+        for (int i = 0; i < EVENTS.length; i++) {
+            JsonObject payload = new JsonObject();
+            if (!isNull(EVENTS[i][1])) {
+                payload.addProperty("action", EVENTS[i][1]);
+            }
+            JsonObject repository = new JsonObject();
+            repository.addProperty("id", 135290296);
+            repository.addProperty("full_name", "gdaniel/jarvis");
+            payload.add("repository", repository);
+            JsonObject sender = new JsonObject();
+            sender.addProperty("login", "gdaniel");
+            payload.add("sender", sender);
+            payloads[i] = payload;
+        }
+        return payloads;
+    }
+}
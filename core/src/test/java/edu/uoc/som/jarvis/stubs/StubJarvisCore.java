@@ -5,6 +5,7 @@ import edu.uoc.som.jarvis.core.JarvisCore;
 import edu.uoc.som.jarvis.core.JarvisCoreTest;
 import edu.uoc.som.jarvis.core.RuntimePlatformRegistry;
 import edu.uoc.som.jarvis.core.platform.action.RuntimeAction;
+import edu.uoc.som.jarvis.core.platform.io.RuntimeEvent;
 import edu.uoc.som.jarvis.core.session.JarvisSession;
 import edu.uoc.som.jarvis.execution.ExecutionFactory;
 import edu.uoc.som.jarvis.execution.ExecutionModel;
@@ -73,17 +74,19 @@ public class StubJarvisCore extends JarvisCore {
         }
 
         /**
-         * Stores the provided {@code eventInstance} definition in the {@link #handledEvents} list.
+         * Stores the provided {@code runtimeEvent} definition in the {@link #handledEvents} list.
          * <p>
          * <b>Note:</b> this method does not process the {@code message}, and does not build
-         * {@link RuntimeAction}s from the provided {@code message}.
+         * {@link RuntimeAction}s from the provided {@code message}. The {@link EventInstance}s handled by
+         * {@link #handleEventInstance(EventInstance, JarvisSession)} are also stored, since this method delegates to
+         * this one.
          *
-         * @param eventInstance the {@link EventInstance} to store in the {@link #handledEvents} list
+         * @param runtimeEvent the {@link RuntimeEvent} to store in the {@link #handledEvents} list
          * @param session the user session to use to process the message
          */
         @Override
-        public void handleEventInstance(EventInstance eventInstance, JarvisSession session) {
-            StubJarvisCore.this.handledEvents.add(eventInstance.getDefinition());
+        public void handleRuntimeEvent(RuntimeEvent runtimeEvent, JarvisSession session) {
+            StubJarvisCore.this.handledEvents.add(runtimeEvent.getDefinition());
         }
     }
 }
@@ -12,6 +12,10 @@ public class ErroringStubRuntimeAction extends RuntimeAction {
         super(runtimePlatform, new JarvisSession("id"));
     }
 
+    public ErroringStubRuntimeAction(RuntimePlatform runtimePlatform, JarvisSession session) {
+        super(runtimePlatform, session);
+    }
+
     public boolean isActionProcessed() {
         return actionProcessed;
     }
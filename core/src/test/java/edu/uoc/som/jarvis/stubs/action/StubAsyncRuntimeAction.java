@@ -0,0 +1,26 @@
+package edu.uoc.som.jarvis.stubs.action;
+
+import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
+import edu.uoc.som.jarvis.core.platform.action.AsyncRuntimeAction;
+import edu.uoc.som.jarvis.core.session.JarvisSession;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+public class StubAsyncRuntimeAction extends AsyncRuntimeAction<RuntimePlatform> {
+
+    private CompletableFuture<Object> computation = new CompletableFuture<>();
+
+    public StubAsyncRuntimeAction(RuntimePlatform runtimePlatform, JarvisSession session) {
+        super(runtimePlatform, session);
+    }
+
+    public CompletableFuture<Object> getComputation() {
+        return computation;
+    }
+
+    @Override
+    protected CompletionStage<?> computeAsync() {
+        return computation;
+    }
+}
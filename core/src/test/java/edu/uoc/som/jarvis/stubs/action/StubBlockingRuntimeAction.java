@@ -0,0 +1,45 @@
+package edu.uoc.som.jarvis.stubs.action;
+
+import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
+import edu.uoc.som.jarvis.core.platform.action.RuntimeAction;
+import edu.uoc.som.jarvis.core.session.JarvisSession;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link RuntimeAction} blocking its {@link Thread} until {@link #release()} is called.
+ * <p>
+ * This action is used to simulate a platform waiting for an unavailable service. Its state is static, and must be
+ * reset with {@link #reset()} before each test.
+ */
+public class StubBlockingRuntimeAction extends RuntimeAction {
+
+    private static volatile CountDownLatch releaseLatch = new CountDownLatch(1);
+
+    private static final AtomicInteger startedCount = new AtomicInteger();
+
+    public static void reset() {
+        releaseLatch = new CountDownLatch(1);
+        startedCount.set(0);
+    }
+
+    public static void release() {
+        releaseLatch.countDown();
+    }
+
+    public static int getStartedCount() {
+        return startedCount.get();
+    }
+
+    public StubBlockingRuntimeAction(RuntimePlatform runtimePlatform, JarvisSession session) {
+        super(runtimePlatform, session);
+    }
+
+    @Override
+    public Object compute() throws InterruptedException {
+        startedCount.incrementAndGet();
+        releaseLatch.await();
+        return null;
+    }
+}
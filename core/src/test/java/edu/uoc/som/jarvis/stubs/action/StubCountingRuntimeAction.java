@@ -0,0 +1,35 @@
+package edu.uoc.som.jarvis.stubs.action;
+
+import edu.uoc.som.jarvis.core.platform.RuntimePlatform;
+import edu.uoc.som.jarvis.core.platform.action.RuntimeAction;
+import edu.uoc.som.jarvis.core.session.JarvisSession;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link RuntimeAction} counting its executions.
+ * <p>
+ * The execution count is static, and must be reset with {@link #reset()} before each test.
+ */
+public class StubCountingRuntimeAction extends RuntimeAction {
+
+    private static final AtomicInteger executionCount = new AtomicInteger();
+
+    public static void reset() {
+        executionCount.set(0);
+    }
+
+    public static int getExecutionCount() {
+        return executionCount.get();
+    }
+
+    public StubCountingRuntimeAction(RuntimePlatform runtimePlatform, JarvisSession session) {
+        super(runtimePlatform, session);
+    }
+
+    @Override
+    public Object compute() {
+        executionCount.incrementAndGet();
+        return null;
+    }
+}
@@ -12,6 +12,10 @@ public class StubRuntimeAction extends RuntimeAction {
         super(runtimePlatform, new JarvisSession("id"));
     }
 
+    public StubRuntimeAction(RuntimePlatform runtimePlatform, JarvisSession session) {
+        super(runtimePlatform, session);
+    }
+
     public boolean isActionProcessed() {
         return actionProcessed;
     }
@@ -7,7 +7,7 @@ import org.apache.http.Header;
 
 public class StubJsonWebhookEventProvider extends JsonWebhookEventProvider<EmptyRuntimePlatform> {
 
-    private boolean eventReceived;
+    private volatile boolean eventReceived;
 
     public StubJsonWebhookEventProvider(EmptyRuntimePlatform runtimePlatform) {
         super(runtimePlatform);
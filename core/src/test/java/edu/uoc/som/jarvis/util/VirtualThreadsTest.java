@@ -0,0 +1,64 @@
+package edu.uoc.som.jarvis.util;
+
+import edu.uoc.som.jarvis.AbstractJarvisTest;
+import edu.uoc.som.jarvis.core.ExecutionService;
+import edu.uoc.som.jarvis.core.JarvisException;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualThreadsTest extends AbstractJarvisTest {
+
+    @Test(expected = NullPointerException.class)
+    public void isEnabledNullConfiguration() {
+        VirtualThreads.isEnabled(null);
+    }
+
+    @Test
+    public void isEnabledEmptyConfiguration() {
+        assertThat(VirtualThreads.isEnabled(new BaseConfiguration())).as("Virtual threads disabled by default")
+                .isFalse();
+    }
+
+    @Test
+    public void isEnabledVirtualThreadsConfiguration() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(ExecutionService.VIRTUAL_THREADS_KEY, true);
+        assertThat(VirtualThreads.isEnabled(configuration)).as("Virtual threads enabled if supported").isEqualTo
+                (VirtualThreads.isSupported());
+    }
+
+    @Test(expected = JarvisException.class)
+    public void newThreadFactoryNotSupported() {
+        Assume.assumeFalse("Virtual threads are supported", VirtualThreads.isSupported());
+        VirtualThreads.newThreadFactory("test-");
+    }
+
+    @Test
+    public void newThreadFactorySupported() {
+        Assume.assumeTrue("Virtual threads are not supported", VirtualThreads.isSupported());
+        ThreadFactory threadFactory = VirtualThreads.newThreadFactory("test-");
+        Thread thread = threadFactory.newThread(() -> {
+        });
+        assertThat(thread.getName()).as("Valid thread name").isEqualTo("test-0");
+        assertThat(thread.isDaemon()).as("Virtual thread is a daemon").isTrue();
+    }
+
+    @Test
+    public void newThreadPerTaskExecutorSupported() throws Exception {
+        Assume.assumeTrue("Virtual threads are not supported", VirtualThreads.isSupported());
+        ExecutorService executorService = VirtualThreads.newThreadPerTaskExecutor("test-");
+        Future<String> threadName = executorService.submit(() -> Thread.currentThread().getName());
+        assertThat(threadName.get(5, TimeUnit.SECONDS)).as("Task executed in a named thread").startsWith("test-");
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(5, TimeUnit.SECONDS)).as("Executor terminated").isTrue();
+    }
+}